@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+#
+# Reports the startup time and resident memory of the backend in each deployment mode.
+#
+# Usage: scripts/startup-report.sh [jvm] [cds] [native]
+#   jvm     plain jar                               built by: mvn -DskipTests package
+#   cds     Spring AOT and a CDS archive, target/cds built by: mvn -Pcds -DskipTests package
+#   native  GraalVM native image, target/boat-test   built by: mvn -Pnative -DskipTests package
+# Without arguments, every mode whose build output exists is measured.
+#
+# Each mode is started RUNS times (3 by default) on PORT (18080 by default), with the actuator on MANAGEMENT_PORT
+# (18081 by default) and the Spring PROFILES (dev by default, for its development key-encryption key). The report
+# gives, per mode, the median time until /actuator/health answers, the startup time logged by Spring and the
+# resident set size once started, and is written to target/startup-report.json.
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-18080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-18081}
+RUNS=${RUNS:-3}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+REPORT=target/startup-report.json
+LOG=target/startup-report.log
+JAR=$(ls target/boat-test-*.jar 2>/dev/null | grep -v '\.original$' | head -1 || true)
+CDS_JAR=$(ls target/cds/boat-test-*.jar 2>/dev/null | head -1 || true)
+
+command_for() {
+  case "$1" in
+    jvm) [[ -n "$JAR" ]] && echo "$JAVA -jar $JAR" ;;
+    cds) [[ -n "$CDS_JAR" && -f target/cds/application.jsa ]] &&
+           echo "$JAVA -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -jar $CDS_JAR" ;;
+    native) [[ -x target/boat-test ]] && echo "target/boat-test" ;;
+  esac
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+# Starts a mode once and prints: milliseconds until healthy, seconds logged by Spring, RSS in KiB
+measure() {
+  local command=$1
+  local start pid elapsed rss logged
+  start=$(date +%s%N)
+  $command --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" --spring.profiles.active="${PROFILES:-dev}" > "$LOG" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$MANAGEMENT_PORT/actuator/health"; do
+    if ! kill -0 "$pid" 2>/dev/null || (( ($(date +%s%N) - start) > 120000000000 )); then
+      echo "Startup failed, see $LOG" >&2
+      kill "$pid" 2>/dev/null || true
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  logged=$(grep -o 'Started .* in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]* seconds' | cut -d' ' -f1 || true)
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed ${logged:-0} $rss"
+}
+
+modes=("$@")
+if (( ${#modes[@]} == 0 )); then
+  for mode in jvm cds native; do
+    if [[ -n "$(command_for "$mode")" ]]; then
+      modes+=("$mode")
+    fi
+  done
+fi
+
+entries=()
+printf '%-8s %14s %16s %10s\n' mode ready_ms spring_started_s rss_mib
+for mode in "${modes[@]}"; do
+  command=$(command_for "$mode")
+  if [[ -z "$command" ]]; then
+    echo "No build output for mode $mode, see the usage in $0" >&2
+    exit 1
+  fi
+  results=()
+  for (( run = 0; run < RUNS; run++ )); do
+    results+=("$(measure "$command")")
+  done
+  ready=$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)
+  started=$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)
+  rss=$(printf '%s\n' "${results[@]}" | cut -d' ' -f3 | median)
+  printf '%-8s %14s %16s %10s\n' "$mode" "$ready" "$started" "$(( rss / 1024 ))"
+  entries+=("{\"mode\":\"$mode\",\"runs\":$RUNS,\"readyMillis\":$ready,\"springStartedSeconds\":$started,\"rssKiB\":$rss}")
+done
+
+(IFS=,; echo "{\"timestamp\":\"$(date -u +%Y-%m-%dT%H:%M:%SZ)\",\"modes\":[${entries[*]}]}") > "$REPORT"
+echo "Report written to $REPORT"
@@ -0,0 +1,27 @@
+package com.owt.boat_test.benchmarks;
+
+import com.owt.boat_test.domain.models.Boat;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * Builds a boat with a realistic name and description.
+   *
+   * @param id The ID of the boat, or null for a boat to create
+   * @return A new boat
+   */
+  static Boat boat(Long id) {
+    Boat boat = new Boat();
+    boat.setId(id);
+    boat.setName("Boat " + id);
+    boat.setDescription("A 12 meter sailing boat with two cabins, moored in the old harbour and available for day trips.");
+    boat.setVersion(id == null ? null : 0L);
+    return boat;
+  }
+}
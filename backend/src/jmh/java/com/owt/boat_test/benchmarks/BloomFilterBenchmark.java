@@ -0,0 +1,54 @@
+package com.owt.boat_test.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.owt.boat_test.infrastructure.security.BloomFilter;
+
+/**
+ * Benchmarks of the revocation check run on every authenticated request: looking up the ID of a
+ * token that was not revoked, the common case, in a filter holding as many revocations as it was sized for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BloomFilterBenchmark {
+
+  private BloomFilter filter;
+  private String revokedTokenId;
+  private String validTokenId;
+
+  @Setup
+  public void setUp() {
+    filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      revokedTokenId = UUID.randomUUID().toString();
+      filter.put(revokedTokenId);
+    }
+    validTokenId = UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public boolean mightContainValid() {
+    return filter.mightContain(validTokenId);
+  }
+
+  @Benchmark
+  public boolean mightContainRevoked() {
+    return filter.mightContain(revokedTokenId);
+  }
+}
@@ -0,0 +1,67 @@
+package com.owt.boat_test.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.dtos.BoatPageDto;
+import com.owt.boat_test.application.services.BoatService;
+
+/**
+ * Benchmarks of BoatService against an in-memory repository, isolating the cost of the
+ * application layer (lookups, mapping, pagination) from the persistence layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoatServiceBenchmark {
+
+  @Param({"100", "10000"})
+  private int size;
+
+  private BoatService boatService;
+
+  @Setup
+  public void setUp() {
+    InMemoryBoatRepository repository = new InMemoryBoatRepository();
+    for (long id = 1; id <= size; id++) {
+      repository.save(BenchmarkFixtures.boat(null));
+    }
+    boatService = new BoatService(repository);
+  }
+
+  @Benchmark
+  public List<BoatDto> getAllBoats() {
+    return boatService.getAllBoats();
+  }
+
+  @Benchmark
+  public BoatDto getBoatById() {
+    return boatService.getBoatById((long) (size / 2));
+  }
+
+  @Benchmark
+  public BoatPageDto getFirstPage() {
+    return boatService.getBoatPage(50, null, false);
+  }
+
+  @Benchmark
+  public BoatDto updateBoat() {
+    return boatService.updateBoat(1L, new BoatDto(1L, "Updated Boat", "Updated description"));
+  }
+}
@@ -0,0 +1,145 @@
+package com.owt.boat_test.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+/**
+ * Minimal in-memory implementation of the BoatRepositoryPort interface,
+ * used to benchmark the application layer without a database.
+ */
+class InMemoryBoatRepository implements BoatRepositoryPort {
+
+  private final ConcurrentSkipListMap<Long, Boat> boats = new ConcurrentSkipListMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong revision = new AtomicLong();
+
+  @Override
+  public Boat save(Boat boat) {
+    Boat stored = new Boat();
+    stored.setId(boat.getId() != null && boats.containsKey(boat.getId()) ? boat.getId() : sequence.incrementAndGet());
+    stored.setName(boat.getName());
+    stored.setDescription(boat.getDescription());
+    Boat previous = boats.get(stored.getId());
+    stored.setVersion(previous == null ? 0L : previous.getVersion() + 1);
+    boats.put(stored.getId(), stored);
+    revision.incrementAndGet();
+    return stored;
+  }
+
+  @Override
+  public List<Boat> saveAll(List<Boat> boatsToSave) {
+    List<Boat> saved = new ArrayList<>(boatsToSave.size());
+    boatsToSave.forEach(boat -> saved.add(save(boat)));
+    return saved;
+  }
+
+  @Override
+  public List<Boat> findAll() {
+    return new ArrayList<>(boats.values());
+  }
+
+  @Override
+  public Boat findById(Long id) {
+    return boats.get(id);
+  }
+
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    return findAll();
+  }
+
+  @Override
+  public Boat findByIdWithoutDescription(Long id) {
+    return findById(id);
+  }
+
+  @Override
+  public Long findVersionById(Long id) {
+    Boat boat = boats.get(id);
+    return boat == null ? null : boat.getVersion();
+  }
+
+  @Override
+  public long getRevision() {
+    return revision.get();
+  }
+
+  @Override
+  public BoatDelta findChangesSince(long since) {
+    long current = revision.get();
+    return since == current
+        ? new BoatDelta(current, List.of(), List.of(), false)
+        : BoatDelta.reset(current, findAll());
+  }
+
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    Set<Long> existing = new HashSet<>();
+    ids.stream().filter(boats::containsKey).forEach(existing::add);
+    return existing;
+  }
+
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    Map<Long, Boat> tail = afterId == null ? boats : boats.tailMap(afterId, false);
+    return tail.values().stream().limit(limit).toList();
+  }
+
+  @Override
+  public void forEach(Consumer<Boat> consumer) {
+    boats.values().forEach(consumer);
+  }
+
+  @Override
+  public long count() {
+    return boats.size();
+  }
+
+  @Override
+  public Boat update(Boat boat, Long expectedVersion) {
+    Boat existing = boats.get(boat.getId());
+    if (existing == null || (expectedVersion != null && !expectedVersion.equals(existing.getVersion()))) {
+      return null;
+    }
+    return save(boat);
+  }
+
+  @Override
+  public Boat patch(Boat boat, Long expectedVersion) {
+    Boat existing = boats.get(boat.getId());
+    if (existing == null) {
+      return null;
+    }
+    Boat changes = new Boat();
+    changes.setId(boat.getId());
+    changes.setName(boat.getName() != null ? boat.getName() : existing.getName());
+    changes.setDescription(boat.getDescription() != null ? boat.getDescription() : existing.getDescription());
+    return update(changes, expectedVersion);
+  }
+
+  @Override
+  public boolean delete(Long id) {
+    boolean deleted = boats.remove(id) != null;
+    revision.incrementAndGet();
+    return deleted;
+  }
+
+  @Override
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    Set<Long> deleted = new HashSet<>();
+    ids.stream().filter(id -> boats.remove(id) != null).forEach(deleted::add);
+    revision.incrementAndGet();
+    return deleted;
+  }
+}
@@ -0,0 +1,113 @@
+package com.owt.boat_test.benchmarks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.owt.boat_test.domain.models.SigningKey;
+import com.owt.boat_test.domain.ports.repositories.SigningKeyRepositoryPort;
+import com.owt.boat_test.infrastructure.security.JwtKeyring;
+import com.owt.boat_test.infrastructure.security.JwtProvider;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Benchmarks of the JWT operations: issuing a token at login, and verifying it on every
+ * authenticated request, both on a first sight of the token and on a repeat request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+  // More tokens than the verified token cache of JwtProvider holds, so that they are verified anew when cycled through
+  private static final int UNSEEN_TOKENS = 50_000;
+
+  @Param({"ES256", "EdDSA"})
+  private String algorithm;
+
+  private JwtKeyring keyring;
+  private JwtProvider jwtProvider;
+  private String token;
+  private String[] unseenTokens;
+  private int nextUnseenToken;
+
+  @Setup
+  public void setUp() {
+    keyring = new JwtKeyring(new InMemorySigningKeyRepository(), algorithm, Duration.ofDays(1), Duration.ofMinutes(1),
+        Duration.ofMinutes(5), Duration.ofSeconds(1), "sL8CzkglHKQ8bVBXKXecaWg7eZhhntQ5zAqf8+ZMldg=");
+    keyring.refresh();
+    jwtProvider = new JwtProvider(keyring, Duration.ofMinutes(5));
+    token = jwtProvider.generateToken("admin");
+    jwtProvider.verifyToken(token);
+    unseenTokens = new String[UNSEEN_TOKENS];
+    for (int i = 0; i < UNSEEN_TOKENS; i++) {
+      unseenTokens[i] = jwtProvider.generateToken("admin");
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    keyring.close();
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtProvider.generateToken("admin");
+  }
+
+  @Benchmark
+  public Claims verifyNewToken() {
+    String unseenToken = unseenTokens[nextUnseenToken];
+    nextUnseenToken = (nextUnseenToken + 1) % UNSEEN_TOKENS;
+    return jwtProvider.verifyToken(unseenToken);
+  }
+
+  @Benchmark
+  public Claims verifyCachedToken() {
+    return jwtProvider.verifyToken(token);
+  }
+
+  /**
+   * Signing keys kept in memory, as the benchmark runs without a database.
+   */
+  private static class InMemorySigningKeyRepository implements SigningKeyRepositoryPort {
+
+    private final List<SigningKey> keys = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void save(SigningKey signingKey) {
+      keys.add(signingKey);
+    }
+
+    @Override
+    public List<SigningKey> findUnexpired(Instant now) {
+      return keys.stream().filter(key -> key.getExpiresAt().isAfter(now)).toList();
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+      int size = keys.size();
+      keys.removeIf(key -> !key.getExpiresAt().isAfter(now));
+      return size - keys.size();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.owt.boat_test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.mappers.BoatMapper;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.mappers.BoatEntityMapper;
+
+/**
+ * Benchmarks of the conversions between DTOs, domain models and JPA entities,
+ * applied to every boat on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+  private Boat boat;
+  private BoatDto boatDto;
+  private BoatEntity boatEntity;
+
+  @Setup
+  public void setUp() {
+    boat = BenchmarkFixtures.boat(1L);
+    boatDto = BoatMapper.toDto(boat);
+    boatEntity = BoatEntityMapper.toEntity(boat);
+  }
+
+  @Benchmark
+  public BoatDto boatToDto() {
+    return BoatMapper.toDto(boat);
+  }
+
+  @Benchmark
+  public Boat dtoToBoat() {
+    return BoatMapper.toEntity(boatDto);
+  }
+
+  @Benchmark
+  public BoatEntity boatToEntity() {
+    return BoatEntityMapper.toEntity(boat);
+  }
+
+  @Benchmark
+  public Boat entityToBoat() {
+    return BoatEntityMapper.toDomain(boatEntity);
+  }
+}
@@ -0,0 +1,52 @@
+package com.owt.boat_test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.owt.boat_test.infrastructure.security.RateLimiter;
+
+/**
+ * Benchmarks of the rate limiter run on every request: a client taking tokens from its own bucket,
+ * and several threads contending on the bucket of the same client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+  private RateLimiter rateLimiter;
+
+  @Setup
+  public void setUp() {
+    // A rate high enough for the benchmark never to be limited
+    rateLimiter = new RateLimiter(1e9, 1_000_000);
+    for (int i = 0; i < 10_000; i++) {
+      rateLimiter.tryAcquireForUser("user-" + i, System.nanoTime());
+    }
+  }
+
+  @Benchmark
+  public long tryAcquire() {
+    return rateLimiter.tryAcquireForUser("user-42", System.nanoTime());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long tryAcquireContended() {
+    return rateLimiter.tryAcquireForUser("user-42", System.nanoTime());
+  }
+}
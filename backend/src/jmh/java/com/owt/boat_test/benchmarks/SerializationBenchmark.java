@@ -0,0 +1,57 @@
+package com.owt.boat_test.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.mappers.BoatMapper;
+
+/**
+ * Benchmark of the JSON serialization of a list of boats, as done for {@code GET /boats},
+ * with an object mapper configured like the one of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+  @Param({"100", "10000", "1000000"})
+  private int size;
+
+  private ObjectMapper objectMapper;
+  private List<BoatDto> boats;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    boats = new ArrayList<>(size);
+    for (long id = 1; id <= size; id++) {
+      boats.add(BoatMapper.toDto(BenchmarkFixtures.boat(id)));
+    }
+  }
+
+  @Benchmark
+  public void serializeBoats() throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), boats);
+  }
+}
@@ -0,0 +1,178 @@
+package com.owt.boat_test.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Client of the boat API for the load test, authenticated as a single user.
+ * The access token is renewed with the refresh token, or by logging in again, when the backend rejects it,
+ * and the rejected request is then retried once, as the frontend does.
+ */
+final class BoatApiClient {
+
+  private static final String JSON = "application/json";
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final URI baseUrl;
+  private final String username;
+  private final String password;
+  private final Duration timeout;
+  private final AtomicLong boatCounter = new AtomicLong();
+  private final ReentrantLock renewalLock = new ReentrantLock();
+  private volatile Tokens tokens;
+
+  /**
+   * The tokens of the current session.
+   */
+  private record Tokens(String accessToken, String refreshToken) {
+  }
+
+  /**
+   * Constructor for BoatApiClient.
+   *
+   * @param options The options giving the backend, the credentials and the request timeout
+   */
+  BoatApiClient(LoadTestOptions options) {
+    this.baseUrl = options.baseUrl();
+    this.username = options.username();
+    this.password = options.password();
+    this.timeout = options.timeout();
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(timeout)
+        .build();
+  }
+
+  /**
+   * Logs in with the credentials of the options.
+   *
+   * @throws IOException If the backend cannot be reached or rejects the credentials
+   * @throws InterruptedException If interrupted while waiting for the response
+   */
+  void login() throws IOException, InterruptedException {
+    HttpResponse<byte[]> response = post("/auth/login", Map.of("username", username, "password", password), null);
+    if (response.statusCode() != 200) {
+      throw new IOException("Login as " + username + " failed with HTTP " + response.statusCode());
+    }
+    tokens = readTokens(response);
+  }
+
+  /**
+   * Revokes the tokens of the session, leaving no valid token behind the load test.
+   *
+   * @throws IOException If the backend cannot be reached
+   * @throws InterruptedException If interrupted while waiting for the response
+   */
+  void logout() throws IOException, InterruptedException {
+    Tokens current = tokens;
+    post("/auth/logout", Map.of("refreshToken", current.refreshToken()), current.accessToken());
+  }
+
+  /**
+   * Issues an operation of the boat API.
+   *
+   * @param operation The operation
+   * @param id The ID of the boat for the operations on an existing boat, ignored by the others
+   * @return The response of the backend
+   * @throws IOException If the request fails or times out
+   * @throws InterruptedException If interrupted while waiting for the response
+   */
+  HttpResponse<byte[]> send(Operation operation, Long id) throws IOException, InterruptedException {
+    HttpRequest.Builder request = switch (operation) {
+      case LIST -> request("/boats").GET();
+      case GET -> request("/boats/" + id).GET();
+      case CREATE -> request("/boats").header("Content-Type", JSON).POST(boatBody());
+      case UPDATE -> request("/boats/" + id).header("Content-Type", JSON).PUT(boatBody());
+      case DELETE -> request("/boats/" + id).DELETE();
+    };
+    return sendAuthenticated(request);
+  }
+
+  /**
+   * Reads the ID of the boat returned by a successful creation.
+   *
+   * @param response The response to POST /boats
+   * @return The ID of the created boat
+   * @throws IOException If the body is not a boat
+   */
+  long createdId(HttpResponse<byte[]> response) throws IOException {
+    return objectMapper.readTree(response.body()).path("id").asLong();
+  }
+
+  private HttpResponse<byte[]> sendAuthenticated(HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    Tokens used = tokens;
+    HttpResponse<byte[]> response = httpClient.send(
+        request.header("Authorization", "Bearer " + used.accessToken()).build(),
+        HttpResponse.BodyHandlers.ofByteArray());
+    // An expired or revoked token is answered with 401 or 403, depending on the filter rejecting it
+    if (response.statusCode() == 401 || response.statusCode() == 403) {
+      Tokens renewed = renew(used);
+      response = httpClient.send(
+          request.setHeader("Authorization", "Bearer " + renewed.accessToken()).build(),
+          HttpResponse.BodyHandlers.ofByteArray());
+    }
+    return response;
+  }
+
+  /**
+   * Renews the tokens once for all the requests rejected with the same token.
+   */
+  private Tokens renew(Tokens rejected) throws IOException, InterruptedException {
+    renewalLock.lock();
+    try {
+      if (tokens != rejected) {
+        return tokens;
+      }
+      HttpResponse<byte[]> response = post("/auth/refresh", Map.of("refreshToken", rejected.refreshToken()), null);
+      if (response.statusCode() == 200) {
+        tokens = readTokens(response);
+      } else {
+        login();
+      }
+      return tokens;
+    } finally {
+      renewalLock.unlock();
+    }
+  }
+
+  private HttpResponse<byte[]> post(String path, Map<String, String> body, String accessToken)
+      throws IOException, InterruptedException {
+    HttpRequest.Builder request = request(path)
+        .header("Content-Type", JSON)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    if (accessToken != null) {
+      request.header("Authorization", "Bearer " + accessToken);
+    }
+    return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(timeout)
+        .header("Accept", JSON);
+  }
+
+  private HttpRequest.BodyPublisher boatBody() throws IOException {
+    long number = boatCounter.incrementAndGet();
+    return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of(
+        "name", "Load test boat " + number,
+        "description", "Boat " + number + " written by the load test, deleted at the end of the run.")));
+  }
+
+  private Tokens readTokens(HttpResponse<byte[]> response) throws IOException {
+    JsonNode body = objectMapper.readTree(response.body());
+    return new Tokens(body.path("token").asText(), body.path("refreshToken").asText());
+  }
+}
@@ -0,0 +1,83 @@
+package com.owt.boat_test.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * IDs of the boats created by the load test, which are the only ones it reads, updates and deletes.
+ */
+final class BoatIdPool {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final List<Long> ids = new ArrayList<>();
+
+  /**
+   * Adds a created boat to the pool.
+   *
+   * @param id The ID of the boat
+   */
+  void add(long id) {
+    lock.lock();
+    try {
+      ids.add(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Picks a boat of the pool, leaving it in the pool.
+   *
+   * @param random The random generator of the caller
+   * @return The ID of a boat, or null if the pool is empty
+   */
+  Long pick(RandomGenerator random) {
+    lock.lock();
+    try {
+      return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Takes a boat out of the pool, so that it is not picked while it is being deleted.
+   *
+   * @param random The random generator of the caller
+   * @return The ID of a boat, or null if the pool is empty
+   */
+  Long take(RandomGenerator random) {
+    lock.lock();
+    try {
+      if (ids.isEmpty()) {
+        return null;
+      }
+      // Swap with the last ID for a constant time removal
+      int index = random.nextInt(ids.size());
+      Long id = ids.get(index);
+      ids.set(index, ids.get(ids.size() - 1));
+      ids.remove(ids.size() - 1);
+      return id;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Takes every boat out of the pool.
+   *
+   * @return The IDs of the boats of the pool
+   */
+  List<Long> drain() {
+    lock.lock();
+    try {
+      List<Long> drained = List.copyOf(ids);
+      ids.clear();
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
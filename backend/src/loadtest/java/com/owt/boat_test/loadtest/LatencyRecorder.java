@@ -0,0 +1,130 @@
+package com.owt.boat_test.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes of the requests of a phase of the load test, by operation.
+ * Two latencies are recorded for each request, in microseconds: the response time, from the time the request
+ * was scheduled to start, which corrects the coordinated omission of a generator falling behind its schedule,
+ * and the service time, from the time it was actually sent.
+ */
+final class LatencyRecorder {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+  /**
+   * Latencies and outcomes of the requests of one operation.
+   */
+  static final class OperationStats {
+
+    private final Histogram responseTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Gets the response times, from the scheduled start of the requests.
+     *
+     * @return The histogram of the response times in microseconds
+     */
+    Histogram responseTimes() {
+      return responseTimes;
+    }
+
+    /**
+     * Gets the service times, from the actual start of the requests.
+     *
+     * @return The histogram of the service times in microseconds
+     */
+    Histogram serviceTimes() {
+      return serviceTimes;
+    }
+
+    /**
+     * Gets the number of requests by outcome.
+     *
+     * @return The HTTP status codes, or the kind of error of the requests without response, and their counts
+     */
+    Map<String, LongAdder> outcomes() {
+      return outcomes;
+    }
+
+    /**
+     * Gets the number of requests not answered with a 2xx status.
+     *
+     * @return The number of failed requests
+     */
+    long failures() {
+      return failures.sum();
+    }
+  }
+
+  /**
+   * Constructor for LatencyRecorder.
+   */
+  LatencyRecorder() {
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new OperationStats());
+    }
+  }
+
+  /**
+   * Records a completed request.
+   *
+   * @param operation The operation of the request
+   * @param outcome The HTTP status code of the response, or the kind of error without response
+   * @param success Whether the response has a 2xx status
+   * @param responseNanos The time from the scheduled start of the request to its completion
+   * @param serviceNanos The time from the actual start of the request to its completion
+   */
+  void record(Operation operation, String outcome, boolean success, long responseNanos, long serviceNanos) {
+    OperationStats operationStats = stats.get(operation);
+    operationStats.responseTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(responseNanos));
+    operationStats.serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+    operationStats.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    if (!success) {
+      operationStats.failures.increment();
+    }
+  }
+
+  /**
+   * Gets the statistics of an operation.
+   *
+   * @param operation The operation
+   * @return The latencies and outcomes of its requests
+   */
+  OperationStats stats(Operation operation) {
+    return stats.get(operation);
+  }
+
+  /**
+   * Merges the response times of every operation.
+   *
+   * @return A new histogram of all the response times in microseconds
+   */
+  Histogram allResponseTimes() {
+    Histogram all = new Histogram(SIGNIFICANT_DIGITS);
+    stats.values().forEach(operationStats -> all.add(operationStats.responseTimes));
+    return all;
+  }
+
+  /**
+   * Counts the successful requests of every operation.
+   *
+   * @return The number of requests answered with a 2xx status
+   */
+  long successes() {
+    return stats.values().stream()
+        .mapToLong(operationStats -> operationStats.responseTimes.getTotalCount() - operationStats.failures())
+        .sum();
+  }
+}
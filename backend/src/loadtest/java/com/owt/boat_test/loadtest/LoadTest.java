@@ -0,0 +1,217 @@
+package com.owt.boat_test.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the boat API of a running backend.
+ * Requests are started on an open model: at the rate of the options, whatever the response times, each on its
+ * own virtual thread, as independent users would. When the backend cannot keep up, requests queue up instead
+ * of being started later, so the response times include the waiting a user would see; when the cap on requests
+ * in flight delays a start, the delay is counted from the scheduled start time as well.
+ * The run logs in, creates the boats it reads, updates and deletes, warms the backend up, measures, deletes
+ * the boats it created, then prints and writes its report. It exits with 1 if a threshold of the options is
+ * exceeded and with 2 on invalid options or if the backend cannot be used.
+ */
+public final class LoadTest {
+
+  private static final int SETUP_CONCURRENCY = 8;
+
+  private final LoadTestOptions options;
+  private final BoatApiClient client;
+  private final BoatIdPool pool = new BoatIdPool();
+  private final Semaphore inFlight;
+
+  private LoadTest(LoadTestOptions options) {
+    this.options = options;
+    this.client = new BoatApiClient(options);
+    this.inFlight = new Semaphore(options.maxInFlight());
+  }
+
+  /**
+   * Runs the load test.
+   *
+   * @param args The options, as {@code --name=value}, see {@link LoadTestOptions#USAGE}
+   */
+  public static void main(String[] args) {
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(LoadTestOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    try {
+      System.exit(new LoadTest(options).run() ? 0 : 1);
+    } catch (IOException e) {
+      System.err.println("Load test aborted: " + e.getMessage());
+      System.exit(2);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.exit(2);
+    }
+  }
+
+  /**
+   * Runs the phases of the load test and reports the measured one.
+   *
+   * @return true if the thresholds of the options are met
+   */
+  private boolean run() throws IOException, InterruptedException {
+    client.login();
+    seed();
+    try {
+      System.out.printf("Warming up for %.1f s at %.1f requests/s%n", options.warmup().toMillis() / 1000.0,
+          options.rate());
+      runPhase(options.warmup(), new LatencyRecorder());
+      System.out.printf("Measuring for %.1f s at %.1f requests/s%n", options.duration().toMillis() / 1000.0,
+          options.rate());
+      LatencyRecorder recorder = new LatencyRecorder();
+      long maxDispatchDelay = runPhase(options.duration(), recorder);
+
+      LoadTestReport report = new LoadTestReport(options, recorder, maxDispatchDelay);
+      report.print(System.out);
+      report.write(options.report());
+      System.out.println("Report written to " + options.report());
+      return report.passed();
+    } finally {
+      cleanUp();
+      client.logout();
+    }
+  }
+
+  /**
+   * Creates the boats read, updated and deleted by the run.
+   */
+  private void seed() throws IOException, InterruptedException {
+    for (int i = 0; i < options.seedBoats(); i++) {
+      HttpResponse<byte[]> response = client.send(Operation.CREATE, null);
+      if (response.statusCode() == 429) {
+        throw new IOException("The backend rate limits the load test; start it with --boats.rate-limit.enabled=false");
+      }
+      if (response.statusCode() != 201) {
+        throw new IOException("Creating a boat failed with HTTP " + response.statusCode());
+      }
+      pool.add(client.createdId(response));
+    }
+  }
+
+  /**
+   * Starts requests at the rate of the options for a duration, then waits for the last ones to complete.
+   *
+   * @return The largest delay of a request start behind its schedule, in nanoseconds
+   */
+  private long runPhase(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+    double meanIntervalNanos = 1e9 / options.rate();
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    double scheduled = start;
+    long maxDispatchDelay = 0;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      while (scheduled < end) {
+        long scheduledStart = (long) scheduled;
+        long wait;
+        while ((wait = scheduledStart - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        inFlight.acquire();
+        maxDispatchDelay = Math.max(maxDispatchDelay, System.nanoTime() - scheduledStart);
+        executor.execute(() -> {
+          try {
+            issue(scheduledStart, recorder);
+          } finally {
+            inFlight.release();
+          }
+        });
+        scheduled += switch (options.arrival()) {
+          case CONSTANT -> meanIntervalNanos;
+          case POISSON -> -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos;
+        };
+      }
+    }
+    return maxDispatchDelay;
+  }
+
+  /**
+   * Issues a request of the mix and records it against its scheduled start.
+   */
+  private void issue(long scheduledStart, LatencyRecorder recorder) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Operation operation = options.mix().next(random);
+    Long id = null;
+    if (operation.needsBoat()) {
+      id = operation == Operation.DELETE ? pool.take(random) : pool.pick(random);
+      if (id == null) {
+        // Every boat of the run has been deleted: create one instead
+        operation = Operation.CREATE;
+      }
+    }
+
+    long sent = System.nanoTime();
+    String outcome;
+    boolean success = false;
+    try {
+      HttpResponse<byte[]> response = client.send(operation, id);
+      int status = response.statusCode();
+      outcome = Integer.toString(status);
+      success = status >= 200 && status < 300;
+      if (operation == Operation.CREATE && success) {
+        pool.add(client.createdId(response));
+      } else if (operation == Operation.DELETE && !success && status != 404) {
+        pool.add(id);
+      }
+    } catch (HttpTimeoutException e) {
+      outcome = "timeout";
+    } catch (IOException e) {
+      outcome = "io_error";
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      outcome = "interrupted";
+    }
+    long completed = System.nanoTime();
+    recorder.record(operation, outcome, success, completed - scheduledStart, completed - sent);
+  }
+
+  /**
+   * Deletes the boats created by the run that are still there.
+   */
+  private void cleanUp() throws InterruptedException {
+    List<Long> ids = pool.drain();
+    Semaphore concurrency = new Semaphore(SETUP_CONCURRENCY);
+    AtomicLong failures = new AtomicLong();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (Long id : ids) {
+        concurrency.acquire();
+        executor.execute(() -> {
+          try {
+            int status = client.send(Operation.DELETE, id).statusCode();
+            if (status >= 300 && status != 404) {
+              failures.incrementAndGet();
+            }
+          } catch (IOException e) {
+            failures.incrementAndGet();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            concurrency.release();
+          }
+        });
+      }
+    }
+    if (failures.get() > 0) {
+      System.err.printf("%d of the %d boats created by the load test could not be deleted%n", failures.get(),
+          ids.size());
+    }
+  }
+}
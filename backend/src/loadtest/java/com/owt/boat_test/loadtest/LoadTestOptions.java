@@ -0,0 +1,128 @@
+package com.owt.boat_test.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Options of the load test, given on the command line as {@code --name=value}.
+ *
+ * @param baseUrl The URL of the backend under test
+ * @param username The user the load test logs in as
+ * @param password The password of the user
+ * @param rate The number of requests started per second, whatever the response times
+ * @param arrival How the requests are spread within a second
+ * @param duration The duration of the measured run
+ * @param warmup The duration of the run before the measured one, whose latencies are discarded
+ * @param mix The weights of the operations
+ * @param seedBoats The number of boats created before the run, for the operations on an existing boat
+ * @param maxInFlight The maximum number of requests in flight
+ * @param timeout The timeout of each request
+ * @param report The file the JSON report is written to
+ * @param maxP99 The 99th percentile of the response times above which the run fails, or null
+ * @param minThroughput The number of successful requests per second below which the run fails, or null
+ */
+record LoadTestOptions(URI baseUrl,
+                       String username,
+                       String password,
+                       double rate,
+                       Arrival arrival,
+                       Duration duration,
+                       Duration warmup,
+                       OperationMix mix,
+                       int seedBoats,
+                       int maxInFlight,
+                       Duration timeout,
+                       Path report,
+                       Duration maxP99,
+                       Double minThroughput) {
+
+  /**
+   * Usage printed on invalid options.
+   */
+  static final String USAGE = """
+      Options, all optional:
+        --url=http://localhost:8080           backend under test
+        --username=admin --password=password  credentials of the load test user
+        --rate=100                            requests started per second (open model)
+        --arrival=constant|poisson            spacing of the requests
+        --duration=60s --warmup=10s           measured run and discarded warmup
+        --mix=list=60,get=25,create=5,update=5,delete=5
+        --seed-boats=100                      boats created before the run
+        --max-in-flight=1000                  cap on concurrent requests
+        --timeout=10s                         timeout of each request
+        --report=target/loadtest-report.json  JSON report
+        --max-p99=250ms                       fail if the p99 response time is above
+        --min-throughput=95                   fail if fewer successful requests per second""";
+
+  /**
+   * Spacing of the request start times.
+   */
+  enum Arrival {
+    /**
+     * Requests evenly spaced by 1 / rate
+     */
+    CONSTANT,
+
+    /**
+     * Exponentially distributed gaps of mean 1 / rate, as independent clients would
+     */
+    POISSON
+  }
+
+  /**
+   * Parses the command line options.
+   *
+   * @param args The arguments, each as {@code --name=value}
+   * @return The options, with defaults for the ones not given
+   * @throws IllegalArgumentException If an option is unknown or invalid
+   */
+  static LoadTestOptions parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Invalid option, expected --name=value: " + arg);
+      }
+      values.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    LoadTestOptions options = new LoadTestOptions(
+        URI.create(stripTrailingSlash(values.remove("url"), "http://localhost:8080")),
+        valueOr(values.remove("username"), "admin"),
+        valueOr(values.remove("password"), "password"),
+        Double.parseDouble(valueOr(values.remove("rate"), "100")),
+        Arrival.valueOf(valueOr(values.remove("arrival"), "constant").toUpperCase()),
+        DurationStyle.detectAndParse(valueOr(values.remove("duration"), "60s")),
+        DurationStyle.detectAndParse(valueOr(values.remove("warmup"), "10s")),
+        OperationMix.parse(valueOr(values.remove("mix"), "list=60,get=25,create=5,update=5,delete=5")),
+        Integer.parseInt(valueOr(values.remove("seed-boats"), "100")),
+        Integer.parseInt(valueOr(values.remove("max-in-flight"), "1000")),
+        DurationStyle.detectAndParse(valueOr(values.remove("timeout"), "10s")),
+        Path.of(valueOr(values.remove("report"), "target/loadtest-report.json")),
+        values.containsKey("max-p99") ? DurationStyle.detectAndParse(values.remove("max-p99")) : null,
+        values.containsKey("min-throughput") ? Double.valueOf(values.remove("min-throughput")) : null);
+
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown options: " + values.keySet());
+    }
+    if (options.rate <= 0 || options.maxInFlight <= 0 || options.seedBoats < 0) {
+      throw new IllegalArgumentException(
+          "The rate and the maximum in flight must be positive, and the number of seed boats not negative");
+    }
+    return options;
+  }
+
+  private static String valueOr(String value, String defaultValue) {
+    return value == null ? defaultValue : value;
+  }
+
+  private static String stripTrailingSlash(String url, String defaultUrl) {
+    String value = valueOr(url, defaultUrl);
+    return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+  }
+}
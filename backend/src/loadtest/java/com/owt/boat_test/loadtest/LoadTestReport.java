@@ -0,0 +1,163 @@
+package com.owt.boat_test.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Report of a measured run of the load test, printed as a table and written as JSON.
+ * Latencies are reported in milliseconds; the thresholds of the options decide whether the run passed.
+ */
+final class LoadTestReport {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+  private final LoadTestOptions options;
+  private final LatencyRecorder recorder;
+  private final long maxDispatchDelayNanos;
+  private final Histogram allResponseTimes;
+  private final double throughput;
+  private final List<String> failedThresholds = new ArrayList<>();
+
+  /**
+   * Constructor for LoadTestReport, checking the thresholds of the options.
+   *
+   * @param options The options of the run
+   * @param recorder The latencies of the measured run
+   * @param maxDispatchDelayNanos The largest delay of a request start behind its schedule
+   */
+  LoadTestReport(LoadTestOptions options, LatencyRecorder recorder, long maxDispatchDelayNanos) {
+    this.options = options;
+    this.recorder = recorder;
+    this.maxDispatchDelayNanos = maxDispatchDelayNanos;
+    this.allResponseTimes = recorder.allResponseTimes();
+    this.throughput = recorder.successes() / (options.duration().toNanos() / 1e9);
+
+    double p99Millis = millis(allResponseTimes.getValueAtPercentile(99));
+    if (options.maxP99() != null && p99Millis > options.maxP99().toNanos() / 1e6) {
+      failedThresholds.add("p99 response time of %.3f ms above %d ms"
+          .formatted(p99Millis, options.maxP99().toMillis()));
+    }
+    if (options.minThroughput() != null && throughput < options.minThroughput()) {
+      failedThresholds.add("throughput of %.1f/s below %.1f/s".formatted(throughput, options.minThroughput()));
+    }
+  }
+
+  /**
+   * Tells whether the run met the thresholds of the options.
+   *
+   * @return true if no threshold is exceeded
+   */
+  boolean passed() {
+    return failedThresholds.isEmpty();
+  }
+
+  /**
+   * Prints the response time percentiles of each operation and the thresholds exceeded.
+   *
+   * @param out The stream to print to
+   */
+  void print(PrintStream out) {
+    out.printf("%-8s %8s %8s %10s %10s %10s %10s%n", "", "requests", "failures", "p50 ms", "p99 ms", "p999 ms",
+        "max ms");
+    for (Operation operation : Operation.values()) {
+      LatencyRecorder.OperationStats stats = recorder.stats(operation);
+      if (stats.responseTimes().getTotalCount() > 0) {
+        printRow(out, operation.key(), stats.responseTimes(), stats.failures());
+      }
+    }
+    printRow(out, "all", allResponseTimes, allResponseTimes.getTotalCount() - recorder.successes());
+    out.printf("Throughput: %.1f successful requests/s for a target of %.1f/s, max dispatch delay %.3f ms%n",
+        throughput, options.rate(), maxDispatchDelayNanos / 1e6);
+    failedThresholds.forEach(failure -> out.println("FAILED: " + failure));
+  }
+
+  /**
+   * Writes the report as JSON, creating its directory if needed.
+   *
+   * @param file The file to write
+   * @throws IOException If the file cannot be written
+   */
+  void write(Path file) throws IOException {
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("timestamp", Instant.now().toString());
+    report.put("baseUrl", options.baseUrl().toString());
+    report.put("targetRate", options.rate());
+    report.put("arrival", options.arrival().name().toLowerCase());
+    report.put("durationSeconds", options.duration().toNanos() / 1e9);
+    report.put("warmupSeconds", options.warmup().toNanos() / 1e9);
+    report.put("maxInFlight", options.maxInFlight());
+    Map<String, Integer> mix = new LinkedHashMap<>();
+    options.mix().weights().forEach((operation, weight) -> mix.put(operation.key(), weight));
+    report.put("mix", mix);
+
+    Map<String, Object> total = new LinkedHashMap<>();
+    total.put("requests", allResponseTimes.getTotalCount());
+    total.put("failures", allResponseTimes.getTotalCount() - recorder.successes());
+    total.put("throughput", throughput);
+    total.put("maxDispatchDelayMillis", maxDispatchDelayNanos / 1e6);
+    total.put("responseTime", latencies(allResponseTimes));
+    report.put("total", total);
+
+    Map<String, Object> operations = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) {
+      LatencyRecorder.OperationStats stats = recorder.stats(operation);
+      if (stats.responseTimes().getTotalCount() > 0) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("requests", stats.responseTimes().getTotalCount());
+        entry.put("failures", stats.failures());
+        Map<String, Long> outcomes = new TreeMap<>();
+        stats.outcomes().forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+        entry.put("outcomes", outcomes);
+        entry.put("responseTime", latencies(stats.responseTimes()));
+        entry.put("serviceTime", latencies(stats.serviceTimes()));
+        operations.put(operation.key(), entry);
+      }
+    }
+    report.put("operations", operations);
+
+    Map<String, Object> thresholds = new LinkedHashMap<>();
+    thresholds.put("maxP99Millis", options.maxP99() == null ? null : options.maxP99().toMillis());
+    thresholds.put("minThroughput", options.minThroughput());
+    thresholds.put("failures", failedThresholds);
+    thresholds.put("passed", passed());
+    report.put("thresholds", thresholds);
+
+    if (file.toAbsolutePath().getParent() != null) {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+    }
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+  }
+
+  private static void printRow(PrintStream out, String name, Histogram histogram, long failures) {
+    out.printf("%-8s %8d %8d %10.3f %10.3f %10.3f %10.3f%n", name, histogram.getTotalCount(), failures,
+        millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+        millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+  }
+
+  private static Map<String, Double> latencies(Histogram histogram) {
+    Map<String, Double> latencies = new LinkedHashMap<>();
+    latencies.put("mean", histogram.getMean() / 1000);
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      latencies.put(PERCENTILE_NAMES[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+    }
+    latencies.put("max", millis(histogram.getMaxValue()));
+    return latencies;
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
@@ -0,0 +1,72 @@
+package com.owt.boat_test.loadtest;
+
+/**
+ * Requests of the boat API issued by the load test.
+ */
+enum Operation {
+
+  /**
+   * GET /boats
+   */
+  LIST("list"),
+
+  /**
+   * GET /boats/{id} of a boat created by the load test
+   */
+  GET("get"),
+
+  /**
+   * POST /boats
+   */
+  CREATE("create"),
+
+  /**
+   * PUT /boats/{id} of a boat created by the load test
+   */
+  UPDATE("update"),
+
+  /**
+   * DELETE /boats/{id} of a boat created by the load test
+   */
+  DELETE("delete");
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Gets the name of the operation in the options and in the report.
+   *
+   * @return The name of the operation
+   */
+  String key() {
+    return key;
+  }
+
+  /**
+   * Finds an operation by its name in the options.
+   *
+   * @param key The name of the operation
+   * @return The operation
+   * @throws IllegalArgumentException If no operation has this name
+   */
+  static Operation fromKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation: " + key);
+  }
+
+  /**
+   * Tells whether the operation targets an existing boat.
+   *
+   * @return true for GET, UPDATE and DELETE
+   */
+  boolean needsBoat() {
+    return this == GET || this == UPDATE || this == DELETE;
+  }
+}
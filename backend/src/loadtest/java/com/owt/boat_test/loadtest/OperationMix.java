@@ -0,0 +1,80 @@
+package com.owt.boat_test.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of the operations of the load test, drawn independently for each request.
+ */
+final class OperationMix {
+
+  private final Map<Operation, Integer> weights;
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+
+  private OperationMix(Map<Operation, Integer> weights) {
+    this.weights = weights;
+    this.operations = weights.keySet().toArray(Operation[]::new);
+    this.cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += weights.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  /**
+   * Parses a mix written as comma-separated weights, such as {@code list=60,get=25,create=5,update=5,delete=5}.
+   * Operations left out are not issued.
+   *
+   * @param mix The weights of the operations
+   * @return The parsed mix
+   * @throws IllegalArgumentException If an operation is unknown, a weight is negative or all weights are zero
+   */
+  static OperationMix parse(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : mix.split(",")) {
+      String[] keyAndWeight = entry.trim().split("=", 2);
+      if (keyAndWeight.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry, expected operation=weight: " + entry);
+      }
+      int weight = Integer.parseInt(keyAndWeight[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight for " + keyAndWeight[0]);
+      }
+      if (weight > 0) {
+        weights.put(Operation.fromKey(keyAndWeight[0].trim()), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The mix has no operation with a positive weight: " + mix);
+    }
+    return new OperationMix(weights);
+  }
+
+  /**
+   * Draws the operation of the next request.
+   *
+   * @param random The random generator of the caller
+   * @return An operation, with a probability proportional to its weight
+   */
+  Operation next(RandomGenerator random) {
+    int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (draw < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    throw new IllegalStateException("Unreachable");
+  }
+
+  /**
+   * Gets the weights of the operations, for the report.
+   *
+   * @return The weights of the operations of the mix, by operation
+   */
+  Map<Operation, Integer> weights() {
+    return weights;
+  }
+}
@@ -0,0 +1,95 @@
+package com.owt.boat_test.application.dtos;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of one item of a bulk operation.
+ * Bulk endpoints return one result per submitted item, in the same order, so that
+ * a single invalid or missing item does not fail the whole request.
+ */
+public class BoatBatchResultDto {
+
+  /**
+   * Outcome of a bulk operation on a single item.
+   */
+  public enum Status {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID
+  }
+
+  private int index;
+  private Status status;
+  private Long id;
+  private BoatDto boat;
+  private String error;
+
+  /**
+   * Default constructor required for serialization/deserialization.
+   */
+  public BoatBatchResultDto() {
+  }
+
+  /**
+   * Constructor with all fields for creating a complete BoatBatchResultDto.
+   *
+   * @param index The position of the item in the submitted array
+   * @param status The outcome of the operation on the item
+   * @param id The ID of the boat concerned, if known
+   * @param boat The saved boat, for create and upsert operations
+   * @param error The reason why the item was rejected, if any
+   */
+  public BoatBatchResultDto(int index, Status status, Long id, BoatDto boat, String error) {
+    this.index = index;
+    this.status = status;
+    this.id = id;
+    this.boat = boat;
+    this.error = error;
+  }
+
+  /**
+   * Gets the position of the item in the submitted array.
+   *
+   * @return The index of the item
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the outcome of the operation on the item.
+   *
+   * @return The status of the item
+   */
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * Gets the ID of the boat concerned.
+   *
+   * @return The boat's ID, or null if the item was rejected before reaching the repository
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Gets the saved boat.
+   *
+   * @return The saved boat, or null for delete operations and rejected items
+   */
+  public BoatDto getBoat() {
+    return boat;
+  }
+
+  /**
+   * Gets the reason why the item was rejected.
+   *
+   * @return The error message, or null if the operation succeeded
+   */
+  public String getError() {
+    return error;
+  }
+}
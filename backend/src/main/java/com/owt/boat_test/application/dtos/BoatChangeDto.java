@@ -0,0 +1,106 @@
+package com.owt.boat_test.application.dtos;
+
+/**
+ * Data Transfer Object (DTO) for an entry of the boat change feed.
+ * Contains the ID of the event, to resume the feed from, the kind of change, the ID of the boat
+ * and, unless it was deleted, the boat as stored after the change.
+ */
+public class BoatChangeDto {
+  private String eventId;
+  private String type;
+  private Long id;
+  private BoatDto boat;
+
+  /**
+   * Default constructor required for serialization/deserialization.
+   */
+  public BoatChangeDto() {
+  }
+
+  /**
+   * Constructor with all fields for creating a complete BoatChangeDto.
+   *
+   * @param eventId The ID of the event
+   * @param type The kind of change: created, updated or deleted
+   * @param id The ID of the changed boat
+   * @param boat The boat after the change, or null for a deletion
+   */
+  public BoatChangeDto(String eventId, String type, Long id, BoatDto boat) {
+    this.eventId = eventId;
+    this.type = type;
+    this.id = id;
+    this.boat = boat;
+  }
+
+  /**
+   * Gets the ID of the event.
+   *
+   * @return The event ID, to send back as {@code Last-Event-ID} to resume after this change
+   */
+  public String getEventId() {
+    return eventId;
+  }
+
+  /**
+   * Sets the ID of the event.
+   *
+   * @param eventId The event ID to set
+   */
+  public void setEventId(String eventId) {
+    this.eventId = eventId;
+  }
+
+  /**
+   * Gets the kind of change.
+   *
+   * @return created, updated or deleted
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Sets the kind of change.
+   *
+   * @param type created, updated or deleted
+   */
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  /**
+   * Gets the ID of the changed boat.
+   *
+   * @return The boat's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Sets the ID of the changed boat.
+   *
+   * @param id The boat's ID to set
+   */
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the boat after the change.
+   *
+   * @return The boat, or null for a deletion
+   */
+  public BoatDto getBoat() {
+    return boat;
+  }
+
+  /**
+   * Sets the boat after the change.
+   *
+   * @param boat The boat to set, or null for a deletion
+   */
+  public void setBoat(BoatDto boat) {
+    this.boat = boat;
+  }
+}
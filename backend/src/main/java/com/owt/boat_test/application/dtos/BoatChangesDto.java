@@ -0,0 +1,87 @@
+package com.owt.boat_test.application.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a batch of entries read from the boat change feed.
+ * Contains the changes, the event ID to resume the feed from and whether the client must reload
+ * the boats because the changes it missed are no longer available.
+ */
+public class BoatChangesDto {
+  private List<BoatChangeDto> changes;
+  private String lastEventId;
+  private boolean reset;
+
+  /**
+   * Default constructor required for serialization/deserialization.
+   */
+  public BoatChangesDto() {
+  }
+
+  /**
+   * Constructor with all fields for creating a complete BoatChangesDto.
+   *
+   * @param changes The changes, oldest first
+   * @param lastEventId The event ID to resume the feed from
+   * @param reset Whether the client must reload the boats before applying further changes
+   */
+  public BoatChangesDto(List<BoatChangeDto> changes, String lastEventId, boolean reset) {
+    this.changes = changes;
+    this.lastEventId = lastEventId;
+    this.reset = reset;
+  }
+
+  /**
+   * Gets the changes.
+   *
+   * @return The changes, oldest first
+   */
+  public List<BoatChangeDto> getChanges() {
+    return changes;
+  }
+
+  /**
+   * Sets the changes.
+   *
+   * @param changes The changes to set, oldest first
+   */
+  public void setChanges(List<BoatChangeDto> changes) {
+    this.changes = changes;
+  }
+
+  /**
+   * Gets the event ID to resume the feed from.
+   *
+   * @return The ID of the last event of the batch, or the one the batch was read after if it is empty
+   */
+  public String getLastEventId() {
+    return lastEventId;
+  }
+
+  /**
+   * Sets the event ID to resume the feed from.
+   *
+   * @param lastEventId The event ID to set
+   */
+  public void setLastEventId(String lastEventId) {
+    this.lastEventId = lastEventId;
+  }
+
+  /**
+   * Tells whether the client must reload the boats.
+   *
+   * @return true if changes were missed and are no longer available
+   */
+  public boolean isReset() {
+    return reset;
+  }
+
+  /**
+   * Sets whether the client must reload the boats.
+   *
+   * @param reset true if changes were missed and are no longer available
+   */
+  public void setReset(boolean reset) {
+    this.reset = reset;
+  }
+}
@@ -0,0 +1,109 @@
+package com.owt.boat_test.application.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the changes of the boats since a revision.
+ * Contains the boats created or updated and the IDs of the boats deleted since that revision,
+ * and the revision to send back with the next request. When {@code reset} is true, the boats
+ * are all the boats and replace the client's copy instead of being merged into it.
+ */
+public class BoatDeltaDto {
+  private List<BoatDto> boats;
+  private List<Long> deletedIds;
+  private long revision;
+  private boolean reset;
+
+  /**
+   * Default constructor required for serialization/deserialization.
+   */
+  public BoatDeltaDto() {
+  }
+
+  /**
+   * Constructor with all fields for creating a complete BoatDeltaDto.
+   *
+   * @param boats The boats created or updated since the requested revision, or all boats for a reset
+   * @param deletedIds The IDs of the boats deleted since the requested revision
+   * @param revision The revision to pass as {@code since} to fetch the next changes
+   * @param reset Whether the boats replace the client's copy
+   */
+  public BoatDeltaDto(List<BoatDto> boats, List<Long> deletedIds, long revision, boolean reset) {
+    this.boats = boats;
+    this.deletedIds = deletedIds;
+    this.revision = revision;
+    this.reset = reset;
+  }
+
+  /**
+   * Gets the boats created or updated since the requested revision.
+   *
+   * @return The changed boats, or all boats for a reset
+   */
+  public List<BoatDto> getBoats() {
+    return boats;
+  }
+
+  /**
+   * Sets the boats created or updated since the requested revision.
+   *
+   * @param boats The changed boats to set
+   */
+  public void setBoats(List<BoatDto> boats) {
+    this.boats = boats;
+  }
+
+  /**
+   * Gets the IDs of the boats deleted since the requested revision.
+   *
+   * @return The deleted IDs
+   */
+  public List<Long> getDeletedIds() {
+    return deletedIds;
+  }
+
+  /**
+   * Sets the IDs of the boats deleted since the requested revision.
+   *
+   * @param deletedIds The deleted IDs to set
+   */
+  public void setDeletedIds(List<Long> deletedIds) {
+    this.deletedIds = deletedIds;
+  }
+
+  /**
+   * Gets the revision to pass as {@code since} to fetch the next changes.
+   *
+   * @return The high-water mark of the changes
+   */
+  public long getRevision() {
+    return revision;
+  }
+
+  /**
+   * Sets the revision to pass as {@code since} to fetch the next changes.
+   *
+   * @param revision The high-water mark to set
+   */
+  public void setRevision(long revision) {
+    this.revision = revision;
+  }
+
+  /**
+   * Tells whether the boats replace the client's copy instead of being merged into it.
+   *
+   * @return true if the boats are all the boats
+   */
+  public boolean isReset() {
+    return reset;
+  }
+
+  /**
+   * Sets whether the boats replace the client's copy.
+   *
+   * @param reset The reset flag to set
+   */
+  public void setReset(boolean reset) {
+    this.reset = reset;
+  }
+}
@@ -1,5 +1,7 @@
 package com.owt.boat_test.application.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -7,7 +9,9 @@ import jakarta.validation.constraints.Size;
  * Data Transfer Object (DTO) for Boat entities.
  * Used for transferring boat data between the application and presentation layers.
  * Contains validation constraints for input validation.
+ * Null fields are left out of the serialized boat, as are the fields not requested with {@code fields}.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BoatDto {
   private Long id;
   
@@ -18,6 +22,8 @@ public class BoatDto {
   @Size(max = 500, message = "Description cannot exceed 500 characters")
   private String description;
   
+  private Long version;
+  
   /**
    * Default constructor required for serialization/deserialization.
    */
@@ -37,6 +43,19 @@ public class BoatDto {
     this.description = description;
   }
   
+  /**
+   * Constructor with all fields, including the version, for creating a complete BoatDto.
+   * 
+   * @param id The unique identifier of the boat
+   * @param name The name of the boat
+   * @param description The description of the boat
+   * @param version The version of the boat
+   */
+  public BoatDto(Long id, String name, String description, Long version) {
+    this(id, name, description);
+    this.version = version;
+  }
+  
   /**
    * Gets the unique identifier of the boat.
    * 
@@ -90,4 +109,22 @@ public class BoatDto {
   public void setDescription(String description) {
     this.description = description;
   }
+  
+  /**
+   * Gets the version of the boat, incremented by every update.
+   * 
+   * @return The boat's version
+   */
+  public Long getVersion() {
+    return version;
+  }
+  
+  /**
+   * Sets the version of the boat.
+   * 
+   * @param version The boat's version to set
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
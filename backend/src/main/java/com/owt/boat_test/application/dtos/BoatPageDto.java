@@ -0,0 +1,87 @@
+package com.owt.boat_test.application.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a page of boats.
+ * Contains the boats of the page, the opaque cursor to request the next page and,
+ * when requested, the total number of boats.
+ */
+public class BoatPageDto {
+  private List<BoatDto> items;
+  private String nextCursor;
+  private Long totalCount;
+
+  /**
+   * Default constructor required for serialization/deserialization.
+   */
+  public BoatPageDto() {
+  }
+
+  /**
+   * Constructor with all fields for creating a complete BoatPageDto.
+   *
+   * @param items The boats of the page
+   * @param nextCursor The cursor of the next page, or null if this is the last page
+   * @param totalCount The total number of boats, or null if it was not requested
+   */
+  public BoatPageDto(List<BoatDto> items, String nextCursor, Long totalCount) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+    this.totalCount = totalCount;
+  }
+
+  /**
+   * Gets the boats of the page.
+   *
+   * @return The boats of the page
+   */
+  public List<BoatDto> getItems() {
+    return items;
+  }
+
+  /**
+   * Sets the boats of the page.
+   *
+   * @param items The boats of the page to set
+   */
+  public void setItems(List<BoatDto> items) {
+    this.items = items;
+  }
+
+  /**
+   * Gets the opaque cursor to pass as {@code after} to fetch the next page.
+   *
+   * @return The cursor of the next page, or null if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Sets the opaque cursor of the next page.
+   *
+   * @param nextCursor The cursor of the next page to set
+   */
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Gets the total number of boats.
+   *
+   * @return The total number of boats, or null if it was not requested
+   */
+  public Long getTotalCount() {
+    return totalCount;
+  }
+
+  /**
+   * Sets the total number of boats.
+   *
+   * @param totalCount The total number of boats to set
+   */
+  public void setTotalCount(Long totalCount) {
+    this.totalCount = totalCount;
+  }
+}
@@ -0,0 +1,104 @@
+package com.owt.boat_test.application.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertFalse;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object (DTO) for partial updates of Boat entities, read from a JSON merge patch (RFC 7396).
+ * Every field is optional: the fields left out keep their current value, while a field sent as null is removed,
+ * which only the description allows. The setters record which fields were sent, so that both cases are told apart.
+ * Contains the same validation constraints as {@link BoatDto} for the fields that are sent.
+ */
+public class BoatPatchDto {
+
+  @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+  @Pattern(regexp = "(?s).*\\S.*", message = "Name cannot be blank")
+  private String name;
+
+  @Size(max = 500, message = "Description cannot exceed 500 characters")
+  private String description;
+
+  private boolean nameSent;
+  private boolean descriptionSent;
+
+  /**
+   * Default constructor required for serialization/deserialization.
+   */
+  public BoatPatchDto() {
+  }
+
+  /**
+   * Constructor with all fields, for a patch leaving out the fields that are null.
+   *
+   * @param name The new name of the boat, or null to keep it
+   * @param description The new description of the boat, or null to keep it
+   */
+  public BoatPatchDto(String name, String description) {
+    this.name = name;
+    this.description = description;
+    this.nameSent = name != null;
+    this.descriptionSent = description != null;
+  }
+
+  /**
+   * Gets the new name of the boat.
+   *
+   * @return The boat's new name, or null to keep the current one
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Sets the new name of the boat.
+   *
+   * @param name The boat's new name, or null to keep the current one
+   */
+  public void setName(String name) {
+    this.name = name;
+    this.nameSent = true;
+  }
+
+  /**
+   * Gets the new description of the boat.
+   *
+   * @return The boat's new description, or null to keep or remove the current one
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Sets the new description of the boat.
+   *
+   * @param description The boat's new description, or null to remove it
+   */
+  public void setDescription(String description) {
+    this.description = description;
+    this.descriptionSent = true;
+  }
+
+  /**
+   * Tells whether the patch removes the name, which every boat must have.
+   *
+   * @return true if the name was sent as null
+   */
+  @JsonIgnore
+  @AssertFalse(message = "Name cannot be removed")
+  public boolean isNameRemoved() {
+    return nameSent && name == null;
+  }
+
+  /**
+   * Tells whether the patch removes the description.
+   *
+   * @return true if the description was sent as null
+   */
+  @JsonIgnore
+  public boolean isDescriptionRemoved() {
+    return descriptionSent && description == null;
+  }
+}
@@ -0,0 +1,39 @@
+package com.owt.boat_test.application.dtos;
+
+/**
+ * Data Transfer Object (DTO) for a boat holding some of its fields only, along with the version of the boat
+ * it was read at, so that the response can carry the ETag of the boat whichever fields are selected.
+ */
+public class BoatProjectionDto {
+  private final BoatDto boat;
+  private final long version;
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param boat The boat holding the selected fields only
+   * @param version The version of the boat it was read at
+   */
+  public BoatProjectionDto(BoatDto boat, long version) {
+    this.boat = boat;
+    this.version = version;
+  }
+
+  /**
+   * Gets the boat holding the selected fields only.
+   *
+   * @return The projected boat
+   */
+  public BoatDto getBoat() {
+    return boat;
+  }
+
+  /**
+   * Gets the version of the boat the projection was read at.
+   *
+   * @return The version of the boat
+   */
+  public long getVersion() {
+    return version;
+  }
+}
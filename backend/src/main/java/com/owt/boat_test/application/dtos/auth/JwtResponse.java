@@ -2,19 +2,26 @@ package com.owt.boat_test.application.dtos.auth;
 
 /**
  * Data Transfer Object (DTO) for JWT authentication response.
- * Contains the JWT token and its type that are returned to the client after successful authentication.
+ * Contains the short-lived JWT access token, its type and lifetime, and the refresh token
+ * with which the client obtains the next access token once this one expires.
  */
 public class JwtResponse {
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    private long expiresIn;
     
     /**
-     * Constructor that initializes a JwtResponse with the provided token.
+     * Constructor that initializes a JwtResponse with the provided tokens.
      * 
-     * @param token The JWT authentication token
+     * @param token The JWT access token
+     * @param refreshToken The single-use refresh token
+     * @param expiresIn The lifetime of the access token, in seconds
      */
-    public JwtResponse(String token) {
+    public JwtResponse(String token, String refreshToken, long expiresIn) {
         this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
     }
     
     /**
@@ -35,4 +42,22 @@ public class JwtResponse {
     public String getType() {
         return type;
     }
+    
+    /**
+     * Gets the refresh token, to be exchanged at {@code /auth/refresh} for new tokens.
+     * 
+     * @return The refresh token string
+     */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    /**
+     * Gets the lifetime of the access token.
+     * 
+     * @return The number of seconds the access token is valid for
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.owt.boat_test.application.dtos.auth;
+
+/**
+ * Data Transfer Object (DTO) for refresh and logout requests.
+ * Contains the refresh token previously issued to the client.
+ */
+public class RefreshRequest {
+    private String refreshToken;
+    
+    /**
+     * Default constructor required for serialization/deserialization.
+     */
+    public RefreshRequest() {
+    }
+    
+    /**
+     * Constructor with the refresh token.
+     * 
+     * @param refreshToken The refresh token issued to the client
+     */
+    public RefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /**
+     * Gets the refresh token.
+     * 
+     * @return The refresh token string
+     */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    /**
+     * Sets the refresh token.
+     * 
+     * @param refreshToken The refresh token to set
+     */
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -1,6 +1,9 @@
 package com.owt.boat_test.application.mappers;
 
+import java.util.Set;
+
 import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.dtos.BoatPatchDto;
 import com.owt.boat_test.domain.models.Boat;
 
 /**
@@ -20,7 +23,25 @@ public class BoatMapper {
     return new BoatDto(
       boat.getId(),
       boat.getName(),
-      boat.getDescription()
+      boat.getDescription(),
+      boat.getVersion()
+    );
+  }
+  
+  /**
+   * Converts a Boat domain model to a BoatDto holding only some of its fields.
+   * 
+   * @param boat The Boat domain model to convert
+   * @param fields The names of the fields to copy, the others being left null
+   * @return A new BoatDto containing the selected data of the domain model, or null if input is null
+   */
+  public static BoatDto toDto(Boat boat, Set<String> fields) {
+    if (boat == null) return null;
+    return new BoatDto(
+      fields.contains("id") ? boat.getId() : null,
+      fields.contains("name") ? boat.getName() : null,
+      fields.contains("description") ? boat.getDescription() : null,
+      fields.contains("version") ? boat.getVersion() : null
     );
   }
   
@@ -36,6 +57,24 @@ public class BoatMapper {
     boat.setId(dto.getId());
     boat.setName(dto.getName());
     boat.setDescription(dto.getDescription());
+    boat.setVersion(dto.getVersion());
+    return boat;
+  }
+  
+  /**
+   * Converts a BoatPatchDto to a Boat domain model holding only the fields to change.
+   * 
+   * @param id The ID of the boat to change
+   * @param dto The BoatPatchDto to convert
+   * @return A new Boat domain model whose null fields are to be left unchanged unless the patch removes them,
+   *         or null if input is null
+   */
+  public static Boat toEntity(Long id, BoatPatchDto dto) {
+    if (dto == null) return null;
+    Boat boat = new Boat();
+    boat.setId(id);
+    boat.setName(dto.getName());
+    boat.setDescription(dto.getDescription());
     return boat;
   }
 }
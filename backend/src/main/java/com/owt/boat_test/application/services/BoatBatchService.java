@@ -0,0 +1,246 @@
+package com.owt.boat_test.application.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.owt.boat_test.application.dtos.BoatBatchResultDto;
+import com.owt.boat_test.application.dtos.BoatBatchResultDto.Status;
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.mappers.BoatMapper;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.SavedBoats;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Service class that implements bulk boat operations.
+ * Each request runs in a single unit of work of the repository, which takes its resources before it starts,
+ * and is sent to the repository in chunks of the configured JDBC batch size. Items are validated individually
+ * and reported one by one so that a single bad item does not fail the whole request.
+ */
+@Service
+public class BoatBatchService {
+
+  private final BoatRepositoryPort boatRepository;
+  private final Validator validator;
+  private final int batchSize;
+  private final int maxItems;
+
+  /**
+   * Constructor for BoatBatchService with dependency injection.
+   *
+   * @param boatRepository The repository port for boat persistence operations
+   * @param validator The validator applied to each submitted boat
+   * @param batchSize The number of items sent to the repository at once
+   * @param maxItems The maximum number of items accepted in a single request
+   */
+  public BoatBatchService(BoatRepositoryPort boatRepository,
+                          Validator validator,
+                          @Value("${boats.batch.size:50}") int batchSize,
+                          @Value("${boats.batch.max-items:10000}") int maxItems) {
+    this.boatRepository = boatRepository;
+    this.validator = validator;
+    this.batchSize = batchSize;
+    this.maxItems = maxItems;
+  }
+
+  /**
+   * Creates several boats. Submitted IDs are ignored.
+   *
+   * @param boatDtos The boats to create
+   * @return One result per submitted boat, in the same order
+   * @throws ResponseStatusException with HTTP 400 if more than the maximum number of items are submitted
+   */
+  public List<BoatBatchResultDto> createBoats(List<BoatDto> boatDtos) {
+    checkSize(boatDtos);
+    return boatRepository.inUnitOfWork(() -> saveBoats(boatDtos, false));
+  }
+
+  /**
+   * Creates or updates several boats. Boats carrying the ID of an existing boat are updated,
+   * the others are created with a new ID.
+   * <p>
+   * A boat carrying both an ID and a version is only updated if the existing boat is still at that version,
+   * as a single update would be: it is reported as a conflict otherwise, or as not found if there is no such
+   * boat. Such boats are updated one statement each. A boat carrying an ID without a version is written in
+   * the batch whatever the current version of the existing boat, the last write winning.
+   *
+   * @param boatDtos The boats to create or update
+   * @return One result per submitted boat, in the same order
+   * @throws ResponseStatusException with HTTP 400 if more than the maximum number of items are submitted
+   */
+  public List<BoatBatchResultDto> upsertBoats(List<BoatDto> boatDtos) {
+    checkSize(boatDtos);
+    return boatRepository.inUnitOfWork(() -> saveBoats(boatDtos, true));
+  }
+
+  /**
+   * Deletes several boats.
+   *
+   * @param ids The IDs of the boats to delete
+   * @return One result per submitted ID, in the same order
+   * @throws ResponseStatusException with HTTP 400 if more than the maximum number of items are submitted
+   */
+  public List<BoatBatchResultDto> deleteBoats(List<Long> ids) {
+    checkSize(ids);
+    return boatRepository.inUnitOfWork(() -> deleteExistingBoats(ids));
+  }
+
+  /**
+   * Deletes the submitted IDs chunk by chunk.
+   *
+   * @param ids The IDs of the boats to delete
+   * @return One result per submitted ID, in the same order
+   */
+  private List<BoatBatchResultDto> deleteExistingBoats(List<Long> ids) {
+    BoatBatchResultDto[] results = new BoatBatchResultDto[ids.size()];
+
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i++) {
+      if (ids.get(i) == null) {
+        results[i] = new BoatBatchResultDto(i, Status.INVALID, null, null, "ID is required");
+      } else {
+        pending.add(i);
+      }
+    }
+
+    for (List<Integer> chunk : chunks(pending)) {
+      Set<Long> deleted = boatRepository.deleteAll(chunk.stream().map(ids::get).collect(Collectors.toList()));
+      for (int index : chunk) {
+        Long id = ids.get(index);
+        results[index] = deleted.contains(id)
+          ? new BoatBatchResultDto(index, Status.DELETED, id, null, null)
+          : new BoatBatchResultDto(index, Status.NOT_FOUND, id, null, "Boat not found with id: " + id);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Validates the submitted boats and saves the valid ones chunk by chunk.
+   *
+   * @param boatDtos The boats to save
+   * @param upsert Whether submitted IDs designate boats to update rather than being ignored
+   * @return One result per submitted boat, in the same order
+   */
+  private List<BoatBatchResultDto> saveBoats(List<BoatDto> boatDtos, boolean upsert) {
+    BoatBatchResultDto[] results = new BoatBatchResultDto[boatDtos.size()];
+
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < boatDtos.size(); i++) {
+      String error = validate(boatDtos.get(i));
+      if (error != null) {
+        results[i] = new BoatBatchResultDto(i, Status.INVALID, null, null, error);
+      } else {
+        pending.add(i);
+      }
+    }
+
+    for (List<Integer> chunk : chunks(pending)) {
+      List<Integer> batched = new ArrayList<>(chunk.size());
+      List<Boat> boats = new ArrayList<>(chunk.size());
+      for (int index : chunk) {
+        Boat boat = BoatMapper.toEntity(boatDtos.get(index));
+        if (!upsert) {
+          boat.setId(null);
+        } else if (boat.getId() != null && boat.getVersion() != null) {
+          results[index] = updateAtVersion(index, boat);
+          continue;
+        }
+        batched.add(index);
+        boats.add(boat);
+      }
+      if (boats.isEmpty()) {
+        continue;
+      }
+
+      SavedBoats savedBoats = upsert
+        ? boatRepository.upsertAll(boats)
+        : new SavedBoats(boatRepository.saveAll(boats), Set.of());
+
+      for (int i = 0; i < batched.size(); i++) {
+        Long submittedId = boats.get(i).getId();
+        Boat savedBoat = savedBoats.getBoats().get(i);
+        Status status = submittedId != null && savedBoats.getUpdatedIds().contains(submittedId) ? Status.UPDATED : Status.CREATED;
+        results[batched.get(i)] = new BoatBatchResultDto(batched.get(i), status, savedBoat.getId(), BoatMapper.toDto(savedBoat), null);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Updates a submitted boat provided the existing boat is still at the version it carries.
+   * The boat is only looked up again when the update is rejected, to tell why.
+   *
+   * @param index The position of the boat in the submitted array
+   * @param boat The boat holding the ID, the version and the new values
+   * @return The result of the item: updated, not found, or in conflict if the boat is at another version
+   */
+  private BoatBatchResultDto updateAtVersion(int index, Boat boat) {
+    Long id = boat.getId();
+    Boat updatedBoat = boatRepository.update(boat, boat.getVersion());
+    if (updatedBoat != null) {
+      return new BoatBatchResultDto(index, Status.UPDATED, id, BoatMapper.toDto(updatedBoat), null);
+    }
+    if (boatRepository.findVersionById(id) == null) {
+      return new BoatBatchResultDto(index, Status.NOT_FOUND, id, null, "Boat not found with id: " + id);
+    }
+    return new BoatBatchResultDto(index, Status.CONFLICT, id, null, "Boat has been modified since version: " + boat.getVersion());
+  }
+
+  /**
+   * Validates a submitted boat against the constraints declared on {@link BoatDto}.
+   *
+   * @param boatDto The boat to validate
+   * @return The violation messages joined together, or null if the boat is valid
+   */
+  private String validate(BoatDto boatDto) {
+    if (boatDto == null) {
+      return "Boat is required";
+    }
+    Set<ConstraintViolation<BoatDto>> violations = validator.validate(boatDto);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+      .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+      .sorted()
+      .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Rejects requests holding more than the configured maximum number of items.
+   *
+   * @param items The submitted items
+   * @throws ResponseStatusException with HTTP 400 if there are too many items
+   */
+  private void checkSize(List<?> items) {
+    if (items.size() > maxItems) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch cannot exceed " + maxItems + " items");
+    }
+  }
+
+  /**
+   * Splits a list of item indexes into chunks of the configured batch size.
+   *
+   * @param indexes The indexes to split
+   * @return The chunks, in order
+   */
+  private List<List<Integer>> chunks(List<Integer> indexes) {
+    List<List<Integer>> chunks = new ArrayList<>();
+    for (int start = 0; start < indexes.size(); start += batchSize) {
+      chunks.add(indexes.subList(start, Math.min(start + batchSize, indexes.size())));
+    }
+    return chunks;
+  }
+}
@@ -0,0 +1,129 @@
+package com.owt.boat_test.application.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.owt.boat_test.application.dtos.BoatChangeDto;
+import com.owt.boat_test.application.dtos.BoatChangesDto;
+import com.owt.boat_test.application.mappers.BoatMapper;
+import com.owt.boat_test.domain.models.BoatChange;
+import com.owt.boat_test.domain.ports.feed.BoatChangeFeedPort;
+
+/**
+ * Service class that implements the reading of the boat change feed.
+ * Acts as an intermediary between the streaming endpoint and the feed.
+ * <p>
+ * Event IDs are made of the epoch of the feed and a sequence number, so that a client resuming with an
+ * ID from another epoch, or one whose following changes have been overwritten, is told to reload the
+ * boats instead of silently missing changes. Within a batch, the changes of a same boat are coalesced
+ * into the latest one: a client lagging behind catches up with one event per changed boat, so created
+ * and updated events must both be applied as upserts.
+ */
+@Service
+public class BoatChangeFeedService {
+
+  /**
+   * Upper bound of the number of changes read at once.
+   */
+  public static final int MAX_BATCH_SIZE = 256;
+
+  private static final char EVENT_ID_SEPARATOR = '-';
+
+  private final BoatChangeFeedPort boatChangeFeed;
+
+  /**
+   * Constructor for BoatChangeFeedService with dependency injection.
+   *
+   * @param boatChangeFeed The port giving access to the change feed
+   */
+  public BoatChangeFeedService(BoatChangeFeedPort boatChangeFeed) {
+    this.boatChangeFeed = boatChangeFeed;
+  }
+
+  /**
+   * Gets the ID of the latest event, to follow the feed from now on.
+   *
+   * @return The ID of the latest event
+   */
+  public String getLatestEventId() {
+    return eventId(boatChangeFeed.getLatestSequence());
+  }
+
+  /**
+   * Reads the changes following an event, waiting for one if there is none yet.
+   *
+   * @param lastEventId The ID of the last event the client has seen
+   * @param timeout The maximum time to wait for a change
+   * @return The changes following the event, coalesced by boat, possibly none if the timeout elapsed;
+   *         or a reset if the event ID is unknown or the changes following it are no longer available
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public BoatChangesDto readChanges(String lastEventId, Duration timeout) throws InterruptedException {
+    Long afterSequence = parseSequence(lastEventId);
+    if (afterSequence == null || afterSequence > boatChangeFeed.getLatestSequence()) {
+      return reset();
+    }
+    if (!boatChangeFeed.awaitAfter(afterSequence, timeout)) {
+      return new BoatChangesDto(new ArrayList<>(), lastEventId, false);
+    }
+    List<BoatChange> changes = boatChangeFeed.readAfter(afterSequence, MAX_BATCH_SIZE);
+    if (changes == null) {
+      return reset();
+    }
+
+    Map<Long, BoatChange> latestByBoat = new LinkedHashMap<>();
+    for (BoatChange change : changes) {
+      latestByBoat.remove(change.getBoatId());
+      latestByBoat.put(change.getBoatId(), change);
+    }
+    List<BoatChangeDto> coalesced = latestByBoat.values().stream()
+        .map(this::toDto)
+        .collect(Collectors.toList());
+    return new BoatChangesDto(coalesced, eventId(changes.get(changes.size() - 1).getSequence()), false);
+  }
+
+  private BoatChangesDto reset() {
+    return new BoatChangesDto(new ArrayList<>(), getLatestEventId(), true);
+  }
+
+  private BoatChangeDto toDto(BoatChange change) {
+    return new BoatChangeDto(
+        eventId(change.getSequence()),
+        change.getType().name().toLowerCase(Locale.ROOT),
+        change.getBoatId(),
+        change.getBoat() == null ? null : BoatMapper.toDto(change.getBoat()));
+  }
+
+  private String eventId(long sequence) {
+    return boatChangeFeed.getEpoch() + EVENT_ID_SEPARATOR + sequence;
+  }
+
+  /**
+   * Extracts the sequence number of an event ID of the current epoch.
+   *
+   * @param eventId The event ID
+   * @return The sequence number, or null if the ID is malformed or belongs to another epoch
+   */
+  private Long parseSequence(String eventId) {
+    if (eventId == null) {
+      return null;
+    }
+    int separator = eventId.lastIndexOf(EVENT_ID_SEPARATOR);
+    if (separator < 0 || !eventId.substring(0, separator).equals(boatChangeFeed.getEpoch())) {
+      return null;
+    }
+    try {
+      long sequence = Long.parseLong(eventId.substring(separator + 1));
+      return sequence < 0 ? null : sequence;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.owt.boat_test.application.services;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.mappers.BoatMapper;
+import com.owt.boat_test.domain.ports.search.BoatSearchPort;
+
+/**
+ * Service class that implements the full-text search of boats.
+ * Acts as an intermediary between controllers and the search index.
+ */
+@Service
+public class BoatSearchService {
+
+  /**
+   * Upper bound of the number of results a client may request.
+   */
+  public static final int MAX_RESULTS = 100;
+
+  private final BoatSearchPort boatSearch;
+
+  /**
+   * Constructor for BoatSearchService with dependency injection.
+   *
+   * @param boatSearch The port giving access to the search index
+   */
+  public BoatSearchService(BoatSearchPort boatSearch) {
+    this.boatSearch = boatSearch;
+  }
+
+  /**
+   * Searches the boats whose name or description contain every word of the query.
+   * The last word also matches as a prefix, to support search-as-you-type.
+   *
+   * @param query The words to look for
+   * @param limit The maximum number of results, between 1 and {@link #MAX_RESULTS}
+   * @return The matching boats converted to DTOs, most relevant first
+   * @throws ResponseStatusException with HTTP 400 if the query is blank or the limit is invalid
+   */
+  public List<BoatDto> searchBoats(String query, int limit) {
+    if (query == null || query.isBlank()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query is required");
+    }
+    if (limit < 1 || limit > MAX_RESULTS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_RESULTS);
+    }
+    return boatSearch.search(query, limit).stream()
+      .map(BoatMapper::toDto)
+      .collect(Collectors.toList());
+  }
+}
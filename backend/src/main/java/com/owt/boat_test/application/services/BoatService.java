@@ -1,15 +1,26 @@
 package com.owt.boat_test.application.services;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.owt.boat_test.application.dtos.BoatDeltaDto;
 import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.dtos.BoatPageDto;
+import com.owt.boat_test.application.dtos.BoatPatchDto;
+import com.owt.boat_test.application.dtos.BoatProjectionDto;
 import com.owt.boat_test.application.mappers.BoatMapper;
 import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
 import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
 
 /**
@@ -19,6 +30,21 @@ import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
 @Service
 public class BoatService {
   
+  /**
+   * Upper bound of the page size a client may request.
+   */
+  public static final int MAX_PAGE_SIZE = 500;
+  
+  /**
+   * Names of the fields a client may select with {@code fields}.
+   */
+  public static final List<String> BOAT_FIELDS = List.of("id", "name", "description", "version");
+  
+  /**
+   * Number of times a patch that has to read the boat first is attempted while the boat keeps changing.
+   */
+  private static final int MAX_PATCH_ATTEMPTS = 3;
+  
   private final BoatRepositoryPort boatRepository;
 
   /**
@@ -42,6 +68,153 @@ public class BoatService {
       .collect(Collectors.toList());
   }
 
+  /**
+   * Retrieves the selected fields of all boats from the repository.
+   * Unless the description is selected, the boats are read without it.
+   * 
+   * @param fields The comma-separated names of the fields to return, among {@link #BOAT_FIELDS}
+   * @return A list of all boats converted to DTOs holding the selected fields only
+   * @throws ResponseStatusException with HTTP 400 if no field or an unknown field is selected
+   */
+  public List<BoatDto> getAllBoats(String fields) {
+    Set<String> selectedFields = parseFields(fields);
+    List<Boat> boats = selectedFields.contains("description")
+      ? boatRepository.findAll()
+      : boatRepository.findAllWithoutDescription();
+    return boats.stream()
+      .map(boat -> BoatMapper.toDto(boat, selectedFields))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Retrieves all boats from the repository, each rendered by the given function instead of being
+   * converted to a DTO, so that a caller keeping a rendering of the unchanged boats can reuse it.
+   * 
+   * @param renderer The function rendering a boat
+   * @param <T> The type of the rendered boats
+   * @return The renderings of all boats
+   */
+  public <T> List<T> renderAllBoats(Function<Boat, T> renderer) {
+    List<Boat> boats = boatRepository.findAll();
+    return boats.stream()
+      .map(renderer)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Retrieves a page of boats ordered by ascending ID.
+   * One extra boat is fetched to know whether a next page exists without issuing a count query.
+   * 
+   * @param limit The maximum number of boats in the page, between 1 and {@link #MAX_PAGE_SIZE}
+   * @param after The opaque cursor returned with the previous page, or null for the first page
+   * @param includeTotal Whether the total number of boats should be computed and returned
+   * @return The requested page of boats converted to DTOs
+   * @throws ResponseStatusException with HTTP 400 if the limit or the cursor is invalid
+   */
+  public BoatPageDto getBoatPage(int limit, String after, boolean includeTotal) {
+    return getBoatPage(limit, after, includeTotal, null);
+  }
+
+  /**
+   * Retrieves a page of boats ordered by ascending ID, holding the selected fields only.
+   * Unless the description is selected, the boats are read without it.
+   * 
+   * @param limit The maximum number of boats in the page, between 1 and {@link #MAX_PAGE_SIZE}
+   * @param after The opaque cursor returned with the previous page, or null for the first page
+   * @param includeTotal Whether the total number of boats should be computed and returned
+   * @param fields The comma-separated names of the fields to return, among {@link #BOAT_FIELDS}, or null for every field
+   * @return The requested page of boats converted to DTOs
+   * @throws ResponseStatusException with HTTP 400 if the limit, the cursor or the fields are invalid
+   */
+  public BoatPageDto getBoatPage(int limit, String after, boolean includeTotal, String fields) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    Set<String> selectedFields = fields == null ? null : parseFields(fields);
+    Long afterId = after == null || after.isEmpty() ? null : decodeCursor(after);
+    
+    List<Boat> boats = selectedFields == null || selectedFields.contains("description")
+      ? boatRepository.findPage(afterId, limit + 1)
+      : boatRepository.findPageWithoutDescription(afterId, limit + 1);
+    String nextCursor = null;
+    if (boats.size() > limit) {
+      boats = boats.subList(0, limit);
+      nextCursor = encodeCursor(boats.get(limit - 1).getId());
+    }
+    
+    List<BoatDto> items = boats.stream()
+      .map(boat -> selectedFields == null ? BoatMapper.toDto(boat) : BoatMapper.toDto(boat, selectedFields))
+      .collect(Collectors.toList());
+    Long totalCount = includeTotal ? boatRepository.count() : null;
+    return new BoatPageDto(items, nextCursor, totalCount);
+  }
+
+  /**
+   * Exports all boats one by one, without materializing the whole list.
+   * 
+   * @param consumer The callback receiving each boat converted to DTO
+   */
+  public void exportBoats(Consumer<BoatDto> consumer) {
+    boatRepository.forEach(boat -> consumer.accept(BoatMapper.toDto(boat)));
+  }
+
+  /**
+   * Gets the revision of the boat collection, which changes whenever a boat is created, updated or deleted.
+   * 
+   * @return The current revision of the boat collection
+   */
+  public long getBoatsRevision() {
+    return boatRepository.getRevision();
+  }
+
+  /**
+   * Retrieves the changes of the boats since a revision, for clients catching up after being away.
+   * 
+   * @param since The revision returned with the client's previous changes, or 0 if it has none
+   * @return The boats changed and the IDs of the boats deleted since the revision, with the new revision;
+   *         or all boats, flagged as a reset, if the changes since the revision are no longer known
+   * @throws ResponseStatusException with HTTP 400 if the revision is negative
+   */
+  public BoatDeltaDto getBoatChanges(long since) {
+    return getBoatChanges(since, null);
+  }
+
+  /**
+   * Retrieves the changes of the boats since a revision, the changed boats holding the selected fields only.
+   * 
+   * @param since The revision returned with the client's previous changes, or 0 if it has none
+   * @param fields The comma-separated names of the fields to return, among {@link #BOAT_FIELDS}, or null for every field
+   * @return The boats changed and the IDs of the boats deleted since the revision, with the new revision;
+   *         or all boats, flagged as a reset, if the changes since the revision are no longer known
+   * @throws ResponseStatusException with HTTP 400 if the revision is negative or the fields are invalid
+   */
+  public BoatDeltaDto getBoatChanges(long since, String fields) {
+    if (since < 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Revision must not be negative");
+    }
+    Set<String> selectedFields = fields == null ? null : parseFields(fields);
+    BoatDelta delta = boatRepository.findChangesSince(since);
+    List<BoatDto> boats = delta.getBoats().stream()
+      .map(boat -> selectedFields == null ? BoatMapper.toDto(boat) : BoatMapper.toDto(boat, selectedFields))
+      .collect(Collectors.toList());
+    return new BoatDeltaDto(boats, delta.getDeletedIds(), delta.getRevision(), delta.isReset());
+  }
+
+  /**
+   * Gets the current version of a boat without loading it.
+   * 
+   * @param id The ID of the boat
+   * @return The boat's version
+   * @throws ResponseStatusException with HTTP 404 if the boat is not found
+   */
+  public Long getBoatVersion(Long id) {
+    Long version = boatRepository.findVersionById(id);
+    if (version == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Boat not found with id: " + id);
+    }
+    return version;
+  }
+
   /**
    * Retrieves a specific boat by its ID.
    * 
@@ -57,6 +230,27 @@ public class BoatService {
     return BoatMapper.toDto(boat);
   }
 
+  /**
+   * Retrieves the selected fields of a specific boat by its ID.
+   * Unless the description is selected, the boat is read without it.
+   * 
+   * @param id The ID of the boat to retrieve
+   * @param fields The comma-separated names of the fields to return, among {@link #BOAT_FIELDS}
+   * @return The found boat converted to a DTO holding the selected fields only, and the version it was read at
+   * @throws ResponseStatusException with HTTP 400 if no field or an unknown field is selected,
+   *         or with HTTP 404 if the boat is not found
+   */
+  public BoatProjectionDto getBoatById(Long id, String fields) {
+    Set<String> selectedFields = parseFields(fields);
+    Boat boat = selectedFields.contains("description")
+      ? boatRepository.findById(id)
+      : boatRepository.findByIdWithoutDescription(id);
+    if (boat == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Boat not found with id: " + id);
+    }
+    return new BoatProjectionDto(BoatMapper.toDto(boat, selectedFields), boat.getVersion());
+  }
+
   /**
    * Creates a new boat in the system.
    * 
@@ -65,6 +259,8 @@ public class BoatService {
    */
   public BoatDto createBoat(BoatDto boatDto) {
     Boat boat = BoatMapper.toEntity(boatDto);
+    boat.setId(null);
+    boat.setVersion(null);
     Boat savedBoat = boatRepository.save(boat);
     return BoatMapper.toDto(savedBoat);
   }
@@ -78,16 +274,84 @@ public class BoatService {
    * @throws ResponseStatusException with HTTP 404 if the boat is not found
    */
   public BoatDto updateBoat(Long id, BoatDto boatDto) {
-    Boat existingBoat = boatRepository.findById(id);
-    if (existingBoat == null) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Boat not found with id: " + id);
-    }
-    
+    return updateBoat(id, boatDto, null);
+  }
+  
+  /**
+   * Updates an existing boat in the system, provided it is still at the expected version.
+   * 
+   * @param id The ID of the boat to update
+   * @param boatDto The updated boat data
+   * @param expectedVersion The version the client based its changes on, or null to update unconditionally
+   * @return The updated boat converted to DTO
+   * @throws ResponseStatusException with HTTP 404 if the boat is not found,
+   *         with HTTP 412 if the boat is no longer at the expected version,
+   *         or with HTTP 409 if it is no longer at the version carried by the DTO
+   */
+  public BoatDto updateBoat(Long id, BoatDto boatDto, Long expectedVersion) {
     Boat boat = BoatMapper.toEntity(boatDto);
-    Boat updatedBoat = boatRepository.save(boat);
+    boat.setId(id);
+    Long requiredVersion = expectedVersion != null ? expectedVersion : boat.getVersion();
+    Boat updatedBoat = boatRepository.update(boat, requiredVersion);
+    if (updatedBoat == null) {
+      throw updateRejected(id, expectedVersion);
+    }
+    return BoatMapper.toDto(updatedBoat);
+  }
+  
+  /**
+   * Changes some fields of an existing boat, provided it is still at the expected version.
+   * The fields left out of the patch keep their current value, and a description sent as null is removed.
+   * 
+   * @param id The ID of the boat to change
+   * @param boatPatchDto The fields to change
+   * @param expectedVersion The version the client based its changes on, or null to update unconditionally
+   * @return The updated boat converted to DTO
+   * @throws ResponseStatusException with HTTP 404 if the boat is not found,
+   *         with HTTP 412 if the boat is no longer at the expected version,
+   *         or with HTTP 409 if the boat kept changing while its description was being removed
+   */
+  public BoatDto patchBoat(Long id, BoatPatchDto boatPatchDto, Long expectedVersion) {
+    Boat patch = BoatMapper.toEntity(id, boatPatchDto);
+    Boat updatedBoat = boatPatchDto.isDescriptionRemoved()
+      ? patchRemovingDescription(patch, expectedVersion)
+      : boatRepository.patch(patch, expectedVersion);
+    if (updatedBoat == null) {
+      throw updateRejected(id, expectedVersion);
+    }
     return BoatMapper.toDto(updatedBoat);
   }
   
+  /**
+   * Applies a patch removing the description, which partial updates cannot express as they keep null fields:
+   * the boat is replaced as a whole instead. When the patch does not carry the name, the current one is read
+   * first and the replacement is conditioned on the version read, then attempted again if the boat changed
+   * in between, unless the client expects a version.
+   * 
+   * @param patch The boat holding the ID and the name to set, if any
+   * @param expectedVersion The version the client based its changes on, or null to update unconditionally
+   * @return The updated boat, or null if no boat has this ID at the expected version
+   * @throws ResponseStatusException with HTTP 409 if the boat changed at every attempt
+   */
+  private Boat patchRemovingDescription(Boat patch, Long expectedVersion) {
+    if (patch.getName() != null) {
+      return boatRepository.update(patch, expectedVersion);
+    }
+    for (int attempt = 0; attempt < MAX_PATCH_ATTEMPTS; attempt++) {
+      Boat currentBoat = boatRepository.findByIdWithoutDescription(patch.getId());
+      if (currentBoat == null || (expectedVersion != null && !expectedVersion.equals(currentBoat.getVersion()))) {
+        return null;
+      }
+      patch.setName(currentBoat.getName());
+      Boat updatedBoat = boatRepository.update(patch, currentBoat.getVersion());
+      if (updatedBoat != null || expectedVersion != null) {
+        return updatedBoat;
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.CONFLICT,
+      "Boat " + patch.getId() + " kept changing while being patched, try again");
+  }
+  
   /**
    * Deletes a boat from the system.
    * 
@@ -95,12 +359,80 @@ public class BoatService {
    * @throws ResponseStatusException with HTTP 404 if the boat is not found
    */
   public void deleteBoat(Long id) {
-    Boat existingBoat = boatRepository.findById(id);
-    if (existingBoat == null) {
+    if (!boatRepository.delete(id)) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Boat not found with id: " + id);
     }
-    
-    boatRepository.delete(id);
+  }
+  
+  /**
+   * Explains why a conditional update matched no boat. Only called on this failure path,
+   * so that successful updates cost a single statement.
+   * 
+   * @param id The ID of the boat that was to be updated
+   * @param expectedVersion The version sent by the client in {@code If-Match}, if any
+   * @return The exception to throw: HTTP 404 if the boat does not exist, HTTP 412 if it is no longer
+   *         at the version of the {@code If-Match} header, HTTP 409 otherwise
+   */
+  private ResponseStatusException updateRejected(Long id, Long expectedVersion) {
+    if (boatRepository.findVersionById(id) == null) {
+      return new ResponseStatusException(HttpStatus.NOT_FOUND, "Boat not found with id: " + id);
+    }
+    if (expectedVersion != null) {
+      return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Boat has been modified since version: " + expectedVersion);
+    }
+    return new ResponseStatusException(HttpStatus.CONFLICT, "The boat has been modified concurrently");
+  }
+  
+  /**
+   * Parses the fields selected by a client.
+   * 
+   * @param fields The comma-separated names of the fields, blanks around them being ignored
+   * @return The names of the selected fields
+   * @throws ResponseStatusException with HTTP 400 if no field or an unknown field is selected
+   */
+  private static Set<String> parseFields(String fields) {
+    Set<String> selectedFields = new HashSet<>();
+    for (String field : fields.split(",")) {
+      String name = field.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      if (!BOAT_FIELDS.contains(name)) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Unknown field: " + name + ", expected one of " + String.join(", ", BOAT_FIELDS));
+      }
+      selectedFields.add(name);
+    }
+    if (selectedFields.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one field must be selected");
+    }
+    return selectedFields;
+  }
+  
+  /**
+   * Encodes the ID of the last boat of a page into an opaque, URL-safe cursor.
+   * 
+   * @param id The ID of the last boat of the page
+   * @return The cursor pointing after this boat
+   */
+  private static String encodeCursor(Long id) {
+    return Base64.getUrlEncoder().withoutPadding()
+      .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+  }
+  
+  /**
+   * Decodes a cursor produced by {@link #encodeCursor(Long)}.
+   * 
+   * @param cursor The cursor sent by the client
+   * @return The ID of the last boat of the previous page
+   * @throws ResponseStatusException with HTTP 400 if the cursor is malformed
+   */
+  private static Long decodeCursor(String cursor) {
+    try {
+      return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+    }
   }
   
 }
@@ -1,47 +1,151 @@
 package com.owt.boat_test.application.services.auth;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.owt.boat_test.application.dtos.auth.JwtResponse;
 import com.owt.boat_test.application.dtos.auth.LoginRequest;
+import com.owt.boat_test.domain.models.RefreshToken;
+import com.owt.boat_test.domain.ports.repositories.RefreshTokenRepositoryPort;
 import com.owt.boat_test.infrastructure.security.CustomUserDetailsService;
 import com.owt.boat_test.infrastructure.security.JwtProvider;
+import com.owt.boat_test.infrastructure.security.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Service class that handles authentication-related business logic.
- * Responsible for user authentication and JWT token generation.
+ * Responsible for user authentication and for issuing, refreshing and revoking tokens:
+ * a short-lived JWT access token, sent with every request, and an opaque single-use refresh token,
+ * exchanged for new tokens when the access token expires. Only the hashes of the refresh tokens are stored.
  */
 @Service
 public class AuthService {
     
+    private static final int REFRESH_TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
     private final CustomUserDetailsService userDetailsService;
     private final JwtProvider jwtProvider;
+    private final RefreshTokenRepositoryPort refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final MeterRegistry meterRegistry;
+    private final Duration refreshTokenTtl;
     
     /**
      * Constructor for AuthService with dependency injection.
      * 
      * @param userDetailsService Service for loading and validating user details
      * @param jwtProvider Service for JWT token generation and validation
+     * @param refreshTokenRepository Repository port for the refresh tokens
+     * @param tokenRevocationList Revocation list of the access tokens
+     * @param meterRegistry Registry the login latency is published to
+     * @param refreshTokenTtl How long a refresh token can be used
      */
-    public AuthService(CustomUserDetailsService userDetailsService, JwtProvider jwtProvider) {
+    public AuthService(CustomUserDetailsService userDetailsService,
+                       JwtProvider jwtProvider,
+                       RefreshTokenRepositoryPort refreshTokenRepository,
+                       TokenRevocationList tokenRevocationList,
+                       MeterRegistry meterRegistry,
+                       @Value("${boats.auth.refresh-token.ttl:7d}") Duration refreshTokenTtl) {
         this.userDetailsService = userDetailsService;
         this.jwtProvider = jwtProvider;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.meterRegistry = meterRegistry;
+        this.refreshTokenTtl = refreshTokenTtl;
     }
     
     /**
      * Authenticates a user based on provided credentials and generates a JWT token.
+     * The password is verified on the bounded hashing executor, so that logins cannot starve the other requests.
+     * The time taken is recorded by the {@code boats.auth.login} timer, tagged with the outcome.
      * 
      * @param loginRequest Object containing username and password
-     * @return JwtResponse containing the generated token
+     * @return JwtResponse containing the generated access and refresh tokens
      * @throws RuntimeException if the credentials are invalid
+     * @throws org.springframework.web.server.ResponseStatusException with HTTP 503 if too many logins are in progress
      */
     public JwtResponse authenticate(LoginRequest loginRequest) {
-        if (!userDetailsService.verifyPassword(loginRequest.getPassword(), loginRequest.getUsername())) {
-            throw new RuntimeException("Invalid credentials");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            if (!userDetailsService.verifyPassword(loginRequest.getPassword(), loginRequest.getUsername())) {
+                outcome = "invalid_credentials";
+                throw new RuntimeException("Invalid credentials");
+            }
+            
+            JwtResponse response = issueTokens(loginRequest.getUsername());
+            outcome = "success";
+            
+            return response;
+        } finally {
+            sample.stop(Timer.builder("boats.auth.login")
+                .description("Time spent authenticating a user")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * The refresh token is consumed, so a token that leaked can be used once at most.
+     * 
+     * @param refreshToken The refresh token issued with the previous access token
+     * @return JwtResponse containing the new tokens
+     * @throws ResponseStatusException with HTTP 401 if the refresh token is unknown, already used or expired
+     */
+    public JwtResponse refresh(String refreshToken) {
+        RefreshToken consumed = refreshToken != null ? refreshTokenRepository.consume(hash(refreshToken)) : null;
+        if (consumed == null || !consumed.getExpiresAt().isAfter(Instant.now())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        return issueTokens(consumed.getUsername());
+    }
+    
+    /**
+     * Logs a client out: its refresh token is deleted and its access token revoked until it expires.
+     * 
+     * @param refreshToken The refresh token of the client, possibly null
+     * @param accessToken The access token of the client, possibly null
+     */
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokenRepository.consume(hash(refreshToken));
+        }
+        Claims claims = accessToken != null ? jwtProvider.verifyToken(accessToken) : null;
+        if (claims != null && claims.getId() != null) {
+            tokenRevocationList.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+    
+    private JwtResponse issueTokens(String username) {
+        String token = jwtProvider.generateToken(username);
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(refreshToken), username, Instant.now().plus(refreshTokenTtl)));
+        return new JwtResponse(token, refreshToken, jwtProvider.getAccessTokenTtl().toSeconds());
+    }
+    
+    private static String hash(String refreshToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        
-        String token = jwtProvider.generateToken(loginRequest.getUsername());
-        
-        return new JwtResponse(token);
     }
 } 
\ No newline at end of file
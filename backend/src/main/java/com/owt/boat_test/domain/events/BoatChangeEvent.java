@@ -0,0 +1,76 @@
+package com.owt.boat_test.domain.events;
+
+import com.owt.boat_test.domain.models.Boat;
+
+/**
+ * Domain event describing a change of a boat in the persistence store.
+ * Published by the repository adapters once a boat has been saved or deleted,
+ * so that derived structures (search index, caches, etc.) can be kept up to date.
+ */
+public class BoatChangeEvent {
+
+  /**
+   * Kind of change applied to the boat.
+   */
+  public enum Type {
+    SAVED,
+    DELETED
+  }
+
+  private final Type type;
+  private final Long id;
+  private final Boat boat;
+
+  private BoatChangeEvent(Type type, Long id, Boat boat) {
+    this.type = type;
+    this.id = id;
+    this.boat = boat;
+  }
+
+  /**
+   * Creates an event for a boat that has been created or updated.
+   *
+   * @param boat The boat as stored
+   * @return The corresponding event
+   */
+  public static BoatChangeEvent saved(Boat boat) {
+    return new BoatChangeEvent(Type.SAVED, boat.getId(), boat);
+  }
+
+  /**
+   * Creates an event for a boat that has been deleted.
+   *
+   * @param id The ID of the deleted boat
+   * @return The corresponding event
+   */
+  public static BoatChangeEvent deleted(Long id) {
+    return new BoatChangeEvent(Type.DELETED, id, null);
+  }
+
+  /**
+   * Gets the kind of change.
+   *
+   * @return The type of the event
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the ID of the changed boat.
+   *
+   * @return The boat's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Gets the boat as stored.
+   *
+   * @return The saved boat, or null for a deletion
+   */
+  public Boat getBoat() {
+    return boat;
+  }
+}
@@ -8,6 +8,7 @@ public class Boat {
   private Long id;
   private String name;
   private String description;
+  private Long version;
   
   /**
    * Gets the unique identifier of the boat.
@@ -63,4 +64,22 @@ public class Boat {
     this.description = description;
   }
   
+  /**
+   * Gets the version of the boat, incremented by every update.
+   * 
+   * @return The boat's version
+   */
+  public Long getVersion() {
+    return version;
+  }
+  
+  /**
+   * Sets the version of the boat.
+   * 
+   * @param version The boat's version to set
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+  
 }
@@ -0,0 +1,73 @@
+package com.owt.boat_test.domain.models;
+
+/**
+ * Domain model class representing an entry of the boat change feed.
+ * Each change carries a sequence number, strictly increasing in the order the changes were committed.
+ */
+public class BoatChange {
+
+  /**
+   * Kind of change applied to the boat.
+   */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private final long sequence;
+  private final Type type;
+  private final Long boatId;
+  private final Boat boat;
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param sequence The sequence number of the change
+   * @param type The kind of change
+   * @param boatId The ID of the changed boat
+   * @param boat The boat as stored after the change, or null for a deletion
+   */
+  public BoatChange(long sequence, Type type, Long boatId, Boat boat) {
+    this.sequence = sequence;
+    this.type = type;
+    this.boatId = boatId;
+    this.boat = boat;
+  }
+
+  /**
+   * Gets the sequence number of the change.
+   *
+   * @return The sequence number
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Gets the kind of change.
+   *
+   * @return The type of the change
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the ID of the changed boat.
+   *
+   * @return The boat's ID
+   */
+  public Long getBoatId() {
+    return boatId;
+  }
+
+  /**
+   * Gets the boat as stored after the change.
+   *
+   * @return The boat, or null for a deletion
+   */
+  public Boat getBoat() {
+    return boat;
+  }
+}
@@ -0,0 +1,78 @@
+package com.owt.boat_test.domain.models;
+
+import java.util.List;
+
+/**
+ * Domain model class representing the changes of the boats since a revision of the persistence store.
+ * When the store can no longer tell which boats changed since that revision, the delta is a reset:
+ * it holds every boat instead, and the client must replace its copy rather than merge into it.
+ */
+public class BoatDelta {
+
+  private final long revision;
+  private final List<Boat> boats;
+  private final List<Long> deletedIds;
+  private final boolean reset;
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param revision The revision the delta brings the client to
+   * @param boats The boats created or updated since the requested revision, or all boats for a reset
+   * @param deletedIds The IDs of the boats deleted since the requested revision, empty for a reset
+   * @param reset Whether the boats replace the client's copy instead of being merged into it
+   */
+  public BoatDelta(long revision, List<Boat> boats, List<Long> deletedIds, boolean reset) {
+    this.revision = revision;
+    this.boats = boats;
+    this.deletedIds = deletedIds;
+    this.reset = reset;
+  }
+
+  /**
+   * Creates a reset holding every boat of the store.
+   *
+   * @param revision The revision of the store, read before the boats
+   * @param boats All the boats of the store
+   * @return The reset delta
+   */
+  public static BoatDelta reset(long revision, List<Boat> boats) {
+    return new BoatDelta(revision, boats, List.of(), true);
+  }
+
+  /**
+   * Gets the revision the delta brings the client to, to pass as the starting point of the next one.
+   *
+   * @return The high-water mark of the delta
+   */
+  public long getRevision() {
+    return revision;
+  }
+
+  /**
+   * Gets the boats created or updated since the requested revision.
+   *
+   * @return The changed boats, or all boats for a reset
+   */
+  public List<Boat> getBoats() {
+    return boats;
+  }
+
+  /**
+   * Gets the IDs of the boats deleted since the requested revision.
+   *
+   * @return The deleted IDs, empty for a reset
+   */
+  public List<Long> getDeletedIds() {
+    return deletedIds;
+  }
+
+  /**
+   * Tells whether the delta replaces the client's copy instead of being merged into it.
+   *
+   * @return true if the boats are all the boats of the store
+   */
+  public boolean isReset() {
+    return reset;
+  }
+}
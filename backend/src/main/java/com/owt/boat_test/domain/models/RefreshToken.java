@@ -0,0 +1,86 @@
+package com.owt.boat_test.domain.models;
+
+import java.time.Instant;
+
+/**
+ * Domain model class representing a refresh token issued to a user.
+ * Only the hash of the token is kept, so that the stored tokens cannot be replayed.
+ */
+public class RefreshToken {
+  private String tokenHash;
+  private String username;
+  private Instant expiresAt;
+
+  /**
+   * Default constructor.
+   */
+  public RefreshToken() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param tokenHash The hash of the token handed to the client
+   * @param username The name of the user the token was issued to
+   * @param expiresAt When the token stops being accepted
+   */
+  public RefreshToken(String tokenHash, String username, Instant expiresAt) {
+    this.tokenHash = tokenHash;
+    this.username = username;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Gets the hash of the token handed to the client.
+   *
+   * @return The token hash
+   */
+  public String getTokenHash() {
+    return tokenHash;
+  }
+
+  /**
+   * Sets the hash of the token handed to the client.
+   *
+   * @param tokenHash The token hash to set
+   */
+  public void setTokenHash(String tokenHash) {
+    this.tokenHash = tokenHash;
+  }
+
+  /**
+   * Gets the name of the user the token was issued to.
+   *
+   * @return The username
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Sets the name of the user the token was issued to.
+   *
+   * @param username The username to set
+   */
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  /**
+   * Gets when the token stops being accepted.
+   *
+   * @return The expiration time
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Sets when the token stops being accepted.
+   *
+   * @param expiresAt The expiration time to set
+   */
+  public void setExpiresAt(Instant expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+}
@@ -0,0 +1,43 @@
+package com.owt.boat_test.domain.models;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Domain model class representing the outcome of saving several boats at once: the boats as stored, and which of them
+ * updated an existing boat rather than being created, as told by the persistence store while saving them.
+ */
+public class SavedBoats {
+
+  private final List<Boat> boats;
+  private final Set<Long> updatedIds;
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param boats The saved boats, in the same order as the boats submitted
+   * @param updatedIds The IDs of the submitted boats that designated an existing boat
+   */
+  public SavedBoats(List<Boat> boats, Set<Long> updatedIds) {
+    this.boats = boats;
+    this.updatedIds = updatedIds;
+  }
+
+  /**
+   * Gets the saved boats.
+   *
+   * @return The boats as stored, in the same order as the boats submitted
+   */
+  public List<Boat> getBoats() {
+    return boats;
+  }
+
+  /**
+   * Gets the IDs of the boats that were updated rather than created.
+   *
+   * @return The IDs of the submitted boats that designated an existing boat
+   */
+  public Set<Long> getUpdatedIds() {
+    return updatedIds;
+  }
+}
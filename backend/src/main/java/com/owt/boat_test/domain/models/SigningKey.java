@@ -0,0 +1,151 @@
+package com.owt.boat_test.domain.models;
+
+import java.time.Instant;
+
+/**
+ * Domain model class representing a key pair of the keyring the access tokens are signed with.
+ * A key is published as soon as it is stored, signs the tokens from its activation until a newer key
+ * activates, and verifies them until it expires, after the last token it signed.
+ */
+public class SigningKey {
+  private String keyId;
+  private String algorithm;
+  private byte[] publicKey;
+  private byte[] privateKey;
+  private Instant activatesAt;
+  private Instant expiresAt;
+
+  /**
+   * Default constructor.
+   */
+  public SigningKey() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param keyId The ID of the key, the {@code kid} header of the tokens it signs
+   * @param algorithm The JWS algorithm of the key, ES256 or EdDSA
+   * @param publicKey The public key, X.509 encoded
+   * @param privateKey The private key, PKCS#8 encoded and encrypted with the key-encryption key
+   * @param activatesAt When the key starts signing the tokens
+   * @param expiresAt When the key stops verifying the tokens
+   */
+  public SigningKey(String keyId, String algorithm, byte[] publicKey, byte[] privateKey,
+                    Instant activatesAt, Instant expiresAt) {
+    this.keyId = keyId;
+    this.algorithm = algorithm;
+    this.publicKey = publicKey;
+    this.privateKey = privateKey;
+    this.activatesAt = activatesAt;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Gets the ID of the key.
+   *
+   * @return The key ID
+   */
+  public String getKeyId() {
+    return keyId;
+  }
+
+  /**
+   * Sets the ID of the key.
+   *
+   * @param keyId The key ID to set
+   */
+  public void setKeyId(String keyId) {
+    this.keyId = keyId;
+  }
+
+  /**
+   * Gets the JWS algorithm of the key.
+   *
+   * @return The algorithm name
+   */
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Sets the JWS algorithm of the key.
+   *
+   * @param algorithm The algorithm name to set
+   */
+  public void setAlgorithm(String algorithm) {
+    this.algorithm = algorithm;
+  }
+
+  /**
+   * Gets the public key, X.509 encoded.
+   *
+   * @return The encoded public key
+   */
+  public byte[] getPublicKey() {
+    return publicKey;
+  }
+
+  /**
+   * Sets the public key, X.509 encoded.
+   *
+   * @param publicKey The encoded public key to set
+   */
+  public void setPublicKey(byte[] publicKey) {
+    this.publicKey = publicKey;
+  }
+
+  /**
+   * Gets the private key, PKCS#8 encoded and encrypted with the key-encryption key.
+   *
+   * @return The encoded private key
+   */
+  public byte[] getPrivateKey() {
+    return privateKey;
+  }
+
+  /**
+   * Sets the private key, PKCS#8 encoded and encrypted with the key-encryption key.
+   *
+   * @param privateKey The encoded private key to set
+   */
+  public void setPrivateKey(byte[] privateKey) {
+    this.privateKey = privateKey;
+  }
+
+  /**
+   * Gets when the key starts signing the tokens.
+   *
+   * @return The activation time
+   */
+  public Instant getActivatesAt() {
+    return activatesAt;
+  }
+
+  /**
+   * Sets when the key starts signing the tokens.
+   *
+   * @param activatesAt The activation time to set
+   */
+  public void setActivatesAt(Instant activatesAt) {
+    this.activatesAt = activatesAt;
+  }
+
+  /**
+   * Gets when the key stops verifying the tokens.
+   *
+   * @return The expiration time
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Sets when the key stops verifying the tokens.
+   *
+   * @param expiresAt The expiration time to set
+   */
+  public void setExpiresAt(Instant expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+}
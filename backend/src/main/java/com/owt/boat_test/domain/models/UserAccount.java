@@ -0,0 +1,63 @@
+package com.owt.boat_test.domain.models;
+
+/**
+ * Domain model class representing a user allowed to log in.
+ * Holds the hash of the user's password, never the password itself.
+ */
+public class UserAccount {
+  private String username;
+  private String passwordHash;
+
+  /**
+   * Default constructor.
+   */
+  public UserAccount() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param username The name the user logs in with
+   * @param passwordHash The encoded hash of the user's password
+   */
+  public UserAccount(String username, String passwordHash) {
+    this.username = username;
+    this.passwordHash = passwordHash;
+  }
+
+  /**
+   * Gets the name the user logs in with.
+   *
+   * @return The username
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Sets the name the user logs in with.
+   *
+   * @param username The username to set
+   */
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  /**
+   * Gets the encoded hash of the user's password, including its algorithm parameters.
+   *
+   * @return The password hash
+   */
+  public String getPasswordHash() {
+    return passwordHash;
+  }
+
+  /**
+   * Sets the encoded hash of the user's password.
+   *
+   * @param passwordHash The password hash to set
+   */
+  public void setPasswordHash(String passwordHash) {
+    this.passwordHash = passwordHash;
+  }
+}
@@ -0,0 +1,49 @@
+package com.owt.boat_test.domain.ports.feed;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.owt.boat_test.domain.models.BoatChange;
+
+/**
+ * Port interface for the feed of the latest boat changes.
+ * This interface defines the contract for reading the changes committed after a known sequence number,
+ * and for waiting for new ones, following the Hexagonal Architecture pattern.
+ * Only the most recent changes are retained, and sequence numbers are only meaningful within an epoch:
+ * a new epoch starts whenever the feed loses its history, for instance on restart.
+ */
+public interface BoatChangeFeedPort {
+
+  /**
+   * Gets the epoch of the feed.
+   *
+   * @return An identifier that changes whenever the sequence numbers start over
+   */
+  String getEpoch();
+
+  /**
+   * Gets the sequence number of the latest change.
+   *
+   * @return The latest sequence number, or 0 if no change has been recorded in this epoch
+   */
+  long getLatestSequence();
+
+  /**
+   * Reads the changes following a sequence number, oldest first.
+   *
+   * @param afterSequence The exclusive lower bound of the sequence numbers
+   * @param limit The maximum number of changes to read
+   * @return The changes, or null if some changes following the sequence number are no longer retained
+   */
+  List<BoatChange> readAfter(long afterSequence, int limit);
+
+  /**
+   * Waits for a change following a sequence number.
+   *
+   * @param afterSequence The sequence number the caller has seen
+   * @param timeout The maximum time to wait
+   * @return true if a change following the sequence number is available
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  boolean awaitAfter(long afterSequence, Duration timeout) throws InterruptedException;
+}
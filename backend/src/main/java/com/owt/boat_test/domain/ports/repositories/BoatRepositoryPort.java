@@ -1,10 +1,18 @@
 package com.owt.boat_test.domain.ports.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
 
 import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.models.SavedBoats;
 
 /**
  * Port interface for boat repository operations.
@@ -22,6 +30,31 @@ public interface BoatRepositoryPort {
    */
   Boat save(Boat boat);
   
+  /**
+   * Saves several boats to the persistence store in a single unit of work.
+   * Boats carrying the ID of an existing boat are updated, all the others are created with a new ID.
+   * 
+   * @param boats The boats to save
+   * @return The saved boats, in the same order as the input
+   */
+  List<Boat> saveAll(List<Boat> boats);
+  
+  /**
+   * Saves several boats as {@link #saveAll(List)} does, and tells which of them updated an existing boat.
+   * Implementations that look the submitted IDs up while saving should report them from that lookup;
+   * by default, the existing IDs are found before the boats are saved.
+   * 
+   * @param boats The boats to save
+   * @return The saved boats, in the same order as the input, with the IDs of the boats that already existed
+   */
+  default SavedBoats upsertAll(List<Boat> boats) {
+    Set<Long> existingIds = findExistingIds(boats.stream()
+        .map(Boat::getId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList()));
+    return new SavedBoats(saveAll(boats), existingIds);
+  }
+  
   /**
    * Retrieves all boats from the persistence store.
    * 
@@ -37,10 +70,141 @@ public interface BoatRepositoryPort {
    */
   Boat findById(Long id);
   
+  /**
+   * Retrieves all boats from the persistence store without their description, for the views listing them.
+   * Implementations reading boats from columns should leave the description column out of the query.
+   * 
+   * @return A list of all boats, whose description is null
+   */
+  List<Boat> findAllWithoutDescription();
+  
+  /**
+   * Finds a boat by its ID without its description.
+   * 
+   * @param id The ID of the boat to find
+   * @return The found boat, whose description is null, or null if not found
+   */
+  Boat findByIdWithoutDescription(Long id);
+  
+  /**
+   * Finds the current version of a boat without loading it.
+   * 
+   * @param id The ID of the boat
+   * @return The boat's version, or null if the boat does not exist
+   */
+  Long findVersionById(Long id);
+  
+  /**
+   * Gets the revision of the persistence store, which changes whenever a boat is saved or deleted.
+   * 
+   * @return The current revision
+   */
+  long getRevision();
+  
+  /**
+   * Retrieves the boats saved and the IDs of the boats deleted after a revision of the persistence store.
+   * Implementations must only read the changes, so that the cost follows the churn rather than the number of boats;
+   * when they no longer know the changes since that revision, they return a reset holding every boat.
+   * 
+   * @param revision The revision the caller is at, as returned with its previous delta
+   * @return The changes since the revision, with the revision they bring the caller to
+   */
+  BoatDelta findChangesSince(long revision);
+  
+  /**
+   * Finds which of the given IDs belong to an existing boat.
+   * 
+   * @param ids The IDs to look up
+   * @return The subset of the given IDs that exist in the persistence store
+   */
+  Set<Long> findExistingIds(Collection<Long> ids);
+  
+  /**
+   * Retrieves a page of boats ordered by ascending ID, starting strictly after the given ID.
+   * Implementations must seek directly to the starting point so that deep pages cost the same as the first one.
+   * 
+   * @param afterId The ID of the last boat of the previous page, or null to start from the beginning
+   * @param limit The maximum number of boats to return
+   * @return The boats of the requested page, ordered by ascending ID
+   */
+  List<Boat> findPage(Long afterId, int limit);
+  
+  /**
+   * Retrieves a page of boats as {@link #findPage(Long, int)} does, but without their description.
+   * Implementations reading boats from columns should leave the description column out of the query;
+   * by default, the description is dropped from the boats of the page.
+   * 
+   * @param afterId The ID of the last boat of the previous page, or null to start from the beginning
+   * @param limit The maximum number of boats to return
+   * @return The boats of the requested page, whose description is null, ordered by ascending ID
+   */
+  default List<Boat> findPageWithoutDescription(Long afterId, int limit) {
+    List<Boat> boats = findPage(afterId, limit);
+    boats.forEach(boat -> boat.setDescription(null));
+    return boats;
+  }
+  
+  /**
+   * Passes every boat of the persistence store to the given consumer, ordered by ascending ID.
+   * Implementations must not hold the whole store in memory while iterating.
+   * 
+   * @param consumer The callback receiving each boat in turn
+   */
+  void forEach(Consumer<Boat> consumer);
+  
+  /**
+   * Counts the boats in the persistence store.
+   * 
+   * @return The total number of boats
+   */
+  long count();
+  
+  /**
+   * Replaces the name and description of an existing boat in a single operation,
+   * provided it is still at the expected version.
+   * 
+   * @param boat The boat holding the ID and the new values
+   * @param expectedVersion The version the boat must be at, or null to update it whatever its version
+   * @return The updated boat with its new version, or null if no boat has this ID at the expected version
+   */
+  Boat update(Boat boat, Long expectedVersion);
+  
+  /**
+   * Changes some fields of an existing boat in a single operation, provided it is still at the expected version.
+   * The fields of the given boat that are null are left unchanged.
+   * 
+   * @param boat The boat holding the ID and the values to change
+   * @param expectedVersion The version the boat must be at, or null to update it whatever its version
+   * @return The updated boat with its new version, or null if no boat has this ID at the expected version
+   */
+  Boat patch(Boat boat, Long expectedVersion);
+  
   /**
    * Deletes a boat by its ID from the persistence store.
    * 
    * @param id The ID of the boat to delete
+   * @return true if the boat existed and has been deleted
+   */
+  boolean delete(Long id);
+  
+  /**
+   * Deletes several boats by their IDs from the persistence store.
+   * 
+   * @param ids The IDs of the boats to delete
+   * @return The IDs of the boats that existed and have been deleted
+   */
+  Set<Long> deleteAll(Collection<Long> ids);
+  
+  /**
+   * Runs several calls to the persistence store as a single unit of work, committed or rolled back as a whole.
+   * Implementations holding pooled resources acquire them once before the work starts, rather than call by call.
+   * By default the work simply runs, for the stores that have no transactions.
+   * 
+   * @param work The calls to run
+   * @param <T> The type of the result
+   * @return The result of the work
    */
-  void delete(Long id);
+  default <T> T inUnitOfWork(Supplier<T> work) {
+    return work.get();
+  }
 }
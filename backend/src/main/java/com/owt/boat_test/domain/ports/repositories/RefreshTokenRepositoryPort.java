@@ -0,0 +1,36 @@
+package com.owt.boat_test.domain.ports.repositories;
+
+import java.time.Instant;
+
+import com.owt.boat_test.domain.models.RefreshToken;
+
+/**
+ * Port interface for the persistence of the refresh tokens issued to the users.
+ * Refresh tokens are single-use: using one consumes it, and a new one is issued in its place.
+ */
+public interface RefreshTokenRepositoryPort {
+
+  /**
+   * Saves a newly issued refresh token.
+   *
+   * @param refreshToken The token to save
+   */
+  void save(RefreshToken refreshToken);
+
+  /**
+   * Removes a refresh token and returns it, so that it cannot be used twice.
+   * Implementations must guarantee that concurrent calls for the same token return it once at most.
+   *
+   * @param tokenHash The hash of the token
+   * @return The consumed token, or null if it does not exist or has already been consumed
+   */
+  RefreshToken consume(String tokenHash);
+
+  /**
+   * Deletes the refresh tokens that have expired.
+   *
+   * @param now The current time
+   * @return The number of deleted tokens
+   */
+  int deleteExpired(Instant now);
+}
@@ -0,0 +1,51 @@
+package com.owt.boat_test.domain.ports.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Port interface for the persistence of the revoked access tokens, identified by their token ID ({@code jti}).
+ * A revocation only matters until the token expires, after which it can be forgotten.
+ */
+public interface RevokedTokenRepositoryPort {
+
+  /**
+   * Records the revocation of an access token, stamped with the current time.
+   *
+   * @param tokenId The ID of the token
+   * @param expiresAt When the token expires
+   */
+  void revoke(String tokenId, Instant expiresAt);
+
+  /**
+   * Tells whether an access token has been revoked.
+   *
+   * @param tokenId The ID of the token
+   * @return true if the token has been revoked
+   */
+  boolean isRevoked(String tokenId);
+
+  /**
+   * Retrieves the IDs of the revoked tokens that have not expired yet.
+   *
+   * @param now The current time
+   * @return The IDs of the revoked tokens still in force
+   */
+  List<String> findUnexpired(Instant now);
+
+  /**
+   * Retrieves the IDs of the tokens revoked from a point in time onwards, by any instance.
+   *
+   * @param since The inclusive lower bound of the revocation times
+   * @return The IDs of the tokens revoked since then
+   */
+  List<String> findRevokedSince(Instant since);
+
+  /**
+   * Deletes the revocations of the tokens that have expired.
+   *
+   * @param now The current time
+   * @return The number of deleted revocations
+   */
+  int deleteExpired(Instant now);
+}
@@ -0,0 +1,36 @@
+package com.owt.boat_test.domain.ports.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.owt.boat_test.domain.models.SigningKey;
+
+/**
+ * Port interface for the persistence of the keys the access tokens are signed with.
+ * Sharing the keys through the repository lets every instance verify the tokens signed by the others.
+ */
+public interface SigningKeyRepositoryPort {
+
+  /**
+   * Saves a newly generated key.
+   *
+   * @param signingKey The key to save
+   */
+  void save(SigningKey signingKey);
+
+  /**
+   * Retrieves the keys that have not expired yet.
+   *
+   * @param now The current time
+   * @return The keys still in use, in no particular order
+   */
+  List<SigningKey> findUnexpired(Instant now);
+
+  /**
+   * Deletes the keys that have expired.
+   *
+   * @param now The current time
+   * @return The number of deleted keys
+   */
+  int deleteExpired(Instant now);
+}
@@ -0,0 +1,37 @@
+package com.owt.boat_test.domain.ports.repositories;
+
+import com.owt.boat_test.domain.models.UserAccount;
+
+/**
+ * Port interface for the persistence of the users allowed to log in.
+ * Passwords are stored as hashes computed once, when the user is created or the hash is upgraded.
+ */
+public interface UserRepositoryPort {
+
+  /**
+   * Finds a user by its username.
+   *
+   * @param username The name the user logs in with
+   * @return The found user or null if not found
+   */
+  UserAccount findByUsername(String username);
+
+  /**
+   * Saves a user, creating it or replacing the user with the same username.
+   *
+   * @param user The user to save
+   * @return The saved user
+   */
+  UserAccount save(UserAccount user);
+
+  /**
+   * Replaces the password hash of a user, provided it has not changed since it was read,
+   * so that a hash upgrade never overwrites a concurrent password change.
+   *
+   * @param username The name of the user
+   * @param expectedHash The hash the user must still have
+   * @param newHash The hash to store
+   * @return true if the hash has been replaced
+   */
+  boolean updatePasswordHash(String username, String expectedHash, String newHash);
+}
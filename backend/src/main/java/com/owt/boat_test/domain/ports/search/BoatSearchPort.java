@@ -0,0 +1,22 @@
+package com.owt.boat_test.domain.ports.search;
+
+import java.util.List;
+
+import com.owt.boat_test.domain.models.Boat;
+
+/**
+ * Port interface for full-text search over boats.
+ * This interface defines the contract for looking boats up by the words of their name and description,
+ * following the Hexagonal Architecture pattern.
+ */
+public interface BoatSearchPort {
+
+  /**
+   * Searches the boats matching every word of the query, the last word also matching as a prefix.
+   *
+   * @param query The words to look for
+   * @param limit The maximum number of boats to return
+   * @return The matching boats, most relevant first
+   */
+  List<Boat> search(String query, int limit);
+}
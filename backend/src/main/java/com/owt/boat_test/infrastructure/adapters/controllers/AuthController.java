@@ -4,21 +4,26 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.owt.boat_test.application.dtos.auth.JwtResponse;
 import com.owt.boat_test.application.dtos.auth.LoginRequest;
+import com.owt.boat_test.application.dtos.auth.RefreshRequest;
 import com.owt.boat_test.application.services.auth.AuthService;
 
 /**
  * REST Controller for handling authentication-related endpoints.
- * Provides functionality for user login and JWT token generation.
+ * Provides functionality for user login and JWT token generation, token refresh and logout.
  */
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
 
     /**
@@ -35,14 +40,46 @@ public class AuthController {
      * 
      * @param loginRequest Object containing user credentials (username and password)
      * @return ResponseEntity with JWT token on successful authentication or error message on failure
+     * @throws ResponseStatusException with HTTP 503 if too many logins are in progress
      */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
             JwtResponse jwtResponse = authService.authenticate(loginRequest);
             return ResponseEntity.ok(jwtResponse);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * 
+     * @param refreshRequest Object containing the refresh token, which is consumed
+     * @return ResponseEntity with the new tokens
+     * @throws ResponseStatusException with HTTP 401 if the refresh token is invalid, already used or expired
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refresh(@RequestBody RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    /**
+     * Logs the client out, deleting its refresh token and revoking its access token.
+     * 
+     * @param refreshRequest Object containing the refresh token, optional
+     * @param authorization The Authorization header holding the access token, optional
+     * @return ResponseEntity with HTTP 204
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequest refreshRequest,
+                                       @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+            ? authorization.substring(BEARER_PREFIX.length())
+            : null;
+        authService.logout(refreshRequest != null ? refreshRequest.getRefreshToken() : null, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+}
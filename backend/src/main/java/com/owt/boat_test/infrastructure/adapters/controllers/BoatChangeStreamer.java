@@ -0,0 +1,127 @@
+package com.owt.boat_test.infrastructure.adapters.controllers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.owt.boat_test.application.dtos.BoatChangeDto;
+import com.owt.boat_test.application.dtos.BoatChangesDto;
+import com.owt.boat_test.application.services.BoatChangeFeedService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Streams the boat change feed to clients as Server-Sent Events.
+ * <p>
+ * Each connection is an asynchronous response served by its own virtual thread, which waits for changes
+ * without holding a request thread or a carrier thread, and only blocks itself when its client reads slowly.
+ * A client lagging so far behind that the changes it missed were overwritten receives a {@code reset} event
+ * and is disconnected: it reloads the boats and reconnects from the ID of that event. A comment is sent when
+ * no change occurred for a while, so that idle connections are kept open by proxies and closed ones detected.
+ */
+@Component
+public class BoatChangeStreamer {
+
+  private static final String RESET_EVENT = "reset";
+
+  private final BoatChangeFeedService boatChangeFeedService;
+  private final int maxSubscribers;
+  private final Duration heartbeatInterval;
+  private final Duration connectionTimeout;
+  private final AtomicInteger subscribers = new AtomicInteger();
+  private final ThreadFactory threadFactory = Thread.ofVirtual().name("boat-changes-", 0).factory();
+
+  /**
+   * Constructor for BoatChangeStreamer with dependency injection.
+   *
+   * @param boatChangeFeedService The service reading the change feed
+   * @param meterRegistry The registry the number of connected clients is published to
+   * @param maxSubscribers The maximum number of connected clients
+   * @param heartbeatInterval How long a connection may stay silent before a comment is sent
+   * @param connectionTimeout How long a connection lasts before the client has to reconnect
+   */
+  public BoatChangeStreamer(BoatChangeFeedService boatChangeFeedService,
+                            MeterRegistry meterRegistry,
+                            @Value("${boats.changes.max-subscribers:1000}") int maxSubscribers,
+                            @Value("${boats.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                            @Value("${boats.changes.connection-timeout:30m}") Duration connectionTimeout) {
+    this.boatChangeFeedService = boatChangeFeedService;
+    this.maxSubscribers = maxSubscribers;
+    this.heartbeatInterval = heartbeatInterval;
+    this.connectionTimeout = connectionTimeout;
+    Gauge.builder("boats.changes.subscribers", subscribers, AtomicInteger::get)
+        .description("Number of clients connected to the boat change feed")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Opens a stream of the changes following an event.
+   *
+   * @param lastEventId The ID of the last event the client has seen, or null to receive the changes from now on
+   * @return The emitter the changes are sent to
+   * @throws ResponseStatusException with HTTP 503 if too many clients are connected
+   */
+  public SseEmitter open(String lastEventId) {
+    if (subscribers.incrementAndGet() > maxSubscribers) {
+      subscribers.decrementAndGet();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many clients follow the boat changes");
+    }
+    SseEmitter emitter = new SseEmitter(connectionTimeout.toMillis());
+    AtomicBoolean open = new AtomicBoolean(true);
+    emitter.onCompletion(() -> open.set(false));
+    emitter.onTimeout(() -> open.set(false));
+    emitter.onError(error -> open.set(false));
+
+    String start = lastEventId == null || lastEventId.isBlank()
+        ? boatChangeFeedService.getLatestEventId()
+        : lastEventId;
+    threadFactory.newThread(() -> stream(emitter, start, open)).start();
+    return emitter;
+  }
+
+  /**
+   * Sends the changes to a client until it disconnects, the connection times out or the client falls too far behind.
+   */
+  private void stream(SseEmitter emitter, String lastEventId, AtomicBoolean open) {
+    String cursor = lastEventId;
+    try {
+      emitter.send(SseEmitter.event().comment("following boat changes"));
+      while (open.get()) {
+        BoatChangesDto batch = boatChangeFeedService.readChanges(cursor, heartbeatInterval);
+        if (batch.isReset()) {
+          emitter.send(SseEmitter.event().id(batch.getLastEventId()).name(RESET_EVENT).data(""));
+          emitter.complete();
+          return;
+        }
+        if (batch.getChanges().isEmpty()) {
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+        for (BoatChangeDto change : batch.getChanges()) {
+          emitter.send(SseEmitter.event()
+              .id(change.getEventId())
+              .name(change.getType())
+              .data(change, MediaType.APPLICATION_JSON));
+        }
+        cursor = batch.getLastEventId();
+      }
+    } catch (IOException | IllegalStateException e) {
+      // The client is gone or the emitter already completed
+      emitter.complete();
+    } catch (InterruptedException e) {
+      emitter.complete();
+      Thread.currentThread().interrupt();
+    } finally {
+      subscribers.decrementAndGet();
+    }
+  }
+}
@@ -1,14 +1,32 @@
 package com.owt.boat_test.infrastructure.adapters.controllers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.owt.boat_test.application.dtos.BoatBatchResultDto;
+import com.owt.boat_test.application.dtos.BoatDeltaDto;
 import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.dtos.BoatPageDto;
+import com.owt.boat_test.application.dtos.BoatPatchDto;
+import com.owt.boat_test.application.dtos.BoatProjectionDto;
+import com.owt.boat_test.application.services.BoatBatchService;
+import com.owt.boat_test.application.services.BoatSearchService;
 import com.owt.boat_test.application.services.BoatService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -19,38 +37,222 @@ import jakarta.validation.Valid;
 @RequestMapping("/boats")
 public class BoatController {
 
+  private static final String SMILE_VALUE = "application/x-jackson-smile";
+
   private final BoatService boatService;
+  private final BoatBatchService boatBatchService;
+  private final BoatSearchService boatSearchService;
+  private final BoatChangeStreamer boatChangeStreamer;
+  private final ObjectMapper objectMapper;
+  private final BoatJsonFragmentCache boatJsonFragmentCache;
   
   /**
    * Constructor for BoatController with dependency injection.
    * 
    * @param boatService The service handling business logic for boat operations
+   * @param boatBatchService The service handling bulk boat operations
+   * @param boatSearchService The service handling the full-text search of boats
+   * @param boatChangeStreamer The streamer of the boat change feed
+   * @param objectMapper The JSON mapper used to write streamed boats
+   * @param boatJsonFragmentCache The cache of the JSON of each boat, the boat list is assembled from
    */
-  public BoatController(BoatService boatService) {
+  public BoatController(BoatService boatService,
+                        BoatBatchService boatBatchService,
+                        BoatSearchService boatSearchService,
+                        BoatChangeStreamer boatChangeStreamer,
+                        ObjectMapper objectMapper,
+                        BoatJsonFragmentCache boatJsonFragmentCache) {
     this.boatService = boatService;
+    this.boatBatchService = boatBatchService;
+    this.boatSearchService = boatSearchService;
+    this.boatChangeStreamer = boatChangeStreamer;
+    this.objectMapper = objectMapper;
+    this.boatJsonFragmentCache = boatJsonFragmentCache;
   }
 
   /**
-   * Retrieves all boats from the system.
+   * Retrieves all boats from the system as JSON, the encoding of browsers and of clients accepting anything.
+   * Instead of serializing every boat, the list is assembled from the cached JSON of each boat,
+   * written straight to the response; only the boats changed since they were last listed are serialized.
+   * The response carries an ETag derived from the revision of the boat collection;
+   * when it matches the {@code If-None-Match} header, 304 is returned without loading any boat.
+   * The ETag is weak, as it is shared by every encoding and compression of the list.
    * 
-   * @return ResponseEntity containing a list of all boats
+   * @param request The current request, used to evaluate the conditional headers
+   * @param response The response the list is written to
+   * @throws IOException if the response cannot be written
    */
   @GetMapping
-  public ResponseEntity<List<BoatDto>> getAllBoats() {
+  public void getAllBoats(WebRequest request, HttpServletResponse response) throws IOException {
+    String etag = collectionETag(boatService.getBoatsRevision());
+    if (request.checkNotModified(etag)) {
+      return;
+    }
+    List<byte[]> fragments = boatService.renderAllBoats(boatJsonFragmentCache::fragment);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    OutputStream outputStream = response.getOutputStream();
+    outputStream.write('[');
+    for (int i = 0; i < fragments.size(); i++) {
+      if (i > 0) {
+        outputStream.write(',');
+      }
+      outputStream.write(fragments.get(i));
+    }
+    outputStream.write(']');
+  }
+
+  /**
+   * Retrieves all boats from the system in the binary encodings, through the message converters.
+   * Selected instead of {@link #getAllBoats(WebRequest, HttpServletResponse)} when one of them is
+   * explicitly accepted; the ETag is evaluated the same way.
+   * 
+   * @param request The current request, used to evaluate the conditional headers
+   * @return ResponseEntity containing a list of all boats
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_CBOR_VALUE, SMILE_VALUE, BoatProtobufHttpMessageConverter.PROTOBUF_VALUE})
+  public ResponseEntity<List<BoatDto>> getAllBoatsEncoded(WebRequest request) {
+    String etag = collectionETag(boatService.getBoatsRevision());
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
     List<BoatDto> boats = boatService.getAllBoats();
-    return ResponseEntity.ok(boats);
+    return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(boats);
+  }
+
+  /**
+   * Retrieves some fields only of all boats, for the views that do not show every field of the boats.
+   * Selected instead of {@link #getAllBoats(WebRequest, HttpServletResponse)} as soon as the {@code fields}
+   * parameter is present, in any encoding; the boats are read without their description unless it is selected.
+   * The ETag is evaluated as for the complete list.
+   * 
+   * @param fields The comma-separated names of the fields to return, e.g. {@code id,name}
+   * @param request The current request, used to evaluate the conditional headers
+   * @return ResponseEntity containing the selected fields of all boats
+   */
+  @GetMapping(params = {"fields", "!limit", "!since"})
+  public ResponseEntity<List<BoatDto>> getAllBoatFields(@RequestParam String fields, WebRequest request) {
+    String etag = collectionETag(boatService.getBoatsRevision());
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    List<BoatDto> boats = boatService.getAllBoats(fields);
+    return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(boats);
+  }
+
+  /**
+   * Retrieves a page of boats using keyset pagination.
+   * Selected instead of {@link #getAllBoats(WebRequest, HttpServletResponse)} as soon as the {@code limit} parameter is present.
+   * With {@code fields}, only the selected fields of the boats are returned, read without the description unless it is selected.
+   * 
+   * @param limit The maximum number of boats to return
+   * @param after The opaque cursor returned as {@code nextCursor} by the previous page
+   * @param includeTotal Whether the total number of boats should be returned
+   * @param fields The comma-separated names of the fields to return, or null for every field
+   * @return ResponseEntity containing the requested page of boats
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<BoatPageDto> getBoatPage(@RequestParam int limit,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                 @RequestParam(required = false) String fields) {
+    BoatPageDto page = boatService.getBoatPage(limit, after, includeTotal, fields);
+    return ResponseEntity.ok(page);
+  }
+
+  /**
+   * Retrieves the changes of the boats since a revision, so that clients catch up after being away
+   * without downloading every boat. Selected instead of {@link #getAllBoats(WebRequest, HttpServletResponse)} as soon as the
+   * {@code since} parameter is present; a client without any copy passes 0.
+   * With {@code fields}, only the selected fields of the changed boats are returned.
+   * 
+   * @param since The revision returned with the previous changes
+   * @param fields The comma-separated names of the fields to return, or null for every field
+   * @return ResponseEntity containing the changed boats, the deleted IDs and the revision to pass next time
+   */
+  @GetMapping(params = "since")
+  public ResponseEntity<BoatDeltaDto> getBoatChanges(@RequestParam long since,
+                                                     @RequestParam(required = false) String fields) {
+    return ResponseEntity.ok(boatService.getBoatChanges(since, fields));
+  }
+
+  /**
+   * Searches boats by the words of their name and description.
+   * 
+   * @param q The words to look for, the last one also matching as a prefix
+   * @param limit The maximum number of boats to return
+   * @return ResponseEntity containing the matching boats, most relevant first
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<BoatDto>> searchBoats(@RequestParam String q,
+                                                   @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(boatSearchService.searchBoats(q, limit));
+  }
+
+  /**
+   * Exports all boats as newline-delimited JSON (one boat per line).
+   * Each boat is written to the response as soon as it is read from the repository,
+   * so memory usage stays constant whatever the size of the fleet.
+   * 
+   * @return ResponseEntity streaming every boat
+   */
+  @GetMapping(value = "/export", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> exportBoats() {
+    StreamingResponseBody body = outputStream -> boatService.exportBoats(boat -> {
+      try {
+        outputStream.write(objectMapper.writeValueAsBytes(boat));
+        outputStream.write('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .body(body);
+  }
+
+  /**
+   * Streams the changes of the boats as Server-Sent Events, so that clients keep their list current
+   * without reloading it. Each event is named after the kind of change (created, updated or deleted)
+   * and carries its ID; a client reconnecting with the {@code Last-Event-ID} header resumes after that
+   * event, or receives a {@code reset} event if it has to reload the boats first.
+   * 
+   * @param lastEventId The ID of the last event received, if the client is reconnecting
+   * @return The emitter the changes are streamed to
+   */
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    return boatChangeStreamer.open(lastEventId);
   }
 
   /**
    * Retrieves a specific boat by its ID.
+   * The response carries a strong ETag derived from the version of the boat, read along with the boat.
+   * When an {@code If-None-Match} header is sent, only the version is read first, and 304 is returned
+   * without loading the boat if it matches.
+   * With {@code fields}, only the selected fields are returned, with the ETag of the whole boat.
    * 
    * @param id The ID of the boat to retrieve
+   * @param fields The comma-separated names of the fields to return, or null for every field
+   * @param request The current request, used to evaluate the conditional headers
    * @return ResponseEntity containing the requested boat
    */
   @GetMapping("/{id}")
-  public ResponseEntity<BoatDto> getBoatById(@PathVariable Long id) {
+  public ResponseEntity<BoatDto> getBoatById(@PathVariable Long id,
+                                             @RequestParam(required = false) String fields,
+                                             WebRequest request) {
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && request.checkNotModified(boatETag(boatService.getBoatVersion(id)))) {
+      return null;
+    }
+    if (fields != null) {
+      BoatProjectionDto projection = boatService.getBoatById(id, fields);
+      return ResponseEntity.ok().eTag(boatETag(projection.getVersion())).varyBy(HttpHeaders.ACCEPT)
+          .body(projection.getBoat());
+    }
     BoatDto boat = boatService.getBoatById(id);
-    return ResponseEntity.ok(boat);
+    return ResponseEntity.ok().eTag(boatETag(boat.getVersion())).varyBy(HttpHeaders.ACCEPT).body(boat);
   }
 
   /**
@@ -67,15 +269,37 @@ public class BoatController {
 
   /**
    * Updates an existing boat in the system.
+   * When an {@code If-Match} header is sent, the update only applies if the boat is still at that version.
    * 
    * @param id The ID of the boat to update
    * @param boatDto The updated boat data
-   * @return ResponseEntity containing the updated boat
+   * @param ifMatch The ETag the client based its changes on, if any
+   * @return ResponseEntity containing the updated boat, or HTTP 412 if the ETag no longer matches
    */
   @PutMapping("/{id}")
-  public ResponseEntity<Object> updateBoat(@PathVariable Long id, @Valid @RequestBody BoatDto boatDto) {
-    BoatDto updatedBoat = boatService.updateBoat(id, boatDto);
-    return ResponseEntity.ok(updatedBoat);
+  public ResponseEntity<Object> updateBoat(@PathVariable Long id,
+                                           @Valid @RequestBody BoatDto boatDto,
+                                           @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+    BoatDto updatedBoat = boatService.updateBoat(id, boatDto, parseIfMatch(ifMatch));
+    return ResponseEntity.ok().eTag(boatETag(updatedBoat.getVersion())).body(updatedBoat);
+  }
+
+  /**
+   * Changes some fields of an existing boat, leaving the others unchanged.
+   * Accepts a JSON merge patch: the fields left out are unchanged, and a description sent as null is removed;
+   * an {@code If-Match} header makes the change conditional as for PUT.
+   * 
+   * @param id The ID of the boat to change
+   * @param boatPatchDto The fields to change
+   * @param ifMatch The ETag the client based its changes on, if any
+   * @return ResponseEntity containing the updated boat, or HTTP 412 if the ETag no longer matches
+   */
+  @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+  public ResponseEntity<Object> patchBoat(@PathVariable Long id,
+                                          @Valid @RequestBody BoatPatchDto boatPatchDto,
+                                          @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+    BoatDto updatedBoat = boatService.patchBoat(id, boatPatchDto, parseIfMatch(ifMatch));
+    return ResponseEntity.ok().eTag(boatETag(updatedBoat.getVersion())).body(updatedBoat);
   }
 
   /**
@@ -89,4 +313,80 @@ public class BoatController {
     boatService.deleteBoat(id);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Creates several boats in a single transaction.
+   * 
+   * @param boatDtos The boats to create
+   * @return ResponseEntity containing one result per submitted boat, in the same order
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<BoatBatchResultDto>> createBoats(@RequestBody List<BoatDto> boatDtos) {
+    return ResponseEntity.ok(boatBatchService.createBoats(boatDtos));
+  }
+
+  /**
+   * Creates or updates several boats in a single transaction.
+   * 
+   * @param boatDtos The boats to create or update, existing ones being identified by their ID
+   *        and only updated at the version they carry, if any
+   * @return ResponseEntity containing one result per submitted boat, in the same order
+   */
+  @PutMapping("/batch")
+  public ResponseEntity<List<BoatBatchResultDto>> upsertBoats(@RequestBody List<BoatDto> boatDtos) {
+    return ResponseEntity.ok(boatBatchService.upsertBoats(boatDtos));
+  }
+
+  /**
+   * Deletes several boats in a single transaction.
+   * 
+   * @param ids The IDs of the boats to delete
+   * @return ResponseEntity containing one result per submitted ID, in the same order
+   */
+  @DeleteMapping("/batch")
+  public ResponseEntity<List<BoatBatchResultDto>> deleteBoats(@RequestBody List<Long> ids) {
+    return ResponseEntity.ok(boatBatchService.deleteBoats(ids));
+  }
+
+  /**
+   * Builds the strong ETag of a boat from its version.
+   * 
+   * @param version The version of the boat
+   * @return The quoted ETag
+   */
+  private static String boatETag(Long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Builds the weak ETag of the boat collection from its revision.
+   * 
+   * @param revision The revision of the boat collection
+   * @return The quoted weak ETag
+   */
+  private static String collectionETag(long revision) {
+    return "W/\"boats-" + revision + "\"";
+  }
+
+  /**
+   * Extracts the expected version from an {@code If-Match} header.
+   * 
+   * @param ifMatch The header value, possibly null
+   * @return The expected version, or null if the header is absent or is the {@code *} wildcard
+   * @throws ResponseStatusException with HTTP 412 if the header is not a strong ETag of a boat
+   */
+  private static Long parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String etag = ifMatch.trim();
+    if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+      try {
+        return Long.valueOf(etag.substring(1, etag.length() - 1));
+      } catch (NumberFormatException e) {
+        // Falls through to the precondition failure below
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current version");
+  }
 }
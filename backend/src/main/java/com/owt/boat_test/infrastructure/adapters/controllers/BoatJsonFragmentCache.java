@@ -0,0 +1,114 @@
+package com.owt.boat_test.infrastructure.adapters.controllers;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.owt.boat_test.application.mappers.BoatMapper;
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidation;
+import com.owt.boat_test.infrastructure.cluster.InvalidationSubscriber;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of the JSON serialization of each boat, as UTF-8 bytes, from which the boat list is assembled.
+ * A boat is serialized once per version: a cached fragment is only reused for a boat at the version it was
+ * serialized from, so a fragment cached by a reader racing with a write is never served for the new version.
+ * The fragment of a boat is dropped once a change to it is committed, so that deleted and rewritten boats
+ * do not hold memory, and the cache is bounded with W-TinyLFU eviction. The fragments of the boats changed by
+ * other instances are dropped the same way when the cluster invalidations are enabled.
+ */
+@Component
+public class BoatJsonFragmentCache implements InvalidationSubscriber {
+
+  private final ObjectMapper objectMapper;
+  private final Cache<Long, Fragment> cache;
+
+  /**
+   * A serialized boat and the version it was serialized from.
+   */
+  private record Fragment(Long version, byte[] json) {
+  }
+
+  /**
+   * Constructor for BoatJsonFragmentCache with dependency injection.
+   *
+   * @param objectMapper The JSON mapper the boats are serialized with, as by the other endpoints
+   * @param meterRegistry The registry the cache metrics are published to
+   * @param maximumSize The maximum number of cached fragments
+   */
+  public BoatJsonFragmentCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${boats.json-cache.maximum-size:100000}") long maximumSize) {
+    this.objectMapper = objectMapper;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "boats-json");
+  }
+
+  /**
+   * Gets the JSON serialization of a boat, serializing it only if its current version is not cached.
+   *
+   * @param boat The boat to serialize
+   * @return The JSON of the boat as a DTO, encoded in UTF-8; the array must not be modified
+   */
+  public byte[] fragment(Boat boat) {
+    Fragment fragment = cache.getIfPresent(boat.getId());
+    if (fragment != null && Objects.equals(fragment.version(), boat.getVersion())) {
+      return fragment.json();
+    }
+    byte[] json = serialize(boat);
+    cache.put(boat.getId(), new Fragment(boat.getVersion(), json));
+    return json;
+  }
+
+  /**
+   * Drops the fragment of a boat once the transaction that changed it has committed.
+   *
+   * @param event The change of the boat
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoatChange(BoatChangeEvent event) {
+    cache.invalidate(event.getId());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The fragments at the version of an invalidation or a later one are kept.
+   */
+  @Override
+  public void invalidate(List<BoatInvalidation> invalidations) {
+    for (BoatInvalidation invalidation : invalidations) {
+      cache.asMap().computeIfPresent(invalidation.id(), (id, fragment) ->
+          fragment.version() != null && fragment.version() >= invalidation.version() ? fragment : null);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private byte[] serialize(Boat boat) {
+    try {
+      return objectMapper.writeValueAsBytes(BoatMapper.toDto(boat));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize boat " + boat.getId(), e);
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.owt.boat_test.infrastructure.adapters.controllers;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.owt.boat_test.application.dtos.BoatDto;
+
+/**
+ * HTTP message converter reading and writing boats in the Protobuf encoding described by
+ * {@code src/main/proto/boat.proto}: a {@link BoatDto} as a {@code Boat} message and a list of them
+ * as a {@code BoatList} message. The fields are encoded directly with the Protobuf coded streams,
+ * without generated classes nor an intermediate copy of the boats. Other types are left to the other
+ * converters, so requesting them as Protobuf is answered with HTTP 406.
+ */
+public class BoatProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  /**
+   * Media type of the Protobuf encoding, as a string for request mappings.
+   */
+  public static final String PROTOBUF_VALUE = "application/x-protobuf";
+
+  /**
+   * Media type of the Protobuf encoding.
+   */
+  public static final MediaType PROTOBUF = MediaType.parseMediaType(PROTOBUF_VALUE);
+
+  private static final int BOAT_ID = 1;
+  private static final int BOAT_NAME = 2;
+  private static final int BOAT_DESCRIPTION = 3;
+  private static final int BOAT_VERSION = 4;
+  private static final int BOAT_LIST_BOATS = 1;
+  private static final int BOAT_ID_TAG = BOAT_ID << 3 | WireFormat.WIRETYPE_VARINT;
+  private static final int BOAT_NAME_TAG = BOAT_NAME << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int BOAT_DESCRIPTION_TAG = BOAT_DESCRIPTION << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int BOAT_VERSION_TAG = BOAT_VERSION << 3 | WireFormat.WIRETYPE_VARINT;
+  private static final int BOAT_LIST_BOATS_TAG = BOAT_LIST_BOATS << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+  /**
+   * Constructor for BoatProtobufHttpMessageConverter.
+   */
+  public BoatProtobufHttpMessageConverter() {
+    super(PROTOBUF);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Only a single boat is supported when the generic type is unknown.
+   */
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return BoatDto.class.isAssignableFrom(clazz);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Also advertised for lists, whose element type is only checked by {@link #canWrite(Type, Class, MediaType)}.
+   */
+  @Override
+  public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+    return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Supports a boat and a list of boats.
+   */
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return (isBoat(type) || isBoatList(type)) && canRead(mediaType);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Supports a boat, whatever the declared type, and a list of boats.
+   */
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    return (supports(clazz) || isBoatList(type)) && canWrite(mediaType);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+    return isBoatList(type) ? readBoatList(input, inputMessage) : readBoat(input, inputMessage);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+    return readBoat(CodedInputStream.newInstance(inputMessage.getBody()), inputMessage);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+    CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+    if (object instanceof BoatDto boat) {
+      writeBoatFields(output, boat);
+    } else {
+      for (Object boat : (Collection<?>) object) {
+        output.writeUInt32NoTag(BOAT_LIST_BOATS_TAG);
+        output.writeUInt32NoTag(boatSize((BoatDto) boat));
+        writeBoatFields(output, (BoatDto) boat);
+      }
+    }
+    output.flush();
+  }
+
+  private static boolean isBoat(Type type) {
+    return type instanceof Class<?> clazz && BoatDto.class.isAssignableFrom(clazz);
+  }
+
+  private static boolean isBoatList(Type type) {
+    ResolvableType resolvableType = ResolvableType.forType(type);
+    Class<?> rawClass = resolvableType.resolve();
+    return rawClass != null && List.class.isAssignableFrom(rawClass)
+        && resolvableType.asCollection().resolveGeneric(0) == BoatDto.class;
+  }
+
+  private static List<BoatDto> readBoatList(CodedInputStream input, HttpInputMessage inputMessage) throws IOException {
+    List<BoatDto> boats = new ArrayList<>();
+    try {
+      int tag;
+      while ((tag = input.readTag()) != 0) {
+        if (tag == BOAT_LIST_BOATS_TAG) {
+          int limit = input.pushLimit(input.readRawVarint32());
+          boats.add(readBoatFields(input));
+          input.checkLastTagWas(0);
+          input.popLimit(limit);
+        } else {
+          input.skipField(tag);
+        }
+      }
+    } catch (IOException e) {
+      throw new HttpMessageNotReadableException("Invalid Protobuf boat list: " + e.getMessage(), e, inputMessage);
+    }
+    return boats;
+  }
+
+  private static BoatDto readBoat(CodedInputStream input, HttpInputMessage inputMessage) {
+    try {
+      return readBoatFields(input);
+    } catch (IOException e) {
+      throw new HttpMessageNotReadableException("Invalid Protobuf boat: " + e.getMessage(), e, inputMessage);
+    }
+  }
+
+  /**
+   * Reads the fields of a boat until the end of the input or of the current limit, skipping unknown fields.
+   */
+  private static BoatDto readBoatFields(CodedInputStream input) throws IOException {
+    BoatDto boat = new BoatDto();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      switch (tag) {
+        case BOAT_ID_TAG -> boat.setId(input.readInt64());
+        case BOAT_NAME_TAG -> boat.setName(input.readStringRequireUtf8());
+        case BOAT_DESCRIPTION_TAG -> boat.setDescription(input.readStringRequireUtf8());
+        case BOAT_VERSION_TAG -> boat.setVersion(input.readInt64());
+        default -> input.skipField(tag);
+      }
+    }
+    return boat;
+  }
+
+  /**
+   * Writes the set fields of a boat; null fields are left out, as unset optional fields.
+   */
+  private static void writeBoatFields(CodedOutputStream output, BoatDto boat) throws IOException {
+    if (boat.getId() != null) {
+      output.writeInt64(BOAT_ID, boat.getId());
+    }
+    if (boat.getName() != null) {
+      output.writeString(BOAT_NAME, boat.getName());
+    }
+    if (boat.getDescription() != null) {
+      output.writeString(BOAT_DESCRIPTION, boat.getDescription());
+    }
+    if (boat.getVersion() != null) {
+      output.writeInt64(BOAT_VERSION, boat.getVersion());
+    }
+  }
+
+  private static int boatSize(BoatDto boat) {
+    int size = 0;
+    if (boat.getId() != null) {
+      size += CodedOutputStream.computeInt64Size(BOAT_ID, boat.getId());
+    }
+    if (boat.getName() != null) {
+      size += CodedOutputStream.computeStringSize(BOAT_NAME, boat.getName());
+    }
+    if (boat.getDescription() != null) {
+      size += CodedOutputStream.computeStringSize(BOAT_DESCRIPTION, boat.getDescription());
+    }
+    if (boat.getVersion() != null) {
+      size += CodedOutputStream.computeInt64Size(BOAT_VERSION, boat.getVersion());
+    }
+    return size;
+  }
+}
@@ -0,0 +1,45 @@
+package com.owt.boat_test.infrastructure.adapters.controllers;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.owt.boat_test.infrastructure.security.JwtKeyring;
+
+/**
+ * REST Controller publishing the public keys the access tokens are signed with, as a JSON Web Key Set,
+ * so that other services can verify the tokens locally. The set includes the next signing key before
+ * it is used; verifiers should still fetch the set again when a token names a key they do not know.
+ */
+@RestController
+public class JwksController {
+
+    private static final long MAX_AGE_SECONDS = 60;
+
+    private final JwtKeyring keyring;
+
+    /**
+     * Constructor for JwksController with dependency injection.
+     * 
+     * @param keyring The keyring whose public keys are published
+     */
+    public JwksController(JwtKeyring keyring) {
+        this.keyring = keyring;
+    }
+
+    /**
+     * Gets the public keys of the keyring.
+     * 
+     * @return ResponseEntity with the JWKS, cacheable for a minute
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic())
+            .body(keyring.jwks());
+    }
+}
@@ -0,0 +1,134 @@
+package com.owt.boat_test.infrastructure.adapters.feed;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.BoatChange;
+import com.owt.boat_test.domain.ports.feed.BoatChangeFeedPort;
+
+/**
+ * Adapter implementation of the BoatChangeFeedPort interface backed by an in-process ring buffer.
+ * The {@link BoatChangeEvent}s published by the repository are appended once committed, each with the
+ * next sequence number; when the buffer is full, the oldest change is overwritten. A saved boat at
+ * version 0 is reported as created, any other as updated. The epoch is drawn at startup, since the
+ * buffer does not survive a restart.
+ */
+@Component
+public class InMemoryBoatChangeFeedAdapter implements BoatChangeFeedPort {
+
+  private final BoatChange[] buffer;
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition appended = lock.newCondition();
+  private long latestSequence;
+
+  /**
+   * Constructor for InMemoryBoatChangeFeedAdapter.
+   *
+   * @param capacity The number of most recent changes retained
+   */
+  public InMemoryBoatChangeFeedAdapter(@Value("${boats.changes.capacity:4096}") int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity of the change feed must be positive");
+    }
+    this.buffer = new BoatChange[capacity];
+  }
+
+  /**
+   * Appends a boat change to the feed once the transaction that produced it has committed,
+   * and wakes up the readers waiting for it.
+   *
+   * @param event The change to append
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoatChange(BoatChangeEvent event) {
+    BoatChange.Type type;
+    if (event.getType() == BoatChangeEvent.Type.DELETED) {
+      type = BoatChange.Type.DELETED;
+    } else {
+      type = Long.valueOf(0L).equals(event.getBoat().getVersion()) ? BoatChange.Type.CREATED : BoatChange.Type.UPDATED;
+    }
+    lock.lock();
+    try {
+      long sequence = latestSequence + 1;
+      buffer[(int) (sequence % buffer.length)] = new BoatChange(sequence, type, event.getId(), event.getBoat());
+      latestSequence = sequence;
+      appended.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getLatestSequence() {
+    lock.lock();
+    try {
+      return latestSequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * Only the references are copied under the lock.
+   */
+  @Override
+  public List<BoatChange> readAfter(long afterSequence, int limit) {
+    lock.lock();
+    try {
+      long oldestSequence = Math.max(1, latestSequence - buffer.length + 1);
+      if (afterSequence < oldestSequence - 1 || afterSequence > latestSequence) {
+        return null;
+      }
+      long last = Math.min(latestSequence, afterSequence + limit);
+      List<BoatChange> changes = new ArrayList<>((int) (last - afterSequence));
+      for (long sequence = afterSequence + 1; sequence <= last; sequence++) {
+        changes.add(buffer[(int) (sequence % buffer.length)]);
+      }
+      return changes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * Waits on a condition rather than a monitor, so that waiting virtual threads release their carrier.
+   */
+  @Override
+  public boolean awaitAfter(long afterSequence, Duration timeout) throws InterruptedException {
+    long remaining = timeout.toNanos();
+    lock.lock();
+    try {
+      while (latestSequence <= afterSequence) {
+        if (remaining <= 0) {
+          return false;
+        }
+        remaining = appended.awaitNanos(remaining);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -1,9 +1,21 @@
 package com.owt.boat_test.infrastructure.adapters.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.entities.BoatSummary;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Spring Data JPA repository interface for boat entities.
@@ -11,5 +23,161 @@ import com.owt.boat_test.infrastructure.entities.BoatEntity;
  * Extends JpaRepository to inherit methods like findAll, findById, save, deleteById, etc.
  */
 @Repository
-public interface BoatJpaRepository extends JpaRepository<BoatEntity, Long> { 
+public interface BoatJpaRepository extends JpaRepository<BoatEntity, Long> {
+
+  /**
+   * Retrieves the first boat entities ordered by ascending ID.
+   *
+   * @param limit The maximum number of entities to return
+   * @return The first entities of the table
+   */
+  List<BoatEntity> findAllByOrderByIdAsc(Limit limit);
+
+  /**
+   * Retrieves the boat entities whose ID is strictly greater than the given one, ordered by ascending ID.
+   * Uses the primary key index to seek to the cursor instead of skipping rows with an offset.
+   *
+   * @param id The exclusive lower bound of the IDs to return
+   * @param limit The maximum number of entities to return
+   * @return The entities following the given ID
+   */
+  List<BoatEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  /**
+   * Retrieves the boat entities saved after a revision of the boats table, using the index on the revision column.
+   *
+   * @param revision The exclusive lower bound of the revisions
+   * @return The entities saved since the revision
+   */
+  List<BoatEntity> findByRevisionGreaterThan(long revision);
+
+  /**
+   * Retrieves the boats saved after a revision of the boats table without their description,
+   * selecting the narrow columns only.
+   *
+   * @param revision The exclusive lower bound of the revisions
+   * @return The summaries of the entities saved since the revision
+   */
+  @Query("select new com.owt.boat_test.infrastructure.entities.BoatSummary(b.id, b.name, b.version) "
+      + "from BoatEntity b where b.revision > :revision")
+  List<BoatSummary> findSummariesByRevisionGreaterThan(long revision);
+
+  /**
+   * Retrieves every boat without its description, selecting the narrow columns only.
+   *
+   * @return The summaries of all entities
+   */
+  @Query("select new com.owt.boat_test.infrastructure.entities.BoatSummary(b.id, b.name, b.version) from BoatEntity b")
+  List<BoatSummary> findAllSummaries();
+
+  /**
+   * Retrieves the first boats ordered by ascending ID without their description, selecting the narrow columns only.
+   *
+   * @param limit The maximum number of boats to return
+   * @return The summaries of the first entities of the table
+   */
+  @Query("select new com.owt.boat_test.infrastructure.entities.BoatSummary(b.id, b.name, b.version) "
+      + "from BoatEntity b order by b.id")
+  List<BoatSummary> findSummaries(Limit limit);
+
+  /**
+   * Retrieves the boats whose ID is strictly greater than the given one, ordered by ascending ID, without their
+   * description, selecting the narrow columns only and seeking on the primary key index as for the full entities.
+   *
+   * @param id The exclusive lower bound of the IDs to return
+   * @param limit The maximum number of boats to return
+   * @return The summaries of the entities following the given ID
+   */
+  @Query("select new com.owt.boat_test.infrastructure.entities.BoatSummary(b.id, b.name, b.version) "
+      + "from BoatEntity b where b.id > :id order by b.id")
+  List<BoatSummary> findSummariesByIdGreaterThan(Long id, Limit limit);
+
+  /**
+   * Retrieves a boat without its description, selecting the narrow columns only.
+   *
+   * @param id The ID of the entity
+   * @return The summary of the entity, or null if it does not exist
+   */
+  @Query("select new com.owt.boat_test.infrastructure.entities.BoatSummary(b.id, b.name, b.version) "
+      + "from BoatEntity b where b.id = :id")
+  BoatSummary findSummaryById(Long id);
+
+  /**
+   * Retrieves the version of an entity without loading the row.
+   *
+   * @param id The ID of the entity
+   * @return The entity's version, or null if it does not exist
+   */
+  @Query("select b.version from BoatEntity b where b.id = :id")
+  Long findVersionById(Long id);
+
+  /**
+   * Retrieves the IDs among the given ones that belong to an existing entity, without loading the rows.
+   *
+   * @param ids The IDs to look up
+   * @return The existing IDs
+   */
+  @Query("select b.id from BoatEntity b where b.id in :ids")
+  List<Long> findExistingIds(Collection<Long> ids);
+
+  /**
+   * Replaces the fields of a boat entity with a single statement, provided it is still at the expected version,
+   * without loading it first. The persistence context is cleared, so that the row is read again afterwards.
+   *
+   * @param id The ID of the entity
+   * @param name The new name
+   * @param description The new description, possibly null
+   * @param expectedVersion The version the entity must be at
+   * @param revision The revision of the boats table the entity is saved at
+   * @return The number of updated rows, 0 or 1
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("update BoatEntity b set b.name = :name, b.description = :description, "
+      + "b.version = b.version + 1, b.revision = :revision where b.id = :id and b.version = :expectedVersion")
+  int updateRow(Long id, String name, String description, long expectedVersion, long revision);
+
+  /**
+   * Changes the fields of a boat entity that are not null with a single statement, provided it is still at
+   * the expected version, without loading it first. The persistence context is cleared, so that the row is
+   * read again afterwards.
+   *
+   * @param id The ID of the entity
+   * @param name The new name, or null to keep the current one
+   * @param description The new description, or null to keep the current one
+   * @param expectedVersion The version the entity must be at
+   * @param revision The revision of the boats table the entity is saved at
+   * @return The number of updated rows, 0 or 1
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("update BoatEntity b set b.name = coalesce(:name, b.name), b.description = coalesce(:description, b.description), "
+      + "b.version = b.version + 1, b.revision = :revision where b.id = :id and b.version = :expectedVersion")
+  int patchRow(Long id, String name, String description, long expectedVersion, long revision);
+
+  /**
+   * Deletes a boat entity with a single statement, without loading it first.
+   *
+   * @param id The ID of the entity
+   * @return The number of deleted rows, 0 or 1
+   */
+  @Modifying
+  @Query("delete from BoatEntity b where b.id = :id")
+  int deleteRowById(Long id);
+
+  /**
+   * Streams every boat entity ordered by ascending ID.
+   * Rows are fetched from the JDBC driver in chunks of {@link #STREAM_FETCH_SIZE} and loaded read-only,
+   * so the caller must consume the stream inside a transaction and close it afterwards.
+   *
+   * @return A lazily populated stream of all entities
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<BoatEntity> streamAllByOrderByIdAsc();
+
+  /**
+   * Number of rows fetched per JDBC round trip when streaming entities.
+   */
+  int STREAM_FETCH_SIZE = 500;
 }
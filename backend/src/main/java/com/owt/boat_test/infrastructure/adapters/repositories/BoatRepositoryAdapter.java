@@ -1,43 +1,167 @@
 package com.owt.boat_test.infrastructure.adapters.repositories;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.owt.boat_test.domain.events.BoatChangeEvent;
 import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.models.SavedBoats;
 import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
 import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.entities.BoatRevisionEntity;
+import com.owt.boat_test.infrastructure.entities.BoatSummary;
+import com.owt.boat_test.infrastructure.entities.BoatTombstoneEntity;
 import com.owt.boat_test.infrastructure.mappers.BoatEntityMapper;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+
 /**
  * Adapter implementation of the BoatRepositoryPort interface.
  * This class bridges the domain layer with the JPA infrastructure for boat persistence.
- * It translates between domain model objects and JPA entities.
+ * It translates between domain model objects and JPA entities. Every write also increments
+ * the revision of the boats table in the same transaction and publishes a {@link BoatChangeEvent}
+ * for every boat saved or deleted. Saved rows are stamped with the new revision and deleted ones
+ * leave a tombstone stamped with it, so that the changes since a revision are read from two indexes.
+ * Used unless {@code boats.storage.type} selects another storage.
  */
 @Component
+@ConditionalOnProperty(name = "boats.storage.type", havingValue = "jpa", matchIfMissing = true)
 public class BoatRepositoryAdapter implements BoatRepositoryPort {
   
   private final BoatJpaRepository boatJpaRepository;
+  private final BoatRevisionJpaRepository boatRevisionJpaRepository;
+  private final BoatTombstoneJpaRepository boatTombstoneJpaRepository;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Constructor for BoatRepositoryAdapter with dependency injection.
    * 
    * @param boatJpaRepository The Spring Data JPA repository for boats
+   * @param boatRevisionJpaRepository The Spring Data JPA repository for the revision of the boats table
+   * @param boatTombstoneJpaRepository The Spring Data JPA repository for the tombstones of deleted boats
+   * @param entityManager The entity manager used to release streamed entities
+   * @param eventPublisher The publisher of the boat change events
    */
-  public BoatRepositoryAdapter(BoatJpaRepository boatJpaRepository) {
+  public BoatRepositoryAdapter(BoatJpaRepository boatJpaRepository,
+                               BoatRevisionJpaRepository boatRevisionJpaRepository,
+                               BoatTombstoneJpaRepository boatTombstoneJpaRepository,
+                               EntityManager entityManager,
+                               ApplicationEventPublisher eventPublisher) {
     this.boatJpaRepository = boatJpaRepository;
+    this.boatRevisionJpaRepository = boatRevisionJpaRepository;
+    this.boatTombstoneJpaRepository = boatTombstoneJpaRepository;
+    this.entityManager = entityManager;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Creates the revision counter row if it does not exist yet.
+   * Done once at startup, before requests are served, so that concurrent first writes
+   * never race to insert it.
+   */
+  @PostConstruct
+  void initializeRevision() {
+    if (!boatRevisionJpaRepository.existsById(BoatRevisionEntity.SINGLETON_ID)) {
+      boatRevisionJpaRepository.save(new BoatRevisionEntity(0L));
+    }
   }
 
   /**
    * {@inheritDoc}
    * Converts the domain model to an entity, saves it, and converts back to domain model.
+   * The entity is flushed before being converted so that the returned boat carries its new version.
    */
   @Override
+  @Transactional
   public Boat save(Boat boat) {
+    long revision = incrementRevision();
     BoatEntity boatEntity = BoatEntityMapper.toEntity(boat);
+    boatEntity.setRevision(revision);
     BoatEntity savedBoatEntity = boatJpaRepository.save(boatEntity);
-    return BoatEntityMapper.toDomain(savedBoatEntity);
+    entityManager.flush();
+    Boat savedBoat = BoatEntityMapper.toDomain(savedBoatEntity);
+    eventPublisher.publishEvent(BoatChangeEvent.saved(savedBoat));
+    return savedBoat;
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Loads the existing entities with a single query and saves the boats as {@link #upsertAll(List)} does.
+   */
+  @Override
+  @Transactional
+  public List<Boat> saveAll(List<Boat> boats) {
+    return store(boats).getBoats();
+  }
+  
+  /**
+   * {@inheritDoc}
+   * The existing entities loaded to apply the changes tell which boats already existed, without another query.
+   */
+  @Override
+  @Transactional
+  public SavedBoats upsertAll(List<Boat> boats) {
+    return store(boats);
+  }
+  
+  /**
+   * Loads the existing entities with a single query, applies the changes to them so that dirty checking
+   * issues batched updates, persists the new ones as batched inserts, then flushes and releases them.
+   * 
+   * @param boats The boats to save
+   * @return The saved boats, with the IDs of the boats that already existed
+   */
+  private SavedBoats store(List<Boat> boats) {
+    long revision = incrementRevision();
+    List<Long> ids = boats.stream()
+        .map(Boat::getId)
+        .filter(id -> id != null)
+        .collect(Collectors.toList());
+    Map<Long, BoatEntity> existing = boatJpaRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(BoatEntity::getId, Function.identity()));
+    
+    List<BoatEntity> savedEntities = new ArrayList<>(boats.size());
+    for (Boat boat : boats) {
+      BoatEntity entity = boat.getId() == null ? null : existing.get(boat.getId());
+      if (entity == null) {
+        entity = BoatEntityMapper.toEntity(boat);
+        entity.setId(null);
+        entity.setRevision(revision);
+        entityManager.persist(entity);
+      } else {
+        entity.setName(boat.getName());
+        entity.setDescription(boat.getDescription());
+      }
+      entity.setRevision(revision);
+      savedEntities.add(entity);
+    }
+    entityManager.flush();
+    entityManager.clear();
+    
+    List<Boat> savedBoats = savedEntities.stream()
+        .map(BoatEntityMapper::toDomain)
+        .collect(Collectors.toList());
+    savedBoats.forEach(savedBoat -> eventPublisher.publishEvent(BoatChangeEvent.saved(savedBoat)));
+    return new SavedBoats(savedBoats, existing.keySet());
   }
   
   /**
@@ -64,10 +188,295 @@ public class BoatRepositoryAdapter implements BoatRepositoryPort {
   
   /**
    * {@inheritDoc}
-   * Deletes a boat entity by its ID.
+   * Only the ID, name and version columns are selected, into projections rather than managed entities.
+   */
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    return boatJpaRepository.findAllSummaries().stream()
+        .map(BoatEntityMapper::toDomain)
+        .collect(Collectors.toList());
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Only the ID, name and version columns are selected, into a projection rather than a managed entity.
    */
   @Override
-  public void delete(Long id) {
-    boatJpaRepository.deleteById(id);
+  public Boat findByIdWithoutDescription(Long id) {
+    return BoatEntityMapper.toDomain(boatJpaRepository.findSummaryById(id));
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Only the version column is selected.
+   */
+  @Override
+  public Long findVersionById(Long id) {
+    return boatJpaRepository.findVersionById(id);
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Reads the single-row revision table.
+   */
+  @Override
+  public long getRevision() {
+    return boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID)
+        .map(BoatRevisionEntity::getRevision)
+        .orElse(0L);
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Reads the rows and the tombstones stamped after the revision. The counter is read first: the writers
+   * stamped at or below it have all committed, as they hold its row until then, so none is missed, while
+   * a change committed meanwhile is returned twice at worst. The purge horizon is read last, so that
+   * tombstones purged while reading are detected and turned into a reset.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public BoatDelta findChangesSince(long revision) {
+    long currentRevision = getRevision();
+    if (revision > currentRevision) {
+      // A revision from another database, for instance before the in-memory one was recreated
+      return BoatDelta.reset(currentRevision, findAll());
+    }
+    List<Boat> boats = boatJpaRepository.findByRevisionGreaterThan(revision).stream()
+        .map(BoatEntityMapper::toDomain)
+        .collect(Collectors.toList());
+    List<Long> deletedIds = boatTombstoneJpaRepository.findIdsByRevisionGreaterThan(revision);
+    Long purgedRevision = boatRevisionJpaRepository.findPurgedRevision();
+    if (purgedRevision != null && revision < purgedRevision) {
+      return BoatDelta.reset(currentRevision, findAll());
+    }
+    return new BoatDelta(currentRevision, boats, deletedIds, false);
+  }
+  
+  /**
+   * Reads the boats saved and deleted after a revision as {@link #findChangesSince(long)} does, without their
+   * description, for the instances that only need to know which boats changed and at which version.
+   * A reset carries no boats, the caller having to assume that any boat may have changed.
+   * 
+   * @param revision The revision the caller is at
+   * @return The changes since the revision, with boats holding their ID, name and version only
+   */
+  @Transactional(readOnly = true)
+  public BoatDelta findSummariesSince(long revision) {
+    long currentRevision = getRevision();
+    if (revision > currentRevision) {
+      return BoatDelta.reset(currentRevision, List.of());
+    }
+    List<Boat> boats = boatJpaRepository.findSummariesByRevisionGreaterThan(revision).stream()
+        .map(BoatEntityMapper::toDomain)
+        .collect(Collectors.toList());
+    List<Long> deletedIds = boatTombstoneJpaRepository.findIdsByRevisionGreaterThan(revision);
+    Long purgedRevision = boatRevisionJpaRepository.findPurgedRevision();
+    if (purgedRevision != null && revision < purgedRevision) {
+      return BoatDelta.reset(currentRevision, List.of());
+    }
+    return new BoatDelta(currentRevision, boats, deletedIds, false);
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Only the IDs are selected, the rows themselves are not loaded.
+   */
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return new HashSet<>();
+    }
+    return new HashSet<>(boatJpaRepository.findExistingIds(ids));
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Uses a keyset query on the primary key rather than an offset.
+   */
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    List<BoatEntity> entities = afterId == null
+        ? boatJpaRepository.findAllByOrderByIdAsc(Limit.of(limit))
+        : boatJpaRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    return entities.stream()
+        .map(BoatEntityMapper::toDomain)
+        .collect(Collectors.toList());
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Uses the same keyset query, selecting only the ID, name and version columns into projections.
+   */
+  @Override
+  public List<Boat> findPageWithoutDescription(Long afterId, int limit) {
+    List<BoatSummary> summaries = afterId == null
+        ? boatJpaRepository.findSummaries(Limit.of(limit))
+        : boatJpaRepository.findSummariesByIdGreaterThan(afterId, Limit.of(limit));
+    return summaries.stream()
+        .map(BoatEntityMapper::toDomain)
+        .collect(Collectors.toList());
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Streams the entities inside a read-only transaction and clears the persistence context
+   * after each fetched chunk so that heap usage does not grow with the size of the table.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void forEach(Consumer<Boat> consumer) {
+    try (Stream<BoatEntity> entities = boatJpaRepository.streamAllByOrderByIdAsc()) {
+      int loaded = 0;
+      for (BoatEntity entity : (Iterable<BoatEntity>) entities::iterator) {
+        consumer.accept(BoatEntityMapper.toDomain(entity));
+        if (++loaded % BoatJpaRepository.STREAM_FETCH_SIZE == 0) {
+          entityManager.clear();
+        }
+      }
+    }
+  }
+  
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return boatJpaRepository.count();
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Issues a conditional UPDATE statement replacing every field, as described in {@link #updateRow(Boat, boolean, Long)}.
+   */
+  @Override
+  @Transactional
+  public Boat update(Boat boat, Long expectedVersion) {
+    return updateRow(boat, false, expectedVersion);
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Issues a conditional UPDATE statement keeping the null fields, as described in {@link #updateRow(Boat, boolean, Long)}.
+   */
+  @Override
+  @Transactional
+  public Boat patch(Boat boat, Long expectedVersion) {
+    return updateRow(boat, true, expectedVersion);
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Issues a single DELETE statement rather than loading the entity to remove it. The revision is drawn first,
+   * locking the counter row before the boat row as every other write does, so that a delete cannot deadlock
+   * against a concurrent update of the same boat; it is taken back if no row was deleted.
+   */
+  @Override
+  @Transactional
+  public boolean delete(Long id) {
+    long revision = incrementRevision();
+    if (boatJpaRepository.deleteRowById(id) == 0) {
+      boatRevisionJpaRepository.decrement();
+      return false;
+    }
+    entityManager.persist(new BoatTombstoneEntity(id, revision, Instant.now()));
+    eventPublisher.publishEvent(BoatChangeEvent.deleted(id));
+    return true;
+  }
+  
+  /**
+   * {@inheritDoc}
+   * Issues a single bulk DELETE statement for all the existing IDs instead of loading and removing each entity,
+   * and inserts their tombstones as a batch. The revision is drawn before the IDs are looked up, so that no
+   * concurrent writer can delete one of them in between and have its tombstone inserted twice.
+   */
+  @Override
+  @Transactional
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return new HashSet<>();
+    }
+    long revision = incrementRevision();
+    Set<Long> existingIds = findExistingIds(ids);
+    if (existingIds.isEmpty()) {
+      boatRevisionJpaRepository.decrement();
+      return existingIds;
+    }
+    boatJpaRepository.deleteAllByIdInBatch(existingIds);
+    Instant deletedAt = Instant.now();
+    existingIds.forEach(id -> entityManager.persist(new BoatTombstoneEntity(id, revision, deletedAt)));
+    entityManager.flush();
+    entityManager.clear();
+    existingIds.forEach(id -> eventPublisher.publishEvent(BoatChangeEvent.deleted(id)));
+    return existingIds;
+  }
+  
+  /**
+   * {@inheritDoc}
+   * The calls made by the work join a single transaction, which holds one connection throughout.
+   */
+  @Override
+  @Transactional
+  public <T> T inUnitOfWork(Supplier<T> work) {
+    return work.get();
+  }
+  
+  /**
+   * Purges the tombstones of the boats deleted before a point in time, and records the highest purged
+   * revision first, in the same transaction, so that a client synchronizing since an older revision
+   * is sent a reset instead of missing the purged deletions.
+   * 
+   * @param deletedBefore The exclusive upper bound of the deletion times of the purged tombstones
+   * @return The number of purged tombstones
+   */
+  @Transactional
+  public int purgeTombstones(Instant deletedBefore) {
+    Long purgedRevision = boatTombstoneJpaRepository.findMaxRevisionDeletedBefore(deletedBefore);
+    if (purgedRevision == null) {
+      return 0;
+    }
+    boatRevisionJpaRepository.advancePurgedRevision(purgedRevision);
+    return boatTombstoneJpaRepository.deleteUpToRevision(purgedRevision);
+  }
+  
+  /**
+   * Updates a boat with portable JPQL statements: the version is read first, without locking, so that an update
+   * of a missing boat or at a stale version is rejected without taking the revision counter; otherwise the next
+   * revision is drawn, locking the counter row until the commit as for every write, the row is updated conditioned
+   * on the version read, and read back. When the row changed in between, the increment is taken back while the
+   * counter row is still locked, so that a rejected update leaves the revision unchanged.
+   * 
+   * @param boat The boat holding the ID and the new values
+   * @param partial Whether null values leave the corresponding columns unchanged
+   * @param expectedVersion The version the boat must be at, or null to update it whatever its version
+   * @return The updated boat, or null if no row matched
+   */
+  private Boat updateRow(Boat boat, boolean partial, Long expectedVersion) {
+    Long currentVersion = boatJpaRepository.findVersionById(boat.getId());
+    if (currentVersion == null || (expectedVersion != null && !expectedVersion.equals(currentVersion))) {
+      return null;
+    }
+    long revision = incrementRevision();
+    int updatedRows = partial
+        ? boatJpaRepository.patchRow(boat.getId(), boat.getName(), boat.getDescription(), currentVersion, revision)
+        : boatJpaRepository.updateRow(boat.getId(), boat.getName(), boat.getDescription(), currentVersion, revision);
+    if (updatedRows == 0) {
+      boatRevisionJpaRepository.decrement();
+      return null;
+    }
+    Boat updatedBoat = boatJpaRepository.findById(boat.getId())
+        .map(BoatEntityMapper::toDomain)
+        .orElse(null);
+    eventPublisher.publishEvent(BoatChangeEvent.saved(updatedBoat));
+    return updatedBoat;
+  }
+  
+  /**
+   * Increments the revision of the boats table within the current transaction.
+   * 
+   * @return The new revision, which the written rows are stamped with
+   */
+  private long incrementRevision() {
+    Long revision = boatRevisionJpaRepository.incrementAndGet();
+    return revision == null ? 0L : revision;
   }
-}
\ No newline at end of file
+}
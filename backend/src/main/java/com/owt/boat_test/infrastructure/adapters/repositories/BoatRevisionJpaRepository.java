@@ -0,0 +1,70 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.owt.boat_test.infrastructure.entities.BoatRevisionEntity;
+
+/**
+ * Spring Data JPA repository interface for the revision of the boats table.
+ */
+@Repository
+public interface BoatRevisionJpaRepository extends JpaRepository<BoatRevisionEntity, Long> {
+
+  /**
+   * Increments the revision counter and reads its new value back.
+   * The counter row stays locked until the end of the transaction, so writers commit in revision order.
+   *
+   * @return The new revision, or null if the counter row does not exist yet
+   */
+  default Long incrementAndGet() {
+    return increment() == 0 ? null : findCurrentRevision();
+  }
+
+  /**
+   * Increments the revision counter, locking its row until the end of the transaction.
+   *
+   * @return The number of updated rows
+   */
+  @Modifying
+  @Query("update BoatRevisionEntity r set r.revision = r.revision + 1 where r.id = 1")
+  int increment();
+
+  /**
+   * Reads the revision counter from the database, bypassing the persistence context.
+   *
+   * @return The current revision, or null if the counter row does not exist yet
+   */
+  @Query("select r.revision from BoatRevisionEntity r where r.id = 1")
+  Long findCurrentRevision();
+
+  /**
+   * Takes back an increment made earlier in the same transaction, which still holds the lock on the counter row,
+   * when the write it was drawn for did not change anything.
+   *
+   * @return The number of updated rows
+   */
+  @Modifying
+  @Query("update BoatRevisionEntity r set r.revision = r.revision - 1 where r.id = 1")
+  int decrement();
+
+  /**
+   * Reads the highest revision of the purged tombstones from the database, bypassing the persistence context.
+   *
+   * @return The purged revision, or null if the counter row does not exist yet
+   */
+  @Query("select r.purgedRevision from BoatRevisionEntity r where r.id = 1")
+  Long findPurgedRevision();
+
+  /**
+   * Records that the tombstones up to a revision are about to be purged, unless a later purge already did.
+   *
+   * @param revision The highest revision of the purged tombstones
+   * @return The number of updated rows
+   */
+  @Modifying
+  @Query("update BoatRevisionEntity r set r.purgedRevision = :revision where r.id = 1 and r.purgedRevision < :revision")
+  int advancePurgedRevision(long revision);
+}
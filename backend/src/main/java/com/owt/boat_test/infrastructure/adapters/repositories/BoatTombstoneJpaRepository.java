@@ -0,0 +1,46 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.owt.boat_test.infrastructure.entities.BoatTombstoneEntity;
+
+/**
+ * Spring Data JPA repository interface for the tombstones of deleted boats.
+ */
+@Repository
+public interface BoatTombstoneJpaRepository extends JpaRepository<BoatTombstoneEntity, Long> {
+
+  /**
+   * Retrieves the IDs of the boats deleted after a revision, using the index on the revision column.
+   *
+   * @param revision The exclusive lower bound of the revisions
+   * @return The IDs of the boats deleted since the revision
+   */
+  @Query("select t.id from BoatTombstoneEntity t where t.revision > :revision")
+  List<Long> findIdsByRevisionGreaterThan(long revision);
+
+  /**
+   * Finds the highest revision among the tombstones older than a point in time.
+   *
+   * @param deletedAt The exclusive upper bound of the deletion times
+   * @return The highest revision, or null if no tombstone is that old
+   */
+  @Query("select max(t.revision) from BoatTombstoneEntity t where t.deletedAt < :deletedAt")
+  Long findMaxRevisionDeletedBefore(Instant deletedAt);
+
+  /**
+   * Deletes the tombstones up to a revision with a single statement.
+   *
+   * @param revision The inclusive upper bound of the revisions
+   * @return The number of deleted tombstones
+   */
+  @Modifying
+  @Query("delete from BoatTombstoneEntity t where t.revision <= :revision")
+  int deleteUpToRevision(long revision);
+}
@@ -0,0 +1,77 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Periodically purges the tombstones left by deleted boats once they are older than the retention period.
+ * The retention bounds how long a client may stay away and still catch up with a delta;
+ * a client away for longer is sent all the boats instead.
+ */
+@Component
+@ConditionalOnProperty(name = "boats.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class BoatTombstonePurger {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BoatTombstonePurger.class);
+
+  private final BoatRepositoryAdapter boatRepositoryAdapter;
+  private final Duration retention;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor for BoatTombstonePurger, scheduling the purge.
+   *
+   * @param boatRepositoryAdapter The JPA persistence adapter owning the tombstones
+   * @param retention How long the tombstones are kept
+   * @param purgeInterval How often the expired tombstones are purged
+   */
+  public BoatTombstonePurger(BoatRepositoryAdapter boatRepositoryAdapter,
+                             @Value("${boats.sync.tombstone-retention:30d}") Duration retention,
+                             @Value("${boats.sync.purge-interval:1h}") Duration purgeInterval) {
+    this.boatRepositoryAdapter = boatRepositoryAdapter;
+    this.retention = retention;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("boat-tombstone-purge").factory());
+    scheduler.scheduleWithFixedDelay(this::purgeQuietly,
+        purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Purges the tombstones older than the retention period.
+   *
+   * @return The number of purged tombstones
+   */
+  public int purge() {
+    return boatRepositoryAdapter.purgeTombstones(Instant.now().minus(retention));
+  }
+
+  /**
+   * Stops the scheduled purge.
+   */
+  @PreDestroy
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private void purgeQuietly() {
+    try {
+      int purged = purge();
+      if (purged > 0) {
+        LOGGER.info("Purged {} boat tombstones older than {}", purged, retention);
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Cannot purge the boat tombstones", e);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded list of the IDs of the deleted boats, keyed by the revision of their deletion, for the storages
+ * without a tombstone table to answer delta syncs.
+ * <p>
+ * Once the capacity is exceeded the oldest tombstones are dropped, and the purge horizon moves to the
+ * revision of the last dropped one: a delta since an earlier revision can no longer tell which boats were
+ * deleted, and must be a reset. The horizon is moved before the tombstone is dropped, so that a reader
+ * missing a dropped tombstone always sees the horizon covering it when it reads the horizon last.
+ */
+public final class BoatTombstones {
+
+  private final int capacity;
+  private final ConcurrentSkipListMap<Long, Long> idsByRevision = new ConcurrentSkipListMap<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong purgedRevision = new AtomicLong();
+
+  /**
+   * Constructor for BoatTombstones.
+   *
+   * @param capacity The maximum number of tombstones kept
+   */
+  public BoatTombstones(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The tombstone capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Records the deletion of a boat, dropping the oldest tombstones beyond the capacity.
+   *
+   * @param revision The revision of the deletion, unique to it
+   * @param id The ID of the deleted boat
+   */
+  public void add(long revision, long id) {
+    idsByRevision.put(revision, id);
+    if (size.incrementAndGet() <= capacity) {
+      return;
+    }
+    Map.Entry<Long, Long> oldest = idsByRevision.firstEntry();
+    if (oldest != null) {
+      purgedRevision.accumulateAndGet(oldest.getKey(), Math::max);
+      if (idsByRevision.remove(oldest.getKey(), oldest.getValue())) {
+        size.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Gets the IDs of the boats deleted after a revision.
+   *
+   * @param revision The exclusive lower bound of the revisions
+   * @return The deleted IDs, ordered by revision
+   */
+  public List<Long> findIdsSince(long revision) {
+    return new ArrayList<>(idsByRevision.tailMap(revision, false).values());
+  }
+
+  /**
+   * Gets the revision up to which tombstones may have been dropped, to be read after the tombstones.
+   *
+   * @return The purge horizon, 0 if no tombstone was ever dropped
+   */
+  public long getPurgedRevision() {
+    return purgedRevision.get();
+  }
+
+  /**
+   * Moves the purge horizon, for a store that lost the tombstones up to a revision, for instance on a restart.
+   *
+   * @param revision The revision up to which the deletions are unknown
+   */
+  public void purgeUpTo(long revision) {
+    purgedRevision.accumulateAndGet(revision, Math::max);
+    idsByRevision.headMap(revision, true).clear();
+    size.set(idsByRevision.size());
+  }
+}
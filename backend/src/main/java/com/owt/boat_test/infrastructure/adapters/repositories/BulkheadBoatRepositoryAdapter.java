@@ -0,0 +1,292 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.models.SavedBoats;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+/**
+ * Decorator of the BoatRepositoryPort interface that bounds the number of concurrent calls
+ * to the wrapped repository.
+ * With requests running on virtual threads, nothing limits how many of them reach the
+ * repository at once; this bulkhead makes the excess wait on a fair semaphore sized below the
+ * connection pool, instead of piling up on the pool itself. A call that cannot get a permit
+ * within the maximum wait fails fast with a {@link TransientDataAccessResourceException}.
+ * Streaming iterations, which keep their connection for as long as the client reads, take a permit
+ * of their own smaller limit instead, so that slow clients never lock the other calls out.
+ * A unit of work takes its permit before it opens its transaction, and the calls it makes run
+ * under that permit: no caller ever holds a connection while waiting for a permit.
+ */
+public class BulkheadBoatRepositoryAdapter implements BoatRepositoryPort {
+
+  private final BoatRepositoryPort delegate;
+  private final Semaphore permits;
+  private final Semaphore streamPermits;
+  private final long maxWaitNanos;
+  private final ThreadLocal<Boolean> holdingPermit = ThreadLocal.withInitial(() -> false);
+
+  /**
+   * Constructor for BulkheadBoatRepositoryAdapter.
+   *
+   * @param delegate The repository whose calls are bounded
+   * @param maxConcurrentCalls The maximum number of calls running at once
+   * @param maxConcurrentStreams The maximum number of streaming iterations running at once, besides the calls
+   * @param maxWait How long a call waits for a permit before failing
+   */
+  public BulkheadBoatRepositoryAdapter(BoatRepositoryPort delegate, int maxConcurrentCalls, int maxConcurrentStreams,
+                                       Duration maxWait) {
+    if (maxConcurrentCalls <= 0 || maxConcurrentStreams <= 0) {
+      throw new IllegalArgumentException("The maximum number of concurrent calls and streams must be positive");
+    }
+    this.delegate = delegate;
+    this.permits = new Semaphore(maxConcurrentCalls, true);
+    this.streamPermits = new Semaphore(maxConcurrentStreams, true);
+    this.maxWaitNanos = maxWait.toNanos();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat save(Boat boat) {
+    return call(() -> delegate.save(boat));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> saveAll(List<Boat> boats) {
+    return call(() -> delegate.saveAll(boats));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SavedBoats upsertAll(List<Boat> boats) {
+    return call(() -> delegate.upsertAll(boats));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findAll() {
+    return call(delegate::findAll);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat findById(Long id) {
+    return call(() -> delegate.findById(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    return call(delegate::findAllWithoutDescription);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat findByIdWithoutDescription(Long id) {
+    return call(() -> delegate.findByIdWithoutDescription(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Long findVersionById(Long id) {
+    return call(() -> delegate.findVersionById(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getRevision() {
+    return call(delegate::getRevision);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return call(() -> delegate.findExistingIds(ids));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    return call(() -> delegate.findPage(afterId, limit));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findPageWithoutDescription(Long afterId, int limit) {
+    return call(() -> delegate.findPageWithoutDescription(afterId, limit));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BoatDelta findChangesSince(long revision) {
+    return call(() -> delegate.findChangesSince(revision));
+  }
+
+  /**
+   * {@inheritDoc}
+   * A stream permit is held for the whole iteration, as the underlying cursor keeps its connection.
+   */
+  @Override
+  public void forEach(Consumer<Boat> consumer) {
+    call(streamPermits, () -> {
+      delegate.forEach(consumer);
+      return null;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return call(delegate::count);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat update(Boat boat, Long expectedVersion) {
+    return call(() -> delegate.update(boat, expectedVersion));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat patch(Boat boat, Long expectedVersion) {
+    return call(() -> delegate.patch(boat, expectedVersion));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean delete(Long id) {
+    return call(() -> delegate.delete(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    return call(() -> delegate.deleteAll(ids));
+  }
+
+  /**
+   * {@inheritDoc}
+   * A single permit is held for the whole unit of work, taken before its transaction starts.
+   */
+  @Override
+  public <T> T inUnitOfWork(Supplier<T> work) {
+    return call(() -> delegate.inUnitOfWork(work));
+  }
+
+  /**
+   * Gets the number of permits currently available.
+   *
+   * @return The number of calls that could start right away
+   */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * Gets an estimate of the number of calls waiting for a permit.
+   *
+   * @return The number of waiting calls
+   */
+  public int getQueueLength() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * Gets the number of stream permits currently available.
+   *
+   * @return The number of streaming iterations that could start right away
+   */
+  public int getAvailableStreamPermits() {
+    return streamPermits.availablePermits();
+  }
+
+  /**
+   * Runs a call to the wrapped repository once a permit is available.
+   *
+   * @param action The call to run
+   * @param <T> The type of the result
+   * @return The result of the call
+   * @throws TransientDataAccessResourceException if no permit became available in time
+   */
+  private <T> T call(Supplier<T> action) {
+    return call(permits, action);
+  }
+
+  /**
+   * Runs a call to the wrapped repository once a permit of the given semaphore is available.
+   * A call made within a unit of work runs under the permit of the unit right away.
+   *
+   * @param semaphore The semaphore the permit is taken from
+   * @param action The call to run
+   * @param <T> The type of the result
+   * @return The result of the call
+   * @throws TransientDataAccessResourceException if no permit became available in time
+   */
+  private <T> T call(Semaphore semaphore, Supplier<T> action) {
+    if (holdingPermit.get()) {
+      return action.get();
+    }
+    try {
+      if (!semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+        throw new TransientDataAccessResourceException("The boat repository is saturated, try again later");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TransientDataAccessResourceException("Interrupted while waiting for the boat repository", e);
+    }
+    holdingPermit.set(true);
+    try {
+      return action.get();
+    } finally {
+      holdingPermit.remove();
+      semaphore.release();
+    }
+  }
+}
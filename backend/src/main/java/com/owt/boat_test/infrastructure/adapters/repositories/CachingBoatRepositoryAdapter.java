@@ -0,0 +1,488 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.models.SavedBoats;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidation;
+import com.owt.boat_test.infrastructure.cluster.InvalidationSubscriber;
+
+/**
+ * Decorator of the BoatRepositoryPort interface that caches boats looked up by ID.
+ * Lookups are served from a bounded in-memory cache with W-TinyLFU eviction; misses are
+ * delegated to the wrapped repository and cached, including IDs that do not exist.
+ * Writes go through to the wrapped repository and then refresh or invalidate the cache. Within a transaction,
+ * the written boats are only evicted, and cached once the transaction has committed, so that a rollback never
+ * leaves them cached; the boats read by a writing transaction are not cached either, as they may not be committed.
+ * Every other operation is delegated as is.
+ * The latest version seen of each boat, written here or invalidated by another instance, is remembered
+ * as long as a copy cached before it could be: a cached copy older than it is never served, the boat being
+ * read from the wrapped repository instead, which is always served as the source of truth.
+ */
+public class CachingBoatRepositoryAdapter implements BoatRepositoryPort, InvalidationSubscriber {
+
+  private final BoatRepositoryPort delegate;
+  private final Cache<Long, Optional<Boat>> cache;
+  private final Cache<Long, Long> seenVersions;
+
+  /**
+   * Constructor for CachingBoatRepositoryAdapter.
+   *
+   * @param delegate The repository whose lookups are cached
+   * @param maximumSize The maximum number of cached IDs
+   * @param ttl How long a found boat stays cached
+   * @param negativeTtl How long a missing ID stays cached
+   */
+  public CachingBoatRepositoryAdapter(BoatRepositoryPort delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new Expiry<Long, Optional<Boat>>() {
+          @Override
+          public long expireAfterCreate(Long id, Optional<Boat> boat, long currentTime) {
+            return (boat.isPresent() ? ttl : negativeTtl).toNanos();
+          }
+
+          @Override
+          public long expireAfterUpdate(Long id, Optional<Boat> boat, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, boat, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(Long id, Optional<Boat> boat, long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .build();
+    this.seenVersions = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl.compareTo(negativeTtl) > 0 ? ttl : negativeTtl)
+        .build();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Caches the saved boat once the wrapped repository has stored it and the transaction, if any, has committed.
+   */
+  @Override
+  public Boat save(Boat boat) {
+    Boat savedBoat = delegate.save(boat);
+    if (savedBoat != null && savedBoat.getId() != null) {
+      cacheSaved(List.of(savedBoat));
+    }
+    return savedBoat;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Caches the saved boats once the wrapped repository has stored them and the transaction, if any, has committed.
+   */
+  @Override
+  public List<Boat> saveAll(List<Boat> boats) {
+    List<Boat> savedBoats = delegate.saveAll(boats);
+    cacheSaved(savedBoats);
+    return savedBoats;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Caches the saved boats as {@link #saveAll(List)} does.
+   */
+  @Override
+  public SavedBoats upsertAll(List<Boat> boats) {
+    SavedBoats savedBoats = delegate.upsertAll(boats);
+    cacheSaved(savedBoats.getBoats());
+    return savedBoats;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findAll() {
+    return delegate.findAll();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Served from the cache when possible. Cached boats are copied so that callers cannot alter them.
+   */
+  @Override
+  public Boat findById(Long id) {
+    if (inWriteTransaction()) {
+      Optional<Boat> boat = currentEntry(id);
+      return boat != null ? boat.map(this::copy).orElse(null) : delegate.findById(id);
+    }
+    boolean[] loaded = new boolean[1];
+    Optional<Boat> boat = cache.get(id, key -> {
+      loaded[0] = true;
+      return Optional.ofNullable(delegate.findById(key)).map(this::copy);
+    });
+    if (!isCurrent(id, boat)) {
+      if (loaded[0]) {
+        // Older than a version already seen, as when read while being invalidated: served, but not kept
+        cache.asMap().remove(id, boat);
+      } else {
+        boat = Optional.ofNullable(delegate.findById(id)).map(this::copy);
+        if (isCurrent(id, boat)) {
+          cache.put(id, boat);
+        }
+      }
+    }
+    return boat.map(this::copy).orElse(null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    return delegate.findAllWithoutDescription();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Served from the cache when the boat is cached; the boats read that way are not cached, as they are incomplete.
+   */
+  @Override
+  public Boat findByIdWithoutDescription(Long id) {
+    Optional<Boat> boat = currentEntry(id);
+    if (boat == null) {
+      return delegate.findByIdWithoutDescription(id);
+    }
+    Boat copy = boat.map(this::copy).orElse(null);
+    if (copy != null) {
+      copy.setDescription(null);
+    }
+    return copy;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Served from the cache when the boat is cached.
+   */
+  @Override
+  public Long findVersionById(Long id) {
+    Optional<Boat> boat = currentEntry(id);
+    if (boat != null) {
+      return boat.map(Boat::getVersion).orElse(null);
+    }
+    return delegate.findVersionById(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getRevision() {
+    return delegate.getRevision();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return delegate.findExistingIds(ids);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    return delegate.findPage(afterId, limit);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findPageWithoutDescription(Long afterId, int limit) {
+    return delegate.findPageWithoutDescription(afterId, limit);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BoatDelta findChangesSince(long revision) {
+    return delegate.findChangesSince(revision);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void forEach(Consumer<Boat> consumer) {
+    delegate.forEach(consumer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return delegate.count();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Caches the updated boat once the transaction, if any, has committed, or invalidates the cached entry
+   * if nothing was updated.
+   */
+  @Override
+  public Boat update(Boat boat, Long expectedVersion) {
+    return refresh(boat.getId(), delegate.update(boat, expectedVersion));
+  }
+
+  /**
+   * {@inheritDoc}
+   * Caches the updated boat once the transaction, if any, has committed, or invalidates the cached entry
+   * if nothing was updated.
+   */
+  @Override
+  public Boat patch(Boat boat, Long expectedVersion) {
+    return refresh(boat.getId(), delegate.patch(boat, expectedVersion));
+  }
+
+  /**
+   * {@inheritDoc}
+   * Invalidates the cached entry once the wrapped repository has deleted the boat, and again once the transaction,
+   * if any, has committed, remembering the deletion only then.
+   */
+  @Override
+  public boolean delete(Long id) {
+    boolean deleted = delegate.delete(id);
+    cache.invalidate(id);
+    if (deleted) {
+      afterCommit(() -> {
+        seenVersions.put(id, BoatInvalidation.DELETED);
+        cache.invalidate(id);
+      });
+    }
+    return deleted;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Invalidates the cached entries once the wrapped repository has deleted the boats, and again once the
+   * transaction, if any, has committed, remembering the deletions only then.
+   */
+  @Override
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    Set<Long> deletedIds = delegate.deleteAll(ids);
+    cache.invalidateAll(ids);
+    if (!deletedIds.isEmpty()) {
+      afterCommit(() -> {
+        deletedIds.forEach(id -> seenVersions.put(id, BoatInvalidation.DELETED));
+        cache.invalidateAll(deletedIds);
+      });
+    }
+    return deletedIds;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> T inUnitOfWork(Supplier<T> work) {
+    return delegate.inUnitOfWork(work);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Remembers the versions and drops the cached copies older than them, keeping the newer ones,
+   * such as the copies of the boats written here that the other instances are told about in turn.
+   */
+  @Override
+  public void invalidate(List<BoatInvalidation> invalidations) {
+    for (BoatInvalidation invalidation : invalidations) {
+      Long seenVersion = seenVersions.asMap().merge(invalidation.id(), invalidation.version(), Math::max);
+      cache.asMap().computeIfPresent(invalidation.id(),
+          (id, boat) -> isAtLeast(boat, seenVersion) ? boat : null);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Gets the hit, miss and eviction statistics of the cache.
+   *
+   * @return A snapshot of the cache statistics
+   */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  /**
+   * Gets the underlying cache, for instance to bind it to a metrics registry.
+   *
+   * @return The cache of boats by ID
+   */
+  public Cache<Long, Optional<Boat>> getCache() {
+    return cache;
+  }
+
+  /**
+   * Caches the result of an update, or invalidates the cached entry if nothing was updated,
+   * as the boat may have been changed or deleted by another instance.
+   *
+   * @param id The ID of the updated boat
+   * @param updatedBoat The updated boat, or null if nothing was updated
+   * @return The updated boat
+   */
+  private Boat refresh(Long id, Boat updatedBoat) {
+    if (updatedBoat == null) {
+      cache.invalidate(id);
+    } else {
+      cacheSaved(List.of(updatedBoat));
+    }
+    return updatedBoat;
+  }
+
+  /**
+   * Caches boats written here, and remembers their versions as seen. Within a transaction, the boats are
+   * evicted right away and only cached once it has committed; if it rolls back, they are evicted again,
+   * in case they were read back in between.
+   *
+   * @param savedBoats The boats as stored
+   */
+  private void cacheSaved(List<Boat> savedBoats) {
+    List<Boat> copies = savedBoats.stream().map(this::copy).toList();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      copies.forEach(this::cacheCommitted);
+      return;
+    }
+    List<Long> ids = copies.stream().map(Boat::getId).toList();
+    cache.invalidateAll(ids);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          copies.forEach(CachingBoatRepositoryAdapter.this::cacheCommitted);
+        } else {
+          cache.invalidateAll(ids);
+        }
+      }
+    });
+  }
+
+  /**
+   * Caches a committed boat, and remembers its version as seen.
+   *
+   * @param savedBoat The copy of the boat as stored
+   */
+  private void cacheCommitted(Boat savedBoat) {
+    if (savedBoat.getVersion() != null) {
+      seenVersions.asMap().merge(savedBoat.getId(), savedBoat.getVersion(), Math::max);
+    }
+    cache.put(savedBoat.getId(), Optional.of(savedBoat));
+  }
+
+  /**
+   * Runs an action once the transaction, if any, has committed, or right away outside of a transaction.
+   *
+   * @param action The action to run
+   */
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  /**
+   * Tells whether the calling thread runs a transaction that may write, whose reads may not be committed.
+   *
+   * @return true if a read-write transaction is active
+   */
+  private static boolean inWriteTransaction() {
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  /**
+   * Gets the cached entry of a boat, unless it is older than the latest version seen.
+   *
+   * @param id The ID of the boat
+   * @return The cached entry, or null if there is none or it is outdated
+   */
+  private Optional<Boat> currentEntry(Long id) {
+    Optional<Boat> boat = cache.getIfPresent(id);
+    return boat != null && isCurrent(id, boat) ? boat : null;
+  }
+
+  /**
+   * Tells whether an entry is at least at the latest version seen of its boat.
+   *
+   * @param id The ID of the boat
+   * @param boat The cached boat, or empty if it was not found
+   * @return true if the entry can be served
+   */
+  private boolean isCurrent(Long id, Optional<Boat> boat) {
+    return isAtLeast(boat, seenVersions.getIfPresent(id));
+  }
+
+  /**
+   * Tells whether an entry is at least at a version: a found boat must be at that version or a later one,
+   * a missing one must have been deleted, or never seen.
+   *
+   * @param boat The cached boat, or empty if it was not found
+   * @param version The version, {@link BoatInvalidation#DELETED} for a deleted boat, or null if none was seen
+   * @return true if the entry is not older than the version
+   */
+  private static boolean isAtLeast(Optional<Boat> boat, Long version) {
+    if (version == null) {
+      return true;
+    }
+    if (boat.isEmpty()) {
+      return version == BoatInvalidation.DELETED;
+    }
+    Long cachedVersion = boat.get().getVersion();
+    return cachedVersion != null && cachedVersion >= version;
+  }
+
+  /**
+   * Copies a boat so that cached instances are never shared with callers.
+   *
+   * @param boat The boat to copy
+   * @return A new boat holding the same data
+   */
+  private Boat copy(Boat boat) {
+    Boat copy = new Boat();
+    copy.setId(boat.getId());
+    copy.setName(boat.getName());
+    copy.setDescription(boat.getDescription());
+    copy.setVersion(boat.getVersion());
+    return copy;
+  }
+}
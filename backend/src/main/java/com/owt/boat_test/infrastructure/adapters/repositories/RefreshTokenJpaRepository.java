@@ -0,0 +1,37 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.owt.boat_test.infrastructure.entities.RefreshTokenEntity;
+
+/**
+ * Spring Data JPA repository interface for the refresh tokens.
+ */
+@Repository
+public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenEntity, String> {
+
+  /**
+   * Deletes a refresh token with a single statement, without loading it first.
+   *
+   * @param tokenHash The hash of the token
+   * @return The number of deleted rows, 0 or 1
+   */
+  @Modifying
+  @Query("delete from RefreshTokenEntity t where t.tokenHash = :tokenHash")
+  int deleteRowByTokenHash(String tokenHash);
+
+  /**
+   * Deletes the refresh tokens expired before a point in time with a single statement.
+   *
+   * @param now The exclusive upper bound of the expiration times
+   * @return The number of deleted rows
+   */
+  @Modifying
+  @Query("delete from RefreshTokenEntity t where t.expiresAt < :now")
+  int deleteExpiredBefore(Instant now);
+}
@@ -0,0 +1,60 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.owt.boat_test.domain.models.RefreshToken;
+import com.owt.boat_test.domain.ports.repositories.RefreshTokenRepositoryPort;
+import com.owt.boat_test.infrastructure.entities.RefreshTokenEntity;
+
+/**
+ * Adapter implementation of the RefreshTokenRepositoryPort interface, storing the refresh tokens in the database.
+ */
+@Component
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort {
+
+  private final RefreshTokenJpaRepository refreshTokenJpaRepository;
+
+  /**
+   * Constructor for RefreshTokenRepositoryAdapter with dependency injection.
+   *
+   * @param refreshTokenJpaRepository The Spring Data JPA repository for refresh tokens
+   */
+  public RefreshTokenRepositoryAdapter(RefreshTokenJpaRepository refreshTokenJpaRepository) {
+    this.refreshTokenJpaRepository = refreshTokenJpaRepository;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void save(RefreshToken refreshToken) {
+    refreshTokenJpaRepository.save(new RefreshTokenEntity(
+        refreshToken.getTokenHash(), refreshToken.getUsername(), refreshToken.getExpiresAt()));
+  }
+
+  /**
+   * {@inheritDoc}
+   * The token is read, then deleted with a statement whose row count tells which concurrent call consumed it.
+   */
+  @Override
+  @Transactional
+  public RefreshToken consume(String tokenHash) {
+    RefreshTokenEntity entity = refreshTokenJpaRepository.findById(tokenHash).orElse(null);
+    if (entity == null || refreshTokenJpaRepository.deleteRowByTokenHash(tokenHash) == 0) {
+      return null;
+    }
+    return new RefreshToken(entity.getTokenHash(), entity.getUsername(), entity.getExpiresAt());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional
+  public int deleteExpired(Instant now) {
+    return refreshTokenJpaRepository.deleteExpiredBefore(now);
+  }
+}
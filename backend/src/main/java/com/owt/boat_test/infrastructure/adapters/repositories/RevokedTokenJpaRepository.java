@@ -0,0 +1,46 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.owt.boat_test.infrastructure.entities.RevokedTokenEntity;
+
+/**
+ * Spring Data JPA repository interface for the revoked access tokens.
+ */
+@Repository
+public interface RevokedTokenJpaRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+  /**
+   * Retrieves the IDs of the tokens revoked and expiring after a point in time.
+   *
+   * @param now The exclusive lower bound of the expiration times
+   * @return The IDs of the revoked tokens
+   */
+  @Query("select t.tokenId from RevokedTokenEntity t where t.expiresAt > :now")
+  List<String> findIdsExpiringAfter(Instant now);
+
+  /**
+   * Retrieves the IDs of the tokens revoked from a point in time onwards.
+   *
+   * @param since The inclusive lower bound of the revocation times
+   * @return The IDs of the revoked tokens
+   */
+  @Query("select t.tokenId from RevokedTokenEntity t where t.revokedAt >= :since")
+  List<String> findIdsRevokedSince(Instant since);
+
+  /**
+   * Deletes the revocations of the tokens expired before a point in time with a single statement.
+   *
+   * @param now The exclusive upper bound of the expiration times
+   * @return The number of deleted rows
+   */
+  @Modifying
+  @Query("delete from RevokedTokenEntity t where t.expiresAt < :now")
+  int deleteExpiredBefore(Instant now);
+}
@@ -0,0 +1,70 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.owt.boat_test.domain.ports.repositories.RevokedTokenRepositoryPort;
+import com.owt.boat_test.infrastructure.entities.RevokedTokenEntity;
+
+/**
+ * Adapter implementation of the RevokedTokenRepositoryPort interface, storing the revocations in the database.
+ */
+@Component
+public class RevokedTokenRepositoryAdapter implements RevokedTokenRepositoryPort {
+
+  private final RevokedTokenJpaRepository revokedTokenJpaRepository;
+
+  /**
+   * Constructor for RevokedTokenRepositoryAdapter with dependency injection.
+   *
+   * @param revokedTokenJpaRepository The Spring Data JPA repository for revoked tokens
+   */
+  public RevokedTokenRepositoryAdapter(RevokedTokenJpaRepository revokedTokenJpaRepository) {
+    this.revokedTokenJpaRepository = revokedTokenJpaRepository;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void revoke(String tokenId, Instant expiresAt) {
+    revokedTokenJpaRepository.save(new RevokedTokenEntity(tokenId, expiresAt, Instant.now()));
+  }
+
+  /**
+   * {@inheritDoc}
+   * Looks the token up by primary key.
+   */
+  @Override
+  public boolean isRevoked(String tokenId) {
+    return revokedTokenJpaRepository.existsById(tokenId);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<String> findUnexpired(Instant now) {
+    return revokedTokenJpaRepository.findIdsExpiringAfter(now);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<String> findRevokedSince(Instant since) {
+    return revokedTokenJpaRepository.findIdsRevokedSince(since);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional
+  public int deleteExpired(Instant now) {
+    return revokedTokenJpaRepository.deleteExpiredBefore(now);
+  }
+}
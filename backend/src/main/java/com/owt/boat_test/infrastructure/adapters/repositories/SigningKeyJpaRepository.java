@@ -0,0 +1,36 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.owt.boat_test.infrastructure.entities.SigningKeyEntity;
+
+/**
+ * Spring Data JPA repository interface for the signing keys.
+ */
+@Repository
+public interface SigningKeyJpaRepository extends JpaRepository<SigningKeyEntity, String> {
+
+  /**
+   * Retrieves the keys expiring after a point in time.
+   *
+   * @param now The exclusive lower bound of the expiration times
+   * @return The keys still in use
+   */
+  List<SigningKeyEntity> findByExpiresAtAfter(Instant now);
+
+  /**
+   * Deletes the keys expired before a point in time with a single statement.
+   *
+   * @param now The exclusive upper bound of the expiration times
+   * @return The number of deleted rows
+   */
+  @Modifying
+  @Query("delete from SigningKeyEntity k where k.expiresAt < :now")
+  int deleteExpiredBefore(Instant now);
+}
@@ -0,0 +1,58 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.owt.boat_test.domain.models.SigningKey;
+import com.owt.boat_test.domain.ports.repositories.SigningKeyRepositoryPort;
+import com.owt.boat_test.infrastructure.entities.SigningKeyEntity;
+
+/**
+ * Adapter implementation of the SigningKeyRepositoryPort interface, storing the signing keys in the database.
+ */
+@Component
+public class SigningKeyRepositoryAdapter implements SigningKeyRepositoryPort {
+
+  private final SigningKeyJpaRepository signingKeyJpaRepository;
+
+  /**
+   * Constructor for SigningKeyRepositoryAdapter with dependency injection.
+   *
+   * @param signingKeyJpaRepository The Spring Data JPA repository for signing keys
+   */
+  public SigningKeyRepositoryAdapter(SigningKeyJpaRepository signingKeyJpaRepository) {
+    this.signingKeyJpaRepository = signingKeyJpaRepository;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void save(SigningKey signingKey) {
+    signingKeyJpaRepository.save(new SigningKeyEntity(signingKey.getKeyId(), signingKey.getAlgorithm(),
+        signingKey.getPublicKey(), signingKey.getPrivateKey(), signingKey.getActivatesAt(), signingKey.getExpiresAt()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<SigningKey> findUnexpired(Instant now) {
+    return signingKeyJpaRepository.findByExpiresAtAfter(now).stream()
+        .map(entity -> new SigningKey(entity.getKeyId(), entity.getAlgorithm(), entity.getPublicKey(),
+            entity.getPrivateKey(), entity.getActivatesAt(), entity.getExpiresAt()))
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional
+  public int deleteExpired(Instant now) {
+    return signingKeyJpaRepository.deleteExpiredBefore(now);
+  }
+}
@@ -0,0 +1,244 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.models.SavedBoats;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Decorator of the BoatRepositoryPort interface that times every call to the wrapped repository.
+ * Calls are recorded by the {@value #METRIC_NAME} timer, tagged with the name of the port method
+ * and whether the call succeeded. Both tags have a small, fixed set of values, so the number of
+ * time series does not grow with the data.
+ */
+public class TimedBoatRepositoryAdapter implements BoatRepositoryPort {
+
+  static final String METRIC_NAME = "boats.repository.calls";
+
+  private final BoatRepositoryPort delegate;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for TimedBoatRepositoryAdapter.
+   *
+   * @param delegate The repository whose calls are timed
+   * @param meterRegistry The registry the timers are published to
+   */
+  public TimedBoatRepositoryAdapter(BoatRepositoryPort delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat save(Boat boat) {
+    return time("save", () -> delegate.save(boat));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> saveAll(List<Boat> boats) {
+    return time("saveAll", () -> delegate.saveAll(boats));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SavedBoats upsertAll(List<Boat> boats) {
+    return time("upsertAll", () -> delegate.upsertAll(boats));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findAll() {
+    return time("findAll", delegate::findAll);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat findById(Long id) {
+    return time("findById", () -> delegate.findById(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    return time("findAllWithoutDescription", delegate::findAllWithoutDescription);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat findByIdWithoutDescription(Long id) {
+    return time("findByIdWithoutDescription", () -> delegate.findByIdWithoutDescription(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Long findVersionById(Long id) {
+    return time("findVersionById", () -> delegate.findVersionById(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getRevision() {
+    return time("getRevision", delegate::getRevision);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return time("findExistingIds", () -> delegate.findExistingIds(ids));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    return time("findPage", () -> delegate.findPage(afterId, limit));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> findPageWithoutDescription(Long afterId, int limit) {
+    return time("findPageWithoutDescription", () -> delegate.findPageWithoutDescription(afterId, limit));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BoatDelta findChangesSince(long revision) {
+    return time("findChangesSince", () -> delegate.findChangesSince(revision));
+  }
+
+  /**
+   * {@inheritDoc}
+   * The recorded time includes the time spent in the consumer.
+   */
+  @Override
+  public void forEach(Consumer<Boat> consumer) {
+    time("forEach", () -> {
+      delegate.forEach(consumer);
+      return null;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return time("count", delegate::count);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat update(Boat boat, Long expectedVersion) {
+    return time("update", () -> delegate.update(boat, expectedVersion));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Boat patch(Boat boat, Long expectedVersion) {
+    return time("patch", () -> delegate.patch(boat, expectedVersion));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean delete(Long id) {
+    return time("delete", () -> delegate.delete(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    return time("deleteAll", () -> delegate.deleteAll(ids));
+  }
+
+  /**
+   * {@inheritDoc}
+   * The unit of work itself is not timed, only the calls it makes.
+   */
+  @Override
+  public <T> T inUnitOfWork(Supplier<T> work) {
+    return delegate.inUnitOfWork(work);
+  }
+
+  /**
+   * Runs a call to the wrapped repository and records its duration.
+   *
+   * @param method The name of the port method
+   * @param action The call to run
+   * @param <T> The type of the result
+   * @return The result of the call
+   */
+  private <T> T time(String method, Supplier<T> action) {
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      T result = action.get();
+      success = true;
+      return result;
+    } finally {
+      timer(method, success ? "success" : "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Gets the timer of a method and outcome, registering it on first use.
+   *
+   * @param method The name of the port method
+   * @param outcome Either "success" or "error"
+   * @return The timer
+   */
+  private Timer timer(String method, String outcome) {
+    return timers.computeIfAbsent(method + ':' + outcome, key -> Timer.builder(METRIC_NAME)
+        .description("Time spent in the boat repository")
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .register(meterRegistry));
+  }
+}
@@ -0,0 +1,27 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.owt.boat_test.infrastructure.entities.UserEntity;
+
+/**
+ * Spring Data JPA repository interface for the users allowed to log in.
+ */
+@Repository
+public interface UserJpaRepository extends JpaRepository<UserEntity, String> {
+
+  /**
+   * Replaces the password hash of a user with a single statement, provided it is still the expected one.
+   *
+   * @param username The name of the user
+   * @param expectedHash The hash the user must still have
+   * @param newHash The hash to store
+   * @return The number of updated rows, 0 or 1
+   */
+  @Modifying
+  @Query("update UserEntity u set u.passwordHash = :newHash where u.username = :username and u.passwordHash = :expectedHash")
+  int updatePasswordHash(String username, String expectedHash, String newHash);
+}
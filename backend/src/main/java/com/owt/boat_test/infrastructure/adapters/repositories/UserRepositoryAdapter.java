@@ -0,0 +1,56 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.owt.boat_test.domain.models.UserAccount;
+import com.owt.boat_test.domain.ports.repositories.UserRepositoryPort;
+import com.owt.boat_test.infrastructure.entities.UserEntity;
+
+/**
+ * Adapter implementation of the UserRepositoryPort interface, storing the users in the database
+ * whatever the storage of the boats.
+ */
+@Component
+public class UserRepositoryAdapter implements UserRepositoryPort {
+
+  private final UserJpaRepository userJpaRepository;
+
+  /**
+   * Constructor for UserRepositoryAdapter with dependency injection.
+   *
+   * @param userJpaRepository The Spring Data JPA repository for users
+   */
+  public UserRepositoryAdapter(UserJpaRepository userJpaRepository) {
+    this.userJpaRepository = userJpaRepository;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public UserAccount findByUsername(String username) {
+    return userJpaRepository.findById(username)
+        .map(entity -> new UserAccount(entity.getUsername(), entity.getPasswordHash()))
+        .orElse(null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public UserAccount save(UserAccount user) {
+    UserEntity entity = userJpaRepository.save(new UserEntity(user.getUsername(), user.getPasswordHash()));
+    return new UserAccount(entity.getUsername(), entity.getPasswordHash());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Compares and replaces the hash with a single statement.
+   */
+  @Override
+  @Transactional
+  public boolean updatePasswordHash(String username, String expectedHash, String newHash) {
+    return userJpaRepository.updatePasswordHash(username, expectedHash, newHash) == 1;
+  }
+}
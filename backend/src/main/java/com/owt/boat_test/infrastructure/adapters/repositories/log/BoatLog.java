@@ -0,0 +1,788 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.infrastructure.adapters.repositories.BoatTombstones;
+
+/**
+ * Durable storage of boats in an append-only log of memory-mapped segment files.
+ * <p>
+ * Every write appends the new state of the boats it changes, or tombstones for the deleted ones, to the
+ * last segment, and an in-memory index maps each live boat ID to the location of its latest record, so a
+ * read is a single lookup in mapped memory. Writes are serialized by a single lock and acknowledged once
+ * forced to disk: a flusher thread forces all the writes received within the durability window at once,
+ * so that concurrent writers share the cost of one fsync (group commit).
+ * <p>
+ * Sealed segments are compacted in the background once the share of superseded records exceeds a
+ * threshold: the live records are copied to a new segment that replaces them. At startup the log is
+ * replayed to rebuild the index; a batch of records cut short by a crash is discarded as a whole.
+ * <p>
+ * Every record is stamped with its sequence number, so the live boats are also indexed by the sequence number
+ * of their latest record, and the deletions are kept in a bounded list of tombstones: together they tell which
+ * boats changed since a revision. The deletions dropped by a compaction are unknown after a restart.
+ * <p>
+ * Readers see the records of a write as soon as they are appended, possibly before they are durable,
+ * and may see a batch while it is being applied.
+ */
+public final class BoatLog implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BoatLog.class);
+  private static final String COMPACTING_SUFFIX = ".compacting";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final long durabilityWindowNanos;
+  private final double compactionThreshold;
+
+  private final ConcurrentSkipListMap<Long, Location> index = new ConcurrentSkipListMap<>();
+  private final ConcurrentSkipListMap<Long, Long> idsBySequence = new ConcurrentSkipListMap<>();
+  private final BoatTombstones tombstones;
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private volatile Segment active;
+  private volatile long revision;
+  private volatile long liveCount;
+  private long maxId;
+
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private final Condition syncRequested = syncLock.newCondition();
+  private final Condition synced = syncLock.newCondition();
+  private long writtenSequence;
+  private long durableSequence;
+  private RuntimeException flushFailure;
+  private boolean closed;
+
+  private final ReentrantLock compactionLock = new ReentrantLock();
+  private final Thread flusher;
+  private final ScheduledExecutorService compactor;
+
+  /**
+   * Opens the log stored in a directory, creating it if needed, and replays it.
+   *
+   * @param directory The directory of the segment files
+   * @param segmentSize The size of a new segment file
+   * @param durabilityWindow How long the flusher waits to gather writes before forcing them to disk
+   * @param compactionInterval How often compaction is considered, or zero to only compact on demand
+   * @param compactionThreshold The share of superseded bytes in sealed segments that triggers a compaction
+   * @param tombstoneCapacity The maximum number of deletions kept to answer the changes since a revision
+   * @throws IOException if the log cannot be read or created
+   */
+  public BoatLog(Path directory, int segmentSize, Duration durabilityWindow,
+                 Duration compactionInterval, double compactionThreshold, int tombstoneCapacity) throws IOException {
+    if (segmentSize <= Segment.HEADER_SIZE) {
+      throw new IllegalArgumentException("The segment size must be larger than " + Segment.HEADER_SIZE + " bytes");
+    }
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.durabilityWindowNanos = durabilityWindow.toNanos();
+    this.compactionThreshold = compactionThreshold;
+    this.tombstones = new BoatTombstones(tombstoneCapacity);
+
+    recover();
+    writtenSequence = revision;
+    durableSequence = revision;
+
+    flusher = Thread.ofPlatform().daemon().name("boat-log-flusher").start(this::flushLoop);
+    if (compactionInterval.isZero() || compactionInterval.isNegative()) {
+      compactor = null;
+    } else {
+      compactor = Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().daemon().name("boat-log-compactor").factory());
+      compactor.scheduleWithFixedDelay(this::compactQuietly,
+          compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Runs a write against the log. The function reads the current boats and stages its changes through the
+   * given transaction; the changes are appended as one atomic batch once it returns, and this method only
+   * returns once they are durable. Writes are serialized, so what the function reads cannot change
+   * before its own changes are applied. If the function throws, nothing is written.
+   *
+   * @param body The function staging the changes
+   * @param <T> The type of the result
+   * @return The result of the function
+   * @throws UncheckedIOException if the log cannot be written or forced to disk
+   */
+  public <T> T write(Function<Transaction, T> body) {
+    T result;
+    long sequence;
+    writeLock.lock();
+    try {
+      ensureOpen();
+      Transaction transaction = new Transaction();
+      result = body.apply(transaction);
+      if (transaction.staged.isEmpty()) {
+        return result;
+      }
+      sequence = append(transaction.staged);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(sequence);
+    return result;
+  }
+
+  /**
+   * Reads a boat.
+   *
+   * @param id The ID of the boat
+   * @return A new instance of the boat, or null if it does not exist
+   */
+  public Boat read(long id) {
+    Location location = index.get(id);
+    return location == null ? null : location.read().toBoat();
+  }
+
+  /**
+   * Reads the version of a boat.
+   *
+   * @param id The ID of the boat
+   * @return The version of the boat, or null if it does not exist
+   */
+  public Long readVersion(long id) {
+    Location location = index.get(id);
+    return location == null ? null : location.read().getVersion();
+  }
+
+  /**
+   * Tells whether a boat exists.
+   *
+   * @param id The ID of the boat
+   * @return true if the boat exists
+   */
+  public boolean contains(long id) {
+    return index.containsKey(id);
+  }
+
+  /**
+   * Reads the boats following an ID, ordered by ascending ID.
+   *
+   * @param afterId The exclusive lower bound of the IDs, or null to start from the first boat
+   * @param limit The maximum number of boats to read
+   * @return The boats
+   */
+  public List<Boat> readPage(Long afterId, int limit) {
+    Map<Long, Location> tail = afterId == null ? index : index.tailMap(afterId, false);
+    List<Boat> boats = new ArrayList<>(Math.min(limit, 1024));
+    for (Location location : tail.values()) {
+      if (boats.size() >= limit) {
+        break;
+      }
+      boats.add(location.read().toBoat());
+    }
+    return boats;
+  }
+
+  /**
+   * Passes every boat to a consumer, ordered by ascending ID.
+   *
+   * @param consumer The callback receiving each boat
+   */
+  public void forEach(Consumer<Boat> consumer) {
+    index.values().forEach(location -> consumer.accept(location.read().toBoat()));
+  }
+
+  /**
+   * Reads the boats whose latest record was appended after a revision, ordered by sequence number.
+   * A boat changed while reading may be left out, its new record coming after the revision read beforehand.
+   *
+   * @param revision The exclusive lower bound of the sequence numbers
+   * @return The changed boats
+   */
+  public List<Boat> readChangedSince(long revision) {
+    List<Boat> boats = new ArrayList<>();
+    for (Long id : idsBySequence.tailMap(revision, false).values()) {
+      Location location = index.get(id);
+      if (location != null) {
+        boats.add(location.read().toBoat());
+      }
+    }
+    return boats;
+  }
+
+  /**
+   * Reads the IDs of the boats deleted after a revision, as far as the tombstones kept go back.
+   *
+   * @param revision The exclusive lower bound of the sequence numbers
+   * @return The deleted IDs, ordered by sequence number
+   */
+  public List<Long> readDeletedSince(long revision) {
+    return tombstones.findIdsSince(revision);
+  }
+
+  /**
+   * Gets the revision up to which deletions may be unknown, to be read after the deleted IDs.
+   *
+   * @return The purge horizon of the tombstones
+   */
+  public long purgedRevision() {
+    return tombstones.getPurgedRevision();
+  }
+
+  /**
+   * Gets the number of boats.
+   *
+   * @return The number of live boats
+   */
+  public long size() {
+    return liveCount;
+  }
+
+  /**
+   * Gets the revision of the log, which is the sequence number of the last appended record.
+   *
+   * @return The revision
+   */
+  public long revision() {
+    return revision;
+  }
+
+  /**
+   * Gets the number of segment files.
+   *
+   * @return The number of segments, the one receiving appends included
+   */
+  public int segmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Compacts the sealed segments if the share of superseded bytes they hold exceeds the threshold.
+   * The live records are copied to a new segment, which atomically replaces the last sealed one before
+   * the others are deleted; a crash in between is resolved at the next startup from the segment header.
+   *
+   * @return true if a compaction took place
+   * @throws IOException if the compacted segment cannot be written
+   */
+  public boolean compact() throws IOException {
+    if (!compactionLock.tryLock()) {
+      return false;
+    }
+    try {
+      List<Segment> sealed;
+      long baseRevision;
+      long baseMaxId;
+      writeLock.lock();
+      try {
+        ensureOpen();
+        sealed = new ArrayList<>(segments.subList(0, segments.size() - 1));
+        baseRevision = revision;
+        baseMaxId = maxId;
+      } finally {
+        writeLock.unlock();
+      }
+      long usedBytes = sealed.stream().mapToLong(Segment::usedBytes).sum();
+      long deadBytes = sealed.stream().mapToLong(Segment::deadBytes).sum();
+      if (usedBytes == 0 || (double) deadBytes / usedBytes < compactionThreshold) {
+        return false;
+      }
+
+      Set<Segment> sealedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+      sealedSet.addAll(sealed);
+      Map<Long, Location> live = new LinkedHashMap<>();
+      List<byte[]> liveRecords = new ArrayList<>();
+      long liveBytes = 0;
+      for (Map.Entry<Long, Location> entry : index.entrySet()) {
+        if (sealedSet.contains(entry.getValue().segment)) {
+          byte[] bytes = entry.getValue().read().encode(false);
+          live.put(entry.getKey(), entry.getValue());
+          liveRecords.add(bytes);
+          liveBytes += bytes.length;
+        }
+      }
+      if (Segment.HEADER_SIZE + liveBytes > Integer.MAX_VALUE) {
+        throw new IOException("The live records do not fit in a single segment");
+      }
+
+      Segment target = sealed.get(sealed.size() - 1);
+      Path temporary = directory.resolve(Segment.fileName(target.id()) + COMPACTING_SUFFIX);
+      Files.deleteIfExists(temporary);
+      Segment compacted = Segment.create(temporary, target.id(), (int) (Segment.HEADER_SIZE + liveBytes),
+          sealed.get(0).firstCoveredId(), baseRevision, baseMaxId);
+      Map<Long, Location> relocated = new LinkedHashMap<>();
+      int i = 0;
+      for (Long id : live.keySet()) {
+        byte[] bytes = liveRecords.get(i++);
+        relocated.put(id, new Location(compacted, compacted.append(bytes), bytes.length, live.get(id).sequence));
+      }
+      compacted.force(Segment.HEADER_SIZE, compacted.writePosition());
+      Files.move(temporary, target.path(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      compacted.moveTo(target.path());
+      syncDirectory();
+
+      writeLock.lock();
+      try {
+        for (Map.Entry<Long, Location> entry : relocated.entrySet()) {
+          if (!index.replace(entry.getKey(), live.get(entry.getKey()), entry.getValue())) {
+            compacted.addDeadBytes(entry.getValue().size);
+          }
+        }
+        segments.removeIf(sealedSet::contains);
+        segments.add(0, compacted);
+      } finally {
+        writeLock.unlock();
+      }
+      for (Segment segment : sealed) {
+        if (segment != target) {
+          Files.deleteIfExists(segment.path());
+        }
+      }
+      LOGGER.info("Compacted {} boat log segments into {} bytes of live records", sealed.size(), liveBytes);
+      return true;
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  /**
+   * Stops the background threads once every acknowledged write is durable.
+   */
+  @Override
+  public void close() {
+    syncLock.lock();
+    try {
+      closed = true;
+      syncRequested.signalAll();
+      synced.signalAll();
+    } finally {
+      syncLock.unlock();
+    }
+    if (compactor != null) {
+      compactor.shutdownNow();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Appends a batch of changes to the active segment and applies them to the index.
+   * Must be called with the write lock held.
+   *
+   * @param staged The new state of each changed boat, null for a deleted one
+   * @return The sequence number of the last record of the batch
+   */
+  private long append(Map<Long, Boat> staged) {
+    long sequence = revision;
+    List<BoatRecord> records = new ArrayList<>(staged.size());
+    for (Map.Entry<Long, Boat> change : staged.entrySet()) {
+      sequence++;
+      records.add(change.getValue() == null
+          ? BoatRecord.delete(sequence, change.getKey())
+          : BoatRecord.put(sequence, change.getValue()));
+    }
+    List<byte[]> encoded = new ArrayList<>(records.size());
+    long totalSize = 0;
+    for (int i = 0; i < records.size(); i++) {
+      byte[] bytes = records.get(i).encode(i < records.size() - 1);
+      encoded.add(bytes);
+      totalSize += bytes.length;
+    }
+    if (Segment.HEADER_SIZE + totalSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The batch is too large for a segment");
+    }
+    if (!active.fits((int) totalSize)) {
+      rollOver((int) totalSize);
+    }
+
+    Segment segment = active;
+    for (int i = 0; i < records.size(); i++) {
+      byte[] bytes = encoded.get(i);
+      apply(records.get(i), segment, segment.append(bytes), bytes.length);
+    }
+    revision = sequence;
+
+    syncLock.lock();
+    try {
+      writtenSequence = sequence;
+      syncRequested.signal();
+    } finally {
+      syncLock.unlock();
+    }
+    return sequence;
+  }
+
+  /**
+   * Applies a record to the indexes and accounts for the bytes it supersedes.
+   * The superseded sequence number is unindexed before the new one is indexed, so a reader never sees a boat twice.
+   *
+   * @param record The record
+   * @param segment The segment holding the record
+   * @param offset The offset of the record in the segment
+   * @param size The size of the record
+   */
+  private void apply(BoatRecord record, Segment segment, int offset, int size) {
+    Location previous;
+    if (record.isDelete()) {
+      previous = index.remove(record.getId());
+      segment.addDeadBytes(size);
+    } else {
+      previous = index.put(record.getId(), new Location(segment, offset, size, record.getSequence()));
+    }
+    if (previous != null) {
+      previous.segment.addDeadBytes(previous.size);
+      idsBySequence.remove(previous.sequence);
+    }
+    if (record.isDelete()) {
+      tombstones.add(record.getSequence(), record.getId());
+    } else {
+      idsBySequence.put(record.getSequence(), record.getId());
+    }
+    if (record.isDelete() && previous != null) {
+      liveCount--;
+    } else if (!record.isDelete() && previous == null) {
+      liveCount++;
+    }
+    maxId = Math.max(maxId, record.getId());
+  }
+
+  /**
+   * Seals the active segment and starts a new one. Must be called with the write lock held.
+   *
+   * @param needed The number of bytes the new segment must be able to hold
+   */
+  private void rollOver(int needed) {
+    Segment sealed = active;
+    sealed.force(Segment.HEADER_SIZE, sealed.writePosition());
+    long id = sealed.id() + 1;
+    try {
+      Segment next = Segment.create(directory.resolve(Segment.fileName(id)), id,
+          Math.max(segmentSize, Segment.HEADER_SIZE + needed), id, revision, maxId);
+      syncDirectory();
+      segments.add(next);
+      active = next;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create boat log segment " + id, e);
+    }
+  }
+
+  /**
+   * Blocks until the record with the given sequence number has been forced to disk.
+   *
+   * @param sequence The sequence number
+   */
+  private void awaitDurable(long sequence) {
+    syncLock.lock();
+    try {
+      while (durableSequence < sequence) {
+        if (flushFailure != null) {
+          throw new UncheckedIOException("The boat log cannot be forced to disk", new IOException(flushFailure));
+        }
+        if (closed) {
+          throw new IllegalStateException("The boat log is closed");
+        }
+        synced.awaitUninterruptibly();
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  /**
+   * Body of the flusher thread: waits for appended records, lets the durability window gather more of them,
+   * then forces them all with a single call and wakes up their writers.
+   */
+  private void flushLoop() {
+    Segment forcedSegment = null;
+    int forcedPosition = 0;
+    while (true) {
+      syncLock.lock();
+      try {
+        while (durableSequence >= writtenSequence && !closed) {
+          syncRequested.awaitUninterruptibly();
+        }
+        if (durableSequence >= writtenSequence) {
+          return;
+        }
+      } finally {
+        syncLock.unlock();
+      }
+      if (durabilityWindowNanos > 0) {
+        LockSupport.parkNanos(durabilityWindowNanos);
+      }
+
+      long target;
+      syncLock.lock();
+      try {
+        target = writtenSequence;
+      } finally {
+        syncLock.unlock();
+      }
+      // Read after the target: records of a segment sealed in the meantime were forced when sealing it
+      Segment segment = active;
+      int position = segment.writePosition();
+      RuntimeException failure = null;
+      try {
+        segment.force(segment == forcedSegment ? forcedPosition : Segment.HEADER_SIZE, position);
+        forcedSegment = segment;
+        forcedPosition = position;
+      } catch (RuntimeException e) {
+        LOGGER.error("Cannot force the boat log to disk", e);
+        failure = e;
+      }
+
+      syncLock.lock();
+      try {
+        if (failure != null) {
+          flushFailure = failure;
+        } else {
+          durableSequence = Math.max(durableSequence, target);
+        }
+        synced.signalAll();
+      } finally {
+        syncLock.unlock();
+      }
+      if (failure != null) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the index by replaying the segments, after discarding leftovers of an interrupted compaction.
+   *
+   * @throws IOException if the segments cannot be read
+   */
+  private void recover() throws IOException {
+    Files.createDirectories(directory);
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.collect(Collectors.toList());
+    }
+    for (Path file : files) {
+      if (file.getFileName().toString().endsWith(COMPACTING_SUFFIX)) {
+        Files.delete(file);
+      }
+    }
+    List<Path> segmentFiles = files.stream()
+        .filter(Segment::isSegmentFile)
+        .sorted(Comparator.comparingLong(Segment::idOf))
+        .collect(Collectors.toList());
+
+    // A compacted segment replaces every segment from the first one it covers: drop those left by a crash
+    List<Segment> opened = new ArrayList<>();
+    long coveredFrom = Long.MAX_VALUE;
+    for (int i = segmentFiles.size() - 1; i >= 0; i--) {
+      Path file = segmentFiles.get(i);
+      if (Segment.idOf(file) >= coveredFrom) {
+        LOGGER.info("Deleting boat log segment {} replaced by a compaction", file.getFileName());
+        Files.delete(file);
+        continue;
+      }
+      Segment segment = Segment.open(file);
+      opened.add(0, segment);
+      coveredFrom = Math.min(coveredFrom, segment.firstCoveredId());
+    }
+
+    for (int i = 0; i < opened.size(); i++) {
+      replay(opened.get(i), i == opened.size() - 1);
+      segments.add(opened.get(i));
+    }
+    if (segments.isEmpty()) {
+      Segment first = Segment.create(directory.resolve(Segment.fileName(1)), 1, segmentSize, 1, 0, 0);
+      syncDirectory();
+      segments.add(first);
+    }
+    active = segments.get(segments.size() - 1);
+    // The deletions in the segments replaced by a compaction were dropped with it
+    tombstones.purgeUpTo(segments.get(0).baseRevision());
+    LOGGER.info("Opened boat log in {}: {} boats, revision {}, {} segments",
+        directory, liveCount, revision, segments.size());
+  }
+
+  /**
+   * Applies the records of a segment to the index, up to the last complete batch.
+   *
+   * @param segment The segment to replay
+   * @param last Whether this is the last segment, which keeps receiving appends
+   */
+  private void replay(Segment segment, boolean last) {
+    revision = Math.max(revision, segment.baseRevision());
+    maxId = Math.max(maxId, segment.baseMaxId());
+
+    int limit = segment.buffer().capacity();
+    int position = Segment.HEADER_SIZE;
+    int committed = position;
+    List<BoatRecord> batch = new ArrayList<>();
+    List<int[]> batchLocations = new ArrayList<>();
+    while (true) {
+      BoatRecord record = BoatRecord.decode(segment.buffer(), position, limit);
+      if (record == null) {
+        break;
+      }
+      int size = BoatRecord.sizeAt(segment.buffer(), position);
+      batch.add(record);
+      batchLocations.add(new int[] {position, size});
+      position += size;
+      if (!record.isContinued()) {
+        for (int i = 0; i < batch.size(); i++) {
+          apply(batch.get(i), segment, batchLocations.get(i)[0], batchLocations.get(i)[1]);
+          revision = Math.max(revision, batch.get(i).getSequence());
+        }
+        batch.clear();
+        batchLocations.clear();
+        committed = position;
+      }
+    }
+    if (!batch.isEmpty() || (committed + 4 <= limit && segment.buffer().getInt(committed) != 0)) {
+      LOGGER.warn("Discarding the incomplete tail of boat log segment {} at offset {}",
+          segment.path().getFileName(), committed);
+    }
+    segment.setWritePosition(committed);
+    if (last) {
+      segment.clearTail();
+    }
+  }
+
+  /**
+   * Forces the directory entries, so that created and renamed segment files survive a crash.
+   */
+  private void syncDirectory() {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Not supported on every platform, the file contents are forced regardless
+      LOGGER.debug("Cannot force the boat log directory", e);
+    }
+  }
+
+  private void ensureOpen() {
+    syncLock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("The boat log is closed");
+      }
+      if (flushFailure != null) {
+        throw new UncheckedIOException("The boat log cannot be forced to disk", new IOException(flushFailure));
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private void compactQuietly() {
+    try {
+      compact();
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error("Boat log compaction failed", e);
+    }
+  }
+
+  /**
+   * The changes of a write, staged until the write function returns.
+   */
+  public final class Transaction {
+    private final Map<Long, Boat> staged = new LinkedHashMap<>();
+
+    private Transaction() {
+    }
+
+    /**
+     * Reads a boat, as changed by this transaction so far.
+     *
+     * @param id The ID of the boat
+     * @return The boat, or null if it does not exist
+     */
+    public Boat get(long id) {
+      return staged.containsKey(id) ? staged.get(id) : read(id);
+    }
+
+    /**
+     * Tells whether a boat exists, as changed by this transaction so far.
+     *
+     * @param id The ID of the boat
+     * @return true if the boat exists
+     */
+    public boolean exists(long id) {
+      return staged.containsKey(id) ? staged.get(id) != null : contains(id);
+    }
+
+    /**
+     * Allocates the ID of a new boat. IDs are never reused, even after a deletion.
+     *
+     * @return A new ID
+     */
+    public long nextId() {
+      return ++maxId;
+    }
+
+    /**
+     * Stages the new state of a boat.
+     *
+     * @param boat The boat, with its ID and version set
+     */
+    public void put(Boat boat) {
+      staged.put(boat.getId(), boat);
+      maxId = Math.max(maxId, boat.getId());
+    }
+
+    /**
+     * Stages the deletion of a boat.
+     *
+     * @param id The ID of the boat
+     */
+    public void delete(long id) {
+      staged.put(id, null);
+    }
+  }
+
+  /**
+   * The location and the sequence number of the latest record of a live boat.
+   */
+  private static final class Location {
+    private final Segment segment;
+    private final int offset;
+    private final int size;
+    private final long sequence;
+
+    private Location(Segment segment, int offset, int size, long sequence) {
+      this.segment = segment;
+      this.offset = offset;
+      this.size = size;
+      this.sequence = sequence;
+    }
+
+    private BoatRecord read() {
+      BoatRecord record = BoatRecord.decode(segment.buffer(), offset, offset + size);
+      if (record == null) {
+        throw new IllegalStateException("Corrupted boat log record in " + segment.path() + " at offset " + offset);
+      }
+      return record;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.log;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+import com.owt.boat_test.domain.models.Boat;
+
+/**
+ * A record of the boat log: either the full state of a boat after a write, or a tombstone for a deleted boat.
+ * <p>
+ * Binary layout, big-endian:
+ * <pre>
+ * int    length of everything after the checksum
+ * int    CRC32C of everything after the checksum
+ * byte   type (PUT or DELETE)
+ * byte   flags (CONTINUED when the next record belongs to the same atomic batch)
+ * long   sequence number, which is the revision of the store once the record is applied
+ * long   boat ID
+ * long   boat version
+ * int    name length in bytes, or -1 for null, followed by the UTF-8 bytes
+ * int    description length in bytes, or -1 for null, followed by the UTF-8 bytes
+ * </pre>
+ * A length of zero marks the end of the records of a segment, as segments are preallocated with zeros.
+ */
+final class BoatRecord {
+
+  static final byte PUT = 1;
+  static final byte DELETE = 2;
+  static final byte FLAG_CONTINUED = 1;
+
+  private static final int LENGTH_AND_CHECKSUM_SIZE = 8;
+  private static final int FIXED_PAYLOAD_SIZE = 1 + 1 + 8 + 8 + 8 + 4 + 4;
+
+  private final byte type;
+  private final long sequence;
+  private final long id;
+  private final long version;
+  private final String name;
+  private final String description;
+  private final byte flags;
+
+  private BoatRecord(byte type, long sequence, long id, long version, String name, String description, byte flags) {
+    this.type = type;
+    this.sequence = sequence;
+    this.id = id;
+    this.version = version;
+    this.name = name;
+    this.description = description;
+    this.flags = flags;
+  }
+
+  /**
+   * Creates a record holding the full state of a boat.
+   *
+   * @param sequence The sequence number of the record
+   * @param boat The boat, with its ID and version set
+   * @return The record
+   */
+  static BoatRecord put(long sequence, Boat boat) {
+    return new BoatRecord(PUT, sequence, boat.getId(), boat.getVersion(), boat.getName(), boat.getDescription(), (byte) 0);
+  }
+
+  /**
+   * Creates a tombstone for a deleted boat.
+   *
+   * @param sequence The sequence number of the record
+   * @param id The ID of the deleted boat
+   * @return The record
+   */
+  static BoatRecord delete(long sequence, long id) {
+    return new BoatRecord(DELETE, sequence, id, 0L, null, null, (byte) 0);
+  }
+
+  /**
+   * Encodes the record.
+   *
+   * @param continued Whether the next record belongs to the same atomic batch
+   * @return The bytes of the record, checksum included
+   */
+  byte[] encode(boolean continued) {
+    byte[] nameBytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+    byte[] descriptionBytes = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+    int payloadSize = FIXED_PAYLOAD_SIZE
+        + (nameBytes == null ? 0 : nameBytes.length)
+        + (descriptionBytes == null ? 0 : descriptionBytes.length);
+
+    ByteBuffer buffer = ByteBuffer.allocate(LENGTH_AND_CHECKSUM_SIZE + payloadSize);
+    buffer.putInt(payloadSize);
+    buffer.putInt(0);
+    buffer.put(type);
+    buffer.put(continued ? FLAG_CONTINUED : 0);
+    buffer.putLong(sequence);
+    buffer.putLong(id);
+    buffer.putLong(version);
+    putBytes(buffer, nameBytes);
+    putBytes(buffer, descriptionBytes);
+
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.array(), LENGTH_AND_CHECKSUM_SIZE, payloadSize);
+    buffer.putInt(4, (int) crc.getValue());
+    return buffer.array();
+  }
+
+  /**
+   * Decodes the record starting at the given offset, without moving the position of the buffer.
+   *
+   * @param buffer The buffer holding the record
+   * @param offset The offset of the record
+   * @param limit The offset past which the record cannot extend
+   * @return The record, or null if there is no complete and intact record at this offset
+   */
+  static BoatRecord decode(ByteBuffer buffer, int offset, int limit) {
+    if (offset + LENGTH_AND_CHECKSUM_SIZE > limit) {
+      return null;
+    }
+    int payloadSize = buffer.getInt(offset);
+    if (payloadSize < FIXED_PAYLOAD_SIZE || payloadSize > limit - offset - LENGTH_AND_CHECKSUM_SIZE) {
+      return null;
+    }
+    byte[] payload = new byte[payloadSize];
+    buffer.get(offset + LENGTH_AND_CHECKSUM_SIZE, payload);
+    CRC32C crc = new CRC32C();
+    crc.update(payload);
+    if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+      return null;
+    }
+
+    try {
+      ByteBuffer fields = ByteBuffer.wrap(payload);
+      byte type = fields.get();
+      byte flags = fields.get();
+      long sequence = fields.getLong();
+      long id = fields.getLong();
+      long version = fields.getLong();
+      String name = getString(fields);
+      String description = getString(fields);
+      if ((type != PUT && type != DELETE) || fields.hasRemaining()) {
+        return null;
+      }
+      return new BoatRecord(type, sequence, id, version, name, description, flags);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Gets the size of the record starting at the given offset, as written by {@link #encode(boolean)}.
+   *
+   * @param buffer The buffer holding the record
+   * @param offset The offset of the record
+   * @return The number of bytes of the record
+   */
+  static int sizeAt(ByteBuffer buffer, int offset) {
+    return LENGTH_AND_CHECKSUM_SIZE + buffer.getInt(offset);
+  }
+
+  /**
+   * Converts a PUT record to the boat it holds.
+   *
+   * @return A new boat
+   */
+  Boat toBoat() {
+    Boat boat = new Boat();
+    boat.setId(id);
+    boat.setName(name);
+    boat.setDescription(description);
+    boat.setVersion(version);
+    return boat;
+  }
+
+  boolean isDelete() {
+    return type == DELETE;
+  }
+
+  boolean isContinued() {
+    return (flags & FLAG_CONTINUED) != 0;
+  }
+
+  long getSequence() {
+    return sequence;
+  }
+
+  long getId() {
+    return id;
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    if (bytes == null) {
+      buffer.putInt(-1);
+    } else {
+      buffer.putInt(bytes.length);
+      buffer.put(bytes);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    if (length > buffer.remaining()) {
+      throw new IllegalArgumentException("Record field exceeds the record");
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
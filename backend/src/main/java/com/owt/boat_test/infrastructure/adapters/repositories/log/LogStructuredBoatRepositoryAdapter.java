@@ -0,0 +1,318 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+/**
+ * Adapter implementation of the BoatRepositoryPort interface storing the boats in a {@link BoatLog}
+ * on the local file system instead of a database.
+ * Every write is checked and staged inside a single log write, so conditional updates and deletions are
+ * atomic, and returns once durable. A {@link BoatChangeEvent} is published for every boat saved or deleted.
+ * The revision is the sequence number of the last record of the log.
+ */
+public class LogStructuredBoatRepositoryAdapter implements BoatRepositoryPort, AutoCloseable {
+
+  private final BoatLog log;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Constructor for LogStructuredBoatRepositoryAdapter.
+   *
+   * @param log The opened boat log
+   * @param eventPublisher The publisher of the boat change events
+   */
+  public LogStructuredBoatRepositoryAdapter(BoatLog log, ApplicationEventPublisher eventPublisher) {
+    this.log = log;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * {@inheritDoc}
+   * A boat without ID, or with an unknown one, is created with a new ID; otherwise its version must match.
+   */
+  @Override
+  public Boat save(Boat boat) {
+    Boat savedBoat = log.write(transaction -> stage(transaction, boat, true));
+    eventPublisher.publishEvent(BoatChangeEvent.saved(savedBoat));
+    return savedBoat;
+  }
+
+  /**
+   * {@inheritDoc}
+   * All the boats are appended as one atomic batch. Like the JPA adapter, existing boats are
+   * overwritten whatever their version.
+   */
+  @Override
+  public List<Boat> saveAll(List<Boat> boats) {
+    List<Boat> savedBoats = log.write(transaction -> {
+      List<Boat> staged = new ArrayList<>(boats.size());
+      for (Boat boat : boats) {
+        staged.add(stage(transaction, boat, false));
+      }
+      return staged;
+    });
+    savedBoats.forEach(savedBoat -> eventPublisher.publishEvent(BoatChangeEvent.saved(savedBoat)));
+    return savedBoats;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Reads every live record, ordered by ID.
+   */
+  @Override
+  public List<Boat> findAll() {
+    List<Boat> boats = new ArrayList<>();
+    log.forEach(boats::add);
+    return boats;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Looks the record up through the in-memory index.
+   */
+  @Override
+  public Boat findById(Long id) {
+    return log.read(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Records are read whole, the description is dropped from the decoded boats.
+   */
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    List<Boat> boats = findAll();
+    boats.forEach(boat -> boat.setDescription(null));
+    return boats;
+  }
+
+  /**
+   * {@inheritDoc}
+   * The record is read whole, the description is dropped from the decoded boat.
+   */
+  @Override
+  public Boat findByIdWithoutDescription(Long id) {
+    Boat boat = log.read(id);
+    if (boat != null) {
+      boat.setDescription(null);
+    }
+    return boat;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Looks the record up through the in-memory index.
+   */
+  @Override
+  public Long findVersionById(Long id) {
+    return log.readVersion(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   * The revision is the sequence number of the last record of the log.
+   */
+  @Override
+  public long getRevision() {
+    return log.revision();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Reads the boats whose latest record and the tombstones are stamped after the revision. The revision of the
+   * log is read first, so a change appended meanwhile is returned twice at worst; the purge horizon of the
+   * tombstones is read last, so that tombstones dropped while reading make for a reset. A later revision than
+   * the one of the log, for instance from a log that was recreated, makes for a reset too.
+   */
+  @Override
+  public BoatDelta findChangesSince(long revision) {
+    long currentRevision = log.revision();
+    if (revision > currentRevision) {
+      return BoatDelta.reset(currentRevision, findAll());
+    }
+    List<Boat> boats = log.readChangedSince(revision);
+    List<Long> deletedIds = log.readDeletedSince(revision);
+    if (revision < log.purgedRevision()) {
+      return BoatDelta.reset(currentRevision, findAll());
+    }
+    return new BoatDelta(currentRevision, boats, deletedIds, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Only the in-memory index is checked.
+   */
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return ids.stream()
+        .filter(log::contains)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Walks the ordered in-memory index from the given ID.
+   */
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    return log.readPage(afterId, limit);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Decodes one record at a time, so heap usage does not grow with the number of boats.
+   */
+  @Override
+  public void forEach(Consumer<Boat> consumer) {
+    log.forEach(consumer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return log.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   * The version is checked and the new state appended within the same log write.
+   */
+  @Override
+  public Boat update(Boat boat, Long expectedVersion) {
+    return updateConditionally(boat, false, expectedVersion);
+  }
+
+  /**
+   * {@inheritDoc}
+   * The version is checked and the merged state appended within the same log write.
+   */
+  @Override
+  public Boat patch(Boat boat, Long expectedVersion) {
+    return updateConditionally(boat, true, expectedVersion);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Appends a tombstone if the boat exists.
+   */
+  @Override
+  public boolean delete(Long id) {
+    boolean deleted = log.write(transaction -> {
+      if (!transaction.exists(id)) {
+        return false;
+      }
+      transaction.delete(id);
+      return true;
+    });
+    if (deleted) {
+      eventPublisher.publishEvent(BoatChangeEvent.deleted(id));
+    }
+    return deleted;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Appends the tombstones of all the existing boats as one atomic batch.
+   */
+  @Override
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    Set<Long> deletedIds = log.write(transaction -> {
+      Set<Long> existingIds = new LinkedHashSet<>();
+      for (Long id : ids) {
+        if (transaction.exists(id)) {
+          transaction.delete(id);
+          existingIds.add(id);
+        }
+      }
+      return existingIds;
+    });
+    deletedIds.forEach(id -> eventPublisher.publishEvent(BoatChangeEvent.deleted(id)));
+    return deletedIds;
+  }
+
+  /**
+   * Closes the underlying log once every acknowledged write is durable.
+   */
+  @Override
+  public void close() {
+    log.close();
+  }
+
+  /**
+   * Stages the new state of a saved boat.
+   *
+   * @param transaction The current log write
+   * @param boat The boat to save
+   * @param checkVersion Whether the version of an existing boat must match the one of the given boat
+   * @return The saved boat, with its ID and new version
+   * @throws OptimisticLockingFailureException if the versions do not match
+   */
+  private Boat stage(BoatLog.Transaction transaction, Boat boat, boolean checkVersion) {
+    Boat existing = boat.getId() == null ? null : transaction.get(boat.getId());
+    Boat saved = copy(boat);
+    if (existing == null) {
+      saved.setId(transaction.nextId());
+      saved.setVersion(0L);
+    } else {
+      if (checkVersion && boat.getVersion() != null && !boat.getVersion().equals(existing.getVersion())) {
+        throw new OptimisticLockingFailureException("Boat " + boat.getId() + " was modified concurrently");
+      }
+      saved.setVersion(existing.getVersion() + 1);
+    }
+    transaction.put(saved);
+    return saved;
+  }
+
+  /**
+   * Updates a boat if it exists at the expected version, then records the change.
+   *
+   * @param boat The boat holding the ID and the new values
+   * @param partial Whether null values leave the corresponding fields unchanged
+   * @param expectedVersion The version the boat must be at, or null to update it whatever its version
+   * @return The updated boat, or null if the boat does not exist or is at another version
+   */
+  private Boat updateConditionally(Boat boat, boolean partial, Long expectedVersion) {
+    Boat updatedBoat = log.write(transaction -> {
+      Boat existing = transaction.get(boat.getId());
+      if (existing == null || (expectedVersion != null && !expectedVersion.equals(existing.getVersion()))) {
+        return null;
+      }
+      Boat updated = copy(boat);
+      if (partial) {
+        updated.setName(boat.getName() == null ? existing.getName() : boat.getName());
+        updated.setDescription(boat.getDescription() == null ? existing.getDescription() : boat.getDescription());
+      }
+      updated.setVersion(existing.getVersion() + 1);
+      transaction.put(updated);
+      return updated;
+    });
+    if (updatedBoat != null) {
+      eventPublisher.publishEvent(BoatChangeEvent.saved(updatedBoat));
+    }
+    return updatedBoat;
+  }
+
+  private static Boat copy(Boat boat) {
+    Boat copy = new Boat();
+    copy.setId(boat.getId());
+    copy.setName(boat.getName());
+    copy.setDescription(boat.getDescription());
+    copy.setVersion(boat.getVersion());
+    return copy;
+  }
+}
@@ -0,0 +1,238 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.log;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A memory-mapped file of the boat log.
+ * <p>
+ * A segment starts with a header followed by records appended one after the other. The file is
+ * preallocated to its full capacity, so appending is a copy into mapped memory and reading is a
+ * lookup at an offset. Only the last segment of the log receives appends; the others are sealed.
+ * <p>
+ * Header layout, big-endian:
+ * <pre>
+ * int    magic number
+ * int    format version
+ * long   ID of the first segment whose records this one holds (its own ID, unless produced by compaction)
+ * long   revision of the log when the segment was created
+ * long   highest boat ID ever allocated when the segment was created
+ * </pre>
+ */
+final class Segment {
+
+  static final int HEADER_SIZE = 32;
+  private static final int MAGIC = 0x424f4154;
+  private static final int FORMAT_VERSION = 1;
+  private static final String FILE_PREFIX = "segment-";
+  private static final String FILE_SUFFIX = ".log";
+
+  private final long id;
+  private volatile Path path;
+  private final MappedByteBuffer buffer;
+  private final long firstCoveredId;
+  private final long baseRevision;
+  private final long baseMaxId;
+  private volatile int writePosition;
+  private final AtomicLong deadBytes = new AtomicLong();
+
+  private Segment(long id, Path path, MappedByteBuffer buffer, long firstCoveredId, long baseRevision, long baseMaxId) {
+    this.id = id;
+    this.path = path;
+    this.buffer = buffer;
+    this.firstCoveredId = firstCoveredId;
+    this.baseRevision = baseRevision;
+    this.baseMaxId = baseMaxId;
+    this.writePosition = HEADER_SIZE;
+  }
+
+  /**
+   * Creates a new segment file, preallocated and mapped, with its header written and forced.
+   *
+   * @param path The file to create
+   * @param id The ID of the segment
+   * @param capacity The size of the file
+   * @param firstCoveredId The ID of the first segment whose records the new one holds
+   * @param baseRevision The current revision of the log
+   * @param baseMaxId The highest boat ID allocated so far
+   * @return The new segment, ready for appends
+   * @throws IOException if the file cannot be created
+   */
+  static Segment create(Path path, long id, int capacity, long firstCoveredId, long baseRevision, long baseMaxId)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, FORMAT_VERSION);
+      buffer.putLong(8, firstCoveredId);
+      buffer.putLong(16, baseRevision);
+      buffer.putLong(24, baseMaxId);
+      buffer.force(0, HEADER_SIZE);
+      return new Segment(id, path, buffer, firstCoveredId, baseRevision, baseMaxId);
+    }
+  }
+
+  /**
+   * Maps an existing segment file. The write position is left right after the header
+   * until the records have been scanned.
+   *
+   * @param path The file to open
+   * @return The segment
+   * @throws IOException if the file cannot be read or is not a segment
+   */
+  static Segment open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Invalid segment size: " + path);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+        throw new IOException("Not a boat log segment: " + path);
+      }
+      return new Segment(idOf(path), path, buffer, buffer.getLong(8), buffer.getLong(16), buffer.getLong(24));
+    }
+  }
+
+  /**
+   * Gets the name of the file of a segment.
+   *
+   * @param id The ID of the segment
+   * @return The file name, which sorts like the IDs
+   */
+  static String fileName(long id) {
+    return String.format("%s%020d%s", FILE_PREFIX, id, FILE_SUFFIX);
+  }
+
+  /**
+   * Tells whether a file is a segment of the log.
+   *
+   * @param path The file
+   * @return true if the file name is the one of a segment
+   */
+  static boolean isSegmentFile(Path path) {
+    String name = path.getFileName().toString();
+    return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+  }
+
+  /**
+   * Gets the ID of a segment from its file name.
+   *
+   * @param path The segment file
+   * @return The ID of the segment
+   */
+  static long idOf(Path path) {
+    String name = path.getFileName().toString();
+    return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+  }
+
+  /**
+   * Tells whether a number of bytes can still be appended.
+   *
+   * @param size The number of bytes
+   * @return true if they fit in the remaining capacity
+   */
+  boolean fits(int size) {
+    return buffer.capacity() - writePosition >= size;
+  }
+
+  /**
+   * Appends bytes at the write position. Must only be called by the single writer of the log.
+   *
+   * @param bytes The bytes to append
+   * @return The offset the bytes were written at
+   */
+  int append(byte[] bytes) {
+    int offset = writePosition;
+    buffer.put(offset, bytes);
+    writePosition = offset + bytes.length;
+    return offset;
+  }
+
+  /**
+   * Forces a range of the segment to the storage device.
+   *
+   * @param from The first offset to force
+   * @param to The offset past the last byte to force
+   */
+  void force(int from, int to) {
+    if (to > from) {
+      buffer.force(from, to - from);
+    }
+  }
+
+  /**
+   * Zeroes the bytes past the write position, so that leftovers of a torn write
+   * can never be mistaken for records, then forces them.
+   */
+  void clearTail() {
+    int from = writePosition;
+    byte[] zeros = new byte[64 * 1024];
+    for (int offset = from; offset < buffer.capacity(); offset += zeros.length) {
+      buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+    }
+    force(from, buffer.capacity());
+  }
+
+  MappedByteBuffer buffer() {
+    return buffer;
+  }
+
+  long id() {
+    return id;
+  }
+
+  Path path() {
+    return path;
+  }
+
+  void moveTo(Path path) {
+    this.path = path;
+  }
+
+  long firstCoveredId() {
+    return firstCoveredId;
+  }
+
+  long baseRevision() {
+    return baseRevision;
+  }
+
+  long baseMaxId() {
+    return baseMaxId;
+  }
+
+  int writePosition() {
+    return writePosition;
+  }
+
+  void setWritePosition(int writePosition) {
+    this.writePosition = writePosition;
+  }
+
+  /**
+   * Gets the number of bytes taken by records.
+   *
+   * @return The used size, header excluded
+   */
+  int usedBytes() {
+    return writePosition - HEADER_SIZE;
+  }
+
+  /**
+   * Gets the number of bytes taken by records that have been superseded or deleted.
+   *
+   * @return The reclaimable size
+   */
+  long deadBytes() {
+    return deadBytes.get();
+  }
+
+  void addDeadBytes(int size) {
+    deadBytes.addAndGet(size);
+  }
+}
@@ -0,0 +1,148 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import com.owt.boat_test.domain.models.Boat;
+
+/**
+ * Snapshot of the in-memory boats written to disk, so that they survive a restart.
+ * <p>
+ * Layout, big-endian: magic number, format version, revision, highest ID ever allocated, number of boats,
+ * then for each boat its ID, version, name and description (int length or -1 for null, then UTF-8 bytes),
+ * and finally the CRC32C of everything before it. The file is written next to its destination and renamed
+ * over it once forced, so a crash leaves either the previous snapshot or the new one.
+ */
+final class BoatSnapshotFile {
+
+  private static final int MAGIC = 0x424f5353;
+  private static final int FORMAT_VERSION = 1;
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final long revision;
+  private final long maxId;
+  private final List<Boat> boats;
+
+  BoatSnapshotFile(long revision, long maxId, List<Boat> boats) {
+    this.revision = revision;
+    this.maxId = maxId;
+    this.boats = boats;
+  }
+
+  /**
+   * Writes a snapshot, replacing the previous one atomically.
+   *
+   * @param path The snapshot file
+   * @throws IOException if the snapshot cannot be written
+   */
+  void write(Path path) throws IOException {
+    Path absolutePath = path.toAbsolutePath();
+    Files.createDirectories(absolutePath.getParent());
+    Path temporary = absolutePath.resolveSibling(absolutePath.getFileName() + TEMPORARY_SUFFIX);
+    CRC32C crc = new CRC32C();
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024))) {
+      DataOutputStream checked = new DataOutputStream(new CheckedOutputStream(output, crc));
+      checked.writeInt(MAGIC);
+      checked.writeInt(FORMAT_VERSION);
+      checked.writeLong(revision);
+      checked.writeLong(maxId);
+      checked.writeInt(boats.size());
+      for (Boat boat : boats) {
+        checked.writeLong(boat.getId());
+        checked.writeLong(boat.getVersion());
+        writeString(checked, boat.getName());
+        writeString(checked, boat.getDescription());
+      }
+      output.writeInt((int) crc.getValue());
+    }
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(temporary, absolutePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Reads a snapshot.
+   *
+   * @param path The snapshot file
+   * @return The snapshot, or null if the file does not exist
+   * @throws IOException if the file cannot be read or is corrupted
+   */
+  static BoatSnapshotFile read(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return null;
+    }
+    try (InputStream file = Files.newInputStream(path)) {
+      CRC32C crc = new CRC32C();
+      DataInputStream input = new DataInputStream(new CheckedInputStream(new BufferedInputStream(file, 64 * 1024), crc));
+      if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+        throw new IOException("Not a boat snapshot: " + path);
+      }
+      long revision = input.readLong();
+      long maxId = input.readLong();
+      int count = input.readInt();
+      if (count < 0) {
+        throw new IOException("Corrupted boat snapshot: " + path);
+      }
+      List<Boat> boats = new ArrayList<>(Math.min(count, 1 << 16));
+      for (int i = 0; i < count; i++) {
+        Boat boat = new Boat();
+        boat.setId(input.readLong());
+        boat.setVersion(input.readLong());
+        boat.setName(readString(input));
+        boat.setDescription(readString(input));
+        boats.add(boat);
+      }
+      int expected = (int) crc.getValue();
+      if (input.readInt() != expected) {
+        throw new IOException("Corrupted boat snapshot: " + path);
+      }
+      return new BoatSnapshotFile(revision, maxId, boats);
+    }
+  }
+
+  long getRevision() {
+    return revision;
+  }
+
+  long getMaxId() {
+    return maxId;
+  }
+
+  List<Boat> getBoats() {
+    return boats;
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    if (value == null) {
+      output.writeInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      output.writeInt(bytes.length);
+      output.write(bytes);
+    }
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    int length = input.readInt();
+    if (length < 0) {
+      return null;
+    }
+    return new String(input.readNBytes(length), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,549 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+import com.owt.boat_test.infrastructure.adapters.repositories.BoatTombstones;
+
+/**
+ * Adapter implementation of the BoatRepositoryPort interface keeping the boats in memory only,
+ * with no database, session or entity mapping involved.
+ * <p>
+ * Boats are held by a {@link LongBoatMap}, a striped map keyed by primitive IDs whose lookups are lock-free
+ * in the common case. List reads are served from an immutable array of all the boats sorted by ID, tagged
+ * with the revision it was built at: it is rebuilt outside of any lock by the first list read following a
+ * write, and shared by every list read until the next write, so readers never block writers.
+ * <p>
+ * Every stored boat is stamped with the revision of its last write, drawn from a {@link RevisionClock},
+ * and the deletions are kept in a bounded list of tombstones: together they tell which boats changed since
+ * a revision. The changes made before a restart are unknown after it.
+ * <p>
+ * When a snapshot file is configured, the boats are loaded from it at startup and written to it
+ * periodically and on close; writes made since the last snapshot are lost on a crash.
+ * A {@link BoatChangeEvent} is published for every boat saved or deleted.
+ */
+public class InMemoryBoatRepositoryAdapter implements BoatRepositoryPort, AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryBoatRepositoryAdapter.class);
+  private static final Comparator<Boat> BY_ID = Comparator.comparingLong(Boat::getId);
+
+  private final LongBoatMap boats = new LongBoatMap();
+  private final AtomicLong maxId = new AtomicLong();
+  private final AtomicLong size = new AtomicLong();
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0L, new Boat[0]));
+  private final BoatTombstones tombstones;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Path snapshotPath;
+  private final ScheduledExecutorService snapshotScheduler;
+  private final RevisionClock revisionClock;
+  private volatile long persistedRevision;
+
+  /**
+   * Constructor for InMemoryBoatRepositoryAdapter, loading the snapshot file if there is one.
+   *
+   * @param eventPublisher The publisher of the boat change events
+   * @param snapshotPath The snapshot file, or null to keep the boats in memory only
+   * @param snapshotInterval How often the snapshot is written, or zero to only write it on close
+   * @param tombstoneCapacity The maximum number of deletions kept to answer the changes since a revision
+   * @throws IOException if the snapshot file cannot be read
+   */
+  public InMemoryBoatRepositoryAdapter(ApplicationEventPublisher eventPublisher, Path snapshotPath,
+                                       Duration snapshotInterval, int tombstoneCapacity) throws IOException {
+    this.eventPublisher = eventPublisher;
+    this.snapshotPath = snapshotPath;
+    this.tombstones = new BoatTombstones(tombstoneCapacity);
+    this.revisionClock = new RevisionClock(load());
+    if (snapshotPath == null || snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+      snapshotScheduler = null;
+    } else {
+      snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().daemon().name("boat-snapshot").factory());
+      snapshotScheduler.scheduleWithFixedDelay(this::writeSnapshotQuietly,
+          snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * A boat without ID, or with an unknown one, is created with a new ID; otherwise its version must match.
+   */
+  @Override
+  public Boat save(Boat boat) {
+    Boat savedBoat = store(boat, true);
+    eventPublisher.publishEvent(BoatChangeEvent.saved(copy(savedBoat)));
+    return copy(savedBoat);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Like the JPA adapter, existing boats are overwritten whatever their version. Each boat gets its own revision.
+   */
+  @Override
+  public List<Boat> saveAll(List<Boat> boats) {
+    List<Boat> savedBoats = new ArrayList<>(boats.size());
+    for (Boat boat : boats) {
+      savedBoats.add(store(boat, false));
+    }
+    savedBoats.forEach(savedBoat -> eventPublisher.publishEvent(BoatChangeEvent.saved(copy(savedBoat))));
+    return savedBoats.stream()
+        .map(InMemoryBoatRepositoryAdapter::copy)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Copies the boats of the current snapshot, without locking.
+   */
+  @Override
+  public List<Boat> findAll() {
+    return Arrays.stream(currentSnapshot().boats)
+        .map(InMemoryBoatRepositoryAdapter::copy)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Looks the boat up in the map, without boxing the ID.
+   */
+  @Override
+  public Boat findById(Long id) {
+    Boat boat = boats.get(id);
+    return boat == null ? null : copy(boat);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Copies the boats of the current snapshot but their description, without locking.
+   */
+  @Override
+  public List<Boat> findAllWithoutDescription() {
+    return Arrays.stream(currentSnapshot().boats)
+        .map(InMemoryBoatRepositoryAdapter::copyWithoutDescription)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Looks the boat up in the map, without boxing the ID.
+   */
+  @Override
+  public Boat findByIdWithoutDescription(Long id) {
+    Boat boat = boats.get(id);
+    return boat == null ? null : copyWithoutDescription(boat);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Looks the boat up in the map, without boxing the ID.
+   */
+  @Override
+  public Long findVersionById(Long id) {
+    Boat boat = boats.get(id);
+    return boat == null ? null : boat.getVersion();
+  }
+
+  /**
+   * {@inheritDoc}
+   * The revision is the highest one at or below which every write is visible.
+   */
+  @Override
+  public long getRevision() {
+    return revisionClock.current();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Filters the boats of the current snapshot stamped after the revision, and reads the tombstones stamped
+   * after it. The purge horizon of the tombstones is read last, so that tombstones dropped while reading make
+   * for a reset. A later revision than the current one, for instance from before a restart without snapshot,
+   * makes for a reset too.
+   */
+  @Override
+  public BoatDelta findChangesSince(long revision) {
+    Snapshot current = currentSnapshot();
+    if (revision > current.revision) {
+      return BoatDelta.reset(current.revision, findAll());
+    }
+    List<Boat> changedBoats = Arrays.stream(current.boats)
+        .filter(boat -> ((StampedBoat) boat).revision > revision)
+        .map(InMemoryBoatRepositoryAdapter::copy)
+        .collect(Collectors.toList());
+    List<Long> deletedIds = tombstones.findIdsSince(revision);
+    if (revision < tombstones.getPurgedRevision()) {
+      return BoatDelta.reset(current.revision, findAll());
+    }
+    return new BoatDelta(current.revision, changedBoats, deletedIds, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Only the map is checked.
+   */
+  @Override
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return ids.stream()
+        .filter(id -> boats.get(id) != null)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Binary searches the sorted snapshot for the first ID after the given one.
+   */
+  @Override
+  public List<Boat> findPage(Long afterId, int limit) {
+    Boat[] sorted = currentSnapshot().boats;
+    int from = 0;
+    if (afterId != null) {
+      Boat key = new Boat();
+      key.setId(afterId);
+      int position = Arrays.binarySearch(sorted, key, BY_ID);
+      from = position >= 0 ? position + 1 : -position - 1;
+    }
+    int to = (int) Math.min(sorted.length, (long) from + limit);
+    List<Boat> page = new ArrayList<>(Math.max(to - from, 0));
+    for (int i = from; i < to; i++) {
+      page.add(copy(sorted[i]));
+    }
+    return page;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Iterates the current snapshot, so writers are never blocked while the consumer runs.
+   */
+  @Override
+  public void forEach(Consumer<Boat> consumer) {
+    for (Boat boat : currentSnapshot().boats) {
+      consumer.accept(copy(boat));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return size.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   * The version is checked and the boat replaced atomically, under the lock of its stripe.
+   */
+  @Override
+  public Boat update(Boat boat, Long expectedVersion) {
+    return updateConditionally(boat, false, expectedVersion);
+  }
+
+  /**
+   * {@inheritDoc}
+   * The version is checked and the merged boat stored atomically, under the lock of its stripe.
+   */
+  @Override
+  public Boat patch(Boat boat, Long expectedVersion) {
+    return updateConditionally(boat, true, expectedVersion);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean delete(Long id) {
+    if (!remove(id)) {
+      return false;
+    }
+    eventPublisher.publishEvent(BoatChangeEvent.deleted(id));
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Each boat is removed atomically; the deletion as a whole is not.
+   */
+  @Override
+  public Set<Long> deleteAll(Collection<Long> ids) {
+    Set<Long> deletedIds = new LinkedHashSet<>();
+    for (Long id : ids) {
+      if (remove(id)) {
+        deletedIds.add(id);
+      }
+    }
+    deletedIds.forEach(id -> eventPublisher.publishEvent(BoatChangeEvent.deleted(id)));
+    return deletedIds;
+  }
+
+  /**
+   * Writes the snapshot file if the boats changed since the last one.
+   *
+   * @throws IOException if the snapshot cannot be written
+   */
+  public void writeSnapshot() throws IOException {
+    if (snapshotPath == null) {
+      return;
+    }
+    Snapshot current = currentSnapshot();
+    if (current.revision == persistedRevision) {
+      return;
+    }
+    // Read after the snapshot, so that it is at least the highest ID the snapshot holds
+    new BoatSnapshotFile(current.revision, maxId.get(), Arrays.asList(current.boats)).write(snapshotPath);
+    persistedRevision = current.revision;
+  }
+
+  /**
+   * Stops the periodic snapshots and writes a last one.
+   */
+  @Override
+  public void close() {
+    if (snapshotScheduler != null) {
+      snapshotScheduler.shutdownNow();
+    }
+    try {
+      writeSnapshot();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write the boat snapshot", e);
+    }
+  }
+
+  /**
+   * Stores a saved boat, updating it if it exists and creating it with a new ID otherwise.
+   *
+   * @param boat The boat to save
+   * @param checkVersion Whether the version of an existing boat must match the one of the given boat
+   * @return The stored boat
+   * @throws OptimisticLockingFailureException if the versions do not match
+   */
+  private Boat store(Boat boat, boolean checkVersion) {
+    if (boat.getId() != null) {
+      Boat updated = replace(boat.getId(), current -> {
+        if (checkVersion && boat.getVersion() != null && !boat.getVersion().equals(current.getVersion())) {
+          throw new OptimisticLockingFailureException("Boat " + boat.getId() + " was modified concurrently");
+        }
+        return stamped(boat, boat.getId(), current.getVersion() + 1);
+      });
+      if (updated != null) {
+        return updated;
+      }
+    }
+    StampedBoat created = stamped(boat, maxId.incrementAndGet(), 0L);
+    boats.compute(created.getId(), current -> created);
+    size.incrementAndGet();
+    revisionClock.complete(created.revision);
+    return created;
+  }
+
+  /**
+   * Updates a boat if it exists at the expected version, then records the change.
+   *
+   * @param boat The boat holding the ID and the new values
+   * @param partial Whether null values leave the corresponding fields unchanged
+   * @param expectedVersion The version the boat must be at, or null to update it whatever its version
+   * @return The updated boat, or null if the boat does not exist or is at another version
+   */
+  private Boat updateConditionally(Boat boat, boolean partial, Long expectedVersion) {
+    Boat updatedBoat = replace(boat.getId(), current -> {
+      if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+        return null;
+      }
+      Boat updated = stamped(boat, boat.getId(), current.getVersion() + 1);
+      if (partial) {
+        updated.setName(boat.getName() == null ? current.getName() : boat.getName());
+        updated.setDescription(boat.getDescription() == null ? current.getDescription() : boat.getDescription());
+      }
+      return updated;
+    });
+    if (updatedBoat == null) {
+      return null;
+    }
+    eventPublisher.publishEvent(BoatChangeEvent.saved(copy(updatedBoat)));
+    return copy(updatedBoat);
+  }
+
+  /**
+   * Atomically replaces an existing boat, completing the revision of the new one once it is stored.
+   *
+   * @param id The ID of the boat
+   * @param change The function computing the new boat, stamped with a revision it drew, from the current one,
+   *               or returning null to keep it; it must not draw a revision unless it returns a new boat
+   * @return The new boat, or null if the boat does not exist or was kept
+   */
+  private Boat replace(long id, UnaryOperator<Boat> change) {
+    Boat[] replaced = new Boat[1];
+    boats.compute(id, current -> {
+      if (current == null) {
+        return null;
+      }
+      replaced[0] = change.apply(current);
+      return replaced[0] == null ? current : replaced[0];
+    });
+    if (replaced[0] != null) {
+      revisionClock.complete(((StampedBoat) replaced[0]).revision);
+    }
+    return replaced[0];
+  }
+
+  /**
+   * Atomically removes a boat, leaving a tombstone stamped with the revision of the deletion.
+   * The tombstone is recorded before the revision is completed, so that a reader at that revision sees it.
+   *
+   * @param id The ID of the boat
+   * @return true if the boat existed
+   */
+  private boolean remove(long id) {
+    long[] deletedAt = {-1L};
+    boats.compute(id, current -> {
+      if (current != null) {
+        deletedAt[0] = revisionClock.draw();
+      }
+      return null;
+    });
+    if (deletedAt[0] < 0) {
+      return false;
+    }
+    size.decrementAndGet();
+    tombstones.add(deletedAt[0], id);
+    revisionClock.complete(deletedAt[0]);
+    return true;
+  }
+
+  /**
+   * Gets the snapshot of the current revision, building it if a write happened since the last one.
+   * The revision is read before the boats, so that a snapshot is only published under a revision
+   * it includes every write of.
+   */
+  private Snapshot currentSnapshot() {
+    Snapshot current = snapshot.get();
+    long currentRevision = revisionClock.current();
+    if (current.revision == currentRevision) {
+      return current;
+    }
+    List<Boat> all = new ArrayList<>((int) Math.min(size.get(), Integer.MAX_VALUE - 8));
+    boats.forEach(all::add);
+    Boat[] sorted = all.toArray(new Boat[0]);
+    Arrays.sort(sorted, BY_ID);
+    Snapshot built = new Snapshot(currentRevision, sorted);
+    if (revisionClock.current() == currentRevision) {
+      snapshot.accumulateAndGet(built, (previous, next) -> next.revision > previous.revision ? next : previous);
+    }
+    return built;
+  }
+
+  /**
+   * Loads the boats of the snapshot file, stamped with the revision following its own: writes in flight while
+   * it was written may be in it, so the changes since its revision, or any earlier one, are unknown.
+   *
+   * @return The revision the boats were loaded at, or 0 if there is no snapshot
+   */
+  private long load() throws IOException {
+    if (snapshotPath == null) {
+      return 0L;
+    }
+    BoatSnapshotFile file = BoatSnapshotFile.read(snapshotPath);
+    if (file == null) {
+      return 0L;
+    }
+    long loadedRevision = file.getRevision() + 1;
+    for (Boat boat : file.getBoats()) {
+      StampedBoat loaded = new StampedBoat(loadedRevision);
+      loaded.setId(boat.getId());
+      loaded.setName(boat.getName());
+      loaded.setDescription(boat.getDescription());
+      loaded.setVersion(boat.getVersion());
+      boats.compute(boat.getId(), current -> loaded);
+    }
+    size.set(file.getBoats().size());
+    maxId.set(file.getMaxId());
+    tombstones.purgeUpTo(loadedRevision);
+    persistedRevision = loadedRevision;
+    LOGGER.info("Loaded {} boats from snapshot {}", file.getBoats().size(), snapshotPath);
+    return loadedRevision;
+  }
+
+  private void writeSnapshotQuietly() {
+    try {
+      writeSnapshot();
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error("Cannot write the boat snapshot", e);
+    }
+  }
+
+  /**
+   * Copies a boat to be stored, stamped with a newly drawn revision, which the caller must complete once stored.
+   */
+  private StampedBoat stamped(Boat boat, long id, long version) {
+    StampedBoat stamped = new StampedBoat(revisionClock.draw());
+    stamped.setId(id);
+    stamped.setName(boat.getName());
+    stamped.setDescription(boat.getDescription());
+    stamped.setVersion(version);
+    return stamped;
+  }
+
+  private static Boat copy(Boat boat) {
+    Boat copy = new Boat();
+    copy.setId(boat.getId());
+    copy.setName(boat.getName());
+    copy.setDescription(boat.getDescription());
+    copy.setVersion(boat.getVersion());
+    return copy;
+  }
+
+  private static Boat copyWithoutDescription(Boat boat) {
+    Boat copy = new Boat();
+    copy.setId(boat.getId());
+    copy.setName(boat.getName());
+    copy.setVersion(boat.getVersion());
+    return copy;
+  }
+
+  /**
+   * A stored boat and the revision of its last write. Never handed out, only copies of it are.
+   */
+  private static final class StampedBoat extends Boat {
+    private final long revision;
+
+    private StampedBoat(long revision) {
+      this.revision = revision;
+    }
+  }
+
+  /**
+   * All the boats sorted by ID, as of a revision. Never modified once built.
+   */
+  private static final class Snapshot {
+    private final long revision;
+    private final Boat[] boats;
+
+    private Snapshot(long revision, Boat[] boats) {
+      this.revision = revision;
+      this.boats = boats;
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.memory;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import com.owt.boat_test.domain.models.Boat;
+
+/**
+ * Concurrent hash map from primitive boat IDs to boats.
+ * <p>
+ * The map is split in stripes, each an open-addressing table with linear probing guarded by its own
+ * {@link StampedLock}: writes to different stripes never contend, and lookups are optimistic reads that
+ * only take the read lock when they overlap a write to the same stripe. Keys are stored in {@code long[]}
+ * arrays, so neither lookups nor writes box IDs, and removals shift the following entries back instead of
+ * leaving tombstones.
+ * <p>
+ * Stored boats must never be modified: a write replaces the boat with a new instance.
+ */
+final class LongBoatMap {
+
+  private static final int STRIPE_COUNT = 64;
+  private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+  private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+  LongBoatMap() {
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * Gets the boat stored for an ID.
+   *
+   * @param id The ID
+   * @return The stored boat, or null if there is none
+   */
+  Boat get(long id) {
+    long hash = mix(id);
+    return stripeFor(hash).get(id, hash);
+  }
+
+  /**
+   * Atomically computes the new boat stored for an ID from the current one.
+   *
+   * @param id The ID
+   * @param function The function receiving the current boat or null, returning the new boat or null to remove it
+   * @return The boat stored once the function has been applied
+   */
+  Boat compute(long id, UnaryOperator<Boat> function) {
+    long hash = mix(id);
+    return stripeFor(hash).compute(id, hash, function);
+  }
+
+  /**
+   * Removes the boat stored for an ID.
+   *
+   * @param id The ID
+   * @return The removed boat, or null if there was none
+   */
+  Boat remove(long id) {
+    Boat[] removed = new Boat[1];
+    compute(id, current -> {
+      removed[0] = current;
+      return null;
+    });
+    return removed[0];
+  }
+
+  /**
+   * Passes every stored boat to a consumer, in no particular order. Each stripe is read under its read lock.
+   *
+   * @param consumer The callback receiving each boat
+   */
+  void forEach(Consumer<Boat> consumer) {
+    for (Stripe stripe : stripes) {
+      stripe.forEach(consumer);
+    }
+  }
+
+  private Stripe stripeFor(long hash) {
+    return stripes[(int) (hash >>> 58) & (STRIPE_COUNT - 1)];
+  }
+
+  /**
+   * Spreads sequential IDs over the stripes and slots (the finalizer of MurmurHash3).
+   */
+  private static long mix(long id) {
+    long hash = id;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * The keys and values of a stripe, swapped as a whole when the stripe grows,
+   * so that an optimistic reader always sees arrays of the same length.
+   */
+  private static final class Table {
+    private final long[] keys;
+    private final Boat[] values;
+
+    private Table(int capacity) {
+      this.keys = new long[capacity];
+      this.values = new Boat[capacity];
+    }
+  }
+
+  private static final class Stripe {
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(INITIAL_STRIPE_CAPACITY);
+    private int size;
+
+    Boat get(long id, long hash) {
+      long stamp = lock.tryOptimisticRead();
+      Boat boat = find(table, id, hash);
+      if (lock.validate(stamp)) {
+        return boat;
+      }
+      stamp = lock.readLock();
+      try {
+        return find(table, id, hash);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    Boat compute(long id, long hash, UnaryOperator<Boat> function) {
+      long stamp = lock.writeLock();
+      try {
+        int slot = slotOf(table, id, hash);
+        Boat current = slot < 0 ? null : table.values[slot];
+        Boat updated = function.apply(current);
+        if (updated == null) {
+          if (slot >= 0) {
+            removeAt(slot);
+          }
+        } else if (slot >= 0) {
+          table.values[slot] = updated;
+        } else {
+          if (size + 1 > table.keys.length * 3 / 4) {
+            table = resized(table.keys.length * 2);
+          }
+          insert(table, id, hash, updated);
+          size++;
+        }
+        return updated;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    void forEach(Consumer<Boat> consumer) {
+      Boat[] values;
+      long stamp = lock.readLock();
+      try {
+        values = table.values.clone();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+      for (Boat boat : values) {
+        if (boat != null) {
+          consumer.accept(boat);
+        }
+      }
+    }
+
+    /**
+     * Looks an ID up without locking. The probe is bounded by the capacity, so that a read overlapping
+     * a write always terminates, its result being discarded by the caller if the stamp is invalid.
+     */
+    private static Boat find(Table table, long id, long hash) {
+      long[] keys = table.keys;
+      Boat[] values = table.values;
+      int mask = keys.length - 1;
+      int slot = (int) hash & mask;
+      for (int probes = 0; probes < keys.length; probes++) {
+        Boat value = values[slot];
+        if (value == null) {
+          return null;
+        }
+        if (keys[slot] == id) {
+          return value;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    private static int slotOf(Table table, long id, long hash) {
+      int mask = table.keys.length - 1;
+      int slot = (int) hash & mask;
+      while (table.values[slot] != null) {
+        if (table.keys[slot] == id) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private static void insert(Table table, long id, long hash, Boat boat) {
+      int mask = table.keys.length - 1;
+      int slot = (int) hash & mask;
+      while (table.values[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      table.keys[slot] = id;
+      table.values[slot] = boat;
+    }
+
+    private Table resized(int capacity) {
+      Table resized = new Table(capacity);
+      for (int i = 0; i < table.keys.length; i++) {
+        if (table.values[i] != null) {
+          insert(resized, table.keys[i], mix(table.keys[i]), table.values[i]);
+        }
+      }
+      return resized;
+    }
+
+    /**
+     * Removes the entry of a slot, then shifts back the entries of the same probe sequence
+     * that follow it, so that lookups never need tombstones.
+     */
+    private void removeAt(int slot) {
+      long[] keys = table.keys;
+      Boat[] values = table.values;
+      int mask = keys.length - 1;
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (values[next] != null) {
+        int home = (int) mix(keys[next]) & mask;
+        // The entry can fill the hole if the hole lies cyclically between its home slot and its slot
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          keys[hole] = keys[next];
+          values[hole] = values[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      values[hole] = null;
+      keys[hole] = 0;
+      size--;
+    }
+  }
+}
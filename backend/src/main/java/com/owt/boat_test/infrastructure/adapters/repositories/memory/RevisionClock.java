@@ -0,0 +1,65 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.memory;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Source of the revisions stamped on the writes of the in-memory boats, which run concurrently.
+ * <p>
+ * A write draws its revision before it is applied and completes it once applied. The current revision is
+ * the highest one below every revision still in flight, so that every write stamped at or below it is
+ * visible: a reader going through the writes stamped after the revision it read last never misses one that
+ * was still being applied then. The lock only guards drawing and completing a revision, never a write itself.
+ */
+final class RevisionClock {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final TreeSet<Long> inFlight = new TreeSet<>();
+  private long lastDrawn;
+  private volatile long current;
+
+  RevisionClock(long initialRevision) {
+    this.lastDrawn = initialRevision;
+    this.current = initialRevision;
+  }
+
+  /**
+   * Draws the revision of a write about to be applied, which must be completed once it is.
+   *
+   * @return The revision, unique to the write
+   */
+  long draw() {
+    lock.lock();
+    try {
+      inFlight.add(++lastDrawn);
+      return lastDrawn;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Completes the revision of an applied write, moving the current revision past it once no earlier write
+   * is in flight.
+   *
+   * @param revision The revision returned by {@link #draw()}
+   */
+  void complete(long revision) {
+    lock.lock();
+    try {
+      inFlight.remove(revision);
+      current = inFlight.isEmpty() ? lastDrawn : inFlight.first() - 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the current revision, without locking.
+   *
+   * @return The highest revision at or below which every write is visible
+   */
+  long current() {
+    return current;
+  }
+}
@@ -0,0 +1,343 @@
+package com.owt.boat_test.infrastructure.adapters.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+import com.owt.boat_test.domain.ports.search.BoatSearchPort;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidation;
+import com.owt.boat_test.infrastructure.cluster.InvalidationSubscriber;
+
+/**
+ * Adapter implementation of the BoatSearchPort interface backed by an in-memory inverted index.
+ * The index maps every normalized word of the boats' names and descriptions to the boats containing it,
+ * in a sorted map so that prefixes are resolved with a range lookup. It is built from the repository
+ * once the application is ready, then kept up to date from the {@link BoatChangeEvent}s, and from the
+ * invalidations of the other instances when they are enabled: the boats they changed are read again from
+ * the repository, and the whole index is rebuilt when invalidations may have been missed.
+ * Matches are ranked by term frequency weighted by inverse document frequency, words of the name
+ * weighing more than words of the description.
+ */
+@Component
+public class InMemoryBoatSearchAdapter implements BoatSearchPort, InvalidationSubscriber {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryBoatSearchAdapter.class);
+
+  private static final int NAME_WEIGHT = 3;
+  private static final int DESCRIPTION_WEIGHT = 1;
+  private static final double PREFIX_MATCH_WEIGHT = 0.5;
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final BoatRepositoryPort boatRepository;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Lock rebuildLock = new ReentrantLock();
+  private Index index = new Index();
+  private List<BoatChangeEvent> pendingEvents;
+
+  /**
+   * Constructor for InMemoryBoatSearchAdapter with dependency injection.
+   *
+   * @param boatRepository The repository the index is built from, resolved on first use as the invalidation bus
+   *                       creating this subscriber may itself be created along with the repository
+   */
+  public InMemoryBoatSearchAdapter(@Lazy BoatRepositoryPort boatRepository) {
+    this.boatRepository = boatRepository;
+  }
+
+  /**
+   * Rebuilds the whole index from the repository.
+   * The new index is filled without holding the lock, so searches keep being served from the
+   * previous one; changes received in the meantime are replayed on the new index before it is swapped in.
+   * Rebuilds do not overlap, and a failed one leaves the previous index in place.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    rebuildLock.lock();
+    try {
+      lock.writeLock().lock();
+      try {
+        pendingEvents = new ArrayList<>();
+      } finally {
+        lock.writeLock().unlock();
+      }
+
+      Index rebuilt = new Index();
+      try {
+        boatRepository.forEach(rebuilt::add);
+      } catch (RuntimeException e) {
+        lock.writeLock().lock();
+        try {
+          pendingEvents = null;
+        } finally {
+          lock.writeLock().unlock();
+        }
+        throw e;
+      }
+
+      lock.writeLock().lock();
+      try {
+        pendingEvents.forEach(rebuilt::apply);
+        pendingEvents = null;
+        index = rebuilt;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  /**
+   * Applies a boat change to the index once the transaction that produced it has committed.
+   *
+   * @param event The change to apply
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoatChange(BoatChangeEvent event) {
+    apply(event);
+  }
+
+  /**
+   * {@inheritDoc}
+   * The boats indexed at an older version than their invalidation, or not indexed yet, are read again from
+   * the repository and reindexed, or removed if they no longer exist; a boat that cannot be read is removed
+   * rather than left stale.
+   */
+  @Override
+  public void invalidate(List<BoatInvalidation> invalidations) {
+    for (BoatInvalidation invalidation : invalidations) {
+      if (invalidation.isDeleted()) {
+        apply(BoatChangeEvent.deleted(invalidation.id()));
+      } else if (isOlder(invalidation)) {
+        try {
+          Boat boat = boatRepository.findById(invalidation.id());
+          apply(boat == null ? BoatChangeEvent.deleted(invalidation.id()) : BoatChangeEvent.saved(boat));
+        } catch (RuntimeException e) {
+          LOGGER.warn("Cannot reindex boat {}, removed from the search index", invalidation.id(), e);
+          apply(BoatChangeEvent.deleted(invalidation.id()));
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * Rebuilds the whole index from the repository.
+   */
+  @Override
+  public void invalidateAll() {
+    rebuild();
+  }
+
+  /**
+   * Applies a boat change to the index, and records it for the rebuild in progress if any.
+   *
+   * @param event The change to apply
+   */
+  private void apply(BoatChangeEvent event) {
+    lock.writeLock().lock();
+    try {
+      index.apply(event);
+      if (pendingEvents != null) {
+        pendingEvents.add(event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Tells whether the indexed copy of a boat is older than an invalidation.
+   *
+   * @param invalidation The invalidation of the boat
+   * @return true if the boat is not indexed, or at an older or unknown version
+   */
+  private boolean isOlder(BoatInvalidation invalidation) {
+    lock.readLock().lock();
+    try {
+      Document document = index.documents.get(invalidation.id());
+      return document == null || document.boat.getVersion() == null
+          || document.boat.getVersion() < invalidation.version();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Boat> search(String query, int limit) {
+    List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+    if (terms.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+
+    lock.readLock().lock();
+    try {
+      Map<Long, Double> scores = null;
+      for (int i = 0; i < terms.size(); i++) {
+        Map<Long, Double> termScores = index.score(terms.get(i), i == terms.size() - 1);
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          scores.keySet().retainAll(termScores.keySet());
+          scores.replaceAll((id, score) -> score + termScores.get(id));
+        }
+        if (scores.isEmpty()) {
+          return new ArrayList<>();
+        }
+      }
+
+      return scores.entrySet().stream()
+          .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+              .thenComparing(Map.Entry.comparingByKey()))
+          .limit(limit)
+          .map(entry -> copy(index.documents.get(entry.getKey()).boat))
+          .collect(Collectors.toList());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Splits a text into lowercase words stripped of their diacritics.
+   *
+   * @param text The text to split, possibly null
+   * @return The words of the text, in order
+   */
+  static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null) {
+      return tokens;
+    }
+    String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+    for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Copies a boat so that indexed instances are never shared with callers.
+   *
+   * @param boat The boat to copy
+   * @return A new boat holding the same data
+   */
+  private static Boat copy(Boat boat) {
+    Boat copy = new Boat();
+    copy.setId(boat.getId());
+    copy.setName(boat.getName());
+    copy.setDescription(boat.getDescription());
+    copy.setVersion(boat.getVersion());
+    return copy;
+  }
+
+  /**
+   * An indexed boat along with the weighted frequency of each of its words.
+   */
+  private static final class Document {
+    private final Boat boat;
+    private final Map<String, Integer> termFrequencies;
+
+    private Document(Boat boat, Map<String, Integer> termFrequencies) {
+      this.boat = boat;
+      this.termFrequencies = termFrequencies;
+    }
+  }
+
+  /**
+   * The postings lists and the indexed documents. Not thread-safe on its own.
+   */
+  private static final class Index {
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private void apply(BoatChangeEvent event) {
+      if (event.getType() == BoatChangeEvent.Type.SAVED) {
+        Document document = documents.get(event.getId());
+        Long indexedVersion = document == null ? null : document.boat.getVersion();
+        Long version = event.getBoat().getVersion();
+        if (indexedVersion == null || version == null || indexedVersion <= version) {
+          // A boat read before a newer change was applied does not replace it
+          add(event.getBoat());
+        }
+      } else {
+        remove(event.getId());
+      }
+    }
+
+    private void add(Boat boat) {
+      remove(boat.getId());
+      Map<String, Integer> termFrequencies = new HashMap<>();
+      tokenize(boat.getName()).forEach(term -> termFrequencies.merge(term, NAME_WEIGHT, Integer::sum));
+      tokenize(boat.getDescription()).forEach(term -> termFrequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+      termFrequencies.forEach((term, frequency) ->
+          postings.computeIfAbsent(term, key -> new HashMap<>()).put(boat.getId(), frequency));
+      documents.put(boat.getId(), new Document(copy(boat), termFrequencies));
+    }
+
+    private void remove(Long id) {
+      Document document = documents.remove(id);
+      if (document == null) {
+        return;
+      }
+      for (String term : document.termFrequencies.keySet()) {
+        Map<Long, Integer> posting = postings.get(term);
+        posting.remove(id);
+        if (posting.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+
+    /**
+     * Scores the documents containing a query term.
+     *
+     * @param term The query term
+     * @param prefix Whether index terms starting with the query term also match, with a lower weight
+     * @return The score of each matching document
+     */
+    private Map<Long, Double> score(String term, boolean prefix) {
+      Map<Long, Double> scores = new HashMap<>();
+      Map<String, Map<Long, Integer>> matches = prefix
+          ? postings.subMap(term, true, term + Character.MAX_VALUE, true)
+          : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+      for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+        double weight = match.getKey().equals(term) ? 1.0 : PREFIX_MATCH_WEIGHT;
+        double idf = Math.log(1.0 + (double) documents.size() / match.getValue().size());
+        for (Map.Entry<Long, Integer> posting : match.getValue().entrySet()) {
+          scores.merge(posting.getKey(), weight * posting.getValue() * idf, Double::sum);
+        }
+      }
+      return scores;
+    }
+  }
+}
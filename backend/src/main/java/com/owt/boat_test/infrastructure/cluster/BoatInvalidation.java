@@ -0,0 +1,36 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+/**
+ * Invalidation of the cached copies of a boat older than a version, sent to the other instances after a write.
+ * Invalidations are idempotent and can be applied in any order: a copy is dropped only if it is older than
+ * the version of the invalidation, so a late or repeated invalidation never drops a newer copy.
+ *
+ * @param id The ID of the changed boat
+ * @param version The version the boat was saved at, or {@link #DELETED} if it was deleted
+ */
+public record BoatInvalidation(long id, long version) {
+
+  /**
+   * Version of a deleted boat, newer than any version it was saved at.
+   */
+  public static final long DELETED = Long.MAX_VALUE;
+
+  /**
+   * Creates the invalidation of a deleted boat.
+   *
+   * @param id The ID of the deleted boat
+   * @return The invalidation of every copy of the boat
+   */
+  public static BoatInvalidation deleted(long id) {
+    return new BoatInvalidation(id, DELETED);
+  }
+
+  /**
+   * Tells whether the boat was deleted.
+   *
+   * @return true if the invalidation is the one of a deletion
+   */
+  public boolean isDeleted() {
+    return version == DELETED;
+  }
+}
@@ -0,0 +1,231 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bus keeping the in-process caches of the instances sharing the boats consistent with each other's writes.
+ * The {@link BoatChangeEvent}s published by the repository are turned into versioned invalidations once
+ * committed, gathered for the batch window, and sent as one batch by the {@link InvalidationTransport}.
+ * The invalidations received from the other instances are applied to every {@link InvalidationSubscriber}.
+ * The lag is bounded: when the transport has not been in sync for the maximum lag, as after a database or
+ * network outage, every cached copy is dropped, and again at each check until the transport catches up.
+ * Enabled when {@code boats.cluster.enabled} is true.
+ */
+@Component
+@ConditionalOnProperty(name = "boats.cluster.enabled", havingValue = "true")
+public class BoatInvalidationBus implements InvalidationTransport.Receiver {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BoatInvalidationBus.class);
+
+  private final InvalidationTransport transport;
+  private final List<InvalidationSubscriber> subscribers = new CopyOnWriteArrayList<>();
+  private final Duration batchWindow;
+  private final Duration maxLag;
+  private final ScheduledExecutorService scheduler;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Counter sentInvalidations;
+  private final Counter receivedInvalidations;
+  private final Counter resets;
+  private List<BoatInvalidation> pending = new ArrayList<>();
+  private volatile long lastSyncNanos = System.nanoTime();
+  private volatile boolean outOfSync;
+
+  /**
+   * Constructor for BoatInvalidationBus with dependency injection.
+   *
+   * @param transport The transport of the invalidations between the instances
+   * @param subscriberBeans The caches to keep consistent, subscribed when the bus is created
+   * @param meterRegistry The registry the bus metrics are published to
+   * @param batchWindow How long the invalidations of the writes are gathered before being sent together
+   * @param maxLag How long the transport may stay out of sync before every cached copy is dropped
+   */
+  public BoatInvalidationBus(InvalidationTransport transport,
+                             ObjectProvider<InvalidationSubscriber> subscriberBeans,
+                             MeterRegistry meterRegistry,
+                             @Value("${boats.cluster.invalidation.batch-window:10ms}") Duration batchWindow,
+                             @Value("${boats.cluster.invalidation.max-lag:5s}") Duration maxLag) {
+    this.transport = transport;
+    this.batchWindow = batchWindow;
+    this.maxLag = maxLag;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("boat-invalidation").factory());
+    subscriberBeans.orderedStream().forEach(subscribers::add);
+    this.sentInvalidations = Counter.builder("boats.cluster.invalidations")
+        .description("Number of boat invalidations exchanged with the other instances")
+        .tag("direction", "sent")
+        .register(meterRegistry);
+    this.receivedInvalidations = Counter.builder("boats.cluster.invalidations")
+        .description("Number of boat invalidations exchanged with the other instances")
+        .tag("direction", "received")
+        .register(meterRegistry);
+    this.resets = Counter.builder("boats.cluster.invalidation.resets")
+        .description("Number of times every cached boat was dropped after invalidations may have been missed")
+        .register(meterRegistry);
+    Gauge.builder("boats.cluster.invalidation.lag", this, bus -> bus.lag().toNanos() / 1e9)
+        .description("Time since the invalidation transport was last known to be in sync")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts receiving the invalidations of the other instances and checking the lag.
+   */
+  @PostConstruct
+  public void start() {
+    lastSyncNanos = System.nanoTime();
+    transport.start(this);
+    long checkInterval = Math.max(1, maxLag.toMillis() / 2);
+    scheduler.scheduleWithFixedDelay(this::checkLag, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Subscribes a cache that is not a bean to the invalidations of the other instances.
+   * Such caches decorate the repository, so they are invalidated before the subscriber beans,
+   * which may read the invalidated boats again through them.
+   *
+   * @param subscriber The cache to keep consistent
+   */
+  public void subscribe(InvalidationSubscriber subscriber) {
+    subscribers.add(0, subscriber);
+  }
+
+  /**
+   * Queues the invalidation of a changed boat once the transaction that changed it has committed,
+   * and schedules the batch to be sent at the end of the window if it is the first one of the batch.
+   *
+   * @param event The change of the boat
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoatChange(BoatChangeEvent event) {
+    BoatInvalidation invalidation = event.getType() == BoatChangeEvent.Type.DELETED
+        ? BoatInvalidation.deleted(event.getId())
+        : new BoatInvalidation(event.getId(), event.getBoat().getVersion());
+    lock.lock();
+    try {
+      if (pending.isEmpty()) {
+        scheduler.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+      }
+      pending.add(invalidation);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * Applies the invalidations to every subscriber.
+   */
+  @Override
+  public void receive(List<BoatInvalidation> invalidations) {
+    lastSyncNanos = System.nanoTime();
+    if (invalidations.isEmpty()) {
+      return;
+    }
+    receivedInvalidations.increment(invalidations.size());
+    for (InvalidationSubscriber subscriber : subscribers) {
+      try {
+        subscriber.invalidate(invalidations);
+      } catch (RuntimeException e) {
+        LOGGER.error("Cannot apply {} boat invalidations to {}", invalidations.size(), subscriber, e);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * Drops every cached copy of every subscriber.
+   */
+  @Override
+  public void reset() {
+    resets.increment();
+    for (InvalidationSubscriber subscriber : subscribers) {
+      try {
+        subscriber.invalidateAll();
+      } catch (RuntimeException e) {
+        LOGGER.error("Cannot reset {}", subscriber, e);
+      }
+    }
+  }
+
+  /**
+   * Gets the time since the transport was last known to be in sync.
+   *
+   * @return The lag of the invalidations received from the other instances, at most
+   */
+  public Duration lag() {
+    return Duration.ofNanos(System.nanoTime() - lastSyncNanos);
+  }
+
+  /**
+   * Sends the pending invalidations and stops the bus.
+   */
+  @PreDestroy
+  public void close() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+  /**
+   * Sends the invalidations gathered during the batch window as one batch.
+   */
+  void flush() {
+    List<BoatInvalidation> batch;
+    lock.lock();
+    try {
+      batch = pending;
+      pending = new ArrayList<>();
+    } finally {
+      lock.unlock();
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      transport.send(batch);
+      sentInvalidations.increment(batch.size());
+    } catch (RuntimeException e) {
+      LOGGER.error("Cannot send {} boat invalidations", batch.size(), e);
+    }
+  }
+
+  /**
+   * Drops every cached copy while the transport is out of sync for longer than the maximum lag.
+   */
+  void checkLag() {
+    Duration lag = lag();
+    if (lag.compareTo(maxLag) > 0) {
+      if (!outOfSync) {
+        LOGGER.warn("Boat invalidations out of sync for {}, caches are dropped until they catch up", lag);
+        outOfSync = true;
+      }
+      reset();
+    } else if (outOfSync) {
+      LOGGER.info("Boat invalidations back in sync");
+      outOfSync = false;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.infrastructure.adapters.repositories.BoatRepositoryAdapter;
+
+/**
+ * Transport of the invalidations through the database shared by the instances, used by default.
+ * The boats table is its own change table: every write stamps the saved rows, or the tombstones of the deleted
+ * ones, with the next revision of the table in the same transaction, so nothing is sent. Each instance polls
+ * the summaries of the rows and tombstones stamped since the revision it is at, and turns them into
+ * invalidations at the version of each row; a poll behind the purged tombstones resets the caches.
+ * The invalidations of the writes of the polling instance come back as well, and are left without effect
+ * by their versions.
+ */
+public class ChangeTableInvalidationTransport implements InvalidationTransport {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeTableInvalidationTransport.class);
+
+  private final BoatRepositoryAdapter boatRepositoryAdapter;
+  private final Duration pollInterval;
+  private final ScheduledExecutorService scheduler;
+  private long revision;
+
+  /**
+   * Constructor for ChangeTableInvalidationTransport.
+   *
+   * @param boatRepositoryAdapter The JPA persistence adapter stamping the writes with revisions
+   * @param pollInterval How often the changes are polled, which bounds the lag of the invalidations
+   */
+  public ChangeTableInvalidationTransport(BoatRepositoryAdapter boatRepositoryAdapter, Duration pollInterval) {
+    this.boatRepositoryAdapter = boatRepositoryAdapter;
+    this.pollInterval = pollInterval;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("boat-invalidation-poll").factory());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Polls from the current revision, since nothing was cached before.
+   */
+  @Override
+  public void start(Receiver receiver) {
+    revision = boatRepositoryAdapter.getRevision();
+    scheduler.scheduleWithFixedDelay(() -> pollQuietly(receiver),
+        pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Nothing to send: the writes are already recorded by the revisions they were committed with.
+   */
+  @Override
+  public void send(List<BoatInvalidation> invalidations) {
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Delivers the changes committed since the last poll, and moves to the revision they bring.
+   *
+   * @param receiver The receiver of the invalidations
+   */
+  void poll(Receiver receiver) {
+    BoatDelta delta = boatRepositoryAdapter.findSummariesSince(revision);
+    if (delta.isReset()) {
+      receiver.reset();
+      receiver.receive(List.of());
+    } else {
+      List<BoatInvalidation> invalidations = new ArrayList<>(delta.getBoats().size() + delta.getDeletedIds().size());
+      for (Boat boat : delta.getBoats()) {
+        invalidations.add(new BoatInvalidation(boat.getId(), boat.getVersion()));
+      }
+      for (Long id : delta.getDeletedIds()) {
+        invalidations.add(BoatInvalidation.deleted(id));
+      }
+      receiver.receive(invalidations);
+    }
+    revision = delta.getRevision();
+  }
+
+  private void pollQuietly(Receiver receiver) {
+    try {
+      poll(receiver);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Cannot poll the boat changes since revision {}", revision, e);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import java.util.List;
+
+/**
+ * In-process cache kept consistent with the writes of the other instances by the {@link BoatInvalidationBus}.
+ * Beans implementing it are subscribed automatically; other caches subscribe with
+ * {@link BoatInvalidationBus#subscribe(InvalidationSubscriber)}.
+ */
+public interface InvalidationSubscriber {
+
+  /**
+   * Drops the cached copies older than the versions of a batch of invalidations.
+   *
+   * @param invalidations The invalidations received from the other instances
+   */
+  void invalidate(List<BoatInvalidation> invalidations);
+
+  /**
+   * Drops every cached copy, after invalidations may have been missed.
+   */
+  void invalidateAll();
+}
@@ -0,0 +1,48 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import java.util.List;
+
+/**
+ * Transport of the invalidations between the instances, selected by {@code boats.cluster.invalidation.transport}.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+  /**
+   * Receiver of the invalidations delivered by a transport, called from a single thread of the transport.
+   */
+  interface Receiver {
+
+    /**
+     * Delivers the invalidations of other instances. An empty batch tells that the transport is in sync,
+     * and is delivered at least once per polling or heartbeat interval.
+     *
+     * @param invalidations The received invalidations, possibly empty
+     */
+    void receive(List<BoatInvalidation> invalidations);
+
+    /**
+     * Tells that invalidations may have been missed, so that every cached copy must be dropped.
+     */
+    void reset();
+  }
+
+  /**
+   * Starts delivering the invalidations of the other instances.
+   *
+   * @param receiver The receiver of the invalidations
+   */
+  void start(Receiver receiver);
+
+  /**
+   * Sends the invalidations of writes committed by this instance to the other ones.
+   *
+   * @param invalidations A batch of invalidations, in commit order
+   */
+  void send(List<BoatInvalidation> invalidations);
+
+  /**
+   * Stops the transport.
+   */
+  @Override
+  void close();
+}
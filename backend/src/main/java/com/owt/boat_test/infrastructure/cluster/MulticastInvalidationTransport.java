@@ -0,0 +1,243 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport of the invalidations as UDP datagrams to a multicast group, for several processes on one machine
+ * (loopback interface and a time-to-live of 0 by default) or on a local network.
+ * Each datagram carries the ID of the sending instance, a sequence number and up to {@link #MAX_INVALIDATIONS}
+ * invalidations; a batch too large for one datagram is split. Every instance also sends a heartbeat with its
+ * latest sequence number each heartbeat interval, so that a lost datagram is detected by the gap in the sequence
+ * numbers even when no other datagram follows it, and the caches are then reset. The caches are reset as well
+ * when a new instance is first heard of, since its earlier datagrams were not received.
+ * The heartbeats of this instance, looped back by the group, tell that the transport is in sync.
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+  /**
+   * Maximum number of invalidations in a datagram, for it to fit in an Ethernet frame.
+   */
+  static final int MAX_INVALIDATIONS = 85;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+  private static final int MAGIC = 0x424f4154;
+  private static final byte FORMAT_VERSION = 1;
+  private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + 3 * Long.BYTES + Short.BYTES;
+  private static final int MAX_DATAGRAM_SIZE = HEADER_SIZE + MAX_INVALIDATIONS * 2 * Long.BYTES;
+
+  private final UUID instanceId = UUID.randomUUID();
+  private final InetSocketAddress group;
+  private final DatagramChannel channel;
+  private final Duration heartbeatInterval;
+  private final ScheduledExecutorService heartbeats;
+  private final ReentrantLock sendLock = new ReentrantLock();
+  private final ByteBuffer sendBuffer = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+  private final Map<UUID, Peer> peers = new HashMap<>();
+  private long sequence;
+
+  /**
+   * Latest sequence number received from another instance.
+   */
+  private static final class Peer {
+    private long sequence;
+    private long lastHeardNanos;
+
+    private Peer(long sequence, long lastHeardNanos) {
+      this.sequence = sequence;
+      this.lastHeardNanos = lastHeardNanos;
+    }
+  }
+
+  /**
+   * Constructor for MulticastInvalidationTransport, joining the multicast group.
+   *
+   * @param groupAddress The multicast group address
+   * @param port The UDP port of the group
+   * @param interfaceName The network interface to join the group on, or blank for the loopback interface
+   * @param timeToLive The time-to-live of the datagrams, 0 to keep them on this machine
+   * @param heartbeatInterval How often the latest sequence number is sent
+   * @throws IOException if the group cannot be joined
+   */
+  public MulticastInvalidationTransport(String groupAddress, int port, String interfaceName, int timeToLive,
+                                        Duration heartbeatInterval) throws IOException {
+    InetAddress groupInetAddress = InetAddress.getByName(groupAddress);
+    NetworkInterface networkInterface = interfaceName.isBlank()
+        ? NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress())
+        : NetworkInterface.getByName(interfaceName);
+    if (!groupInetAddress.isMulticastAddress() || networkInterface == null) {
+      throw new IllegalArgumentException("Invalid multicast group " + groupAddress + " or interface " + interfaceName);
+    }
+    this.group = new InetSocketAddress(groupInetAddress, port);
+    this.heartbeatInterval = heartbeatInterval;
+    this.channel = DatagramChannel.open(StandardProtocolFamily.INET)
+        .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+        .bind(new InetSocketAddress(port))
+        .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface)
+        .setOption(StandardSocketOptions.IP_MULTICAST_TTL, timeToLive)
+        .setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+    channel.join(groupInetAddress, networkInterface);
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("boat-invalidation-heartbeat").factory());
+  }
+
+  /**
+   * {@inheritDoc}
+   * Receives the datagrams on a dedicated thread and starts sending the heartbeats.
+   */
+  @Override
+  public void start(Receiver receiver) {
+    Thread.ofPlatform().daemon().name("boat-invalidation-multicast").start(() -> receiveLoop(receiver));
+    heartbeats.scheduleAtFixedRate(() -> send(List.of()),
+        0, heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * {@inheritDoc}
+   * Sends the batch in as few datagrams as possible, each with the next sequence number;
+   * an empty batch is sent as a heartbeat carrying the latest sequence number.
+   */
+  @Override
+  public void send(List<BoatInvalidation> invalidations) {
+    sendLock.lock();
+    try {
+      int offset = 0;
+      do {
+        List<BoatInvalidation> chunk = invalidations.subList(offset,
+            Math.min(invalidations.size(), offset + MAX_INVALIDATIONS));
+        if (!chunk.isEmpty()) {
+          sequence++;
+        }
+        encode(instanceId, sequence, chunk, sendBuffer);
+        channel.send(sendBuffer, group);
+        offset += chunk.size();
+      } while (offset < invalidations.size());
+    } catch (IOException e) {
+      LOGGER.warn("Cannot send {} boat invalidations to {}", invalidations.size(), group, e);
+    } finally {
+      sendLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * Leaves the group and stops the heartbeats and the receiving thread.
+   */
+  @Override
+  public void close() {
+    heartbeats.shutdownNow();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOGGER.warn("Cannot close the multicast channel", e);
+    }
+  }
+
+  /**
+   * Gets the ID this instance sends its datagrams with.
+   *
+   * @return The random ID drawn at startup
+   */
+  UUID getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * Writes a datagram into a buffer, flipped for sending.
+   */
+  static void encode(UUID origin, long sequence, List<BoatInvalidation> invalidations, ByteBuffer buffer) {
+    buffer.clear()
+        .putInt(MAGIC)
+        .put(FORMAT_VERSION)
+        .putLong(origin.getMostSignificantBits())
+        .putLong(origin.getLeastSignificantBits())
+        .putLong(sequence)
+        .putShort((short) invalidations.size());
+    for (BoatInvalidation invalidation : invalidations) {
+      buffer.putLong(invalidation.id()).putLong(invalidation.version());
+    }
+    buffer.flip();
+  }
+
+  /**
+   * Applies a received datagram: its invalidations are delivered if no datagram of its sender was missed,
+   * otherwise the caches are reset.
+   */
+  void onDatagram(ByteBuffer datagram, Receiver receiver) {
+    if (datagram.remaining() < HEADER_SIZE || datagram.getInt() != MAGIC || datagram.get() != FORMAT_VERSION) {
+      return;
+    }
+    UUID origin = new UUID(datagram.getLong(), datagram.getLong());
+    long datagramSequence = datagram.getLong();
+    int count = Short.toUnsignedInt(datagram.getShort());
+    List<BoatInvalidation> invalidations = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; i++) {
+        invalidations.add(new BoatInvalidation(datagram.getLong(), datagram.getLong()));
+      }
+    } catch (BufferUnderflowException e) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    if (origin.equals(instanceId)) {
+      receiver.receive(List.of());
+      peers.values().removeIf(peer -> now - peer.lastHeardNanos > 10 * heartbeatInterval.toNanos());
+      return;
+    }
+    Peer peer = peers.get(origin);
+    if (peer == null) {
+      peers.put(origin, new Peer(datagramSequence, now));
+      receiver.reset();
+      return;
+    }
+    long expectedSequence = invalidations.isEmpty() ? peer.sequence : peer.sequence + 1;
+    peer.lastHeardNanos = now;
+    peer.sequence = Math.max(peer.sequence, datagramSequence);
+    if (datagramSequence > expectedSequence) {
+      LOGGER.info("Missed boat invalidations {} to {} of instance {}, resetting the caches",
+          expectedSequence, datagramSequence - 1, origin);
+      receiver.reset();
+    } else {
+      // A late datagram is still applied: invalidations have no effect on newer copies
+      receiver.receive(invalidations);
+    }
+  }
+
+  private void receiveLoop(Receiver receiver) {
+    ByteBuffer receiveBuffer = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+    while (channel.isOpen()) {
+      try {
+        receiveBuffer.clear();
+        channel.receive(receiveBuffer);
+        receiveBuffer.flip();
+        onDatagram(receiveBuffer, receiver);
+      } catch (ClosedChannelException e) {
+        return;
+      } catch (IOException | RuntimeException e) {
+        LOGGER.warn("Cannot receive boat invalidations from {}", group, e);
+      }
+    }
+  }
+}
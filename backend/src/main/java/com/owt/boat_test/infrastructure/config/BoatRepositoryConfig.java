@@ -0,0 +1,162 @@
+package com.owt.boat_test.infrastructure.config;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+import com.owt.boat_test.infrastructure.adapters.repositories.BoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.adapters.repositories.BulkheadBoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.adapters.repositories.CachingBoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.adapters.repositories.TimedBoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.adapters.repositories.log.BoatLog;
+import com.owt.boat_test.infrastructure.adapters.repositories.log.LogStructuredBoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.adapters.repositories.memory.InMemoryBoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidationBus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Configuration of the BoatRepositoryPort implementation injected into the application layer.
+ * Optional decorators are stacked on top of the persistence adapter depending on the
+ * {@code boats.*} properties, without the services having to know about them.
+ */
+@Configuration
+public class BoatRepositoryConfig {
+
+  /**
+   * Opens the log-structured file storage, used instead of the database
+   * when {@code boats.storage.type} is {@code log}.
+   *
+   * @param eventPublisher The publisher of the boat change events
+   * @param directory The directory of the segment files
+   * @param segmentSize The size of a new segment file
+   * @param durabilityWindow How long writes are gathered before being forced to disk together
+   * @param compactionInterval How often the compaction of sealed segments is considered
+   * @param compactionThreshold The share of superseded bytes that triggers a compaction
+   * @param tombstoneCapacity The maximum number of deletions kept for the delta sync
+   * @return The file storage adapter
+   * @throws IOException if the log cannot be opened
+   */
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "boats.storage.type", havingValue = "log")
+  public LogStructuredBoatRepositoryAdapter logStructuredBoatRepository(
+      ApplicationEventPublisher eventPublisher,
+      @Value("${boats.storage.log.directory:./data/boats}") String directory,
+      @Value("${boats.storage.log.segment-size:16MB}") DataSize segmentSize,
+      @Value("${boats.storage.log.durability-window:2ms}") Duration durabilityWindow,
+      @Value("${boats.storage.log.compaction-interval:1m}") Duration compactionInterval,
+      @Value("${boats.storage.log.compaction-threshold:0.5}") double compactionThreshold,
+      @Value("${boats.sync.tombstone-capacity:100000}") int tombstoneCapacity) throws IOException {
+    BoatLog log = new BoatLog(Paths.get(directory), Math.toIntExact(segmentSize.toBytes()),
+        durabilityWindow, compactionInterval, compactionThreshold, tombstoneCapacity);
+    return new LogStructuredBoatRepositoryAdapter(log, eventPublisher);
+  }
+
+  /**
+   * Creates the in-memory storage, used instead of the database when {@code boats.storage.type} is
+   * {@code memory}.
+   *
+   * @param eventPublisher The publisher of the boat change events
+   * @param snapshotPath The file the boats are snapshotted to, or blank to keep them in memory only
+   * @param snapshotInterval How often the snapshot is written
+   * @param tombstoneCapacity The maximum number of deletions kept for the delta sync
+   * @return The in-memory storage adapter
+   * @throws IOException if the snapshot cannot be loaded
+   */
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "boats.storage.type", havingValue = "memory")
+  public InMemoryBoatRepositoryAdapter inMemoryBoatRepository(
+      ApplicationEventPublisher eventPublisher,
+      @Value("${boats.storage.memory.snapshot.path:}") String snapshotPath,
+      @Value("${boats.storage.memory.snapshot.interval:30s}") Duration snapshotInterval,
+      @Value("${boats.sync.tombstone-capacity:100000}") int tombstoneCapacity) throws IOException {
+    return new InMemoryBoatRepositoryAdapter(eventPublisher,
+        snapshotPath.isBlank() ? null : Paths.get(snapshotPath), snapshotInterval, tombstoneCapacity);
+  }
+
+  /**
+   * Builds the repository used by the application layer from the persistence adapter selected by
+   * {@code boats.storage.type}: the JPA adapter by default, or the log-structured file storage
+   * or the in-memory storage.
+   * When {@code boats.bulkhead.enabled} is true, calls to the JPA adapter are bounded
+   * by a bulkhead, with a separate limit for the streaming exports, both sized to leave connections of the pool free;
+   * when {@code boats.cache.enabled} is true, a read-through cache is put in front,
+   * so that cache hits never wait for a bulkhead permit, and subscribed to the invalidations of the other
+   * instances when they are enabled. Calls made by the application layer are
+   * timed on top of it all, and the bulkhead and cache publish their own metrics.
+   *
+   * @param boatRepositoryAdapter The JPA persistence adapter, if enabled
+   * @param logStructuredBoatRepository The file storage adapter, if enabled
+   * @param inMemoryBoatRepository The in-memory storage adapter, if enabled
+   * @param invalidationBus The bus of the invalidations between the instances, if enabled
+   * @param meterRegistry The registry the repository metrics are published to
+   * @param bulkheadEnabled Whether calls to the persistence adapter are bounded
+   * @param maxConcurrentCalls The maximum number of concurrent calls to the persistence adapter
+   * @param maxConcurrentStreams The maximum number of concurrent streaming exports, besides the calls
+   * @param maxWait How long a call waits for the bulkhead before failing
+   * @param cacheEnabled Whether lookups by ID are cached
+   * @param maximumSize The maximum number of cached IDs
+   * @param ttl How long a found boat stays cached
+   * @param negativeTtl How long a missing ID stays cached
+   * @return The decorated repository, used in place of the persistence adapter
+   */
+  @Bean
+  @Primary
+  public BoatRepositoryPort boatRepository(ObjectProvider<BoatRepositoryAdapter> boatRepositoryAdapter,
+                                           ObjectProvider<LogStructuredBoatRepositoryAdapter> logStructuredBoatRepository,
+                                           ObjectProvider<InMemoryBoatRepositoryAdapter> inMemoryBoatRepository,
+                                           ObjectProvider<BoatInvalidationBus> invalidationBus,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${boats.bulkhead.enabled:false}") boolean bulkheadEnabled,
+                                           @Value("${boats.bulkhead.max-concurrent-calls:6}") int maxConcurrentCalls,
+                                           @Value("${boats.bulkhead.max-concurrent-streams:2}") int maxConcurrentStreams,
+                                           @Value("${boats.bulkhead.max-wait:2s}") Duration maxWait,
+                                           @Value("${boats.cache.enabled:false}") boolean cacheEnabled,
+                                           @Value("${boats.cache.maximum-size:10000}") long maximumSize,
+                                           @Value("${boats.cache.ttl:5m}") Duration ttl,
+                                           @Value("${boats.cache.negative-ttl:30s}") Duration negativeTtl) {
+    BoatRepositoryPort boatRepository = Stream.<ObjectProvider<? extends BoatRepositoryPort>>of(
+            boatRepositoryAdapter, logStructuredBoatRepository, inMemoryBoatRepository)
+        .map(ObjectProvider::getIfAvailable)
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("Unknown boats.storage.type"));
+    // Only the JPA adapter needs a bulkhead: bounding the writers of the file storage would only shrink
+    // its group commits, and the in-memory storage holds no pooled resource
+    if (bulkheadEnabled && boatRepository instanceof BoatRepositoryAdapter) {
+      BulkheadBoatRepositoryAdapter bulkhead = new BulkheadBoatRepositoryAdapter(
+          boatRepository, maxConcurrentCalls, maxConcurrentStreams, maxWait);
+      Gauge.builder("boats.repository.bulkhead.available", bulkhead, BulkheadBoatRepositoryAdapter::getAvailablePermits)
+          .description("Number of repository calls that can start right away")
+          .register(meterRegistry);
+      Gauge.builder("boats.repository.bulkhead.queued", bulkhead, BulkheadBoatRepositoryAdapter::getQueueLength)
+          .description("Number of repository calls waiting for a permit")
+          .register(meterRegistry);
+      Gauge.builder("boats.repository.bulkhead.streams.available", bulkhead, BulkheadBoatRepositoryAdapter::getAvailableStreamPermits)
+          .description("Number of streaming exports that can start right away")
+          .register(meterRegistry);
+      boatRepository = bulkhead;
+    }
+    if (cacheEnabled) {
+      CachingBoatRepositoryAdapter cache = new CachingBoatRepositoryAdapter(boatRepository, maximumSize, ttl, negativeTtl);
+      CaffeineCacheMetrics.monitor(meterRegistry, cache.getCache(), "boats");
+      invalidationBus.ifAvailable(bus -> bus.subscribe(cache));
+      boatRepository = cache;
+    }
+    return new TimedBoatRepositoryAdapter(boatRepository, meterRegistry);
+  }
+}
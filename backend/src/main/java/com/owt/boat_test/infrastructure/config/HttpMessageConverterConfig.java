@@ -0,0 +1,30 @@
+package com.owt.boat_test.infrastructure.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.owt.boat_test.infrastructure.adapters.controllers.BoatProtobufHttpMessageConverter;
+
+/**
+ * Configuration of the encodings negotiated with the {@code Accept} and {@code Content-Type} headers.
+ * JSON stays the default, for browsers and clients accepting anything. The CBOR
+ * ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) converters are registered
+ * by Spring MVC after the JSON one, as soon as their Jackson dataformats are on the classpath, and
+ * serialize every DTO like JSON does; the Protobuf converter is added last.
+ */
+@Configuration
+public class HttpMessageConverterConfig implements WebMvcConfigurer {
+
+  /**
+   * Appends the Protobuf converter after the default ones, so that it is only selected when requested.
+   *
+   * @param converters The converters configured so far
+   */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new BoatProtobufHttpMessageConverter());
+  }
+}
@@ -0,0 +1,65 @@
+package com.owt.boat_test.infrastructure.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.owt.boat_test.infrastructure.adapters.repositories.BoatRepositoryAdapter;
+import com.owt.boat_test.infrastructure.cluster.ChangeTableInvalidationTransport;
+import com.owt.boat_test.infrastructure.cluster.MulticastInvalidationTransport;
+
+/**
+ * Configuration of the transport of the cache invalidations between the instances, when
+ * {@code boats.cluster.enabled} is true, selected by {@code boats.cluster.invalidation.transport}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "boats.cluster.enabled", havingValue = "true")
+public class InvalidationTransportConfig {
+
+  /**
+   * Creates the transport polling the database shared by the instances, used by default.
+   *
+   * @param boatRepositoryAdapter The JPA persistence adapter, required by this transport
+   * @param pollInterval How often the changes are polled
+   * @return The database transport
+   */
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "boats.cluster.invalidation.transport", havingValue = "db", matchIfMissing = true)
+  public ChangeTableInvalidationTransport changeTableInvalidationTransport(
+      ObjectProvider<BoatRepositoryAdapter> boatRepositoryAdapter,
+      @Value("${boats.cluster.invalidation.db.poll-interval:500ms}") Duration pollInterval) {
+    BoatRepositoryAdapter adapter = boatRepositoryAdapter.getIfAvailable();
+    if (adapter == null) {
+      throw new IllegalStateException("The db invalidation transport requires boats.storage.type=jpa");
+    }
+    return new ChangeTableInvalidationTransport(adapter, pollInterval);
+  }
+
+  /**
+   * Creates the transport sending UDP datagrams to a multicast group.
+   *
+   * @param group The multicast group address
+   * @param port The UDP port of the group
+   * @param interfaceName The network interface to join the group on, or blank for the loopback interface
+   * @param timeToLive The time-to-live of the datagrams, 0 to keep them on this machine
+   * @param heartbeatInterval How often each instance sends its latest sequence number
+   * @return The multicast transport
+   * @throws IOException if the group cannot be joined
+   */
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "boats.cluster.invalidation.transport", havingValue = "multicast")
+  public MulticastInvalidationTransport multicastInvalidationTransport(
+      @Value("${boats.cluster.invalidation.multicast.group:239.255.27.1}") String group,
+      @Value("${boats.cluster.invalidation.multicast.port:45678}") int port,
+      @Value("${boats.cluster.invalidation.multicast.interface:}") String interfaceName,
+      @Value("${boats.cluster.invalidation.multicast.ttl:0}") int timeToLive,
+      @Value("${boats.cluster.invalidation.multicast.heartbeat-interval:1s}") Duration heartbeatInterval)
+      throws IOException {
+    return new MulticastInvalidationTransport(group, port, interfaceName, timeToLive, heartbeatInterval);
+  }
+}
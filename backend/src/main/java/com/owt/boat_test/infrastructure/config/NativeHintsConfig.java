@@ -0,0 +1,95 @@
+package com.owt.boat_test.infrastructure.config;
+
+import java.util.stream.Stream;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.owt.boat_test.application.dtos.BoatBatchResultDto;
+import com.owt.boat_test.application.dtos.BoatChangeDto;
+import com.owt.boat_test.application.dtos.BoatChangesDto;
+import com.owt.boat_test.application.dtos.BoatDeltaDto;
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.dtos.BoatPageDto;
+import com.owt.boat_test.application.dtos.BoatPatchDto;
+import com.owt.boat_test.application.dtos.auth.JwtResponse;
+import com.owt.boat_test.application.dtos.auth.LoginRequest;
+import com.owt.boat_test.application.dtos.auth.RefreshRequest;
+import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.entities.BoatRevisionEntity;
+import com.owt.boat_test.infrastructure.entities.BoatSummary;
+import com.owt.boat_test.infrastructure.entities.BoatTombstoneEntity;
+import com.owt.boat_test.infrastructure.entities.RefreshTokenEntity;
+import com.owt.boat_test.infrastructure.entities.RevokedTokenEntity;
+import com.owt.boat_test.infrastructure.entities.SigningKeyEntity;
+import com.owt.boat_test.infrastructure.entities.UserEntity;
+
+/**
+ * Hints for the ahead-of-time processing of the application, used by the GraalVM native image
+ * ({@code -Pnative}) and by the AOT-processed JVM build ({@code -Pcds}).
+ * Spring infers most of what the application reaches reflectively, but not the DTOs serialized outside of a
+ * controller signature (the cached JSON fragments, the change stream), the projection record built by a JPQL
+ * constructor expression, nor the jjwt implementation, which the jjwt API loads by class name and service file.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationRuntimeHints.class)
+@RegisterReflectionForBinding({
+    BoatDto.class, BoatPageDto.class, BoatPatchDto.class, BoatDeltaDto.class, BoatChangeDto.class,
+    BoatChangesDto.class, BoatBatchResultDto.class, JwtResponse.class, LoginRequest.class, RefreshRequest.class})
+public class NativeHintsConfig {
+
+  /**
+   * Classes of jjwt-impl and jjwt-jackson instantiated by name from the jjwt API.
+   */
+  static final String[] JJWT_CLASSES = {
+      "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+      "io.jsonwebtoken.impl.DefaultJwtBuilder",
+      "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+      "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+      "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+      "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+      "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+      "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+      "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+      "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+      "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+      "io.jsonwebtoken.impl.security.JwksBridge",
+      "io.jsonwebtoken.impl.security.KeysBridge",
+      "io.jsonwebtoken.impl.security.StandardCurves",
+      "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+      "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+      "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+      "io.jsonwebtoken.impl.security.StandardKeyOperations",
+      "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+      "io.jsonwebtoken.impl.compression.DeflateCompressionAlgorithm",
+      "io.jsonwebtoken.impl.compression.GzipCompressionAlgorithm",
+      "io.jsonwebtoken.jackson.io.JacksonSerializer",
+      "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+  };
+
+  /**
+   * Registers the reflection and resource hints Spring cannot infer.
+   */
+  static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+      Stream.of(BoatEntity.class, BoatRevisionEntity.class, BoatTombstoneEntity.class, UserEntity.class,
+              RefreshTokenEntity.class, RevokedTokenEntity.class, SigningKeyEntity.class)
+          .forEach(entity -> hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+              MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS));
+      hints.reflection().registerType(BoatSummary.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+      for (String className : JJWT_CLASSES) {
+        hints.reflection().registerType(TypeReference.of(className), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS);
+      }
+      hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+  }
+}
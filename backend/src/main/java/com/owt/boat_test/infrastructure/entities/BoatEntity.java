@@ -7,14 +7,16 @@ import jakarta.persistence.*;
  * Maps to the "boats" table in the database.
  */
 @Entity
-@Table(name = "boats")
+@Table(name = "boats", indexes = @Index(name = "idx_boats_revision", columnList = "revision"))
 public class BoatEntity {
   /**
    * Primary key identifier for the boat entity.
-   * Auto-generated using the database's identity generation strategy.
+   * Auto-generated from a pooled database sequence: identifiers are reserved by blocks
+   * so that inserts do not need a round trip each and can be grouped into JDBC batches.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boats_seq")
+  @SequenceGenerator(name = "boats_seq", sequenceName = "boats_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -27,6 +29,19 @@ public class BoatEntity {
    */
   private String description;
   
+  /**
+   * The version of the boat, incremented by Hibernate on every update
+   * and checked to detect concurrent modifications.
+   */
+  @Version
+  private Long version;
+  
+  /**
+   * The revision of the boats table at which the boat was last saved.
+   * Indexed, so that the boats changed since a revision are found without scanning the table.
+   */
+  private long revision;
+  
   /**
    * Gets the unique identifier of the boat entity.
    * 
@@ -80,4 +95,40 @@ public class BoatEntity {
   public void setDescription(String description) {
     this.description = description;
   }
+
+  /**
+   * Gets the version of the boat entity.
+   * 
+   * @return The boat entity's version
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  /**
+   * Sets the version of the boat entity.
+   * 
+   * @param version The boat entity's version to set
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  /**
+   * Gets the revision of the boats table at which the boat was last saved.
+   * 
+   * @return The boat entity's revision
+   */
+  public long getRevision() {
+    return revision;
+  }
+
+  /**
+   * Sets the revision of the boats table at which the boat is saved.
+   * 
+   * @param revision The revision to set
+   */
+  public void setRevision(long revision) {
+    this.revision = revision;
+  }
 }
@@ -0,0 +1,77 @@
+package com.owt.boat_test.infrastructure.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity holding the revision of the boats table.
+ * Maps to the single-row "boats_revision" table, whose counter is incremented
+ * in the same transaction as every write to the "boats" table.
+ * It also records up to which revision deletion tombstones have been purged.
+ */
+@Entity
+@Table(name = "boats_revision")
+public class BoatRevisionEntity {
+  /**
+   * Identifier of the single row of the table.
+   */
+  public static final Long SINGLETON_ID = 1L;
+
+  /**
+   * Primary key identifier, always {@link #SINGLETON_ID}.
+   */
+  @Id
+  private Long id;
+
+  /**
+   * The current revision of the boats table.
+   */
+  private long revision;
+
+  /**
+   * The highest revision of the purged tombstones: the deletions since an older revision are no longer known.
+   */
+  private long purgedRevision;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected BoatRevisionEntity() {
+  }
+
+  /**
+   * Constructor for the single row of the table.
+   * 
+   * @param revision The initial revision
+   */
+  public BoatRevisionEntity(long revision) {
+    this.id = SINGLETON_ID;
+    this.revision = revision;
+  }
+
+  /**
+   * Gets the identifier of the row.
+   * 
+   * @return The row's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Gets the current revision of the boats table.
+   * 
+   * @return The revision
+   */
+  public long getRevision() {
+    return revision;
+  }
+
+  /**
+   * Gets the highest revision of the purged tombstones.
+   * 
+   * @return The revision up to which deletions are no longer known, 0 if no tombstone has been purged
+   */
+  public long getPurgedRevision() {
+    return purgedRevision;
+  }
+}
@@ -0,0 +1,13 @@
+package com.owt.boat_test.infrastructure.entities;
+
+/**
+ * Projection of a boat entity on its narrow columns, leaving out the description.
+ * Built by a constructor expression, so that only these columns are selected and no entity is
+ * instantiated nor tracked by the persistence context.
+ *
+ * @param id The unique identifier of the boat
+ * @param name The name of the boat
+ * @param version The version of the boat
+ */
+public record BoatSummary(Long id, String name, Long version) {
+}
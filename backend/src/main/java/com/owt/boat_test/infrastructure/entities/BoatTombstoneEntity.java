@@ -0,0 +1,80 @@
+package com.owt.boat_test.infrastructure.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity recording the deletion of a boat.
+ * Maps to the "boat_tombstones" table, where a row is inserted in the same transaction as the deletion
+ * of a row of the "boats" table, so that clients synchronizing since an earlier revision learn about it.
+ * Tombstones are purged once older than the retention period.
+ */
+@Entity
+@Table(name = "boat_tombstones", indexes = {
+  @Index(name = "idx_boat_tombstones_revision", columnList = "revision"),
+  @Index(name = "idx_boat_tombstones_deleted_at", columnList = "deletedAt")
+})
+public class BoatTombstoneEntity {
+  /**
+   * Primary key identifier, the ID of the deleted boat.
+   */
+  @Id
+  private Long id;
+
+  /**
+   * The revision of the boats table at which the boat was deleted.
+   */
+  private long revision;
+
+  /**
+   * When the boat was deleted.
+   */
+  private Instant deletedAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected BoatTombstoneEntity() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param id The ID of the deleted boat
+   * @param revision The revision at which the boat was deleted
+   * @param deletedAt When the boat was deleted
+   */
+  public BoatTombstoneEntity(Long id, long revision, Instant deletedAt) {
+    this.id = id;
+    this.revision = revision;
+    this.deletedAt = deletedAt;
+  }
+
+  /**
+   * Gets the ID of the deleted boat.
+   *
+   * @return The boat's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Gets the revision at which the boat was deleted.
+   *
+   * @return The revision
+   */
+  public long getRevision() {
+    return revision;
+  }
+
+  /**
+   * Gets when the boat was deleted.
+   *
+   * @return The deletion time
+   */
+  public Instant getDeletedAt() {
+    return deletedAt;
+  }
+}
@@ -0,0 +1,77 @@
+package com.owt.boat_test.infrastructure.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity for representing the refresh tokens issued to the users.
+ * Maps to the "refresh_tokens" table, keyed by the hash of the token.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt"))
+public class RefreshTokenEntity {
+  /**
+   * Primary key identifier, the SHA-256 hash of the token handed to the client.
+   */
+  @Id
+  private String tokenHash;
+
+  /**
+   * The name of the user the token was issued to.
+   */
+  @Column(nullable = false)
+  private String username;
+
+  /**
+   * When the token stops being accepted.
+   */
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected RefreshTokenEntity() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param tokenHash The hash of the token
+   * @param username The name of the user the token was issued to
+   * @param expiresAt When the token stops being accepted
+   */
+  public RefreshTokenEntity(String tokenHash, String username, Instant expiresAt) {
+    this.tokenHash = tokenHash;
+    this.username = username;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Gets the hash of the token.
+   *
+   * @return The token hash
+   */
+  public String getTokenHash() {
+    return tokenHash;
+  }
+
+  /**
+   * Gets the name of the user the token was issued to.
+   *
+   * @return The username
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Gets when the token stops being accepted.
+   *
+   * @return The expiration time
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+}
@@ -0,0 +1,81 @@
+package com.owt.boat_test.infrastructure.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity recording the revocation of an access token.
+ * Maps to the "revoked_tokens" table, keyed by the token ID; rows are deleted once the token has expired.
+ * Rows are stamped with their revocation time, so that each instance can read the revocations made since it last looked.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"),
+    @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt")
+})
+public class RevokedTokenEntity {
+  /**
+   * Primary key identifier, the ID ({@code jti}) of the revoked token.
+   */
+  @Id
+  private String tokenId;
+
+  /**
+   * When the revoked token expires.
+   */
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  /**
+   * When the token was revoked.
+   */
+  @Column(nullable = false)
+  private Instant revokedAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected RevokedTokenEntity() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param tokenId The ID of the revoked token
+   * @param expiresAt When the revoked token expires
+   * @param revokedAt When the token was revoked
+   */
+  public RevokedTokenEntity(String tokenId, Instant expiresAt, Instant revokedAt) {
+    this.tokenId = tokenId;
+    this.expiresAt = expiresAt;
+    this.revokedAt = revokedAt;
+  }
+
+  /**
+   * Gets the ID of the revoked token.
+   *
+   * @return The token ID
+   */
+  public String getTokenId() {
+    return tokenId;
+  }
+
+  /**
+   * Gets when the revoked token expires.
+   *
+   * @return The expiration time
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Gets when the token was revoked.
+   *
+   * @return The revocation time
+   */
+  public Instant getRevokedAt() {
+    return revokedAt;
+  }
+}
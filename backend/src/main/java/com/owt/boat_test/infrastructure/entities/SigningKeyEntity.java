@@ -0,0 +1,129 @@
+package com.owt.boat_test.infrastructure.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity for representing the keys the access tokens are signed with.
+ * Maps to the "signing_keys" table, keyed by the key ID; rows are deleted once the key has expired.
+ */
+@Entity
+@Table(name = "signing_keys")
+public class SigningKeyEntity {
+  /**
+   * Primary key identifier, the {@code kid} of the tokens signed with the key.
+   */
+  @Id
+  private String keyId;
+
+  /**
+   * The JWS algorithm of the key.
+   */
+  @Column(nullable = false)
+  private String algorithm;
+
+  /**
+   * The public key, X.509 encoded.
+   */
+  @Column(nullable = false, length = 1024)
+  private byte[] publicKey;
+
+  /**
+   * The private key, PKCS#8 encoded and encrypted with the key-encryption key.
+   */
+  @Column(nullable = false, length = 1024)
+  private byte[] privateKey;
+
+  /**
+   * When the key starts signing the tokens.
+   */
+  @Column(nullable = false)
+  private Instant activatesAt;
+
+  /**
+   * When the key stops verifying the tokens.
+   */
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected SigningKeyEntity() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param keyId The ID of the key
+   * @param algorithm The JWS algorithm of the key
+   * @param publicKey The public key, X.509 encoded
+   * @param privateKey The private key, PKCS#8 encoded and encrypted with the key-encryption key
+   * @param activatesAt When the key starts signing the tokens
+   * @param expiresAt When the key stops verifying the tokens
+   */
+  public SigningKeyEntity(String keyId, String algorithm, byte[] publicKey, byte[] privateKey,
+                          Instant activatesAt, Instant expiresAt) {
+    this.keyId = keyId;
+    this.algorithm = algorithm;
+    this.publicKey = publicKey;
+    this.privateKey = privateKey;
+    this.activatesAt = activatesAt;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Gets the ID of the key.
+   *
+   * @return The key ID
+   */
+  public String getKeyId() {
+    return keyId;
+  }
+
+  /**
+   * Gets the JWS algorithm of the key.
+   *
+   * @return The algorithm name
+   */
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Gets the public key, X.509 encoded.
+   *
+   * @return The encoded public key
+   */
+  public byte[] getPublicKey() {
+    return publicKey;
+  }
+
+  /**
+   * Gets the private key, PKCS#8 encoded and encrypted with the key-encryption key.
+   *
+   * @return The encoded private key
+   */
+  public byte[] getPrivateKey() {
+    return privateKey;
+  }
+
+  /**
+   * Gets when the key starts signing the tokens.
+   *
+   * @return The activation time
+   */
+  public Instant getActivatesAt() {
+    return activatesAt;
+  }
+
+  /**
+   * Gets when the key stops verifying the tokens.
+   *
+   * @return The expiration time
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+}
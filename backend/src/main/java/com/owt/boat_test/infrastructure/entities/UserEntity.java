@@ -0,0 +1,58 @@
+package com.owt.boat_test.infrastructure.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity for representing the users allowed to log in.
+ * Maps to the "users" table, keyed by username.
+ */
+@Entity
+@Table(name = "users")
+public class UserEntity {
+  /**
+   * Primary key identifier, the name the user logs in with.
+   */
+  @Id
+  private String username;
+
+  /**
+   * The encoded hash of the user's password, including its algorithm parameters.
+   */
+  @Column(nullable = false)
+  private String passwordHash;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected UserEntity() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param username The name the user logs in with
+   * @param passwordHash The encoded hash of the user's password
+   */
+  public UserEntity(String username, String passwordHash) {
+    this.username = username;
+    this.passwordHash = passwordHash;
+  }
+
+  /**
+   * Gets the name the user logs in with.
+   *
+   * @return The username
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Gets the encoded hash of the user's password.
+   *
+   * @return The password hash
+   */
+  public String getPasswordHash() {
+    return passwordHash;
+  }
+}
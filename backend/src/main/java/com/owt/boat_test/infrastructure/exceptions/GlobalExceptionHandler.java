@@ -3,7 +3,10 @@ package com.owt.boat_test.infrastructure.exceptions;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -30,10 +33,30 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(ResponseStatusException.class)
     @ResponseBody
-    public Map<String, String> handleResponseStatusException(ResponseStatusException ex) {
+    public ResponseEntity<Map<String, String>> handleResponseStatusException(ResponseStatusException ex) {
         Map<String, String> error = new HashMap<>();
         error.put("error", ex.getReason());
         error.put("status", ex.getStatusCode().toString());
+        return ResponseEntity.status(ex.getStatusCode()).body(error);
+    }
+    
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseBody
+    public Map<String, String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The boat has been modified concurrently");
+        error.put("status", HttpStatus.CONFLICT.toString());
+        return error;
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(TransientDataAccessResourceException.class)
+    @ResponseBody
+    public Map<String, String> handleTransientDataAccessResourceException(TransientDataAccessResourceException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.toString());
         return error;
     }
     
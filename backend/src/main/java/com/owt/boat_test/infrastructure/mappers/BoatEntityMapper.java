@@ -2,6 +2,7 @@ package com.owt.boat_test.infrastructure.mappers;
 
 import com.owt.boat_test.domain.models.Boat;
 import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.entities.BoatSummary;
 
 /**
  * Mapper class for converting between domain model Boat objects and infrastructure layer BoatEntity objects.
@@ -23,6 +24,7 @@ public class BoatEntityMapper {
     entity.setId(boat.getId());
     entity.setName(boat.getName());
     entity.setDescription(boat.getDescription());
+    entity.setVersion(boat.getVersion());
     return entity;
   }
 
@@ -40,6 +42,24 @@ public class BoatEntityMapper {
     boat.setId(entity.getId());
     boat.setName(entity.getName());
     boat.setDescription(entity.getDescription());
+    boat.setVersion(entity.getVersion());
     return boat;
   }
-} 
\ No newline at end of file
+
+  /**
+   * Converts a BoatSummary projection to a Boat domain model without description.
+   * 
+   * @param summary The BoatSummary to convert
+   * @return A new Boat domain model containing the projected columns, or null if input is null
+   */
+  public static Boat toDomain(BoatSummary summary) {
+    if (summary == null) {
+      return null;
+    }
+    Boat boat = new Boat();
+    boat.setId(summary.id());
+    boat.setName(summary.name());
+    boat.setVersion(summary.version());
+    return boat;
+  }
+}
\ No newline at end of file
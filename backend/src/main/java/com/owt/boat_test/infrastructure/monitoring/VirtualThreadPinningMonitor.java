@@ -0,0 +1,84 @@
+package com.owt.boat_test.infrastructure.monitoring;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads pinned to their carrier thread.
+ * A virtual thread blocking inside a {@code synchronized} block or a native frame cannot unmount,
+ * so it holds one of the few carrier threads for as long as it blocks. This monitor streams the
+ * {@code jdk.VirtualThreadPinned} JFR events of the running JVM and logs each pinning longer than
+ * the threshold along with the stack that caused it.
+ */
+@Component
+@ConditionalOnProperty(name = "boats.virtual-threads.pinning-detection.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int MAX_LOGGED_FRAMES = 8;
+
+  private final Duration threshold;
+  private RecordingStream recordingStream;
+
+  /**
+   * Constructor for VirtualThreadPinningMonitor.
+   *
+   * @param threshold The minimum pinning duration worth reporting
+   */
+  public VirtualThreadPinningMonitor(@Value("${boats.virtual-threads.pinning-detection.threshold:20ms}") Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  /**
+   * Starts streaming the pinning events once the application is ready.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    recordingStream = new RecordingStream();
+    recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::report);
+    recordingStream.startAsync();
+  }
+
+  /**
+   * Stops streaming the pinning events.
+   */
+  @Override
+  public void destroy() {
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+  }
+
+  /**
+   * Logs a pinning event with the top of its stack.
+   *
+   * @param event The pinning event
+   */
+  private void report(RecordedEvent event) {
+    StringBuilder stack = new StringBuilder();
+    if (event.getStackTrace() != null) {
+      event.getStackTrace().getFrames().stream()
+          .limit(MAX_LOGGED_FRAMES)
+          .map(RecordedFrame::getMethod)
+          .forEach(method -> stack.append(System.lineSeparator()).append("\tat ")
+              .append(method.getType().getName()).append('.').append(method.getName()));
+    }
+    LOGGER.warn("Virtual thread #{} pinned to its carrier for {} ms{}",
+        event.getThread() != null ? event.getThread().getJavaThreadId() : -1,
+        event.getDuration().toMillis(), stack);
+  }
+}
@@ -0,0 +1,105 @@
+package com.owt.boat_test.infrastructure.security;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size Bloom filter of strings, safe for concurrent use without locking.
+ * A key is set as {@code k} bits derived from two 64-bit hashes of it (double hashing); bits are only
+ * ever set, with an atomic OR on the word holding them, so a reader sees every key put before it and
+ * may only err by answering that an absent key might be present.
+ */
+public class BloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructor for BloomFilter, sized for a number of keys and a false positive rate.
+     *
+     * @param expectedInsertions The number of keys the filter is expected to hold
+     * @param falsePositiveRate The probability of a false positive once the filter holds that many keys
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The expected insertions must be positive and the rate within (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new long[Math.toIntExact((bits + 63) / 64)];
+        this.bitCount = words.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param key The key to add
+     */
+    public void put(String key) {
+        long hash1 = mix(fnv1a(key));
+        long hash2 = mix(hash1) | 1;
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            if (((long) WORDS.getAcquire(words, index) & mask) == 0) {
+                WORDS.getAndBitwiseOr(words, index, mask);
+            }
+        }
+    }
+
+    /**
+     * Tells whether a key might have been added to the filter.
+     *
+     * @param key The key to look for
+     * @return false if the key has certainly not been added, true if it probably has
+     */
+    public boolean mightContain(String key) {
+        long hash1 = mix(fnv1a(key));
+        long hash2 = mix(hash1) | 1;
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of bits of the filter.
+     *
+     * @return The size of the filter, in bits
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * Gets the number of bits set per key.
+     *
+     * @return The number of hash functions
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private static long fnv1a(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer, spreading the FNV-1a hash over the 64 bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -19,9 +19,11 @@ public class CorsConfig {
         
         config.setAllowedOriginPatterns(Collections.singletonList("http://localhost*"));
         
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         
-        config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "X-Requested-With"));
+        config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "X-Requested-With", "If-Match", "If-None-Match", "Last-Event-ID"));
+        
+        config.setExposedHeaders(Collections.singletonList("ETag"));
         
         config.setAllowCredentials(true);
         
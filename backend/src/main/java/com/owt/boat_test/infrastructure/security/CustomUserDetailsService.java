@@ -1,45 +1,113 @@
 package com.owt.boat_test.infrastructure.security;
 
 import java.util.Collections;
+import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.owt.boat_test.domain.models.UserAccount;
+import com.owt.boat_test.domain.ports.repositories.UserRepositoryPort;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Loads the users from the user repository and verifies their passwords against the stored hashes.
+ * Hashes are computed when a user is created, never per request, and are verified on the
+ * {@link PasswordHashingExecutor}. A hash computed with a lower cost than the configured one is
+ * replaced at the next successful login, once the password is known.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    // Simple hardcoded user for the technical test
-    private static final String TEST_USERNAME = "admin";
-    private static final String TEST_PASSWORD = "password";
-    
-    private final BCryptPasswordEncoder passwordEncoder;
-    
-    public CustomUserDetailsService() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    private final UserRepositoryPort userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final String bootstrapUsername;
+    private final String bootstrapPassword;
+
+    // Verified instead of a missing user's hash, so that unknown usernames take as long as wrong passwords
+    private String unknownUserHash;
+
+    public CustomUserDetailsService(UserRepositoryPort userRepository,
+                                    PasswordEncoder passwordEncoder,
+                                    PasswordHashingExecutor hashingExecutor,
+                                    @Value("${boats.auth.bootstrap.username:admin}") String bootstrapUsername,
+                                    @Value("${boats.auth.bootstrap.password:password}") String bootstrapPassword) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.hashingExecutor = hashingExecutor;
+        this.bootstrapUsername = bootstrapUsername;
+        this.bootstrapPassword = bootstrapPassword;
+    }
+
+    /**
+     * Creates the bootstrap user if it does not exist yet, hashing its password once at startup.
+     */
+    @PostConstruct
+    void initializeUsers() {
+        unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        if (StringUtils.hasText(bootstrapUsername) && userRepository.findByUsername(bootstrapUsername) == null) {
+            userRepository.save(new UserAccount(bootstrapUsername, passwordEncoder.encode(bootstrapPassword)));
+        }
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        if (!TEST_USERNAME.equals(username)) {
+        UserAccount user = userRepository.findByUsername(username);
+        if (user == null) {
             throw new UsernameNotFoundException("User not found: " + username);
         }
-        
+
         return new User(
-            TEST_USERNAME, 
-            passwordEncoder.encode(TEST_PASSWORD), 
+            user.getUsername(),
+            user.getPasswordHash(),
             Collections.emptyList()
         );
     }
-    
+
+    /**
+     * Verifies a password against the stored hash of a user, on the hashing executor.
+     *
+     * @param rawPassword The password sent by the client
+     * @param username The name of the user
+     * @return true if the user exists and the password matches
+     * @throws ResponseStatusException with HTTP 503 if the hashing executor is saturated
+     */
     public boolean verifyPassword(String rawPassword, String username) {
-        if (!TEST_USERNAME.equals(username)) {
+        if (rawPassword == null || username == null) {
+            return false;
+        }
+        UserAccount user = userRepository.findByUsername(username);
+        String hash = user != null ? user.getPasswordHash() : unknownUserHash;
+        boolean matches = hashingExecutor.call(() -> passwordEncoder.matches(rawPassword, hash));
+        if (!matches || user == null) {
             return false;
         }
-        
-        return TEST_PASSWORD.equals(rawPassword);
+        if (passwordEncoder.upgradeEncoding(hash)) {
+            upgradeHash(user, rawPassword);
+        }
+        return true;
+    }
+
+    private void upgradeHash(UserAccount user, String rawPassword) {
+        try {
+            String newHash = hashingExecutor.call(() -> passwordEncoder.encode(rawPassword));
+            userRepository.updatePasswordHash(user.getUsername(), user.getPasswordHash(), newHash);
+        } catch (ResponseStatusException e) {
+            // The login has succeeded anyway, the hash will be upgraded at a later login
+            LOGGER.debug("Cannot upgrade the password hash of {}: {}", user.getUsername(), e.getReason());
+        }
     }
-} 
\ No newline at end of file
+}
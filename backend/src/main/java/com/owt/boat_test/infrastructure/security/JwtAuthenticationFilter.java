@@ -2,6 +2,7 @@ package com.owt.boat_test.infrastructure.security;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,6 +10,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +23,18 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final String VERIFICATION_METRIC = "boats.jwt.verification";
 
-    public JwtAuthenticationFilter(JwtProvider jwtProvider) {
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, TokenRevocationList tokenRevocationList,
+                                   MeterRegistry meterRegistry) {
         this.jwtProvider = jwtProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.validTokenTimer = verificationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verificationTimer(meterRegistry, "invalid");
     }
 
     @Override
@@ -31,16 +44,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     throws ServletException, IOException {
 
         String token = extractToken(request);
-        if (token != null && jwtProvider.validateToken(token)) {
-            String username = jwtProvider.getUsernameFromToken(token);
-            UsernamePasswordAuthenticationToken authentication = 
-                new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
+        Claims claims = token != null ? verifyToken(token) : null;
+        if (claims != null) {
+            UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(claims.getSubject(), null, Collections.emptyList());
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         filterChain.doFilter(request, response);
     }
     
+    private Claims verifyToken(String token) {
+        long start = System.nanoTime();
+        Claims claims = jwtProvider.verifyToken(token);
+        if (claims != null && tokenRevocationList.isRevoked(claims.getId())) {
+            claims = null;
+        }
+        (claims != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(VERIFICATION_METRIC)
+            .description("Time spent verifying the bearer token of a request")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
@@ -0,0 +1,309 @@
+package com.owt.boat_test.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.owt.boat_test.domain.models.SigningKey;
+import com.owt.boat_test.domain.ports.repositories.SigningKeyRepositoryPort;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keyring of the asymmetric keys the access tokens are signed with, indexed by key ID ({@code kid}).
+ * The keys are stored by the {@link SigningKeyRepositoryPort}, shared by the instances, and decoded once into an
+ * immutable snapshot swapped on each refresh, so that signing and verifying only read a field and a map.
+ * Keys rotate without downtime: the successor of the signing key is stored one refresh interval before it activates,
+ * so every instance, and every service reading the JWKS, knows it before a token signed with it reaches them,
+ * and a retired key keeps verifying until the last token it signed has expired.
+ * A token signed with a key the keyring does not know yet, as when several instances start together and each stores
+ * a first key, makes the keyring reload the keys, at most once per lookup interval; the instances then converge on
+ * the latest key. The private keys are stored encrypted with AES-GCM under the shared key-encryption key.
+ */
+@Component
+public class JwtKeyring {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtKeyring.class);
+    private static final String ES256 = "ES256";
+    private static final String EDDSA = "EdDSA";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    /**
+     * A key of the keyring, decoded once.
+     *
+     * @param keyId The ID of the key, the {@code kid} header of the tokens it signs
+     * @param algorithm The JWS algorithm of the key
+     * @param publicKey The public key, verifying the tokens
+     * @param privateKey The private key, signing the tokens
+     * @param activatesAt When the key starts signing the tokens
+     * @param expiresAt When the key stops verifying the tokens
+     */
+    public record KeyPairEntry(String keyId, SignatureAlgorithm algorithm, PublicKey publicKey, PrivateKey privateKey,
+                               Instant activatesAt, Instant expiresAt) {
+    }
+
+    private record Snapshot(KeyPairEntry signingKey, Map<String, KeyPairEntry> keys, Map<String, Object> jwks) {
+    }
+
+    private final SigningKeyRepositoryPort signingKeyRepository;
+    private final String algorithm;
+    private final Duration rotationPeriod;
+    private final Duration refreshInterval;
+    private final Duration keyLifetime;
+    private final SecretKey keyEncryptionKey;
+    private final long unknownKeyLookupIntervalNanos;
+    private final AtomicLong lastUnknownKeyLookup;
+    private final SecureRandom random = new SecureRandom();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ScheduledExecutorService refreshScheduler;
+
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of(), Map.of("keys", List.of()));
+
+    public JwtKeyring(SigningKeyRepositoryPort signingKeyRepository,
+                      @Value("${boats.auth.jwt.algorithm:ES256}") String algorithm,
+                      @Value("${boats.auth.jwt.rotation-period:1d}") Duration rotationPeriod,
+                      @Value("${boats.auth.jwt.refresh-interval:1m}") Duration refreshInterval,
+                      @Value("${boats.auth.access-token.ttl:5m}") Duration accessTokenTtl,
+                      @Value("${boats.auth.jwt.unknown-key-lookup-interval:1s}") Duration unknownKeyLookupInterval,
+                      @Value("${boats.auth.jwt.key-encryption-key:}") String keyEncryptionKey) {
+        if (!ES256.equals(algorithm) && !EDDSA.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported JWT algorithm " + algorithm + ", expected ES256 or EdDSA");
+        }
+        if (keyEncryptionKey.isBlank()) {
+            throw new IllegalStateException("boats.auth.jwt.key-encryption-key is not set: set it to 32 random bytes "
+                + "encoded in Base64, shared by the instances, or run with the dev profile");
+        }
+        byte[] encodedKeyEncryptionKey = Base64.getDecoder().decode(keyEncryptionKey.strip());
+        if (encodedKeyEncryptionKey.length != 32) {
+            throw new IllegalArgumentException("The JWT key-encryption key must be 32 bytes encoded in Base64");
+        }
+        this.keyEncryptionKey = new SecretKeySpec(encodedKeyEncryptionKey, "AES");
+        this.unknownKeyLookupIntervalNanos = unknownKeyLookupInterval.toNanos();
+        this.lastUnknownKeyLookup = new AtomicLong(System.nanoTime() - unknownKeyLookupIntervalNanos);
+        this.signingKeyRepository = signingKeyRepository;
+        this.algorithm = algorithm;
+        this.rotationPeriod = rotationPeriod;
+        this.refreshInterval = refreshInterval;
+        // Signs for a period, plus up to an interval before the successor is stored and another before it is used
+        this.keyLifetime = rotationPeriod.plus(refreshInterval.multipliedBy(2)).plus(accessTokenTtl);
+        this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("jwt-keyring-refresh").factory());
+        refreshScheduler.scheduleWithFixedDelay(this::refreshQuietly,
+            refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reloads the keys from the repository, generating the first key or the successor of the signing key when due,
+     * and purges the expired keys. Keys already known are not decoded again.
+     */
+    @PostConstruct
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Instant now = Instant.now();
+            Map<String, KeyPairEntry> known = snapshot.keys();
+            Map<String, KeyPairEntry> keys = new HashMap<>();
+            for (SigningKey stored : signingKeyRepository.findUnexpired(now)) {
+                KeyPairEntry key = known.get(stored.getKeyId());
+                keys.put(stored.getKeyId(), key != null ? key : decode(stored));
+            }
+
+            KeyPairEntry signingKey = keys.values().stream()
+                .filter(key -> !key.activatesAt().isAfter(now))
+                .max(Comparator.comparing(KeyPairEntry::activatesAt))
+                .orElse(null);
+            boolean successorStored = keys.values().stream().anyMatch(key -> key.activatesAt().isAfter(now));
+            if (signingKey == null) {
+                signingKey = generate(now);
+                keys.put(signingKey.keyId(), signingKey);
+            } else if (!successorStored && !signingKey.activatesAt().plus(rotationPeriod).isAfter(now.plus(refreshInterval))) {
+                KeyPairEntry successor = generate(now.plus(refreshInterval));
+                keys.put(successor.keyId(), successor);
+            }
+
+            signingKeyRepository.deleteExpired(now);
+            snapshot = new Snapshot(signingKey, Map.copyOf(keys), jwks(keys));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the key the tokens are currently signed with.
+     *
+     * @return The signing key
+     */
+    public KeyPairEntry signingKey() {
+        return snapshot.signingKey();
+    }
+
+    /**
+     * Gets a key of the keyring by ID. An unknown key is looked up again in the repository, at most once per
+     * lookup interval; the callers arriving while a lookup runs wait for it instead.
+     *
+     * @param keyId The {@code kid} header of a token
+     * @return The key, or null if the keyring does not hold it
+     */
+    public KeyPairEntry key(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        KeyPairEntry key = snapshot.keys().get(keyId);
+        if (key == null) {
+            lookUpUnknownKey();
+            key = snapshot.keys().get(keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Gets the public keys of the keyring as a JSON Web Key Set, including the successor of the signing key.
+     * The set is built once per refresh.
+     *
+     * @return The JWKS, a map holding the {@code keys} array
+     */
+    public Map<String, Object> jwks() {
+        return snapshot.jwks();
+    }
+
+    /**
+     * Stops the refresh of the keyring.
+     */
+    @PreDestroy
+    public void close() {
+        refreshScheduler.shutdownNow();
+    }
+
+    private void lookUpUnknownKey() {
+        long now = System.nanoTime();
+        long last = lastUnknownKeyLookup.get();
+        if (now - last >= unknownKeyLookupIntervalNanos && lastUnknownKeyLookup.compareAndSet(last, now)) {
+            refreshQuietly();
+        } else {
+            refreshLock.lock();
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not refresh the JWT keyring", e);
+        }
+    }
+
+    private KeyPairEntry generate(Instant activatesAt) {
+        KeyPair keyPair;
+        try {
+            KeyPairGenerator generator;
+            if (ES256.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator = KeyPairGenerator.getInstance("Ed25519");
+            }
+            keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate a " + algorithm + " key pair", e);
+        }
+        String keyId = Jwks.builder().key(keyPair.getPublic()).idFromThumbprint().build().getId();
+        SigningKey signingKey = new SigningKey(keyId, algorithm, keyPair.getPublic().getEncoded(),
+            encrypt(keyId, keyPair.getPrivate().getEncoded()), activatesAt, activatesAt.plus(keyLifetime));
+        signingKeyRepository.save(signingKey);
+        LOGGER.info("Generated {} signing key {}, active from {}", algorithm, keyId, activatesAt);
+        return new KeyPairEntry(keyId, signatureAlgorithm(algorithm), keyPair.getPublic(), keyPair.getPrivate(),
+            activatesAt, signingKey.getExpiresAt());
+    }
+
+    private KeyPairEntry decode(SigningKey stored) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(ES256.equals(stored.getAlgorithm()) ? "EC" : "Ed25519");
+            return new KeyPairEntry(stored.getKeyId(), signatureAlgorithm(stored.getAlgorithm()),
+                keyFactory.generatePublic(new X509EncodedKeySpec(stored.getPublicKey())),
+                keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(stored.getKeyId(), stored.getPrivateKey()))),
+                stored.getActivatesAt(), stored.getExpiresAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot decode signing key " + stored.getKeyId(), e);
+        }
+    }
+
+    // The key ID is authenticated along with the private key, so that a stored key cannot be swapped for another
+    private byte[] encrypt(String keyId, byte[] privateKey) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(privateKey);
+            byte[] sealed = Arrays.copyOf(iv, IV_LENGTH + ciphertext.length);
+            System.arraycopy(ciphertext, 0, sealed, IV_LENGTH, ciphertext.length);
+            return sealed;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt signing key " + keyId, e);
+        }
+    }
+
+    private byte[] decrypt(String keyId, byte[] sealed) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, sealed, 0, IV_LENGTH));
+        cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(sealed, IV_LENGTH, sealed.length - IV_LENGTH);
+    }
+
+    private static SignatureAlgorithm signatureAlgorithm(String algorithm) {
+        return ES256.equals(algorithm) ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+    }
+
+    private static Map<String, Object> jwks(Map<String, KeyPairEntry> keys) {
+        List<PublicJwk<PublicKey>> publicJwks = keys.values().stream()
+            .sorted(Comparator.comparing(KeyPairEntry::activatesAt).reversed())
+            .map(key -> Jwks.builder().key(key.publicKey())
+                .id(key.keyId())
+                .algorithm(key.algorithm().getId())
+                .publicKeyUse("sig")
+                .build())
+            .<PublicJwk<PublicKey>>map(jwk -> jwk)
+            .toList();
+        return Map.of("keys", publicJwks);
+    }
+}
@@ -1,44 +1,156 @@
 package com.owt.boat_test.infrastructure.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.LocatorAdapter;
 
+/**
+ * Issues and verifies the access tokens, signed with the asymmetric keys of the {@link JwtKeyring}.
+ * The parser is built once and is immutable and thread-safe: it finds the verification key of a token
+ * by its {@code kid} header in the keyring, whose keys are decoded once, so verifying a token never
+ * re-derives key material. Other services can verify the tokens with the keys published as a JWKS.
+ */
 @Component
 public class JwtProvider {
 
-    private final String SECRET_KEY = "MySecretKeyWhoNeedToBeInTheEnvButItsHereForTheTestAndTheVersioning";
+    // Maximum number of verified tokens kept in memory
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    // Claims of already verified tokens, keyed by token digest and evicted when the token expires
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+        .expireAfter(new Expiry<String, Claims>() {
+            @Override
+            public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                return TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+            }
+
+            @Override
+            public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        })
+        .build();
 
+    private final JwtKeyring keyring;
+    private final JwtParser parser;
+    private final Duration accessTokenTtl;
+
+    /**
+     * Constructor for JwtProvider.
+     *
+     * @param keyring The keys the tokens are signed and verified with
+     * @param accessTokenTtl How long the access tokens are valid; short, since they are renewed with a refresh token
+     */
+    public JwtProvider(JwtKeyring keyring, @Value("${boats.auth.access-token.ttl:5m}") Duration accessTokenTtl) {
+        this.keyring = keyring;
+        this.accessTokenTtl = accessTokenTtl;
+        this.parser = Jwts.parser()
+            .keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    JwtKeyring.KeyPairEntry key = keyring.key(header.getKeyId());
+                    return key != null ? key.publicKey() : null;
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Generates an access token for a user.
+     * Each token has a unique ID ({@code jti}) by which it can be revoked before it expires,
+     * and names the key it is signed with in its {@code kid} header.
+     *
+     * @param username The name of the user, the subject of the token
+     * @return The compact JWT
+     */
     public String generateToken(String username) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + (3600 * 1000)); // 1hour
+        Date expiryDate = new Date(now.getTime() + accessTokenTtl.toMillis());
+        JwtKeyring.KeyPairEntry key = keyring.signingKey();
 
         return Jwts.builder()
-            .setSubject(username)
-            .setIssuedAt(now)
-            .setExpiration(expiryDate)
-            .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+            .header().keyId(key.keyId()).and()
+            .id(UUID.randomUUID().toString())
+            .subject(username)
+            .issuedAt(now)
+            .expiration(expiryDate)
+            .signWith(key.privateKey(), key.algorithm())
             .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-            .setSigningKey(SECRET_KEY)
-            .parseClaimsJws(token)
-            .getBody()
-            .getSubject();
+    /**
+     * Verifies a token once and returns its claims.
+     * Claims of valid tokens are cached until the token expires, so repeated requests
+     * with the same token skip parsing and signature verification. The returned claims
+     * are shared and must not be modified.
+     *
+     * @param token The compact JWT
+     * @return The claims of the token, or null if the token is invalid or expired
+     */
+    public Claims verifyToken(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parseClaims(token);
+        if (claims != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Gets how long the access tokens are valid.
+     *
+     * @return The lifetime of the access tokens
+     */
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    private Claims parseClaims(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
     }
 
-    public boolean validateToken(String token) {
+    private static String digest(String token) {
         try {
-            Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token);
-            return true;
-        } catch (JwtException ex) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.owt.boat_test.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the password hashing of the logins on a small pool of platform threads with a bounded queue.
+ * Hashing is deliberately CPU-expensive; running it on the virtual threads of the requests would let a burst
+ * of logins occupy every carrier thread and starve the requests serving the boats. When the queue is full,
+ * or a hash is not computed within the timeout, the login fails fast with HTTP 503 instead.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${boats.auth.hashing.threads:2}") int threads,
+                                   @Value("${boats.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${boats.auth.hashing.timeout:5s}") Duration timeout) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().daemon().name("password-hashing-", 0).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = timeout.toNanos();
+        new ExecutorServiceMetrics(executor, "boats.auth.hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @param task The task hashing or verifying a password
+     * @return The result of the task
+     * @throws ResponseStatusException with HTTP 503 if the queue is full or the result is not ready in time
+     */
+    public <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress, try again later");
+        }
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress, try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while hashing the password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Cannot hash the password", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the hashing threads.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,145 @@
+package com.owt.boat_test.infrastructure.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limits the rate of the requests of each client with token buckets, answering 429 with {@code Retry-After}
+ * once a client has used its burst. Runs after {@link JwtAuthenticationFilter}, so that authenticated clients
+ * are keyed by the subject of their token, whatever their address, and anonymous ones by their IP address.
+ * Each endpoint group has its own limits: the login ({@code /auth/**}), the reads and the writes.
+ * Probes and metrics are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_METRIC = "boats.rate-limit.rejected";
+
+    private final boolean enabled;
+    private final RateLimiter authLimiter;
+    private final RateLimiter readLimiter;
+    private final RateLimiter writeLimiter;
+    private final Counter authRejections;
+    private final Counter readRejections;
+    private final Counter writeRejections;
+    private final ScheduledExecutorService evictionScheduler;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${boats.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${boats.rate-limit.auth.requests-per-second:1}") double authRate,
+                           @Value("${boats.rate-limit.auth.burst:10}") int authBurst,
+                           @Value("${boats.rate-limit.read.requests-per-second:50}") double readRate,
+                           @Value("${boats.rate-limit.read.burst:100}") int readBurst,
+                           @Value("${boats.rate-limit.write.requests-per-second:10}") double writeRate,
+                           @Value("${boats.rate-limit.write.burst:20}") int writeBurst,
+                           @Value("${boats.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.enabled = enabled;
+        this.authLimiter = new RateLimiter(authRate, authBurst);
+        this.readLimiter = new RateLimiter(readRate, readBurst);
+        this.writeLimiter = new RateLimiter(writeRate, writeBurst);
+        this.authRejections = rejectionCounter(meterRegistry, "auth");
+        this.readRejections = rejectionCounter(meterRegistry, "read");
+        this.writeRejections = rejectionCounter(meterRegistry, "write");
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("rate-limit-eviction").factory());
+        long idleNanos = idleTimeout.toNanos();
+        evictionScheduler.scheduleWithFixedDelay(() -> evictIdle(idleNanos),
+            idleTimeout.toMillis(), idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled || path.startsWith("/actuator/") || path.startsWith("/h2-console");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+                                    throws ServletException, IOException {
+
+        RateLimiter limiter;
+        Counter rejections;
+        if (request.getServletPath().startsWith("/auth/")) {
+            limiter = authLimiter;
+            rejections = authRejections;
+        } else if (isRead(request.getMethod())) {
+            limiter = readLimiter;
+            rejections = readRejections;
+        } else {
+            limiter = writeLimiter;
+            rejections = writeRejections;
+        }
+
+        long now = System.nanoTime();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        long waitNanos = authentication instanceof UsernamePasswordAuthenticationToken
+            ? limiter.tryAcquireForUser(authentication.getName(), now)
+            : limiter.tryAcquireForAddress(request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            rejections.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Stops the eviction of the idle buckets.
+     */
+    @PreDestroy
+    public void close() {
+        evictionScheduler.shutdownNow();
+    }
+
+    private void evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        authLimiter.evictIdle(idleNanos, now);
+        readLimiter.evictIdle(idleNanos, now);
+        writeLimiter.evictIdle(idleNanos, now);
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry after " + retryAfterSeconds
+            + " seconds\",\"status\":\"" + HttpStatus.TOO_MANY_REQUESTS + "\"}");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String group) {
+        return Counter.builder(REJECTED_METRIC)
+            .description("Requests rejected because their client exceeded its rate limit")
+            .tag("group", group)
+            .register(meterRegistry);
+    }
+}
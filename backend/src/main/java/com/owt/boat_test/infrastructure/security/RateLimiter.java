@@ -0,0 +1,106 @@
+package com.owt.boat_test.infrastructure.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets of the clients of an endpoint group, keyed by user or by address.
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next request
+ * (the generic cell rate algorithm, equivalent to a token bucket refilled continuously): taking a token
+ * is a read and a compare-and-set, without lock nor allocation once the client has a bucket.
+ * Buckets idle for long enough are full again and are evicted, as a new bucket would be full too.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final ConcurrentMap<String, AtomicLong> userBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> addressBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for RateLimiter.
+     *
+     * @param requestsPerSecond The rate at which the buckets are refilled
+     * @param burst The capacity of the buckets, the number of requests a client may send at once
+     */
+    public RateLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("The rate and the burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * Takes a token from the bucket of an authenticated user.
+     *
+     * @param username The subject of the user's token
+     * @param now The current value of {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise how long the user must wait, in nanoseconds
+     */
+    public long tryAcquireForUser(String username, long now) {
+        return tryAcquire(userBuckets, username, now);
+    }
+
+    /**
+     * Takes a token from the bucket of an anonymous client.
+     *
+     * @param address The IP address of the client
+     * @param now The current value of {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise how long the client must wait, in nanoseconds
+     */
+    public long tryAcquireForAddress(String address, long now) {
+        return tryAcquire(addressBuckets, address, now);
+    }
+
+    /**
+     * Evicts the buckets whose client has sent no request for a while.
+     * A request racing with the eviction may take its token from the evicted bucket,
+     * which at worst grants the client one extra request.
+     *
+     * @param idleNanos How long a bucket must have been full to be evicted, in nanoseconds
+     * @param now The current value of {@link System#nanoTime()}
+     * @return The number of evicted buckets
+     */
+    public int evictIdle(long idleNanos, long now) {
+        return evictIdle(userBuckets, idleNanos, now) + evictIdle(addressBuckets, idleNanos, now);
+    }
+
+    /**
+     * Gets the number of clients holding a bucket.
+     *
+     * @return The number of buckets
+     */
+    public int size() {
+        return userBuckets.size() + addressBuckets.size();
+    }
+
+    private long tryAcquire(ConcurrentMap<String, AtomicLong> buckets, String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int evictIdle(ConcurrentMap<String, AtomicLong> buckets, long idleNanos, long now) {
+        int evicted = 0;
+        for (var entry : buckets.entrySet()) {
+            if (now - entry.getValue().get() > idleNanos && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+}
@@ -1,5 +1,7 @@
 package com.owt.boat_test.infrastructure.security;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,18 +17,23 @@ import org.springframework.web.filter.CorsFilter;
 
 import java.util.Collections;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomAuthenticationProvider authProvider;
     private final CorsFilter corsFilter;
     
     public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, 
+                          RateLimitFilter rateLimitFilter,
                           CustomAuthenticationProvider authProvider,
                           CorsFilter corsFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.authProvider = authProvider;
         this.corsFilter = corsFilter;
     }
@@ -38,18 +45,27 @@ public class SecurityConfig {
             .cors(cors -> cors.configure(http))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/h2-console/**").permitAll()
+                // Async and error dispatches complete responses whose request has already been authorized,
+                // such as an error that cannot be written in the encoding the client accepts
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                .requestMatchers("/auth/**", "/.well-known/jwks.json").permitAll()
+                // Probes and the Prometheus scraper do not carry a token. They reach the actuator on the management
+                // port, kept off the public network, and these endpoint matchers only match requests to that port
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .anyRequest().authenticated() 
             )
             .headers(headers -> headers.disable())
             .addFilterBefore(corsFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            // After the token is verified, so that clients are limited by subject rather than by address
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
             .build();
     }
     
+    // Static, as the user details service needs it before this configuration can be built
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(@Value("${boats.auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
     
     @Bean
@@ -0,0 +1,165 @@
+package com.owt.boat_test.infrastructure.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.owt.boat_test.domain.ports.repositories.RefreshTokenRepositoryPort;
+import com.owt.boat_test.domain.ports.repositories.RevokedTokenRepositoryPort;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Revocation list of the access tokens, keyed by token ID ({@code jti}).
+ * Revocations are stored by the {@link RevokedTokenRepositoryPort} and mirrored in two in-memory Bloom filters,
+ * so that checking a token that was not revoked, nearly every request, costs a few hashes and no lookup:
+ * the repository is only queried when the filters report a probable hit, to tell revoked tokens from false positives.
+ * The filters rotate every access-token lifetime: revocations go to the current filter, the previous one is kept
+ * for one more lifetime and then dropped, by which time every token it held has expired. The filters are rebuilt
+ * from the repository at startup, and the expired revocations and refresh tokens are purged on each rotation.
+ * The revocations made by the other instances sharing the repository are polled every sync interval and added
+ * to the current filter. Each poll reads back the overlap before the previous one, so that revocations committed
+ * late, or stamped by a clock running slightly behind, are not missed; adding a token twice does no harm.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final String LOOKUP_METRIC = "boats.auth.revocation.lookups";
+
+    private final RevokedTokenRepositoryPort revokedTokenRepository;
+    private final RefreshTokenRepositoryPort refreshTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Counter revokedLookups;
+    private final Counter falsePositiveLookups;
+
+    private final Duration syncOverlap;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile Instant synchronizedAt = Instant.now();
+
+    public TokenRevocationList(RevokedTokenRepositoryPort revokedTokenRepository,
+                               RefreshTokenRepositoryPort refreshTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${boats.auth.access-token.ttl:5m}") Duration accessTokenTtl,
+                               @Value("${boats.auth.revocation.expected-revocations:10000}") int expectedRevocations,
+                               @Value("${boats.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${boats.auth.revocation.sync-interval:2s}") Duration syncInterval,
+                               @Value("${boats.auth.revocation.sync-overlap:5s}") Duration syncOverlap) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+        this.current = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.previous = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.revokedLookups = lookupCounter(meterRegistry, "revoked");
+        this.falsePositiveLookups = lookupCounter(meterRegistry, "false_positive");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("token-revocation").factory());
+        scheduler.scheduleAtFixedRate(this::rotate,
+            accessTokenTtl.toMillis(), accessTokenTtl.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::synchronize,
+            syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads the revocations still in force into the current filter.
+     */
+    @PostConstruct
+    public void warmUp() {
+        Instant now = Instant.now();
+        BloomFilter filter = current;
+        revokedTokenRepository.findUnexpired(now).forEach(filter::put);
+        synchronizedAt = now;
+    }
+
+    /**
+     * Tells whether an access token has been revoked.
+     *
+     * @param tokenId The ID of the token, possibly null for tokens issued without one
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || (!current.mightContain(tokenId) && !previous.mightContain(tokenId))) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.isRevoked(tokenId);
+        (revoked ? revokedLookups : falsePositiveLookups).increment();
+        return revoked;
+    }
+
+    /**
+     * Revokes an access token until it expires.
+     * The revocation is stored before it is added to the filter, so that a probable hit always finds it.
+     *
+     * @param tokenId The ID of the token
+     * @param expiresAt When the token expires
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.revoke(tokenId, expiresAt);
+        current.put(tokenId);
+    }
+
+    /**
+     * Stops the rotation and the synchronization of the filters.
+     */
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Adds the revocations stored since the previous poll, less the overlap, to the current filter,
+     * those of the other instances included. The time is taken before the query, so that a revocation
+     * stored while it runs is read again by the next poll.
+     */
+    void synchronize() {
+        Instant now = Instant.now();
+        try {
+            BloomFilter filter = current;
+            revokedTokenRepository.findRevokedSince(synchronizedAt.minus(syncOverlap)).forEach(filter::put);
+            synchronizedAt = now;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not synchronize the revoked tokens", e);
+        }
+    }
+
+    /**
+     * Starts a new current filter and drops the previous one, then purges the expired rows.
+     * A revocation racing with the rotation may land in the filter that just became the previous one,
+     * which still covers it for a whole lifetime.
+     */
+    void rotate() {
+        previous = current;
+        current = new BloomFilter(expectedRevocations, falsePositiveRate);
+        try {
+            Instant now = Instant.now();
+            revokedTokenRepository.deleteExpired(now);
+            refreshTokenRepository.deleteExpired(now);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not purge the expired tokens", e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(LOOKUP_METRIC)
+            .description("Revocation lookups made after a probable hit of the Bloom filters")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,147 @@
+package com.owt.boat_test.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.owt.boat_test.application.dtos.BoatBatchResultDto;
+import com.owt.boat_test.application.dtos.BoatBatchResultDto.Status;
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.SavedBoats;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class BoatBatchServiceTest {
+
+    @Mock
+    private BoatRepositoryPort boatRepository;
+
+    private BoatBatchService boatBatchService;
+
+    @BeforeEach
+    void setUp() {
+        boatBatchService = new BoatBatchService(
+            boatRepository, Validation.buildDefaultValidatorFactory().getValidator(), 2, 3);
+        lenient().when(boatRepository.inUnitOfWork(any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    private static Boat boat(Long id, String name) {
+        Boat boat = new Boat();
+        boat.setId(id);
+        boat.setName(name);
+        return boat;
+    }
+
+    @Test
+    void createBoats_ShouldSaveValidItemsInChunksAndReportInvalidOnes() {
+        // Arrange
+        List<BoatDto> dtos = Arrays.asList(
+            new BoatDto(42L, "First", null),
+            new BoatDto(null, "", null),
+            new BoatDto(null, "Second", null));
+        when(boatRepository.saveAll(anyList()))
+            .thenReturn(Arrays.asList(boat(1L, "First"), boat(2L, "Second")));
+
+        // Act
+        List<BoatBatchResultDto> results = boatBatchService.createBoats(dtos);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals(1L, results.get(0).getId());
+        assertEquals(Status.INVALID, results.get(1).getStatus());
+        assertNotNull(results.get(1).getError());
+        assertEquals(Status.CREATED, results.get(2).getStatus());
+        assertEquals(2L, results.get(2).getId());
+        verify(boatRepository, times(1)).saveAll(argThat(boats -> boats.size() == 2 && boats.get(0).getId() == null));
+        verify(boatRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void upsertBoats_ShouldReportUpdatedForExistingIds() {
+        // Arrange
+        List<BoatDto> dtos = Arrays.asList(new BoatDto(1L, "Existing", null), new BoatDto(99L, "Missing", null));
+        when(boatRepository.upsertAll(anyList()))
+            .thenReturn(new SavedBoats(Arrays.asList(boat(1L, "Existing"), boat(100L, "Missing")), Set.of(1L)));
+
+        // Act
+        List<BoatBatchResultDto> results = boatBatchService.upsertBoats(dtos);
+
+        // Assert
+        assertEquals(Status.UPDATED, results.get(0).getStatus());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        assertEquals(100L, results.get(1).getId());
+        verify(boatRepository, never()).findExistingIds(any());
+        verify(boatRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void upsertBoats_WithVersions_ShouldOnlyUpdateBoatsStillAtThatVersion() {
+        // Arrange
+        List<BoatDto> dtos = Arrays.asList(
+            new BoatDto(1L, "Current", null, 3L),
+            new BoatDto(2L, "Stale", null, 1L),
+            new BoatDto(3L, "Unversioned", null));
+        Boat updatedBoat = boat(1L, "Current");
+        updatedBoat.setVersion(4L);
+        when(boatRepository.update(argThat(boat -> boat.getId() == 1L), eq(3L))).thenReturn(updatedBoat);
+        when(boatRepository.findVersionById(2L)).thenReturn(5L);
+        when(boatRepository.upsertAll(anyList()))
+            .thenReturn(new SavedBoats(Arrays.asList(boat(3L, "Unversioned")), Set.of(3L)));
+
+        // Act
+        List<BoatBatchResultDto> results = boatBatchService.upsertBoats(dtos);
+
+        // Assert
+        assertEquals(Status.UPDATED, results.get(0).getStatus());
+        assertEquals(4L, results.get(0).getBoat().getVersion());
+        assertEquals(Status.CONFLICT, results.get(1).getStatus());
+        assertEquals(2L, results.get(1).getId());
+        assertNotNull(results.get(1).getError());
+        assertEquals(Status.UPDATED, results.get(2).getStatus());
+        verify(boatRepository, times(1)).upsertAll(argThat(boats -> boats.size() == 1 && boats.get(0).getId() == 3L));
+        verify(boatRepository, never()).findVersionById(1L);
+    }
+
+    @Test
+    void deleteBoats_ShouldReportDeletedAndNotFoundIds() {
+        // Arrange
+        when(boatRepository.deleteAll(Arrays.asList(1L, 2L))).thenReturn(Set.of(1L));
+        when(boatRepository.deleteAll(Arrays.asList(3L))).thenReturn(Set.of(3L));
+
+        // Act
+        List<BoatBatchResultDto> results = boatBatchService.deleteBoats(Arrays.asList(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(Status.DELETED, results.get(0).getStatus());
+        assertEquals(Status.NOT_FOUND, results.get(1).getStatus());
+        assertEquals(Status.DELETED, results.get(2).getStatus());
+        verify(boatRepository, times(2)).deleteAll(anyList());
+        verify(boatRepository, times(1)).inUnitOfWork(any());
+    }
+
+    @Test
+    void createBoats_WithTooManyItems_ShouldThrowException() {
+        List<BoatDto> dtos = Arrays.asList(
+            new BoatDto(null, "One", null), new BoatDto(null, "Two", null),
+            new BoatDto(null, "Three", null), new BoatDto(null, "Four", null));
+
+        assertThrows(ResponseStatusException.class, () -> boatBatchService.createBoats(dtos));
+        verify(boatRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,94 @@
+package com.owt.boat_test.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.owt.boat_test.application.dtos.BoatChangesDto;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatChange;
+import com.owt.boat_test.domain.ports.feed.BoatChangeFeedPort;
+
+@ExtendWith(MockitoExtension.class)
+class BoatChangeFeedServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    @Mock
+    private BoatChangeFeedPort boatChangeFeed;
+
+    @InjectMocks
+    private BoatChangeFeedService boatChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(boatChangeFeed.getEpoch()).thenReturn("e1");
+        lenient().when(boatChangeFeed.getLatestSequence()).thenReturn(3L);
+    }
+
+    @Test
+    void readChanges_ShouldCoalesceChangesOfTheSameBoat() throws InterruptedException {
+        // Arrange
+        when(boatChangeFeed.awaitAfter(0L, TIMEOUT)).thenReturn(true);
+        when(boatChangeFeed.readAfter(0L, BoatChangeFeedService.MAX_BATCH_SIZE)).thenReturn(List.of(
+            new BoatChange(1L, BoatChange.Type.CREATED, 1L, boat(1L, "First")),
+            new BoatChange(2L, BoatChange.Type.CREATED, 2L, boat(2L, "Second")),
+            new BoatChange(3L, BoatChange.Type.UPDATED, 1L, boat(1L, "Renamed"))));
+
+        // Act
+        BoatChangesDto result = boatChangeFeedService.readChanges("e1-0", TIMEOUT);
+
+        // Assert
+        assertFalse(result.isReset());
+        assertEquals("e1-3", result.getLastEventId());
+        assertEquals(2, result.getChanges().size());
+        assertEquals("e1-2", result.getChanges().get(0).getEventId());
+        assertEquals("updated", result.getChanges().get(1).getType());
+        assertEquals("Renamed", result.getChanges().get(1).getBoat().getName());
+    }
+
+    @Test
+    void readChanges_WhenNothingHappens_ShouldReturnNoChangeAndKeepTheEventId() throws InterruptedException {
+        // Arrange
+        when(boatChangeFeed.awaitAfter(3L, TIMEOUT)).thenReturn(false);
+
+        // Act
+        BoatChangesDto result = boatChangeFeedService.readChanges("e1-3", TIMEOUT);
+
+        // Assert
+        assertFalse(result.isReset());
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals("e1-3", result.getLastEventId());
+    }
+
+    @Test
+    void readChanges_WhenEventIdIsUnknownOrOverwritten_ShouldReset() throws InterruptedException {
+        // Arrange
+        when(boatChangeFeed.awaitAfter(1L, TIMEOUT)).thenReturn(true);
+        when(boatChangeFeed.readAfter(1L, BoatChangeFeedService.MAX_BATCH_SIZE)).thenReturn(null);
+
+        // Act & Assert
+        for (String eventId : new String[] {"e0-1", "e1-9", "garbage", "e1-x", "e1-1"}) {
+            BoatChangesDto result = boatChangeFeedService.readChanges(eventId, TIMEOUT);
+            assertTrue(result.isReset(), eventId);
+            assertEquals("e1-3", result.getLastEventId());
+        }
+    }
+
+    private static Boat boat(Long id, String name) {
+        Boat boat = new Boat();
+        boat.setId(id);
+        boat.setName(name);
+        boat.setVersion(0L);
+        return boat;
+    }
+}
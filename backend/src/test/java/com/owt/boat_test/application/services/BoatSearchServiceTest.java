@@ -0,0 +1,49 @@
+package com.owt.boat_test.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.ports.search.BoatSearchPort;
+
+@ExtendWith(MockitoExtension.class)
+class BoatSearchServiceTest {
+
+    @Mock
+    private BoatSearchPort boatSearch;
+
+    @InjectMocks
+    private BoatSearchService boatSearchService;
+
+    @Test
+    void searchBoats_ShouldReturnMatchingBoatDtos() {
+        Boat boat = new Boat();
+        boat.setId(1L);
+        boat.setName("Test Boat");
+        when(boatSearch.search("test", 20)).thenReturn(Arrays.asList(boat));
+
+        List<BoatDto> result = boatSearchService.searchBoats("test", 20);
+
+        assertEquals(1, result.size());
+        assertEquals("Test Boat", result.get(0).getName());
+    }
+
+    @Test
+    void searchBoats_WithBlankQueryOrInvalidLimit_ShouldThrowException() {
+        assertThrows(ResponseStatusException.class, () -> boatSearchService.searchBoats(" ", 20));
+        assertThrows(ResponseStatusException.class, () -> boatSearchService.searchBoats("test", 0));
+        assertThrows(ResponseStatusException.class, () -> boatSearchService.searchBoats("test", BoatSearchService.MAX_RESULTS + 1));
+        verify(boatSearch, never()).search(anyString(), anyInt());
+    }
+}
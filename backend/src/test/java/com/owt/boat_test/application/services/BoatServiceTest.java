@@ -3,8 +3,10 @@ package com.owt.boat_test.application.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,10 +14,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.owt.boat_test.application.dtos.BoatDeltaDto;
 import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.application.dtos.BoatPageDto;
+import com.owt.boat_test.application.dtos.BoatPatchDto;
+import com.owt.boat_test.application.dtos.BoatProjectionDto;
 import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
 import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +65,114 @@ class BoatServiceTest {
         verify(boatRepository).findAll();
     }
 
+    @Test
+    void renderAllBoats_ShouldApplyTheRendererToEveryBoat() {
+        when(boatRepository.findAll()).thenReturn(Arrays.asList(testBoat));
+
+        List<String> result = boatService.renderAllBoats(Boat::getName);
+
+        assertEquals(List.of("Test Boat"), result);
+        verify(boatRepository).findAll();
+    }
+
+    @Test
+    void getBoatPage_WithMoreBoatsThanLimit_ShouldReturnNextCursor() {
+        Boat secondBoat = new Boat();
+        secondBoat.setId(2L);
+        secondBoat.setName("Second Boat");
+        when(boatRepository.findPage(null, 2)).thenReturn(Arrays.asList(testBoat, secondBoat));
+
+        BoatPageDto page = boatService.getBoatPage(1, null, false);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertNotNull(page.getNextCursor());
+        assertNull(page.getTotalCount());
+        verify(boatRepository, never()).count();
+
+        when(boatRepository.findPage(1L, 2)).thenReturn(Arrays.asList(secondBoat));
+
+        BoatPageDto nextPage = boatService.getBoatPage(1, page.getNextCursor(), false);
+
+        assertEquals(2L, nextPage.getItems().get(0).getId());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    void getBoatPage_WithIncludeTotal_ShouldReturnTotalCount() {
+        when(boatRepository.findPage(null, 11)).thenReturn(Arrays.asList(testBoat));
+        when(boatRepository.count()).thenReturn(1L);
+
+        BoatPageDto page = boatService.getBoatPage(10, null, true);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertEquals(1L, page.getTotalCount());
+    }
+
+    @Test
+    void getBoatPage_WithFieldsWithoutDescription_ShouldReadThePageWithoutIt() {
+        Boat summary = new Boat();
+        summary.setId(1L);
+        summary.setName("Test Boat");
+        when(boatRepository.findPageWithoutDescription(null, 11)).thenReturn(new ArrayList<>(List.of(summary)));
+
+        BoatPageDto page = boatService.getBoatPage(10, null, false, "id,name");
+
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertEquals("Test Boat", page.getItems().get(0).getName());
+        assertNull(page.getItems().get(0).getVersion());
+        verify(boatRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void getBoatPage_WithInvalidLimitOrCursor_ShouldThrowException() {
+        assertThrows(ResponseStatusException.class, () -> boatService.getBoatPage(0, null, false));
+        assertThrows(ResponseStatusException.class, () -> boatService.getBoatPage(BoatService.MAX_PAGE_SIZE + 1, null, false));
+        assertThrows(ResponseStatusException.class, () -> boatService.getBoatPage(10, "not a cursor", false));
+        assertThrows(ResponseStatusException.class, () -> boatService.getBoatPage(10, null, false, "id,unknown"));
+        verify(boatRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void getBoatChanges_ShouldReturnChangedBoatsDeletedIdsAndRevision() {
+        when(boatRepository.findChangesSince(5L))
+            .thenReturn(new BoatDelta(9L, Arrays.asList(testBoat), Arrays.asList(3L), false));
+
+        BoatDeltaDto delta = boatService.getBoatChanges(5L);
+
+        assertEquals(1, delta.getBoats().size());
+        assertEquals(testBoatDto.getName(), delta.getBoats().get(0).getName());
+        assertEquals(List.of(3L), delta.getDeletedIds());
+        assertEquals(9L, delta.getRevision());
+        assertFalse(delta.isReset());
+    }
+
+    @Test
+    void getBoatChanges_WithNegativeRevision_ShouldThrowException() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> boatService.getBoatChanges(-1L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(boatRepository, never()).findChangesSince(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportBoats_ShouldPassEachBoatAsDto() {
+        doAnswer(invocation -> {
+            ((Consumer<Boat>) invocation.getArgument(0)).accept(testBoat);
+            return null;
+        }).when(boatRepository).forEach(any());
+        List<BoatDto> exported = new ArrayList<>();
+
+        boatService.exportBoats(exported::add);
+
+        assertEquals(1, exported.size());
+        assertEquals(testBoatDto.getName(), exported.get(0).getName());
+        verify(boatRepository, never()).findAll();
+    }
+
     @Test
     void getBoatById_WithExistingId_ShouldReturnBoatDto() {
         when(boatRepository.findById(1L)).thenReturn(testBoat);
@@ -70,6 +186,55 @@ class BoatServiceTest {
         verify(boatRepository).findById(1L);
     }
 
+    @Test
+    void getAllBoats_WithFields_ShouldReadBoatsWithoutDescriptionAndKeepSelectedFields() {
+        testBoat.setDescription(null);
+        testBoat.setVersion(3L);
+        when(boatRepository.findAllWithoutDescription()).thenReturn(Arrays.asList(testBoat));
+
+        List<BoatDto> result = boatService.getAllBoats(" id, name ");
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals("Test Boat", result.get(0).getName());
+        assertNull(result.get(0).getVersion());
+        verify(boatRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllBoats_WithUnknownField_ShouldThrowBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> boatService.getAllBoats("id,tonnage"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(boatRepository);
+    }
+
+    @Test
+    void getBoatById_WithDescriptionField_ShouldReadTheWholeBoat() {
+        testBoat.setVersion(2L);
+        when(boatRepository.findById(1L)).thenReturn(testBoat);
+
+        BoatProjectionDto projection = boatService.getBoatById(1L, "description");
+
+        BoatDto result = projection.getBoat();
+        assertEquals(2L, projection.getVersion());
+        assertNull(result.getId());
+        assertNull(result.getName());
+        assertEquals("A boat for testing", result.getDescription());
+        verify(boatRepository, never()).findByIdWithoutDescription(any());
+    }
+
+    @Test
+    void getBoatById_WithFieldsAndNonExistingId_ShouldThrowNotFound() {
+        when(boatRepository.findByIdWithoutDescription(999L)).thenReturn(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> boatService.getBoatById(999L, "name"));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
     @Test
     void getBoatById_WithNonExistingId_ShouldThrowException() {
         when(boatRepository.findById(999L)).thenReturn(null);
@@ -103,8 +268,6 @@ class BoatServiceTest {
 
     @Test
     void updateBoat_WithExistingId_ShouldReturnUpdatedBoatDto() {
-        when(boatRepository.findById(1L)).thenReturn(testBoat);
-        
         BoatDto dtoToUpdate = new BoatDto();
         dtoToUpdate.setId(1L);
         dtoToUpdate.setName("Updated Boat");
@@ -114,8 +277,9 @@ class BoatServiceTest {
         updatedBoat.setId(1L);
         updatedBoat.setName("Updated Boat");
         updatedBoat.setDescription("An updated description");
+        updatedBoat.setVersion(1L);
 
-        when(boatRepository.save(any(Boat.class))).thenReturn(updatedBoat);
+        when(boatRepository.update(any(Boat.class), isNull())).thenReturn(updatedBoat);
 
         BoatDto result = boatService.updateBoat(1L, dtoToUpdate);
 
@@ -123,13 +287,14 @@ class BoatServiceTest {
         assertEquals(1L, result.getId());
         assertEquals("Updated Boat", result.getName());
         assertEquals("An updated description", result.getDescription());
-        verify(boatRepository).findById(1L);
-        verify(boatRepository).save(any(Boat.class));
+        verify(boatRepository, never()).findById(anyLong());
+        verify(boatRepository, never()).findVersionById(anyLong());
     }
 
     @Test
-    void updateBoat_WithNonExistingId_ShouldThrowException() {
-        when(boatRepository.findById(999L)).thenReturn(null);
+    void updateBoat_WithNonExistingId_ShouldThrowNotFound() {
+        when(boatRepository.update(any(Boat.class), isNull())).thenReturn(null);
+        when(boatRepository.findVersionById(999L)).thenReturn(null);
         
         BoatDto dtoToUpdate = new BoatDto();
         dtoToUpdate.setId(999L);
@@ -137,36 +302,145 @@ class BoatServiceTest {
         dtoToUpdate.setDescription("An updated description");
 
         // Act & Assert
-        assertThrows(ResponseStatusException.class, () -> {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             boatService.updateBoat(999L, dtoToUpdate);
         });
-        verify(boatRepository).findById(999L);
-        verify(boatRepository, never()).save(any(Boat.class));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void updateBoat_WithExpectedVersion_ShouldUpdateConditionally() {
+        when(boatRepository.update(any(Boat.class), eq(3L))).thenAnswer(invocation -> {
+            Boat boat = invocation.getArgument(0);
+            boat.setVersion(4L);
+            return boat;
+        });
+
+        BoatDto result = boatService.updateBoat(1L, new BoatDto(null, "Updated Boat", null), 3L);
+
+        assertEquals(1L, result.getId());
+        assertEquals(4L, result.getVersion());
+        verify(boatRepository).update(argThat(boat -> boat.getId() == 1L && "Updated Boat".equals(boat.getName())), eq(3L));
+    }
+
+    @Test
+    void updateBoat_WithStaleExpectedVersion_ShouldThrowPreconditionFailed() {
+        when(boatRepository.update(any(Boat.class), eq(3L))).thenReturn(null);
+        when(boatRepository.findVersionById(1L)).thenReturn(4L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            boatService.updateBoat(1L, testBoatDto, 3L);
+        });
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+    }
+
+    @Test
+    void updateBoat_WithStaleVersionInBody_ShouldThrowConflict() {
+        when(boatRepository.update(any(Boat.class), eq(3L))).thenReturn(null);
+        when(boatRepository.findVersionById(1L)).thenReturn(4L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            boatService.updateBoat(1L, new BoatDto(1L, "Updated Boat", null, 3L));
+        });
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    @Test
+    void patchBoat_ShouldPassOnlyTheSentFields() {
+        when(boatRepository.patch(any(Boat.class), isNull())).thenReturn(testBoat);
+
+        BoatDto result = boatService.patchBoat(1L, new BoatPatchDto("Renamed Boat", null), null);
+
+        assertEquals(testBoat.getName(), result.getName());
+        verify(boatRepository).patch(argThat(boat -> boat.getId() == 1L
+            && "Renamed Boat".equals(boat.getName()) && boat.getDescription() == null), isNull());
+    }
+
+    @Test
+    void patchBoat_WithDescriptionSentAsNull_ShouldRemoveItKeepingTheName() {
+        Boat currentBoat = new Boat();
+        currentBoat.setId(1L);
+        currentBoat.setName("Test Boat");
+        currentBoat.setVersion(3L);
+        Boat updatedBoat = new Boat();
+        updatedBoat.setId(1L);
+        updatedBoat.setName("Test Boat");
+        updatedBoat.setVersion(4L);
+        when(boatRepository.findByIdWithoutDescription(1L)).thenReturn(currentBoat);
+        when(boatRepository.update(any(Boat.class), eq(3L))).thenReturn(updatedBoat);
+        BoatPatchDto patch = new BoatPatchDto();
+        patch.setDescription(null);
+
+        BoatDto result = boatService.patchBoat(1L, patch, null);
+
+        assertNull(result.getDescription());
+        assertEquals(4L, result.getVersion());
+        verify(boatRepository).update(argThat(boat -> boat.getId() == 1L
+            && "Test Boat".equals(boat.getName()) && boat.getDescription() == null), eq(3L));
+        verify(boatRepository, never()).patch(any(Boat.class), any());
+    }
+
+    @Test
+    void patchBoat_WithDescriptionSentAsNullAndStaleVersion_ShouldThrowPreconditionFailed() {
+        Boat currentBoat = new Boat();
+        currentBoat.setId(1L);
+        currentBoat.setName("Test Boat");
+        currentBoat.setVersion(4L);
+        when(boatRepository.findByIdWithoutDescription(1L)).thenReturn(currentBoat);
+        when(boatRepository.findVersionById(1L)).thenReturn(4L);
+        BoatPatchDto patch = new BoatPatchDto();
+        patch.setDescription(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            boatService.patchBoat(1L, patch, 3L);
+        });
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        verify(boatRepository, never()).update(any(Boat.class), any());
+    }
+
+    @Test
+    void patchBoat_WithNonExistingId_ShouldThrowNotFound() {
+        when(boatRepository.patch(any(Boat.class), isNull())).thenReturn(null);
+        when(boatRepository.findVersionById(999L)).thenReturn(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            boatService.patchBoat(999L, new BoatPatchDto(null, "A new description"), null);
+        });
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void getBoatVersion_ShouldReadVersionWithoutLoadingBoat() {
+        when(boatRepository.findVersionById(1L)).thenReturn(2L);
+        when(boatRepository.findVersionById(999L)).thenReturn(null);
+
+        assertEquals(2L, boatService.getBoatVersion(1L));
+        assertThrows(ResponseStatusException.class, () -> boatService.getBoatVersion(999L));
+        verify(boatRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteBoat_WithExistingId_ShouldCallRepositoryDelete() {
         // Arrange
-        when(boatRepository.findById(1L)).thenReturn(testBoat);
+        when(boatRepository.delete(1L)).thenReturn(true);
 
         // Act
         boatService.deleteBoat(1L);
 
         // Assert
-        verify(boatRepository).findById(1L);
         verify(boatRepository).delete(1L);
+        verify(boatRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteBoat_WithNonExistingId_ShouldThrowException() {
         // Arrange
-        when(boatRepository.findById(999L)).thenReturn(null);
+        when(boatRepository.delete(999L)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(ResponseStatusException.class, () -> {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             boatService.deleteBoat(999L);
         });
-        verify(boatRepository).findById(999L);
-        verify(boatRepository, never()).delete(anyLong());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
     }
-} 
\ No newline at end of file
+}
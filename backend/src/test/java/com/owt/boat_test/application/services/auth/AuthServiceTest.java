@@ -3,17 +3,33 @@ package com.owt.boat_test.application.services.auth;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.owt.boat_test.application.dtos.auth.JwtResponse;
 import com.owt.boat_test.application.dtos.auth.LoginRequest;
+import com.owt.boat_test.domain.models.RefreshToken;
+import com.owt.boat_test.domain.ports.repositories.RefreshTokenRepositoryPort;
 import com.owt.boat_test.infrastructure.security.CustomUserDetailsService;
 import com.owt.boat_test.infrastructure.security.JwtProvider;
+import com.owt.boat_test.infrastructure.security.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
@@ -24,13 +40,24 @@ class AuthServiceTest {
     @Mock
     private JwtProvider jwtProvider;
 
-    @InjectMocks
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private AuthService authService;
 
     private LoginRequest validLoginRequest;
 
     @BeforeEach
     void setUp() {
+        authService = new AuthService(userDetailsService, jwtProvider, refreshTokenRepository, tokenRevocationList,
+            meterRegistry, Duration.ofDays(7));
+
         validLoginRequest = new LoginRequest();
         validLoginRequest.setUsername("admin");
         validLoginRequest.setPassword("password");
@@ -41,6 +68,7 @@ class AuthServiceTest {
         // Arrange
         when(userDetailsService.verifyPassword("password", "admin")).thenReturn(true);
         when(jwtProvider.generateToken("admin")).thenReturn("test-jwt-token");
+        when(jwtProvider.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(5));
 
         // Act
         JwtResponse response = authService.authenticate(validLoginRequest);
@@ -48,10 +76,94 @@ class AuthServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("test-jwt-token", response.getToken());
+        assertNotNull(response.getRefreshToken());
+        assertEquals(300, response.getExpiresIn());
         verify(userDetailsService).verifyPassword("password", "admin");
         verify(jwtProvider).generateToken("admin");
     }
 
+    @Test
+    void authenticate_ShouldStoreOnlyTheHashOfTheRefreshToken() {
+        // Arrange
+        when(userDetailsService.verifyPassword("password", "admin")).thenReturn(true);
+        when(jwtProvider.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(5));
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+
+        // Act
+        JwtResponse response = authService.authenticate(validLoginRequest);
+
+        // Assert
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("admin", saved.getValue().getUsername());
+        assertNotEquals(response.getRefreshToken(), saved.getValue().getTokenHash());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(Instant.now().plus(Duration.ofDays(6))));
+    }
+
+    @Test
+    void refresh_WithValidToken_ShouldConsumeItAndIssueNewTokens() {
+        // Arrange
+        when(userDetailsService.verifyPassword("password", "admin")).thenReturn(true);
+        when(jwtProvider.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(5));
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        String refreshToken = authService.authenticate(validLoginRequest).getRefreshToken();
+        verify(refreshTokenRepository).save(saved.capture());
+        when(refreshTokenRepository.consume(saved.getValue().getTokenHash())).thenReturn(saved.getValue());
+        when(jwtProvider.generateToken("admin")).thenReturn("refreshed-jwt-token");
+
+        // Act
+        JwtResponse response = authService.refresh(refreshToken);
+
+        // Assert
+        assertEquals("refreshed-jwt-token", response.getToken());
+        assertNotEquals(refreshToken, response.getRefreshToken());
+        verify(refreshTokenRepository).consume(saved.getValue().getTokenHash());
+    }
+
+    @Test
+    void refresh_WithUnknownOrUsedToken_ShouldThrowUnauthorized() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> authService.refresh("unknown-token"));
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        verify(jwtProvider, never()).generateToken(anyString());
+    }
+
+    @Test
+    void refresh_WithExpiredToken_ShouldThrowUnauthorized() {
+        // Arrange
+        when(refreshTokenRepository.consume(anyString()))
+            .thenReturn(new RefreshToken("hash", "admin", Instant.now().minusSeconds(1)));
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> authService.refresh("expired-token"));
+        verify(jwtProvider, never()).generateToken(anyString());
+    }
+
+    @Test
+    void logout_ShouldDeleteTheRefreshTokenAndRevokeTheAccessToken() {
+        // Arrange
+        Date expiration = Date.from(Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS));
+        Claims claims = Jwts.claims().id("token-id").subject("admin").expiration(expiration).build();
+        when(jwtProvider.verifyToken("access-token")).thenReturn(claims);
+
+        // Act
+        authService.logout("refresh-token", "access-token");
+
+        // Assert
+        verify(refreshTokenRepository).consume(anyString());
+        verify(tokenRevocationList).revoke("token-id", expiration.toInstant());
+    }
+
+    @Test
+    void logout_WithInvalidAccessToken_ShouldRevokeNothing() {
+        // Act
+        authService.logout(null, "invalid-token");
+
+        // Assert
+        verify(refreshTokenRepository, never()).consume(anyString());
+        verify(tokenRevocationList, never()).revoke(anyString(), any());
+    }
+
     @Test
     void authenticate_WithInvalidCredentials_ShouldThrowException() {
         // Arrange
@@ -66,4 +178,20 @@ class AuthServiceTest {
         verify(userDetailsService).verifyPassword("password", "admin");
         verify(jwtProvider, never()).generateToken(anyString());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void authenticate_ShouldRecordLoginLatencyByOutcome() {
+        // Arrange
+        when(userDetailsService.verifyPassword("password", "admin")).thenReturn(true, false);
+        when(jwtProvider.generateToken("admin")).thenReturn("test-jwt-token");
+        when(jwtProvider.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(5));
+
+        // Act
+        authService.authenticate(validLoginRequest);
+        assertThrows(RuntimeException.class, () -> authService.authenticate(validLoginRequest));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("boats.auth.login").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("boats.auth.login").tag("outcome", "invalid_credentials").timer().count());
+    }
+}
@@ -0,0 +1,106 @@
+package com.owt.boat_test.infrastructure.adapters.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.owt.boat_test.application.dtos.BoatDto;
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoatJsonFragmentCacheTest {
+
+    private ObjectMapper objectMapper;
+    private BoatJsonFragmentCache fragmentCache;
+
+    private Boat testBoat;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = spy(new ObjectMapper());
+        fragmentCache = new BoatJsonFragmentCache(objectMapper, new SimpleMeterRegistry(), 100);
+
+        testBoat = new Boat();
+        testBoat.setId(1L);
+        testBoat.setName("Test Boat");
+        testBoat.setDescription("A boat for testing");
+        testBoat.setVersion(0L);
+    }
+
+    @Test
+    void fragment_ShouldSerializeTheBoatAsItsDto() throws Exception {
+        // Act
+        byte[] json = fragmentCache.fragment(testBoat);
+
+        // Assert
+        assertEquals("{\"id\":1,\"name\":\"Test Boat\",\"description\":\"A boat for testing\",\"version\":0}",
+            new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fragment_WithSameVersion_ShouldSerializeOnlyOnce() throws Exception {
+        // Act
+        byte[] first = fragmentCache.fragment(testBoat);
+        byte[] second = fragmentCache.fragment(testBoat);
+
+        // Assert
+        assertSame(first, second);
+        verify(objectMapper, times(1)).writeValueAsBytes(any(BoatDto.class));
+    }
+
+    @Test
+    void fragment_WithNewVersion_ShouldSerializeAgain() throws Exception {
+        // Arrange
+        fragmentCache.fragment(testBoat);
+        testBoat.setName("Renamed Boat");
+        testBoat.setVersion(1L);
+
+        // Act
+        byte[] json = fragmentCache.fragment(testBoat);
+
+        // Assert
+        assertTrue(new String(json, StandardCharsets.UTF_8).contains("\"name\":\"Renamed Boat\""));
+        verify(objectMapper, times(2)).writeValueAsBytes(any(BoatDto.class));
+    }
+
+    @Test
+    void onBoatChange_ShouldDropTheFragmentOfTheBoat() throws Exception {
+        // Arrange
+        byte[] first = fragmentCache.fragment(testBoat);
+
+        // Act
+        fragmentCache.onBoatChange(BoatChangeEvent.deleted(1L));
+        byte[] second = fragmentCache.fragment(testBoat);
+
+        // Assert
+        assertNotSame(first, second);
+        verify(objectMapper, times(2)).writeValueAsBytes(any(BoatDto.class));
+    }
+
+    @Test
+    void invalidate_ShouldOnlyDropFragmentsOlderThanTheVersion() throws Exception {
+        // Arrange
+        Boat otherBoat = new Boat();
+        otherBoat.setId(2L);
+        otherBoat.setName("Other Boat");
+        otherBoat.setVersion(4L);
+        byte[] first = fragmentCache.fragment(testBoat);
+        byte[] other = fragmentCache.fragment(otherBoat);
+
+        // Act
+        fragmentCache.invalidate(List.of(new BoatInvalidation(1L, 1L), new BoatInvalidation(2L, 4L)));
+
+        // Assert
+        assertNotSame(first, fragmentCache.fragment(testBoat));
+        assertSame(other, fragmentCache.fragment(otherBoat));
+    }
+}
@@ -0,0 +1,100 @@
+package com.owt.boat_test.infrastructure.adapters.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.google.protobuf.UnknownFieldSet;
+import com.owt.boat_test.application.dtos.BoatBatchResultDto;
+import com.owt.boat_test.application.dtos.BoatDto;
+
+class BoatProtobufHttpMessageConverterTest {
+
+    private static final Type BOAT_LIST = new ParameterizedTypeReference<List<BoatDto>>() { }.getType();
+    private static final Type RESULT_LIST = new ParameterizedTypeReference<List<BoatBatchResultDto>>() { }.getType();
+
+    private final BoatProtobufHttpMessageConverter converter = new BoatProtobufHttpMessageConverter();
+
+    @Test
+    void write_ShouldEncodeTheFieldsOfTheBoatMessage() throws Exception {
+        // Arrange
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(new BoatDto(7L, "Calypso", "Research vessel", 3L), BoatDto.class,
+            BoatProtobufHttpMessageConverter.PROTOBUF, output);
+
+        // Assert
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(output.getBodyAsBytes());
+        assertEquals(List.of(7L), fields.getField(1).getVarintList());
+        assertEquals("Calypso", fields.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Research vessel", fields.getField(3).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(3L), fields.getField(4).getVarintList());
+        assertEquals("application/x-protobuf", output.getHeaders().getContentType().toString());
+    }
+
+    @Test
+    void writeThenRead_ShouldRoundTripAListOfBoats() throws Exception {
+        // Arrange
+        List<BoatDto> boats = Arrays.asList(new BoatDto(1L, "Calypso", "Research vessel", 0L),
+            new BoatDto(2L, "Pourquoi Pas", null, 5L));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(boats, BOAT_LIST, BoatProtobufHttpMessageConverter.PROTOBUF, output);
+        @SuppressWarnings("unchecked")
+        List<BoatDto> read = (List<BoatDto>) converter.read(BOAT_LIST, null,
+            new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Assert
+        assertEquals(2, read.size());
+        assertEquals("Calypso", read.get(0).getName());
+        assertEquals(0L, read.get(0).getVersion());
+        assertEquals(2L, read.get(1).getId());
+        assertNull(read.get(1).getDescription());
+        assertEquals(5L, read.get(1).getVersion());
+    }
+
+    @Test
+    void read_ShouldSkipUnknownFieldsAndLeaveMissingOnesNull() throws Exception {
+        // Arrange: name = "Nautilus", then an unknown field 9 = 42
+        byte[] body = {0x12, 0x08, 'N', 'a', 'u', 't', 'i', 'l', 'u', 's', 0x48, 0x2a};
+
+        // Act
+        BoatDto boat = (BoatDto) converter.read(BoatDto.class, null, new MockHttpInputMessage(body));
+
+        // Assert
+        assertEquals("Nautilus", boat.getName());
+        assertNull(boat.getId());
+        assertNull(boat.getDescription());
+        assertNull(boat.getVersion());
+    }
+
+    @Test
+    void read_WithTruncatedMessage_ShouldThrowNotReadable() {
+        // Arrange: a name announced as 8 bytes long followed by 2 only
+        byte[] body = {0x12, 0x08, 'N', 'a'};
+
+        // Act & Assert
+        assertThrows(HttpMessageNotReadableException.class,
+            () -> converter.read(BoatDto.class, null, new MockHttpInputMessage(body)));
+    }
+
+    @Test
+    void canWrite_ShouldOnlyAcceptBoatsAndListsOfBoats() {
+        assertTrue(converter.canWrite(Object.class, BoatDto.class, BoatProtobufHttpMessageConverter.PROTOBUF));
+        assertTrue(converter.canWrite(BOAT_LIST, List.class, BoatProtobufHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(RESULT_LIST, List.class, BoatProtobufHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(String.class, String.class, BoatProtobufHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(BoatDto.class, BoatDto.class, MediaType.APPLICATION_JSON));
+    }
+}
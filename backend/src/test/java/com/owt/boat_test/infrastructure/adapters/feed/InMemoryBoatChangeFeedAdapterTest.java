@@ -0,0 +1,82 @@
+package com.owt.boat_test.infrastructure.adapters.feed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatChange;
+
+class InMemoryBoatChangeFeedAdapterTest {
+
+    private InMemoryBoatChangeFeedAdapter feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new InMemoryBoatChangeFeedAdapter(3);
+    }
+
+    @Test
+    void onBoatChange_ShouldAssignSequenceNumbersAndTypes() {
+        // Act
+        feed.onBoatChange(BoatChangeEvent.saved(boat(1L, 0L)));
+        feed.onBoatChange(BoatChangeEvent.saved(boat(1L, 1L)));
+        feed.onBoatChange(BoatChangeEvent.deleted(1L));
+
+        // Assert
+        List<BoatChange> changes = feed.readAfter(0L, 10);
+        assertEquals(3L, feed.getLatestSequence());
+        assertEquals(List.of(1L, 2L, 3L), changes.stream().map(BoatChange::getSequence).toList());
+        assertEquals(List.of(BoatChange.Type.CREATED, BoatChange.Type.UPDATED, BoatChange.Type.DELETED),
+            changes.stream().map(BoatChange::getType).toList());
+        assertNull(changes.get(2).getBoat());
+    }
+
+    @Test
+    void readAfter_ShouldHonourTheLimitAndDetectOverwrittenChanges() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            feed.onBoatChange(BoatChangeEvent.saved(boat(id, 0L)));
+        }
+
+        // Act & Assert
+        assertEquals(List.of(4L), feed.readAfter(3L, 1).stream().map(BoatChange::getSequence).toList());
+        assertEquals(3, feed.readAfter(2L, 10).size());
+        assertNull(feed.readAfter(1L, 10));
+        assertNull(feed.readAfter(6L, 10));
+        assertTrue(feed.readAfter(5L, 10).isEmpty());
+    }
+
+    @Test
+    void awaitAfter_ShouldWakeUpOnAppendOrTimeOut() throws Exception {
+        // Arrange
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.awaitAfter(0L, Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Act
+        feed.onBoatChange(BoatChangeEvent.saved(boat(1L, 0L)));
+
+        // Assert
+        assertTrue(waiting.get());
+        assertFalse(feed.awaitAfter(1L, Duration.ofMillis(10)));
+    }
+
+    private static Boat boat(Long id, Long version) {
+        Boat boat = new Boat();
+        boat.setId(id);
+        boat.setName("Boat " + id);
+        boat.setVersion(version);
+        return boat;
+    }
+}
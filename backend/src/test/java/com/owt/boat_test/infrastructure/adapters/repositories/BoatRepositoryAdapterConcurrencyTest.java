@@ -0,0 +1,60 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.owt.boat_test.domain.models.Boat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BoatRepositoryAdapterConcurrencyTest {
+
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private BoatRepositoryAdapter boatRepositoryAdapter;
+
+    @Test
+    void delete_ConcurrentWithPatchOfTheSameBoat_ShouldNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Arrange
+                Boat boat = new Boat();
+                boat.setName("Contended Boat " + round);
+                Long id = boatRepositoryAdapter.save(boat).getId();
+                Boat patch = new Boat();
+                patch.setId(id);
+                patch.setDescription("Patched");
+                CyclicBarrier start = new CyclicBarrier(2);
+
+                // Act
+                Future<Boolean> deleting = executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return boatRepositoryAdapter.delete(id);
+                });
+                Future<Boat> patching = executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return boatRepositoryAdapter.patch(patch, null);
+                });
+
+                // Assert: both complete, and the boat is gone whichever ran first
+                assertTrue(deleting.get(10, TimeUnit.SECONDS));
+                patching.get(10, TimeUnit.SECONDS);
+                assertNull(boatRepositoryAdapter.findById(id));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
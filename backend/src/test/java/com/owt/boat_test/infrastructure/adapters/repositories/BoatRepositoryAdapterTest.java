@@ -3,19 +3,34 @@ package com.owt.boat_test.infrastructure.adapters.repositories;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import com.owt.boat_test.domain.events.BoatChangeEvent;
 import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.SavedBoats;
+import com.owt.boat_test.domain.models.BoatDelta;
 import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.entities.BoatRevisionEntity;
+import com.owt.boat_test.infrastructure.entities.BoatSummary;
+import com.owt.boat_test.infrastructure.entities.BoatTombstoneEntity;
+
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 class BoatRepositoryAdapterTest {
@@ -23,6 +38,18 @@ class BoatRepositoryAdapterTest {
     @Mock
     private BoatJpaRepository boatJpaRepository;
 
+    @Mock
+    private BoatRevisionJpaRepository boatRevisionJpaRepository;
+
+    @Mock
+    private BoatTombstoneJpaRepository boatTombstoneJpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BoatRepositoryAdapter boatRepositoryAdapter;
 
@@ -58,6 +85,105 @@ class BoatRepositoryAdapterTest {
         assertEquals(testBoat.getName(), result.getName());
         assertEquals(testBoat.getDescription(), result.getDescription());
         verify(boatJpaRepository).save(any(BoatEntity.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BoatChangeEvent
+            && ((BoatChangeEvent) event).getType() == BoatChangeEvent.Type.SAVED));
+    }
+
+    @Test
+    void saveAll_ShouldUpdateExistingEntitiesAndPersistNewOnes() {
+        // Arrange
+        Boat newBoat = new Boat();
+        newBoat.setId(99L);
+        newBoat.setName("New Boat");
+        Boat changedBoat = new Boat();
+        changedBoat.setId(1L);
+        changedBoat.setName("Renamed Boat");
+        when(boatJpaRepository.findAllById(Arrays.asList(1L, 99L))).thenReturn(Arrays.asList(testBoatEntity));
+
+        // Act
+        List<Boat> result = boatRepositoryAdapter.saveAll(Arrays.asList(changedBoat, newBoat));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Renamed Boat", testBoatEntity.getName());
+        verify(entityManager, times(1)).persist(argThat(entity -> entity instanceof BoatEntity
+            && ((BoatEntity) entity).getId() == null && "New Boat".equals(((BoatEntity) entity).getName())));
+        verify(entityManager).flush();
+        verify(boatJpaRepository, never()).save(any(BoatEntity.class));
+    }
+
+    @Test
+    void upsertAll_ShouldReportTheExistingIdsFromTheSameQuery() {
+        // Arrange
+        Boat newBoat = new Boat();
+        newBoat.setId(99L);
+        newBoat.setName("New Boat");
+        Boat changedBoat = new Boat();
+        changedBoat.setId(1L);
+        changedBoat.setName("Renamed Boat");
+        when(boatJpaRepository.findAllById(Arrays.asList(1L, 99L))).thenReturn(Arrays.asList(testBoatEntity));
+
+        // Act
+        SavedBoats result = boatRepositoryAdapter.upsertAll(Arrays.asList(changedBoat, newBoat));
+
+        // Assert
+        assertEquals(2, result.getBoats().size());
+        assertEquals(Set.of(1L), result.getUpdatedIds());
+        verify(boatJpaRepository, times(1)).findAllById(anyList());
+        verify(boatJpaRepository, never()).findExistingIds(anyList());
+    }
+
+    @Test
+    void deleteAll_ShouldDeleteOnlyExistingIdsInBatch() {
+        // Arrange
+        when(boatJpaRepository.findExistingIds(Arrays.asList(1L, 99L))).thenReturn(Arrays.asList(1L));
+
+        // Act
+        Set<Long> deleted = boatRepositoryAdapter.deleteAll(Arrays.asList(1L, 99L));
+
+        // Assert
+        assertEquals(Set.of(1L), deleted);
+        verify(boatJpaRepository).deleteAllByIdInBatch(Set.of(1L));
+    }
+
+    @Test
+    void save_ShouldIncrementRevision() {
+        // Arrange
+        when(boatJpaRepository.save(any(BoatEntity.class))).thenReturn(testBoatEntity);
+        when(boatRevisionJpaRepository.incrementAndGet()).thenReturn(4L, 5L);
+
+        // Act
+        boatRepositoryAdapter.save(testBoat);
+        boatRepositoryAdapter.save(testBoat);
+
+        // Assert
+        verify(boatRevisionJpaRepository, times(2)).incrementAndGet();
+        verify(boatJpaRepository).save(argThat(entity -> entity.getRevision() == 5L));
+    }
+
+    @Test
+    void initializeRevision_ShouldCreateCounterOnlyWhenMissing() {
+        // Arrange
+        when(boatRevisionJpaRepository.existsById(BoatRevisionEntity.SINGLETON_ID)).thenReturn(false, true);
+
+        // Act
+        boatRepositoryAdapter.initializeRevision();
+        boatRepositoryAdapter.initializeRevision();
+
+        // Assert
+        verify(boatRevisionJpaRepository, times(1)).save(any(BoatRevisionEntity.class));
+    }
+
+    @Test
+    void getRevision_ShouldReadCounterOrDefaultToZero() {
+        // Arrange
+        when(boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(new BoatRevisionEntity(7L)));
+
+        // Act & Assert
+        assertEquals(0L, boatRepositoryAdapter.getRevision());
+        assertEquals(7L, boatRepositoryAdapter.getRevision());
     }
 
     @Test
@@ -77,6 +203,71 @@ class BoatRepositoryAdapterTest {
         verify(boatJpaRepository).findAll();
     }
 
+    @Test
+    void findPage_WithoutCursor_ShouldReadFirstEntities() {
+        // Arrange
+        when(boatJpaRepository.findAllByOrderByIdAsc(Limit.of(10))).thenReturn(Arrays.asList(testBoatEntity));
+
+        // Act
+        List<Boat> result = boatRepositoryAdapter.findPage(null, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(testBoat.getId(), result.get(0).getId());
+        verify(boatJpaRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void findPage_WithCursor_ShouldSeekAfterId() {
+        // Arrange
+        when(boatJpaRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).thenReturn(Arrays.asList(testBoatEntity));
+
+        // Act
+        List<Boat> result = boatRepositoryAdapter.findPage(0L, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(testBoat.getName(), result.get(0).getName());
+        verify(boatJpaRepository, never()).findAllByOrderByIdAsc(any(Limit.class));
+    }
+
+    @Test
+    void findPageWithoutDescription_WithCursor_ShouldSeekAfterIdOnTheProjections() {
+        // Arrange
+        when(boatJpaRepository.findSummariesByIdGreaterThan(0L, Limit.of(10)))
+            .thenReturn(Arrays.asList(new BoatSummary(1L, "Test Boat", 2L)));
+
+        // Act
+        List<Boat> result = boatRepositoryAdapter.findPageWithoutDescription(0L, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Test Boat", result.get(0).getName());
+        assertNull(result.get(0).getDescription());
+        verify(boatJpaRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void forEach_ShouldPassEveryStreamedBoatAndClearPerChunk() {
+        // Arrange
+        List<BoatEntity> entities = new ArrayList<>();
+        for (long i = 1; i <= BoatJpaRepository.STREAM_FETCH_SIZE + 1; i++) {
+            BoatEntity entity = new BoatEntity();
+            entity.setId(i);
+            entities.add(entity);
+        }
+        when(boatJpaRepository.streamAllByOrderByIdAsc()).thenReturn(entities.stream());
+        List<Boat> received = new ArrayList<>();
+
+        // Act
+        boatRepositoryAdapter.forEach(received::add);
+
+        // Assert
+        assertEquals(entities.size(), received.size());
+        assertEquals(1L, received.get(0).getId());
+        verify(entityManager, times(1)).clear();
+    }
+
     @Test
     void findById_WithExistingId_ShouldReturnBoat() {
         // Arrange
@@ -93,6 +284,35 @@ class BoatRepositoryAdapterTest {
         verify(boatJpaRepository).findById(1L);
     }
 
+    @Test
+    void findAllWithoutDescription_ShouldMapTheProjections() {
+        // Arrange
+        when(boatJpaRepository.findAllSummaries()).thenReturn(Arrays.asList(new BoatSummary(1L, "Test Boat", 2L)));
+
+        // Act
+        List<Boat> result = boatRepositoryAdapter.findAllWithoutDescription();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals("Test Boat", result.get(0).getName());
+        assertEquals(2L, result.get(0).getVersion());
+        assertNull(result.get(0).getDescription());
+        verify(boatJpaRepository, never()).findAll();
+    }
+
+    @Test
+    void findByIdWithoutDescription_WithNonExistingId_ShouldReturnNull() {
+        // Arrange
+        when(boatJpaRepository.findSummaryById(999L)).thenReturn(null);
+
+        // Act
+        Boat result = boatRepositoryAdapter.findByIdWithoutDescription(999L);
+
+        // Assert
+        assertNull(result);
+    }
+
     @Test
     void findById_WithNonExistingId_ShouldReturnNull() {
         // Arrange
@@ -107,14 +327,223 @@ class BoatRepositoryAdapterTest {
     }
 
     @Test
-    void delete_ShouldCallJpaRepositoryDeleteById() {
+    void delete_ShouldIssueSingleDeleteAndPublishEvent() {
+        // Arrange
+        when(boatJpaRepository.deleteRowById(1L)).thenReturn(1);
+        when(boatRevisionJpaRepository.incrementAndGet()).thenReturn(8L);
+
+        // Act
+        boolean deleted = boatRepositoryAdapter.delete(1L);
+
+        // Assert
+        assertTrue(deleted);
+        verify(boatJpaRepository, never()).findById(anyLong());
+        verify(entityManager).persist(argThat(entity -> entity instanceof BoatTombstoneEntity
+            && ((BoatTombstoneEntity) entity).getId() == 1L && ((BoatTombstoneEntity) entity).getRevision() == 8L));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BoatChangeEvent
+            && ((BoatChangeEvent) event).getType() == BoatChangeEvent.Type.DELETED));
+    }
+
+    @Test
+    void delete_WithNonExistingId_ShouldReturnFalseWithoutSideEffects() {
+        // Arrange
+        when(boatJpaRepository.deleteRowById(999L)).thenReturn(0);
+
+        // Act
+        boolean deleted = boatRepositoryAdapter.delete(999L);
+
+        // Assert
+        assertFalse(deleted);
+        InOrder inOrder = inOrder(boatRevisionJpaRepository, boatJpaRepository);
+        inOrder.verify(boatRevisionJpaRepository).incrementAndGet();
+        inOrder.verify(boatJpaRepository).deleteRowById(999L);
+        inOrder.verify(boatRevisionJpaRepository).decrement();
+        verify(entityManager, never()).persist(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void update_ShouldReturnTheUpdatedRow() {
+        // Arrange
+        when(boatJpaRepository.findVersionById(1L)).thenReturn(2L);
+        when(boatRevisionJpaRepository.incrementAndGet()).thenReturn(3L);
+        when(boatJpaRepository.updateRow(1L, "Test Boat", "A boat for testing", 2L, 3L)).thenReturn(1);
+        when(boatJpaRepository.findById(1L)).thenReturn(Optional.of(testBoatEntity));
+
+        // Act
+        Boat result = boatRepositoryAdapter.update(testBoat, 2L);
+
+        // Assert
+        assertEquals(testBoatEntity.getId(), result.getId());
+        verify(boatRevisionJpaRepository, never()).decrement();
+    }
+
+    @Test
+    void update_AtStaleVersion_ShouldReturnNullWithoutTakingTheRevision() {
+        // Arrange
+        when(boatJpaRepository.findVersionById(1L)).thenReturn(4L);
+
+        // Act
+        Boat result = boatRepositoryAdapter.update(testBoat, 2L);
+
+        // Assert
+        assertNull(result);
+        verify(boatRevisionJpaRepository, never()).incrementAndGet();
+        verify(boatJpaRepository, never()).updateRow(anyLong(), any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void patch_WhenNoRowMatches_ShouldReturnNull() {
+        // Arrange: the boat changes between the version check and the update
+        when(boatJpaRepository.findVersionById(1L)).thenReturn(2L);
+        when(boatRevisionJpaRepository.incrementAndGet()).thenReturn(3L);
+        when(boatJpaRepository.patchRow(1L, "Test Boat", "A boat for testing", 2L, 3L)).thenReturn(0);
+
+        // Act
+        Boat result = boatRepositoryAdapter.patch(testBoat, 2L);
+
+        // Assert
+        assertNull(result);
+        // The revision drawn for the update is taken back
+        verify(boatRevisionJpaRepository).decrement();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteAll_WithNoExistingId_ShouldTakeBackTheRevision() {
+        // Arrange
+        when(boatJpaRepository.findExistingIds(Arrays.asList(99L))).thenReturn(new ArrayList<>());
+
+        // Act
+        Set<Long> deleted = boatRepositoryAdapter.deleteAll(Arrays.asList(99L));
+
+        // Assert
+        assertTrue(deleted.isEmpty());
+        verify(boatRevisionJpaRepository).decrement();
+        verify(boatJpaRepository, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void findChangesSince_ShouldReturnChangedRowsAndTombstones() {
+        // Arrange
+        when(boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID))
+            .thenReturn(Optional.of(new BoatRevisionEntity(12L)));
+        when(boatJpaRepository.findByRevisionGreaterThan(10L)).thenReturn(Arrays.asList(testBoatEntity));
+        when(boatTombstoneJpaRepository.findIdsByRevisionGreaterThan(10L)).thenReturn(Arrays.asList(4L));
+        when(boatRevisionJpaRepository.findPurgedRevision()).thenReturn(5L);
+
+        // Act
+        BoatDelta delta = boatRepositoryAdapter.findChangesSince(10L);
+
+        // Assert
+        assertFalse(delta.isReset());
+        assertEquals(12L, delta.getRevision());
+        assertEquals(1, delta.getBoats().size());
+        assertEquals(List.of(4L), delta.getDeletedIds());
+        verify(boatJpaRepository, never()).findAll();
+    }
+
+    @Test
+    void findSummariesSince_ShouldReturnChangedSummariesAndTombstones() {
+        // Arrange
+        when(boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID))
+            .thenReturn(Optional.of(new BoatRevisionEntity(12L)));
+        when(boatJpaRepository.findSummariesByRevisionGreaterThan(10L))
+            .thenReturn(List.of(new BoatSummary(1L, "Test Boat", 3L)));
+        when(boatTombstoneJpaRepository.findIdsByRevisionGreaterThan(10L)).thenReturn(List.of(4L));
+
+        // Act
+        BoatDelta delta = boatRepositoryAdapter.findSummariesSince(10L);
+
+        // Assert
+        assertFalse(delta.isReset());
+        assertEquals(12L, delta.getRevision());
+        assertEquals(3L, delta.getBoats().get(0).getVersion());
+        assertNull(delta.getBoats().get(0).getDescription());
+        assertEquals(List.of(4L), delta.getDeletedIds());
+        verify(boatJpaRepository, never()).findByRevisionGreaterThan(anyLong());
+    }
+
+    @Test
+    void findSummariesSince_WithPurgedTombstones_ShouldResetWithoutBoats() {
+        // Arrange
+        when(boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID))
+            .thenReturn(Optional.of(new BoatRevisionEntity(12L)));
+        when(boatRevisionJpaRepository.findPurgedRevision()).thenReturn(6L);
+
+        // Act
+        BoatDelta delta = boatRepositoryAdapter.findSummariesSince(2L);
+
+        // Assert
+        assertTrue(delta.isReset());
+        assertEquals(12L, delta.getRevision());
+        assertTrue(delta.getBoats().isEmpty());
+        verify(boatJpaRepository, never()).findAll();
+    }
+
+    @Test
+    void findChangesSince_WithPurgedTombstones_ShouldResetWithAllBoats() {
+        // Arrange
+        when(boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID))
+            .thenReturn(Optional.of(new BoatRevisionEntity(12L)));
+        when(boatRevisionJpaRepository.findPurgedRevision()).thenReturn(6L);
+        when(boatJpaRepository.findAll()).thenReturn(Arrays.asList(testBoatEntity));
+
+        // Act
+        BoatDelta delta = boatRepositoryAdapter.findChangesSince(2L);
+
+        // Assert
+        assertTrue(delta.isReset());
+        assertEquals(12L, delta.getRevision());
+        assertEquals(1, delta.getBoats().size());
+        assertTrue(delta.getDeletedIds().isEmpty());
+    }
+
+    @Test
+    void findChangesSince_WithUnknownRevision_ShouldResetWithAllBoats() {
+        // Arrange
+        when(boatRevisionJpaRepository.findById(BoatRevisionEntity.SINGLETON_ID))
+            .thenReturn(Optional.of(new BoatRevisionEntity(3L)));
+        when(boatJpaRepository.findAll()).thenReturn(Arrays.asList(testBoatEntity));
+
+        // Act
+        BoatDelta delta = boatRepositoryAdapter.findChangesSince(40L);
+
+        // Assert
+        assertTrue(delta.isReset());
+        assertEquals(3L, delta.getRevision());
+        verify(boatJpaRepository, never()).findByRevisionGreaterThan(anyLong());
+    }
+
+    @Test
+    void purgeTombstones_ShouldRecordThePurgedRevisionBeforeDeleting() {
+        // Arrange
+        Instant cutoff = Instant.parse("2024-01-01T00:00:00Z");
+        when(boatTombstoneJpaRepository.findMaxRevisionDeletedBefore(cutoff)).thenReturn(9L);
+        when(boatTombstoneJpaRepository.deleteUpToRevision(9L)).thenReturn(3);
+
+        // Act
+        int purged = boatRepositoryAdapter.purgeTombstones(cutoff);
+
+        // Assert
+        assertEquals(3, purged);
+        var order = inOrder(boatRevisionJpaRepository, boatTombstoneJpaRepository);
+        order.verify(boatRevisionJpaRepository).advancePurgedRevision(9L);
+        order.verify(boatTombstoneJpaRepository).deleteUpToRevision(9L);
+    }
+
+    @Test
+    void purgeTombstones_WithNothingExpired_ShouldNotTouchTheHorizon() {
         // Arrange
-        doNothing().when(boatJpaRepository).deleteById(1L);
+        Instant cutoff = Instant.parse("2024-01-01T00:00:00Z");
+        when(boatTombstoneJpaRepository.findMaxRevisionDeletedBefore(cutoff)).thenReturn(null);
 
         // Act
-        boatRepositoryAdapter.delete(1L);
+        int purged = boatRepositoryAdapter.purgeTombstones(cutoff);
 
         // Assert
-        verify(boatJpaRepository).deleteById(1L);
+        assertEquals(0, purged);
+        verify(boatRevisionJpaRepository, never()).advancePurgedRevision(anyLong());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadBoatRepositoryAdapterTest {
+
+    @Mock
+    private BoatRepositoryPort delegate;
+
+    private BulkheadBoatRepositoryAdapter bulkheadRepository;
+
+    @BeforeEach
+    void setUp() {
+        bulkheadRepository = new BulkheadBoatRepositoryAdapter(delegate, 1, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void findById_ShouldDelegateAndReleaseThePermit() {
+        // Arrange
+        Boat boat = new Boat();
+        boat.setId(1L);
+        when(delegate.findById(1L)).thenReturn(boat);
+
+        // Act
+        Boat result = bulkheadRepository.findById(1L);
+
+        // Assert
+        assertSame(boat, result);
+        assertEquals(1, bulkheadRepository.getAvailablePermits());
+    }
+
+    @Test
+    void save_WhenDelegateFails_ShouldReleaseThePermit() {
+        // Arrange
+        when(delegate.save(any(Boat.class))).thenThrow(new IllegalStateException("boom"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> bulkheadRepository.save(new Boat()));
+        assertEquals(1, bulkheadRepository.getAvailablePermits());
+    }
+
+    @Test
+    void count_WhenSaturated_ShouldFailAfterMaxWait() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        }).when(delegate).delete(1L);
+        when(delegate.count()).thenReturn(3L);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<?> blocking = executor.submit(() -> bulkheadRepository.delete(1L));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(TransientDataAccessResourceException.class, () -> bulkheadRepository.count());
+
+            release.countDown();
+            blocking.get(5, TimeUnit.SECONDS);
+            assertEquals(3L, bulkheadRepository.count());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void forEach_WhileStreaming_ShouldNotTakeTheCallPermits() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(delegate).forEach(any());
+        when(delegate.count()).thenReturn(3L);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<?> streaming = executor.submit(() -> bulkheadRepository.forEach(boat -> { }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertEquals(3L, bulkheadRepository.count());
+            assertEquals(0, bulkheadRepository.getAvailableStreamPermits());
+            assertThrows(TransientDataAccessResourceException.class, () -> bulkheadRepository.forEach(boat -> { }));
+
+            release.countDown();
+            streaming.get(5, TimeUnit.SECONDS);
+            assertEquals(1, bulkheadRepository.getAvailableStreamPermits());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void inUnitOfWork_ShouldRunTheCallsOfTheWorkUnderItsPermit() {
+        // Arrange
+        when(delegate.inUnitOfWork(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(delegate.count()).thenReturn(3L);
+
+        // Act
+        long result = bulkheadRepository.inUnitOfWork(() -> {
+            assertEquals(0, bulkheadRepository.getAvailablePermits());
+            return bulkheadRepository.count() + bulkheadRepository.count();
+        });
+
+        // Assert
+        assertEquals(6L, result);
+        assertEquals(1, bulkheadRepository.getAvailablePermits());
+    }
+
+    @Test
+    void constructor_WithNonPositiveLimit_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> new BulkheadBoatRepositoryAdapter(delegate, 0, 1, Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,293 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidation;
+
+@ExtendWith(MockitoExtension.class)
+class CachingBoatRepositoryAdapterTest {
+
+    @Mock
+    private BoatRepositoryPort delegate;
+
+    private CachingBoatRepositoryAdapter cachingRepository;
+
+    private Boat testBoat;
+
+    @BeforeEach
+    void setUp() {
+        cachingRepository = new CachingBoatRepositoryAdapter(delegate, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+        testBoat = new Boat();
+        testBoat.setId(1L);
+        testBoat.setName("Test Boat");
+        testBoat.setDescription("A boat for testing");
+    }
+
+    @Test
+    void findById_ShouldHitDelegateOnlyOnce() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(testBoat);
+
+        // Act
+        Boat first = cachingRepository.findById(1L);
+        Boat second = cachingRepository.findById(1L);
+
+        // Assert
+        assertEquals("Test Boat", first.getName());
+        assertEquals("Test Boat", second.getName());
+        assertNotSame(first, second);
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1, cachingRepository.getStats().hitCount());
+        assertEquals(1, cachingRepository.getStats().missCount());
+    }
+
+    @Test
+    void findByIdWithoutDescription_WithCachedBoat_ShouldServeACopyWithoutDescription() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(testBoat);
+        cachingRepository.findById(1L);
+
+        // Act
+        Boat result = cachingRepository.findByIdWithoutDescription(1L);
+
+        // Assert
+        assertEquals("Test Boat", result.getName());
+        assertNull(result.getDescription());
+        assertEquals("A boat for testing", cachingRepository.findById(1L).getDescription());
+        verify(delegate, never()).findByIdWithoutDescription(anyLong());
+    }
+
+    @Test
+    void findById_WithMissingId_ShouldCacheTheAbsence() {
+        // Arrange
+        when(delegate.findById(999L)).thenReturn(null);
+
+        // Act & Assert
+        assertNull(cachingRepository.findById(999L));
+        assertNull(cachingRepository.findById(999L));
+        verify(delegate, times(1)).findById(999L);
+    }
+
+    @Test
+    void save_ShouldRefreshCachedBoat() {
+        // Arrange
+        when(delegate.findById(999L)).thenReturn(null);
+        cachingRepository.findById(999L);
+        Boat savedBoat = new Boat();
+        savedBoat.setId(999L);
+        savedBoat.setName("Saved Boat");
+        when(delegate.save(any(Boat.class))).thenReturn(savedBoat);
+
+        // Act
+        cachingRepository.save(savedBoat);
+        Boat result = cachingRepository.findById(999L);
+
+        // Assert
+        assertEquals("Saved Boat", result.getName());
+        verify(delegate, times(1)).findById(999L);
+    }
+
+    @Test
+    void save_InTransactionRolledBack_ShouldNotCacheTheBoat() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(testBoat);
+        cachingRepository.findById(1L);
+        Boat savedBoat = new Boat();
+        savedBoat.setId(1L);
+        savedBoat.setName("Rolled Back Boat");
+        when(delegate.save(any(Boat.class))).thenReturn(savedBoat);
+
+        // Act
+        completeTransaction(() -> cachingRepository.save(savedBoat), TransactionSynchronization.STATUS_ROLLED_BACK);
+        Boat result = cachingRepository.findById(1L);
+
+        // Assert
+        assertEquals("Test Boat", result.getName());
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void saveAll_InTransaction_ShouldCacheTheBoatsOnlyOnceCommitted() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(testBoat);
+        cachingRepository.findById(1L);
+        Boat savedBoat = new Boat();
+        savedBoat.setId(1L);
+        savedBoat.setName("Committed Boat");
+        when(delegate.saveAll(anyList())).thenReturn(List.of(savedBoat));
+
+        // Act
+        completeTransaction(() -> {
+            cachingRepository.saveAll(List.of(savedBoat));
+            assertNull(cachingRepository.getCache().getIfPresent(1L));
+        }, TransactionSynchronization.STATUS_COMMITTED);
+        Boat result = cachingRepository.findById(1L);
+
+        // Assert
+        assertEquals("Committed Boat", result.getName());
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void delete_ShouldInvalidateCachedBoat() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(testBoat);
+        cachingRepository.findById(1L);
+        when(delegate.deleteAll(Arrays.asList(1L))).thenReturn(Set.of(1L));
+
+        // Act
+        cachingRepository.delete(1L);
+        cachingRepository.findById(1L);
+        cachingRepository.deleteAll(Arrays.asList(1L));
+        cachingRepository.findById(1L);
+
+        // Assert
+        verify(delegate).delete(1L);
+        verify(delegate, times(3)).findById(1L);
+    }
+
+    @Test
+    void update_ShouldCacheTheUpdatedBoatOrInvalidateOnMismatch() {
+        // Arrange
+        Boat updatedBoat = new Boat();
+        updatedBoat.setId(1L);
+        updatedBoat.setName("Updated Boat");
+        updatedBoat.setVersion(1L);
+        when(delegate.update(testBoat, 0L)).thenReturn(updatedBoat);
+        when(delegate.patch(testBoat, 0L)).thenReturn(null);
+        when(delegate.findById(1L)).thenReturn(updatedBoat);
+
+        // Act & Assert
+        cachingRepository.update(testBoat, 0L);
+        assertEquals("Updated Boat", cachingRepository.findById(1L).getName());
+        verify(delegate, never()).findById(1L);
+
+        assertNull(cachingRepository.patch(testBoat, 0L));
+        cachingRepository.findById(1L);
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void invalidate_WithNewerVersion_ShouldDropTheCachedBoat() {
+        // Arrange
+        testBoat.setVersion(0L);
+        Boat updatedBoat = copyOf(testBoat, 1L);
+        when(delegate.findById(1L)).thenReturn(testBoat, updatedBoat);
+        cachingRepository.findById(1L);
+
+        // Act
+        cachingRepository.invalidate(List.of(new BoatInvalidation(1L, 1L)));
+        Boat result = cachingRepository.findById(1L);
+
+        // Assert
+        assertEquals(1L, result.getVersion());
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void invalidate_WithVersionAlreadyCached_ShouldKeepTheCachedBoat() {
+        // Arrange: the boat written here comes back from the other instances at the same version
+        testBoat.setVersion(3L);
+        when(delegate.save(testBoat)).thenReturn(testBoat);
+        cachingRepository.save(testBoat);
+
+        // Act
+        cachingRepository.invalidate(List.of(new BoatInvalidation(1L, 2L), new BoatInvalidation(1L, 3L)));
+        Boat result = cachingRepository.findById(1L);
+
+        // Assert
+        assertEquals(3L, result.getVersion());
+        verify(delegate, never()).findById(anyLong());
+    }
+
+    @Test
+    void findById_WithDelegateOlderThanTheSeenVersion_ShouldServeItWithoutCachingIt() {
+        // Arrange
+        testBoat.setVersion(0L);
+        when(delegate.findById(1L)).thenReturn(testBoat);
+        cachingRepository.invalidate(List.of(new BoatInvalidation(1L, 2L)));
+
+        // Act
+        Boat first = cachingRepository.findById(1L);
+        Boat second = cachingRepository.findById(1L);
+        cachingRepository.findVersionById(1L);
+
+        // Assert: the source of truth is served, but an older copy is never served from the cache
+        assertEquals(0L, first.getVersion());
+        assertEquals(0L, second.getVersion());
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate).findVersionById(1L);
+    }
+
+    @Test
+    void invalidate_WithDeletion_ShouldDropTheCachedBoatAndCacheItsAbsence() {
+        // Arrange
+        testBoat.setVersion(0L);
+        when(delegate.findById(1L)).thenReturn(testBoat, (Boat) null);
+        cachingRepository.findById(1L);
+
+        // Act
+        cachingRepository.invalidate(List.of(BoatInvalidation.deleted(1L)));
+        Boat first = cachingRepository.findById(1L);
+        Boat second = cachingRepository.findById(1L);
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void invalidateAll_ShouldDropEveryCachedBoat() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(testBoat);
+        cachingRepository.findById(1L);
+
+        // Act
+        cachingRepository.invalidateAll();
+        cachingRepository.findById(1L);
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    private static Boat copyOf(Boat boat, Long version) {
+        Boat copy = new Boat();
+        copy.setId(boat.getId());
+        copy.setName(boat.getName());
+        copy.setDescription(boat.getDescription());
+        copy.setVersion(version);
+        return copy;
+    }
+
+    private static void completeTransaction(Runnable work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.owt.boat_test.infrastructure.adapters.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TimedBoatRepositoryAdapterTest {
+
+    @Mock
+    private BoatRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TimedBoatRepositoryAdapter timedRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timedRepository = new TimedBoatRepositoryAdapter(delegate, meterRegistry);
+    }
+
+    @Test
+    void findById_ShouldDelegateAndRecordOneCallPerInvocation() {
+        // Arrange
+        Boat boat = new Boat();
+        boat.setId(1L);
+        when(delegate.findById(1L)).thenReturn(boat);
+
+        // Act
+        Boat result = timedRepository.findById(1L);
+        timedRepository.findById(1L);
+
+        // Assert
+        assertSame(boat, result);
+        assertEquals(2, meterRegistry.get(TimedBoatRepositoryAdapter.METRIC_NAME)
+            .tag("method", "findById").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void delete_WhenDelegateFails_ShouldRecordAnError() {
+        // Arrange
+        doThrow(new IllegalStateException("boom")).when(delegate).delete(1L);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> timedRepository.delete(1L));
+        assertEquals(1, meterRegistry.get(TimedBoatRepositoryAdapter.METRIC_NAME)
+            .tag("method", "delete").tag("outcome", "error").timer().count());
+    }
+}
@@ -0,0 +1,324 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.log;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+
+@ExtendWith(MockitoExtension.class)
+class LogStructuredBoatRepositoryAdapterTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final int TOMBSTONE_CAPACITY = 3;
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LogStructuredBoatRepositoryAdapter repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void save_WhenNew_ShouldAssignIdAndInitialVersion() {
+        // Act
+        Boat saved = repository.save(boat(null, "Boat 1", null));
+
+        // Assert
+        assertEquals(1L, saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals("Boat 1", repository.findById(1L).getName());
+        assertEquals(1L, repository.count());
+        assertEquals(1L, repository.getRevision());
+        verify(eventPublisher).publishEvent(any(BoatChangeEvent.class));
+    }
+
+    @Test
+    void save_WhenVersionIsStale_ShouldThrowAndWriteNothing() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", "Description"));
+        repository.save(boat(saved.getId(), "Boat 2", "Description", 0L));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> repository.save(boat(saved.getId(), "Boat 3", "Description", 0L)));
+        assertEquals("Boat 2", repository.findById(saved.getId()).getName());
+        assertEquals(2L, repository.getRevision());
+    }
+
+    @Test
+    void update_ShouldOnlyApplyAtExpectedVersion() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", "Description"));
+
+        // Act
+        Boat stale = repository.update(boat(saved.getId(), "Stale", null), 5L);
+        Boat updated = repository.update(boat(saved.getId(), "Updated", null), 0L);
+
+        // Assert
+        assertNull(stale);
+        assertEquals("Updated", updated.getName());
+        assertNull(updated.getDescription());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(1L, repository.findVersionById(saved.getId()));
+    }
+
+    @Test
+    void patch_ShouldKeepFieldsLeftOut() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", "Description"));
+
+        // Act
+        Boat patched = repository.patch(boat(saved.getId(), "Patched", null), null);
+
+        // Assert
+        assertEquals("Patched", patched.getName());
+        assertEquals("Description", patched.getDescription());
+        assertNull(repository.patch(boat(42L, "Missing", null), null));
+    }
+
+    @Test
+    void delete_ShouldRemoveTheBoatAndNeverReuseItsId() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", null));
+
+        // Act
+        boolean deleted = repository.delete(saved.getId());
+        boolean deletedAgain = repository.delete(saved.getId());
+        Boat next = repository.save(boat(null, "Boat 2", null));
+
+        // Assert
+        assertTrue(deleted);
+        assertFalse(deletedAgain);
+        assertNull(repository.findById(saved.getId()));
+        assertEquals(2L, next.getId());
+        assertEquals(1L, repository.count());
+    }
+
+    @Test
+    void deleteAll_ShouldReturnOnlyExistingIds() {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", null), boat(null, "Boat 2", null), boat(null, "Boat 3", null)));
+
+        // Act
+        Set<Long> deleted = repository.deleteAll(List.of(1L, 3L, 99L));
+
+        // Assert
+        assertEquals(Set.of(1L, 3L), deleted);
+        assertEquals(List.of(2L), repository.findAll().stream().map(Boat::getId).toList());
+    }
+
+    @Test
+    void findPage_ShouldFollowIdOrder() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            repository.save(boat(null, "Boat " + i, null));
+        }
+
+        // Act
+        List<Boat> page = repository.findPage(2L, 2);
+
+        // Assert
+        assertEquals(List.of(3L, 4L), page.stream().map(Boat::getId).toList());
+        assertEquals(Set.of(1L, 5L), repository.findExistingIds(List.of(1L, 5L, 6L)));
+    }
+
+    @Test
+    void findChangesSince_ShouldReturnTheBoatsSavedAndDeletedAfterTheRevision() {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", null), boat(null, "Boat 2", null), boat(null, "Boat 3", null)));
+        long revision = repository.getRevision();
+        repository.patch(boat(1L, null, "Patched"), null);
+        repository.delete(2L);
+
+        // Act
+        BoatDelta delta = repository.findChangesSince(revision);
+
+        // Assert
+        assertFalse(delta.isReset());
+        assertEquals(repository.getRevision(), delta.getRevision());
+        assertEquals(List.of(1L), delta.getBoats().stream().map(Boat::getId).toList());
+        assertEquals("Patched", delta.getBoats().get(0).getDescription());
+        assertEquals(List.of(2L), delta.getDeletedIds());
+        assertTrue(repository.findChangesSince(delta.getRevision()).getBoats().isEmpty());
+    }
+
+    @Test
+    void findChangesSince_WhenTombstonesWereDropped_ShouldReset() {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", null), boat(null, "Boat 2", null), boat(null, "Boat 3", null),
+            boat(null, "Boat 4", null), boat(null, "Boat 5", null)));
+        long revision = repository.getRevision();
+        repository.deleteAll(List.of(1L, 2L, 3L, 4L));
+
+        // Act
+        BoatDelta delta = repository.findChangesSince(revision);
+
+        // Assert
+        assertTrue(delta.isReset());
+        assertEquals(List.of(5L), delta.getBoats().stream().map(Boat::getId).toList());
+    }
+
+    @Test
+    void reopen_ShouldRecoverBoatsRevisionAndIds() throws IOException {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", "First"), boat(null, "Boat 2", null)));
+        repository.update(boat(1L, "Renamed", "First"), 0L);
+        repository.delete(2L);
+        long revision = repository.getRevision();
+
+        // Act
+        repository.close();
+        repository = open();
+
+        // Assert
+        assertEquals(1L, repository.count());
+        assertEquals(revision, repository.getRevision());
+        assertEquals(List.of(2L), repository.findChangesSince(revision - 2).getDeletedIds());
+        Boat recovered = repository.findById(1L);
+        assertEquals("Renamed", recovered.getName());
+        assertEquals(1L, recovered.getVersion());
+        assertEquals(3L, repository.save(boat(null, "Boat 3", null)).getId());
+    }
+
+    @Test
+    void reopen_WhenBatchIsTorn_ShouldDiscardTheWholeBatch() throws IOException {
+        // Arrange
+        repository.save(boat(null, "Boat 1", null));
+        repository.saveAll(List.of(boat(null, "Boat 2", null), boat(null, "Boat 3", null)));
+        repository.close();
+        Path segment = directory.resolve(Segment.fileName(1));
+        int lastRecordOffset = lastRecordOffset(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), lastRecordOffset + 20);
+        }
+
+        // Act
+        repository = open();
+
+        // Assert
+        assertEquals(1L, repository.count());
+        assertEquals(1L, repository.getRevision());
+        assertNull(repository.findById(2L));
+        assertEquals(2L, repository.save(boat(null, "Boat 2", null)).getId());
+    }
+
+    @Test
+    void compact_ShouldReclaimSupersededRecordsAndKeepLiveOnes() throws IOException {
+        // Arrange
+        repository.close();
+        BoatLog log = new BoatLog(directory, SEGMENT_SIZE, Duration.ZERO, Duration.ZERO, 0.5, TOMBSTONE_CAPACITY);
+        repository = new LogStructuredBoatRepositoryAdapter(log, eventPublisher);
+        Boat kept = repository.save(boat(null, "Kept", null));
+        Boat deleted = repository.save(boat(null, "Deleted", null));
+        for (int i = 0; i < 200; i++) {
+            repository.update(boat(kept.getId(), "Kept " + i, null), null);
+        }
+        repository.delete(deleted.getId());
+        int segmentsBefore = log.segmentCount();
+
+        // Act
+        boolean compacted = log.compact();
+
+        // Assert
+        assertTrue(segmentsBefore > 2);
+        assertTrue(compacted);
+        assertEquals(2, log.segmentCount());
+        assertEquals("Kept 199", repository.findById(kept.getId()).getName());
+
+        repository.close();
+        repository = open();
+        assertEquals("Kept 199", repository.findById(kept.getId()).getName());
+        assertNull(repository.findById(deleted.getId()));
+        assertEquals(3L, repository.save(boat(null, "Next", null)).getId());
+    }
+
+    @Test
+    void save_WhenConcurrent_ShouldAssignDistinctIds() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // Act
+        List<Future<Boat>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String name = "Boat " + i;
+            futures.add(executor.submit(() -> repository.save(boat(null, name, null))));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<Boat> future : futures) {
+            ids.add(future.get().getId());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(50, ids.size());
+        assertEquals(50L, repository.count());
+        assertEquals(50L, repository.getRevision());
+    }
+
+    private LogStructuredBoatRepositoryAdapter open() throws IOException {
+        BoatLog log = new BoatLog(directory, SEGMENT_SIZE, Duration.ofMillis(1), Duration.ZERO, 0.5, TOMBSTONE_CAPACITY);
+        return new LogStructuredBoatRepositoryAdapter(log, eventPublisher);
+    }
+
+    private static int lastRecordOffset(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int offset = Segment.HEADER_SIZE;
+        int last = offset;
+        while (buffer.getInt(offset) != 0) {
+            last = offset;
+            offset += BoatRecord.sizeAt(buffer, offset);
+        }
+        return last;
+    }
+
+    private static Boat boat(Long id, String name, String description) {
+        return boat(id, name, description, null);
+    }
+
+    private static Boat boat(Long id, String name, String description, Long version) {
+        Boat boat = new Boat();
+        boat.setId(id);
+        boat.setName(name);
+        boat.setDescription(description);
+        boat.setVersion(version);
+        return boat;
+    }
+}
@@ -0,0 +1,254 @@
+package com.owt.boat_test.infrastructure.adapters.repositories.memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryBoatRepositoryAdapterTest {
+
+    private static final int TOMBSTONE_CAPACITY = 3;
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private InMemoryBoatRepositoryAdapter repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new InMemoryBoatRepositoryAdapter(eventPublisher, null, Duration.ZERO, TOMBSTONE_CAPACITY);
+    }
+
+    @Test
+    void save_WhenNew_ShouldAssignIdAndInitialVersion() {
+        // Act
+        Boat saved = repository.save(boat(null, "Boat 1", null, null));
+
+        // Assert
+        assertEquals(1L, saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals("Boat 1", repository.findById(1L).getName());
+        assertEquals(1L, repository.count());
+        assertEquals(1L, repository.getRevision());
+        verify(eventPublisher).publishEvent(any(BoatChangeEvent.class));
+    }
+
+    @Test
+    void save_WhenVersionIsStale_ShouldThrowAndKeepTheBoat() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", null, null));
+        repository.save(boat(saved.getId(), "Boat 2", null, 0L));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> repository.save(boat(saved.getId(), "Boat 3", null, 0L)));
+        assertEquals("Boat 2", repository.findById(saved.getId()).getName());
+        assertEquals(1L, repository.findVersionById(saved.getId()));
+    }
+
+    @Test
+    void findById_ShouldReturnACopy() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", null, null));
+
+        // Act
+        repository.findById(saved.getId()).setName("Changed");
+
+        // Assert
+        assertEquals("Boat 1", repository.findById(saved.getId()).getName());
+    }
+
+    @Test
+    void updateAndPatch_ShouldOnlyApplyAtExpectedVersion() {
+        // Arrange
+        Boat saved = repository.save(boat(null, "Boat 1", "Description", null));
+
+        // Act
+        Boat stale = repository.update(boat(saved.getId(), "Stale", null, null), 3L);
+        Boat patched = repository.patch(boat(saved.getId(), "Patched", null, null), 0L);
+
+        // Assert
+        assertNull(stale);
+        assertEquals("Patched", patched.getName());
+        assertEquals("Description", patched.getDescription());
+        assertEquals(1L, patched.getVersion());
+        assertNull(repository.update(boat(42L, "Missing", null, null), null));
+    }
+
+    @Test
+    void findAll_ShouldReflectWritesInIdOrder() {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", null, null), boat(null, "Boat 2", null, null)));
+        List<Boat> before = repository.findAll();
+
+        // Act
+        repository.save(boat(null, "Boat 3", null, null));
+        repository.delete(1L);
+        List<Boat> after = repository.findAll();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), before.stream().map(Boat::getId).toList());
+        assertEquals(List.of(2L, 3L), after.stream().map(Boat::getId).toList());
+    }
+
+    @Test
+    void findPage_ShouldStartAfterTheGivenId() {
+        // Arrange
+        for (int i = 1; i <= 6; i++) {
+            repository.save(boat(null, "Boat " + i, null, null));
+        }
+        repository.delete(4L);
+
+        // Act
+        List<Boat> first = repository.findPage(null, 2);
+        List<Boat> next = repository.findPage(3L, 2);
+        List<Boat> last = repository.findPage(6L, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), first.stream().map(Boat::getId).toList());
+        assertEquals(List.of(5L, 6L), next.stream().map(Boat::getId).toList());
+        assertTrue(last.isEmpty());
+    }
+
+    @Test
+    void deleteAll_ShouldReturnOnlyExistingIdsAndKeepTheOthersReachable() {
+        // Arrange
+        List<Boat> boats = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            boats.add(boat(null, "Boat " + i, null, null));
+        }
+        repository.saveAll(boats);
+        List<Long> evenIds = new ArrayList<>();
+        for (long id = 2; id <= 2000; id += 2) {
+            evenIds.add(id);
+        }
+        evenIds.add(5000L);
+
+        // Act
+        Set<Long> deleted = repository.deleteAll(evenIds);
+
+        // Assert
+        assertEquals(1000, deleted.size());
+        assertEquals(1000L, repository.count());
+        for (long id = 1; id <= 2000; id++) {
+            assertEquals(id % 2 == 1, repository.findById(id) != null, "boat " + id);
+        }
+    }
+
+    @Test
+    void save_WhenConcurrent_ShouldAssignDistinctIds() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // Act
+        List<Future<Boat>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = "Boat " + i;
+            futures.add(executor.submit(() -> repository.save(boat(null, name, null, null))));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<Boat> future : futures) {
+            ids.add(future.get().getId());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(200, ids.size());
+        assertEquals(200, repository.findAll().size());
+        assertEquals(200L, repository.getRevision());
+    }
+
+    @Test
+    void findChangesSince_ShouldReturnTheBoatsSavedAndDeletedAfterTheRevision() {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", null, null), boat(null, "Boat 2", null, null),
+            boat(null, "Boat 3", null, null)));
+        long revision = repository.getRevision();
+        repository.patch(boat(1L, null, "Patched", null), null);
+        repository.delete(2L);
+
+        // Act
+        BoatDelta delta = repository.findChangesSince(revision);
+
+        // Assert
+        assertFalse(delta.isReset());
+        assertEquals(repository.getRevision(), delta.getRevision());
+        assertEquals(List.of(1L), delta.getBoats().stream().map(Boat::getId).toList());
+        assertEquals("Patched", delta.getBoats().get(0).getDescription());
+        assertEquals(List.of(2L), delta.getDeletedIds());
+        assertTrue(repository.findChangesSince(delta.getRevision()).getBoats().isEmpty());
+    }
+
+    @Test
+    void findChangesSince_WhenTombstonesWereDropped_ShouldReset() {
+        // Arrange
+        repository.saveAll(List.of(boat(null, "Boat 1", null, null), boat(null, "Boat 2", null, null),
+            boat(null, "Boat 3", null, null), boat(null, "Boat 4", null, null), boat(null, "Boat 5", null, null)));
+        long revision = repository.getRevision();
+        repository.deleteAll(List.of(1L, 2L, 3L, 4L));
+
+        // Act
+        BoatDelta delta = repository.findChangesSince(revision);
+
+        // Assert
+        assertTrue(delta.isReset());
+        assertEquals(List.of(5L), delta.getBoats().stream().map(Boat::getId).toList());
+    }
+
+    @Test
+    void close_ShouldWriteASnapshotLoadedOnRestart() throws IOException {
+        // Arrange
+        Path snapshot = directory.resolve("boats.snapshot");
+        InMemoryBoatRepositoryAdapter persistent = new InMemoryBoatRepositoryAdapter(eventPublisher, snapshot, Duration.ZERO, TOMBSTONE_CAPACITY);
+        persistent.saveAll(List.of(boat(null, "Boat 1", "First", null), boat(null, "Boat 2", null, null)));
+        persistent.delete(2L);
+        long revision = persistent.getRevision();
+
+        // Act
+        persistent.close();
+        InMemoryBoatRepositoryAdapter restarted = new InMemoryBoatRepositoryAdapter(eventPublisher, snapshot, Duration.ZERO, TOMBSTONE_CAPACITY);
+
+        // Assert
+        assertEquals(1L, restarted.count());
+        assertEquals(revision + 1, restarted.getRevision());
+        assertTrue(restarted.findChangesSince(revision).isReset());
+        assertEquals("First", restarted.findById(1L).getDescription());
+        assertEquals(3L, restarted.save(boat(null, "Boat 3", null, null)).getId());
+        restarted.close();
+    }
+
+    private static Boat boat(Long id, String name, String description, Long version) {
+        Boat boat = new Boat();
+        boat.setId(id);
+        boat.setName(name);
+        boat.setDescription(description);
+        boat.setVersion(version);
+        return boat;
+    }
+}
@@ -0,0 +1,144 @@
+package com.owt.boat_test.infrastructure.adapters.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.ports.repositories.BoatRepositoryPort;
+import com.owt.boat_test.infrastructure.cluster.BoatInvalidation;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryBoatSearchAdapterTest {
+
+    @Mock
+    private BoatRepositoryPort boatRepository;
+
+    @InjectMocks
+    private InMemoryBoatSearchAdapter searchAdapter;
+
+    private static Boat boat(Long id, String name, String description) {
+        Boat boat = new Boat();
+        boat.setId(id);
+        boat.setName(name);
+        boat.setDescription(description);
+        return boat;
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        List<Boat> boats = Arrays.asList(
+            boat(1L, "Black Pearl", "Un voilier rapide"),
+            boat(2L, "Sea Voyager", "A fast sailing boat"),
+            boat(3L, "Pearl Diver", "Small fishing boat for pearl divers"));
+        doAnswer(invocation -> {
+            boats.forEach((Consumer<Boat>) invocation.getArgument(0));
+            return null;
+        }).when(boatRepository).forEach(any());
+        searchAdapter.rebuild();
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesFirst() {
+        // Act
+        List<Boat> result = searchAdapter.search("pearl", 10);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+    }
+
+    @Test
+    void search_ShouldRequireEveryWordAndMatchLastOneAsPrefix() {
+        // Act & Assert
+        assertEquals(Arrays.asList(2L), ids(searchAdapter.search("fast sail", 10)));
+        assertEquals(Arrays.asList(2L, 3L), ids(searchAdapter.search("BOAT", 10)));
+        assertEquals(Arrays.asList(2L), ids(searchAdapter.search("boat", 1)));
+        assertTrue(searchAdapter.search("pearl sailing", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndDiacritics() {
+        // Act
+        List<Boat> result = searchAdapter.search("VOILIÉR", 10);
+
+        // Assert
+        assertEquals(Arrays.asList(1L), ids(result));
+    }
+
+    @Test
+    void onBoatChange_ShouldUpdateIndexIncrementally() {
+        // Act
+        searchAdapter.onBoatChange(BoatChangeEvent.saved(boat(2L, "Sea Voyager", "A catamaran")));
+        searchAdapter.onBoatChange(BoatChangeEvent.deleted(3L));
+        searchAdapter.onBoatChange(BoatChangeEvent.saved(boat(4L, "Catalina", null)));
+
+        // Assert
+        assertTrue(searchAdapter.search("sailing", 10).isEmpty());
+        assertEquals(Arrays.asList(4L, 2L), ids(searchAdapter.search("cat", 10)));
+        assertEquals(Arrays.asList(1L), ids(searchAdapter.search("pearl", 10)));
+    }
+
+    @Test
+    void invalidate_ShouldReindexTheBoatsChangedByOtherInstances() {
+        // Arrange
+        Boat renamed = boat(2L, "Sea Voyager", "A catamaran");
+        renamed.setVersion(3L);
+        when(boatRepository.findById(2L)).thenReturn(renamed);
+        when(boatRepository.findById(4L)).thenReturn(null);
+
+        // Act
+        searchAdapter.invalidate(List.of(
+            new BoatInvalidation(2L, 3L), BoatInvalidation.deleted(3L), new BoatInvalidation(4L, 0L)));
+
+        // Assert
+        assertTrue(searchAdapter.search("sailing", 10).isEmpty());
+        assertEquals(Arrays.asList(2L), ids(searchAdapter.search("catamaran", 10)));
+        assertEquals(Arrays.asList(1L), ids(searchAdapter.search("pearl", 10)));
+    }
+
+    @Test
+    void invalidate_WithBoatAlreadyIndexedAtThatVersion_ShouldNotReadItAgain() {
+        // Arrange
+        Boat saved = boat(4L, "Catalina", null);
+        saved.setVersion(2L);
+        searchAdapter.onBoatChange(BoatChangeEvent.saved(saved));
+
+        // Act
+        searchAdapter.invalidate(List.of(new BoatInvalidation(4L, 2L)));
+
+        // Assert
+        verify(boatRepository, never()).findById(any());
+        assertEquals(Arrays.asList(4L), ids(searchAdapter.search("catalina", 10)));
+    }
+
+    @Test
+    void invalidateAll_ShouldRebuildTheIndex() {
+        // Arrange
+        searchAdapter.onBoatChange(BoatChangeEvent.saved(boat(4L, "Catalina", null)));
+
+        // Act
+        searchAdapter.invalidateAll();
+
+        // Assert
+        assertTrue(searchAdapter.search("catalina", 10).isEmpty());
+        verify(boatRepository, times(2)).forEach(any());
+    }
+
+    private static List<Long> ids(List<Boat> boats) {
+        return boats.stream().map(Boat::getId).toList();
+    }
+}
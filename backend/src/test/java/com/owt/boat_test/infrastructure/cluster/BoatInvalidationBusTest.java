@@ -0,0 +1,135 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.owt.boat_test.domain.events.BoatChangeEvent;
+import com.owt.boat_test.domain.models.Boat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BoatInvalidationBusTest {
+
+    @Mock
+    private InvalidationTransport transport;
+
+    @Mock
+    private InvalidationSubscriber subscriber;
+
+    @Mock
+    private ObjectProvider<InvalidationSubscriber> subscriberBeans;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoatInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(subscriberBeans.orderedStream()).thenReturn(Stream.of(subscriber));
+        bus = new BoatInvalidationBus(transport, subscriberBeans, meterRegistry,
+            Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void flush_ShouldSendTheChangesOfTheWindowAsOneBatch() {
+        // Arrange
+        Boat boat = new Boat();
+        boat.setId(1L);
+        boat.setVersion(2L);
+        bus.onBoatChange(BoatChangeEvent.saved(boat));
+        bus.onBoatChange(BoatChangeEvent.deleted(3L));
+
+        // Act
+        bus.flush();
+        bus.flush();
+
+        // Assert
+        verify(transport).send(List.of(new BoatInvalidation(1L, 2L), BoatInvalidation.deleted(3L)));
+        assertEquals(2.0, meterRegistry.get("boats.cluster.invalidations").tag("direction", "sent")
+            .counter().count());
+    }
+
+    @Test
+    void receive_ShouldApplyTheInvalidationsToTheSubscribers() {
+        // Arrange
+        List<BoatInvalidation> invalidations = List.of(new BoatInvalidation(1L, 2L));
+
+        // Act
+        bus.receive(invalidations);
+        bus.receive(List.of());
+
+        // Assert
+        verify(subscriber).invalidate(invalidations);
+        assertEquals(1.0, meterRegistry.get("boats.cluster.invalidations").tag("direction", "received")
+            .counter().count());
+    }
+
+    @Test
+    void receive_ShouldInvalidateTheSubscribedCachesBeforeTheSubscriberBeans() {
+        // Arrange
+        InvalidationSubscriber repositoryCache = mock(InvalidationSubscriber.class);
+        bus.subscribe(repositoryCache);
+        List<BoatInvalidation> invalidations = List.of(new BoatInvalidation(1L, 2L));
+
+        // Act
+        bus.receive(invalidations);
+
+        // Assert
+        InOrder order = inOrder(repositoryCache, subscriber);
+        order.verify(repositoryCache).invalidate(invalidations);
+        order.verify(subscriber).invalidate(invalidations);
+    }
+
+    @Test
+    void reset_ShouldDropEveryCachedCopyOfTheSubscribers() {
+        // Act
+        bus.reset();
+
+        // Assert
+        verify(subscriber).invalidateAll();
+        assertEquals(1.0, meterRegistry.get("boats.cluster.invalidation.resets").counter().count());
+    }
+
+    @Test
+    void checkLag_WhenOutOfSyncForLongerThanTheMaxLag_ShouldResetTheSubscribers() throws InterruptedException {
+        // Arrange
+        when(subscriberBeans.orderedStream()).thenReturn(Stream.of(subscriber));
+        BoatInvalidationBus laggingBus = new BoatInvalidationBus(transport, subscriberBeans, meterRegistry,
+            Duration.ofHours(1), Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        // Act
+        laggingBus.checkLag();
+        laggingBus.receive(List.of());
+        laggingBus.checkLag();
+        laggingBus.close();
+
+        // Assert: only the first check, before the transport was heard of again, resets
+        verify(subscriber).invalidateAll();
+        verify(subscriber, never()).invalidate(any());
+    }
+}
@@ -0,0 +1,85 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.owt.boat_test.domain.models.Boat;
+import com.owt.boat_test.domain.models.BoatDelta;
+import com.owt.boat_test.infrastructure.adapters.repositories.BoatRepositoryAdapter;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeTableInvalidationTransportTest {
+
+    @Mock
+    private BoatRepositoryAdapter boatRepositoryAdapter;
+
+    @Mock
+    private InvalidationTransport.Receiver receiver;
+
+    private ChangeTableInvalidationTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        transport = new ChangeTableInvalidationTransport(boatRepositoryAdapter, Duration.ofHours(1));
+        when(boatRepositoryAdapter.getRevision()).thenReturn(10L);
+        transport.start(receiver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+    }
+
+    @Test
+    void poll_ShouldDeliverTheChangesSinceTheLastPoll() {
+        // Arrange
+        Boat boat = new Boat();
+        boat.setId(1L);
+        boat.setVersion(3L);
+        when(boatRepositoryAdapter.findSummariesSince(10L))
+            .thenReturn(new BoatDelta(12L, List.of(boat), List.of(4L), false));
+        when(boatRepositoryAdapter.findSummariesSince(12L))
+            .thenReturn(new BoatDelta(12L, List.of(), List.of(), false));
+
+        // Act
+        transport.poll(receiver);
+        transport.poll(receiver);
+
+        // Assert
+        verify(receiver).receive(List.of(new BoatInvalidation(1L, 3L), BoatInvalidation.deleted(4L)));
+        verify(receiver).receive(List.of());
+        verify(receiver, never()).reset();
+    }
+
+    @Test
+    void poll_BehindThePurgedTombstones_ShouldResetTheCaches() {
+        // Arrange
+        when(boatRepositoryAdapter.findSummariesSince(10L)).thenReturn(BoatDelta.reset(20L, List.of()));
+        when(boatRepositoryAdapter.findSummariesSince(20L))
+            .thenReturn(new BoatDelta(20L, List.of(), List.of(), false));
+
+        // Act
+        transport.poll(receiver);
+        transport.poll(receiver);
+
+        // Assert
+        InOrder order = inOrder(receiver);
+        order.verify(receiver).reset();
+        order.verify(receiver, times(2)).receive(anyList());
+    }
+}
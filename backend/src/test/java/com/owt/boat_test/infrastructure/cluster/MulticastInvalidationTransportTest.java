@@ -0,0 +1,159 @@
+package com.owt.boat_test.infrastructure.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MulticastInvalidationTransportTest {
+
+    private static final String GROUP = "239.255.27.1";
+    private static final int PORT = 45679;
+
+    private MulticastInvalidationTransport transport;
+    private InvalidationTransport.Receiver receiver;
+    private final UUID peer = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        transport = open();
+        receiver = mock(InvalidationTransport.Receiver.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+    }
+
+    @Test
+    void onDatagram_FromANewInstance_ShouldResetTheCaches() {
+        // Act
+        transport.onDatagram(datagram(peer, 5L, List.of(new BoatInvalidation(1L, 2L))), receiver);
+
+        // Assert: the datagrams it sent before were not received
+        verify(receiver).reset();
+        verify(receiver, never()).receive(anyList());
+    }
+
+    @Test
+    void onDatagram_WithTheNextSequence_ShouldDeliverTheInvalidations() {
+        // Arrange
+        List<BoatInvalidation> invalidations = List.of(new BoatInvalidation(1L, 2L), BoatInvalidation.deleted(3L));
+        transport.onDatagram(datagram(peer, 5L, List.of()), receiver);
+
+        // Act
+        transport.onDatagram(datagram(peer, 6L, invalidations), receiver);
+        transport.onDatagram(datagram(peer, 6L, List.of()), receiver);
+
+        // Assert
+        verify(receiver).receive(invalidations);
+        verify(receiver).receive(List.of());
+        verify(receiver).reset();
+    }
+
+    @Test
+    void onDatagram_AfterAMissedDatagram_ShouldResetTheCaches() {
+        // Arrange
+        transport.onDatagram(datagram(peer, 5L, List.of()), receiver);
+
+        // Act: a heartbeat tells that datagram 6 was sent
+        transport.onDatagram(datagram(peer, 6L, List.of()), receiver);
+
+        // Assert
+        verify(receiver, times(2)).reset();
+        verify(receiver, never()).receive(anyList());
+    }
+
+    @Test
+    void onDatagram_FromThisInstance_ShouldOnlyTellThatTheTransportIsInSync() {
+        // Act
+        transport.onDatagram(datagram(transport.getInstanceId(), 1L, List.of(new BoatInvalidation(1L, 2L))),
+            receiver);
+
+        // Assert
+        verify(receiver).receive(List.of());
+        verify(receiver, never()).reset();
+    }
+
+    @Test
+    void onDatagram_WithAnotherFormat_ShouldBeIgnored() {
+        // Act
+        transport.onDatagram(ByteBuffer.wrap("not a boat invalidation datagram".getBytes()), receiver);
+
+        // Assert
+        verify(receiver, never()).reset();
+        verify(receiver, never()).receive(anyList());
+    }
+
+    @Test
+    void send_ShouldDeliverLargeBatchesToTheOtherInstances() throws InterruptedException {
+        // Arrange
+        List<BoatInvalidation> invalidations = new ArrayList<>();
+        for (long id = 1; id <= 2 * MulticastInvalidationTransport.MAX_INVALIDATIONS + 1; id++) {
+            invalidations.add(new BoatInvalidation(id, 1L));
+        }
+        List<BoatInvalidation> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        MulticastInvalidationTransport other = open();
+        try {
+            other.start(new InvalidationTransport.Receiver() {
+                @Override
+                public void receive(List<BoatInvalidation> batch) {
+                    received.addAll(batch);
+                    if (received.size() == invalidations.size()) {
+                        done.countDown();
+                    }
+                }
+
+                @Override
+                public void reset() {
+                }
+            });
+            transport.start(mock(InvalidationTransport.Receiver.class));
+            // The first heartbeat of the sender makes it known to the receiver
+            Thread.sleep(200);
+
+            // Act
+            transport.send(invalidations);
+
+            // Assert
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(invalidations, received);
+        } finally {
+            other.close();
+        }
+    }
+
+    private static MulticastInvalidationTransport open() {
+        try {
+            return new MulticastInvalidationTransport(GROUP, PORT, "", 0, Duration.ofSeconds(10));
+        } catch (IOException | IllegalArgumentException e) {
+            assumeTrue(false, "Multicast is not available: " + e);
+            return null;
+        }
+    }
+
+    private static ByteBuffer datagram(UUID origin, long sequence, List<BoatInvalidation> invalidations) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        MulticastInvalidationTransport.encode(origin, sequence, invalidations, buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,51 @@
+package com.owt.boat_test.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.owt.boat_test.infrastructure.entities.BoatEntity;
+import com.owt.boat_test.infrastructure.entities.BoatSummary;
+
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_ShouldRegisterTheEntitiesAndTheProjection() {
+        // Act
+        new NativeHintsConfig.ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BoatEntity.class)
+            .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+            .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BoatSummary.class)
+            .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterTheJjwtImplementationAndItsServiceFiles() {
+        // Act
+        new NativeHintsConfig.ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+            .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+            .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+
+    @Test
+    void jjwtClasses_ShouldAllExistOnTheClasspath() {
+        // A class renamed by a jjwt upgrade would otherwise only fail at runtime in the native image
+        for (String className : NativeHintsConfig.JJWT_CLASSES) {
+            assertDoesNotThrow(() -> Class.forName(className, false, getClass().getClassLoader()), className);
+        }
+    }
+}
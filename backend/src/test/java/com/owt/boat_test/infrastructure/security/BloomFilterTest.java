@@ -0,0 +1,73 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldFindEveryKeyPut() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+
+        // Act
+        keys.forEach(filter::put);
+
+        // Assert
+        keys.forEach(key -> assertTrue(filter.mightContain(key)));
+    }
+
+    @Test
+    void mightContain_WhenFull_ShouldStayNearTheFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert: 1% expected, with a wide margin for randomness
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_WhenEmpty_ShouldFindNothing() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        // Act & Assert
+        assertFalse(filter.mightContain("token-id"));
+    }
+
+    @Test
+    void constructor_ShouldSizeTheFilterForTheRate() {
+        // Act
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        // Assert: about 9.6 bits and 7 hashes per key for 1%
+        assertEquals(95_872, filter.bitSize());
+        assertEquals(7, filter.hashCount());
+    }
+
+    @Test
+    void constructor_WithInvalidSizing_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
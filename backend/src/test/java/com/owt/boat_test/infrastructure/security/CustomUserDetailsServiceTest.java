@@ -0,0 +1,130 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.owt.boat_test.domain.models.UserAccount;
+import com.owt.boat_test.domain.ports.repositories.UserRepositoryPort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    // The lowest BCrypt cost, to keep the tests fast
+    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+
+    @Mock
+    private UserRepositoryPort userRepository;
+
+    private PasswordHashingExecutor hashingExecutor;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 4, Duration.ofSeconds(5));
+        userDetailsService = new CustomUserDetailsService(userRepository, ENCODER, hashingExecutor, "admin", "password");
+        userDetailsService.initializeUsers();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.close();
+    }
+
+    @Test
+    void initializeUsers_WithMissingBootstrapUser_ShouldStoreItsHashedPassword() {
+        // Assert
+        ArgumentCaptor<UserAccount> user = ArgumentCaptor.forClass(UserAccount.class);
+        verify(userRepository).save(user.capture());
+        assertEquals("admin", user.getValue().getUsername());
+        assertTrue(ENCODER.matches("password", user.getValue().getPasswordHash()));
+    }
+
+    @Test
+    void verifyPassword_WithCorrectPassword_ShouldReturnTrueWithoutRehashing() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(new UserAccount("admin", ENCODER.encode("password")));
+
+        // Act
+        boolean verified = userDetailsService.verifyPassword("password", "admin");
+
+        // Assert
+        assertTrue(verified);
+        verify(userRepository, never()).updatePasswordHash(any(), any(), any());
+    }
+
+    @Test
+    void verifyPassword_WithWrongPassword_ShouldReturnFalse() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(new UserAccount("admin", ENCODER.encode("password")));
+
+        // Act & Assert
+        assertFalse(userDetailsService.verifyPassword("wrong", "admin"));
+    }
+
+    @Test
+    void verifyPassword_WithUnknownUser_ShouldReturnFalse() {
+        // Arrange
+        when(userRepository.findByUsername("nobody")).thenReturn(null);
+
+        // Act & Assert
+        assertFalse(userDetailsService.verifyPassword("password", "nobody"));
+    }
+
+    @Test
+    void verifyPassword_WithHashOfLowerCost_ShouldUpgradeIt() {
+        // Arrange
+        BCryptPasswordEncoder strongerEncoder = new BCryptPasswordEncoder(5);
+        CustomUserDetailsService upgradingService =
+            new CustomUserDetailsService(userRepository, strongerEncoder, hashingExecutor, "", "");
+        String oldHash = ENCODER.encode("password");
+        when(userRepository.findByUsername("admin")).thenReturn(new UserAccount("admin", oldHash));
+
+        // Act
+        boolean verified = upgradingService.verifyPassword("password", "admin");
+
+        // Assert
+        assertTrue(verified);
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePasswordHash(eq("admin"), eq(oldHash), newHash.capture());
+        assertTrue(newHash.getValue().startsWith("$2a$05$"));
+        assertTrue(strongerEncoder.matches("password", newHash.getValue()));
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReturnTheStoredHash() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(new UserAccount("admin", "$2a$04$stored"));
+
+        // Act
+        UserDetails userDetails = userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        assertEquals("admin", userDetails.getUsername());
+        assertEquals("$2a$04$stored", userDetails.getPassword());
+    }
+
+    @Test
+    void loadUserByUsername_WithUnknownUser_ShouldThrowException() {
+        // Arrange
+        when(userRepository.findByUsername("nobody")).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("nobody"));
+    }
+}
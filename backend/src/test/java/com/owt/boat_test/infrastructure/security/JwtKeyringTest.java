@@ -0,0 +1,211 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.owt.boat_test.domain.models.SigningKey;
+import com.owt.boat_test.domain.ports.repositories.SigningKeyRepositoryPort;
+
+class JwtKeyringTest {
+
+    private static final String KEY_ENCRYPTION_KEY = "sL8CzkglHKQ8bVBXKXecaWg7eZhhntQ5zAqf8+ZMldg=";
+
+    private final InMemorySigningKeyRepository repository = new InMemorySigningKeyRepository();
+    private final List<JwtKeyring> keyrings = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        keyrings.forEach(JwtKeyring::close);
+    }
+
+    @Test
+    void refresh_WithEmptyRepository_ShouldGenerateAndStoreAnActiveKey() {
+        // Arrange
+        JwtKeyring keyring = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+
+        // Act
+        keyring.refresh();
+
+        // Assert
+        JwtKeyring.KeyPairEntry signingKey = keyring.signingKey();
+        assertNotNull(signingKey);
+        assertEquals("ES256", signingKey.algorithm().getId());
+        assertSame(signingKey, keyring.key(signingKey.keyId()));
+        assertEquals(1, repository.keys.size());
+        assertEquals(signingKey.keyId(), repository.keys.get(0).getKeyId());
+    }
+
+    @Test
+    void refresh_WhenRotationIsDue_ShouldPublishTheSuccessorBeforeUsingIt() throws Exception {
+        // Arrange: a rotation due at every refresh, with successors published 300 ms ahead
+        JwtKeyring keyring = keyring(Duration.ZERO, Duration.ofMillis(300));
+        keyring.refresh();
+        JwtKeyring.KeyPairEntry first = keyring.signingKey();
+
+        // Act
+        keyring.refresh();
+
+        // Assert: the successor is known and published, but not used yet
+        assertEquals(2, repository.keys.size());
+        String successorId = repository.keys.get(1).getKeyId();
+        assertNotNull(keyring.key(successorId));
+        assertSame(first, keyring.signingKey());
+        assertEquals(2, jwksKeys(keyring).size());
+
+        // Act: once the successor is active
+        Thread.sleep(350);
+        keyring.refresh();
+
+        // Assert: it signs, and the retired key still verifies
+        assertEquals(successorId, keyring.signingKey().keyId());
+        assertNotNull(keyring.key(first.keyId()));
+    }
+
+    @Test
+    void refresh_ShouldShareTheKeysBetweenInstances() {
+        // Arrange
+        JwtKeyring first = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+        JwtKeyring second = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+        first.refresh();
+        JwtProvider issuer = new JwtProvider(first, Duration.ofMinutes(5));
+
+        // Act
+        second.refresh();
+        JwtProvider verifier = new JwtProvider(second, Duration.ofMinutes(5));
+
+        // Assert
+        assertEquals(first.signingKey().keyId(), second.signingKey().keyId());
+        assertEquals(1, repository.keys.size());
+        assertEquals("admin", verifier.verifyToken(issuer.generateToken("admin")).getSubject());
+    }
+
+    @Test
+    void key_WithKeyStoredByAnotherInstanceAfterTheRefresh_ShouldLookItUp() {
+        // Arrange: two instances starting together, each storing a first key
+        JwtKeyring first = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+        JwtKeyring second = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+        first.refresh();
+        List<SigningKey> firstKeys = List.copyOf(repository.keys);
+        repository.keys.clear();
+        second.refresh();
+        repository.keys.addAll(firstKeys);
+        JwtProvider verifier = new JwtProvider(first, Duration.ofMinutes(5));
+        String token = new JwtProvider(second, Duration.ofMinutes(5)).generateToken("admin");
+
+        // Act
+        String subject = verifier.verifyToken(token).getSubject();
+
+        // Assert
+        assertEquals("admin", subject);
+        assertNotNull(first.key(second.signingKey().keyId()));
+    }
+
+    @Test
+    void refresh_ShouldStoreThePrivateKeysEncrypted() {
+        // Arrange
+        JwtKeyring keyring = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+
+        // Act
+        keyring.refresh();
+
+        // Assert
+        byte[] stored = repository.keys.get(0).getPrivateKey();
+        byte[] encoded = keyring.signingKey().privateKey().getEncoded();
+        assertFalse(new String(stored, StandardCharsets.ISO_8859_1).contains(new String(encoded, StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void refresh_ShouldNotDecodeKnownKeysAgain() {
+        // Arrange
+        JwtKeyring keyring = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+        keyring.refresh();
+        JwtKeyring.KeyPairEntry signingKey = keyring.signingKey();
+
+        // Act
+        keyring.refresh();
+
+        // Assert
+        assertSame(signingKey, keyring.signingKey());
+        assertSame(signingKey.publicKey(), keyring.key(signingKey.keyId()).publicKey());
+    }
+
+    @Test
+    void jwks_ShouldPublishOnlyThePublicKeys() {
+        // Arrange
+        JwtKeyring keyring = keyring(Duration.ofDays(1), Duration.ofMinutes(1));
+        keyring.refresh();
+
+        // Act
+        List<?> keys = jwksKeys(keyring);
+
+        // Assert
+        Map<?, ?> jwk = (Map<?, ?>) keys.get(0);
+        assertEquals(keyring.signingKey().keyId(), jwk.get("kid"));
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertEquals("sig", jwk.get("use"));
+        assertNotNull(jwk.get("x"));
+        assertNull(jwk.get("d"));
+    }
+
+    @Test
+    void constructor_WithSymmetricAlgorithm_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyring(repository, "HS256", Duration.ofDays(1),
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofSeconds(1), KEY_ENCRYPTION_KEY));
+    }
+
+    @Test
+    void constructor_WithShortKeyEncryptionKey_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyring(repository, "ES256", Duration.ofDays(1),
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofSeconds(1), "c2hvcnQ="));
+    }
+
+    @Test
+    void constructor_WithoutKeyEncryptionKey_ShouldThrow() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyring(repository, "ES256", Duration.ofDays(1),
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofSeconds(1), ""));
+    }
+
+    private JwtKeyring keyring(Duration rotationPeriod, Duration refreshInterval) {
+        JwtKeyring keyring = new JwtKeyring(repository, "ES256", rotationPeriod, refreshInterval, Duration.ofMinutes(1),
+            Duration.ZERO, KEY_ENCRYPTION_KEY);
+        keyrings.add(keyring);
+        return keyring;
+    }
+
+    private static List<?> jwksKeys(JwtKeyring keyring) {
+        return (List<?>) keyring.jwks().get("keys");
+    }
+
+    private static class InMemorySigningKeyRepository implements SigningKeyRepositoryPort {
+
+        private final List<SigningKey> keys = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void save(SigningKey signingKey) {
+            keys.add(signingKey);
+        }
+
+        @Override
+        public List<SigningKey> findUnexpired(Instant now) {
+            return keys.stream().filter(key -> key.getExpiresAt().isAfter(now)).toList();
+        }
+
+        @Override
+        public int deleteExpired(Instant now) {
+            int size = keys.size();
+            keys.removeIf(key -> !key.getExpiresAt().isAfter(now));
+            return size - keys.size();
+        }
+    }
+}
@@ -2,36 +2,68 @@ package com.owt.boat_test.infrastructure.security;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.owt.boat_test.domain.ports.repositories.SigningKeyRepositoryPort;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
 @ExtendWith(MockitoExtension.class)
 class JwtProviderTest {
 
+    private static final String KEY_ENCRYPTION_KEY = "sL8CzkglHKQ8bVBXKXecaWg7eZhhntQ5zAqf8+ZMldg=";
+
     @Mock
     private Authentication authentication;
     
     @Mock
     private UserDetails userDetails;
     
-    @InjectMocks
+    @Mock
+    private SigningKeyRepositoryPort signingKeyRepository;
+    
+    private JwtKeyring keyring;
     private JwtProvider jwtProvider;
     
-    // La clé exacte utilisée dans JwtProvider
-    private final String SECRET_KEY = "MySecretKeyWhoNeedToBeInTheEnvButItsHereForTheTestAndTheVersioning";
     private int expirationMs = 3600 * 1000; // 1 heure
     
+    @BeforeEach
+    void setUp() {
+        keyring = new JwtKeyring(signingKeyRepository, "ES256", Duration.ofDays(1), Duration.ofMinutes(1),
+                Duration.ofMinutes(5), Duration.ofSeconds(1), KEY_ENCRYPTION_KEY);
+        keyring.refresh();
+        jwtProvider = new JwtProvider(keyring, Duration.ofMinutes(5));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        keyring.close();
+    }
+    
+    // Signe un token avec la clé active du trousseau
+    private String sign(JwtBuilder builder) {
+        JwtKeyring.KeyPairEntry key = keyring.signingKey();
+        return builder.header().keyId(key.keyId()).and()
+                .signWith(key.privateKey(), key.algorithm())
+                .compact();
+    }
+    
     @Test
     void generateToken_ShouldCreateValidJwtToken() {
         // Arrange
@@ -46,86 +78,174 @@ class JwtProviderTest {
         
         // Vérifier que le token peut être décodé
         Claims claims = Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody();
+                .verifyWith(keyring.signingKey().publicKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
         
         assertEquals(username, claims.getSubject());
         assertTrue(claims.getExpiration().after(new Date()));
     }
     
     @Test
-    void validateToken_WithValidToken_ShouldReturnTrue() {
+    void generateToken_ShouldIssueShortLivedTokensWithUniqueIds() {
+        // Act
+        Claims first = jwtProvider.verifyToken(jwtProvider.generateToken("testuser"));
+        Claims second = jwtProvider.verifyToken(jwtProvider.generateToken("testuser"));
+        
+        // Assert
+        assertNotNull(first.getId());
+        assertNotEquals(first.getId(), second.getId());
+        long lifetimeMs = first.getExpiration().getTime() - first.getIssuedAt().getTime();
+        assertEquals(Duration.ofMinutes(5).toMillis(), lifetimeMs);
+    }
+    
+    @Test
+    void verifyToken_WithValidToken_ShouldReturnItsClaims() {
         // Arrange
         String username = "testuser";
         Date now = new Date();
         Date expiration = new Date(now.getTime() + expirationMs);
         
-        String token = Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
-                .compact();
+        String token = sign(Jwts.builder()
+                .subject(username)
+                .issuedAt(now)
+                .expiration(expiration));
         
         // Act
-        boolean isValid = jwtProvider.validateToken(token);
+        Claims claims = jwtProvider.verifyToken(token);
         
         // Assert
-        assertTrue(isValid);
+        assertNotNull(claims);
     }
     
     @Test
-    void validateToken_WithExpiredToken_ShouldReturnFalse() {
+    void verifyToken_WithExpiredToken_ShouldReturnNull() {
         // Arrange
         String username = "testuser";
         Date now = new Date();
         Date expiration = new Date(now.getTime() - 1000); // Déjà expiré
         
-        String token = Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
-                .compact();
+        String token = sign(Jwts.builder()
+                .subject(username)
+                .issuedAt(now)
+                .expiration(expiration));
         
         // Act
-        boolean isValid = jwtProvider.validateToken(token);
+        Claims claims = jwtProvider.verifyToken(token);
         
         // Assert
-        assertFalse(isValid);
+        assertNull(claims);
     }
     
     @Test
-    void validateToken_WithInvalidToken_ShouldReturnFalse() {
+    void verifyToken_WithInvalidToken_ShouldReturnNull() {
         // Arrange
         String invalidToken = "invalid.token.format";
         
         // Act
-        boolean isValid = jwtProvider.validateToken(invalidToken);
+        Claims claims = jwtProvider.verifyToken(invalidToken);
         
         // Assert
-        assertFalse(isValid);
+        assertNull(claims);
     }
     
     @Test
-    void getUsernameFromToken_ShouldReturnCorrectUsername() {
+    void verifyToken_ShouldReturnTheUsernameAsSubject() {
         // Arrange
         String username = "testuser";
         Date now = new Date();
         Date expiration = new Date(now.getTime() + expirationMs);
         
-        String token = Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
-                .compact();
+        String token = sign(Jwts.builder()
+                .subject(username)
+                .issuedAt(now)
+                .expiration(expiration));
         
         // Act
-        String extractedUsername = jwtProvider.getUsernameFromToken(token);
+        String extractedUsername = jwtProvider.verifyToken(token).getSubject();
         
         // Assert
         assertEquals(username, extractedUsername);
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void verifyToken_WithValidToken_ShouldReturnCachedClaims() {
+        // Arrange
+        String token = jwtProvider.generateToken("testuser");
+        
+        // Act
+        Claims first = jwtProvider.verifyToken(token);
+        Claims second = jwtProvider.verifyToken(token);
+        
+        // Assert
+        assertNotNull(first);
+        assertEquals("testuser", first.getSubject());
+        assertSame(first, second);
+    }
+    
+    @Test
+    void verifyToken_WithInvalidOrExpiredToken_ShouldReturnNull() {
+        // Arrange
+        Date now = new Date();
+        String expiredToken = sign(Jwts.builder()
+                .subject("testuser")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() - 1000)));
+        String tamperedToken = jwtProvider.generateToken("testuser") + "x";
+        
+        // Act & Assert
+        assertNull(jwtProvider.verifyToken("invalid.token.format"));
+        assertNull(jwtProvider.verifyToken(expiredToken));
+        assertNull(jwtProvider.verifyToken(tamperedToken));
+    }
+    
+    @Test
+    void verifyToken_WithUnknownKeyOrSymmetricSignature_ShouldReturnNull() {
+        // Arrange
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + expirationMs);
+        JwtKeyring.KeyPairEntry key = keyring.signingKey();
+        String unknownKeyToken = Jwts.builder()
+                .header().keyId("unknown").and()
+                .subject("testuser")
+                .expiration(expiration)
+                .signWith(key.privateKey(), key.algorithm())
+                .compact();
+        SecretKey secret = Jwts.SIG.HS256.key().build();
+        String symmetricToken = Jwts.builder()
+                .header().keyId(key.keyId()).and()
+                .subject("testuser")
+                .expiration(expiration)
+                .signWith(secret)
+                .compact();
+        String unsignedToken = Jwts.builder().subject("testuser").expiration(expiration).compact();
+        
+        // Act & Assert
+        assertNull(jwtProvider.verifyToken(unknownKeyToken));
+        assertNull(jwtProvider.verifyToken(symmetricToken));
+        assertNull(jwtProvider.verifyToken(unsignedToken));
+    }
+    
+    @Test
+    void generateToken_WithEdDsaKeyring_ShouldCreateVerifiableToken() {
+        // Arrange
+        JwtKeyring edDsaKeyring = new JwtKeyring(signingKeyRepository, "EdDSA", Duration.ofDays(1),
+                Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofSeconds(1), KEY_ENCRYPTION_KEY);
+        edDsaKeyring.refresh();
+        JwtProvider edDsaProvider = new JwtProvider(edDsaKeyring, Duration.ofMinutes(5));
+        
+        try {
+            // Act
+            String token = edDsaProvider.generateToken("testuser");
+            
+            // Assert
+            String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+            assertTrue(header.contains("\"alg\":\"EdDSA\""), header);
+            assertEquals("testuser", edDsaProvider.verifyToken(token).getSubject());
+            assertNull(jwtProvider.verifyToken(token));
+        } finally {
+            edDsaKeyring.close();
+        }
+    }
+}
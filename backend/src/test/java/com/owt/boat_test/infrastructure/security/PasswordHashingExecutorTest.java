@@ -0,0 +1,89 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor hashingExecutor =
+        new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.close();
+    }
+
+    @Test
+    void call_ShouldReturnTheResultOfTheTask() {
+        // Act
+        String result = hashingExecutor.call(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertTrue(result.startsWith("password-hashing-"));
+    }
+
+    @Test
+    void call_ShouldRethrowTheExceptionOfTheTask() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> hashingExecutor.call(() -> {
+                throw new IllegalArgumentException("Invalid hash");
+            }));
+        assertEquals("Invalid hash", exception.getMessage());
+    }
+
+    @Test
+    void call_WithFullQueue_ShouldFailWithServiceUnavailable() throws Exception {
+        // Arrange: one task running, one queued
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofVirtual().start(() -> hashingExecutor.call(() -> {
+            running.countDown();
+            release.await();
+            return true;
+        }));
+        running.await();
+        Thread second = Thread.ofVirtual().start(() -> hashingExecutor.call(() -> true));
+        while (second.getState() != Thread.State.WAITING && second.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> hashingExecutor.call(() -> true));
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        release.countDown();
+        first.join();
+        second.join();
+    }
+
+    @Test
+    void call_WhenTheResultIsLate_ShouldFailWithServiceUnavailable() {
+        // Arrange
+        PasswordHashingExecutor impatientExecutor =
+            new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(10));
+
+        // Act & Assert
+        try {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> impatientExecutor.call(() -> {
+                    Thread.sleep(1000);
+                    return true;
+                }));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        } finally {
+            impatientExecutor.close();
+        }
+    }
+}
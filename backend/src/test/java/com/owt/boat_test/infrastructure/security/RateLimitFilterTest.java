@@ -0,0 +1,126 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.FilterChain;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Bursts of 2 logins, 3 reads and 1 write, refilled far slower than the test runs
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter(meterRegistry, true,
+        0.001, 2, 0.001, 3, 0.001, 1, Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        rateLimitFilter.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_OverTheBurst_ShouldAnswerTooManyRequestsWithRetryAfter() throws Exception {
+        // Arrange
+        authenticate("admin");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, filter("GET", "/boats").getStatus());
+        }
+
+        // Act
+        MockHttpServletResponse response = filter("GET", "/boats");
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) > 0);
+        assertTrue(response.getContentAsString().contains("Too many requests"));
+        assertEquals(1.0, meterRegistry.get("boats.rate-limit.rejected").tag("group", "read").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldLimitEachGroupSeparately() throws Exception {
+        // Arrange
+        authenticate("admin");
+        assertEquals(200, filter("DELETE", "/boats/1").getStatus());
+
+        // Act & Assert
+        assertEquals(429, filter("PUT", "/boats/1").getStatus());
+        assertEquals(200, filter("GET", "/boats/1").getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldKeyAuthenticatedClientsBySubject() throws Exception {
+        // Arrange
+        authenticate("admin");
+        filter("POST", "/boats");
+
+        // Act
+        authenticate("other");
+        MockHttpServletResponse response = filter("POST", "/boats");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_WithAnonymousClients_ShouldKeyThemByAddress() throws Exception {
+        // Arrange
+        filter("POST", "/auth/login");
+        filter("POST", "/auth/login");
+
+        // Act
+        MockHttpServletResponse sameAddress = filter("POST", "/auth/login");
+        MockHttpServletRequest otherAddress = new MockHttpServletRequest("POST", "/auth/login");
+        otherAddress.setServletPath("/auth/login");
+        otherAddress.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(otherAddress, otherResponse, new MockFilterChain());
+
+        // Assert
+        assertEquals(429, sameAddress.getStatus());
+        assertEquals(200, otherResponse.getStatus());
+    }
+
+    @Test
+    void doFilter_WithActuatorRequest_ShouldNotLimit() throws Exception {
+        // Arrange
+        FilterChain filterChain = mock(FilterChain.class);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+            request.setServletPath("/actuator/prometheus");
+            rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        }
+
+        // Assert
+        verify(filterChain, times(5)).doFilter(any(), any());
+    }
+
+    private MockHttpServletResponse filter(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList()));
+    }
+}
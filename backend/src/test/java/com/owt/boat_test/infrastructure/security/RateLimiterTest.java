@@ -0,0 +1,72 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // 2 requests per second, bursts of 3
+    private final RateLimiter rateLimiter = new RateLimiter(2, 3);
+
+    @Test
+    void tryAcquire_ShouldAllowTheBurstThenAskToWaitForTheNextToken() {
+        // Act & Assert
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", 0));
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", 0));
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", 0));
+        assertEquals(SECOND / 2, rateLimiter.tryAcquireForUser("admin", 0));
+        assertEquals(SECOND / 4, rateLimiter.tryAcquireForUser("admin", SECOND / 4));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillTheBucketOverTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquireForUser("admin", 0);
+        }
+
+        // Act & Assert
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", SECOND / 2));
+        assertTrue(rateLimiter.tryAcquireForUser("admin", SECOND / 2) > 0);
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", 10 * SECOND));
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", 10 * SECOND));
+        assertEquals(0, rateLimiter.tryAcquireForUser("admin", 10 * SECOND));
+        assertTrue(rateLimiter.tryAcquireForUser("admin", 10 * SECOND) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepASeparateBucketPerClient() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquireForUser("admin", 0);
+        }
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryAcquireForUser("admin", 0) > 0);
+        assertEquals(0, rateLimiter.tryAcquireForUser("other", 0));
+        assertEquals(0, rateLimiter.tryAcquireForAddress("admin", 0));
+    }
+
+    @Test
+    void evictIdle_ShouldOnlyEvictTheBucketsIdleForLongEnough() {
+        // Arrange
+        rateLimiter.tryAcquireForUser("idle", 0);
+        rateLimiter.tryAcquireForAddress("10.0.0.1", 0);
+        rateLimiter.tryAcquireForUser("active", 60 * SECOND);
+
+        // Act
+        int evicted = rateLimiter.evictIdle(30 * SECOND, 61 * SECOND);
+
+        // Assert
+        assertEquals(2, evicted);
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void constructor_WithNonPositiveRate_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 10));
+    }
+}
@@ -0,0 +1,53 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "management.server.port=0",
+    // Metrics export is disabled in tests by default, which would leave no Prometheus endpoint to check
+    "management.defaults.metrics.export.enabled=true",
+    "management.prometheus.metrics.export.enabled=true"
+})
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void actuator_OnTheManagementPort_ShouldOnlyOpenHealthAndPrometheus() throws Exception {
+        // Act & Assert
+        assertEquals(200, get(managementPort, "/actuator/health"));
+        assertEquals(200, get(managementPort, "/actuator/prometheus"));
+        assertEquals(403, get(managementPort, "/actuator/metrics"));
+    }
+
+    @Test
+    void actuator_OnTheServerPort_ShouldNotBeAnonymous() throws Exception {
+        // Act & Assert
+        assertEquals(403, get(serverPort, "/actuator/prometheus"));
+        assertEquals(403, get(serverPort, "/actuator/health"));
+    }
+
+    private int get(int port, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,153 @@
+package com.owt.boat_test.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.owt.boat_test.domain.ports.repositories.RefreshTokenRepositoryPort;
+import com.owt.boat_test.domain.ports.repositories.RevokedTokenRepositoryPort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepositoryPort revokedTokenRepository;
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationList revocationList;
+
+    private final Instant expiresAt = Instant.now().plusSeconds(300);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(revokedTokenRepository, refreshTokenRepository, meterRegistry,
+            Duration.ofHours(1), 1_000, 0.01, Duration.ofHours(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        revocationList.close();
+    }
+
+    @Test
+    void isRevoked_WithTokenNeverRevoked_ShouldNotQueryTheRepository() {
+        // Act
+        boolean revoked = revocationList.isRevoked("valid-token-id");
+
+        // Assert
+        assertFalse(revoked);
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void isRevoked_WithNullTokenId_ShouldReturnFalse() {
+        assertFalse(revocationList.isRevoked(null));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void revoke_ShouldStoreTheRevocationAndConfirmItOnLookup() {
+        // Arrange
+        when(revokedTokenRepository.isRevoked("revoked-token-id")).thenReturn(true);
+
+        // Act
+        revocationList.revoke("revoked-token-id", expiresAt);
+
+        // Assert
+        verify(revokedTokenRepository).revoke("revoked-token-id", expiresAt);
+        assertTrue(revocationList.isRevoked("revoked-token-id"));
+        assertEquals(1, meterRegistry.get("boats.auth.revocation.lookups").tag("outcome", "revoked").counter().count());
+    }
+
+    @Test
+    void isRevoked_WithProbableHitNotInTheRepository_ShouldReturnFalse() {
+        // Arrange: the filter holds the ID but the repository does not, as for a false positive
+        revocationList.revoke("token-id", expiresAt);
+        when(revokedTokenRepository.isRevoked("token-id")).thenReturn(false);
+
+        // Act & Assert
+        assertFalse(revocationList.isRevoked("token-id"));
+        assertEquals(1,
+            meterRegistry.get("boats.auth.revocation.lookups").tag("outcome", "false_positive").counter().count());
+    }
+
+    @Test
+    void rotate_ShouldKeepRevocationsForOneMoreLifetimeThenDropThem() {
+        // Arrange
+        when(revokedTokenRepository.isRevoked("revoked-token-id")).thenReturn(true);
+        revocationList.revoke("revoked-token-id", expiresAt);
+
+        // Act & Assert
+        revocationList.rotate();
+        assertTrue(revocationList.isRevoked("revoked-token-id"));
+        revocationList.rotate();
+        assertFalse(revocationList.isRevoked("revoked-token-id"));
+    }
+
+    @Test
+    void rotate_ShouldPurgeTheExpiredTokens() {
+        // Act
+        revocationList.rotate();
+
+        // Assert
+        verify(revokedTokenRepository).deleteExpired(any(Instant.class));
+        verify(refreshTokenRepository).deleteExpired(any(Instant.class));
+    }
+
+    @Test
+    void warmUp_ShouldLoadTheRevocationsStillInForce() {
+        // Arrange
+        when(revokedTokenRepository.findUnexpired(any(Instant.class))).thenReturn(List.of("revoked-token-id"));
+        when(revokedTokenRepository.isRevoked("revoked-token-id")).thenReturn(true);
+
+        // Act
+        revocationList.warmUp();
+
+        // Assert
+        assertTrue(revocationList.isRevoked("revoked-token-id"));
+        assertFalse(revocationList.isRevoked("valid-token-id"));
+    }
+
+    @Test
+    void synchronize_ShouldAddTheRevocationsOfTheOtherInstances() {
+        // Arrange
+        when(revokedTokenRepository.findRevokedSince(any(Instant.class))).thenReturn(List.of("revoked-elsewhere"));
+        when(revokedTokenRepository.isRevoked("revoked-elsewhere")).thenReturn(true);
+
+        // Act
+        revocationList.synchronize();
+
+        // Assert
+        assertTrue(revocationList.isRevoked("revoked-elsewhere"));
+    }
+
+    @Test
+    void synchronize_ShouldReadBackTheOverlapBeforeThePreviousPoll() {
+        // Arrange
+        when(revokedTokenRepository.findRevokedSince(any(Instant.class))).thenReturn(List.of());
+        Instant before = Instant.now();
+        revocationList.synchronize();
+
+        // Act
+        revocationList.synchronize();
+
+        // Assert
+        verify(revokedTokenRepository, times(2)).findRevokedSince(argThat(since -> !since.isAfter(before)));
+    }
+}
@@ -1,5 +1,5 @@
 import { useEffect, useState } from 'react';
-import { Boat } from '@/types/boat';
+import { Boat, BoatChange } from '@/types/boat';
 import { BoatForm } from '@/components/BoatForm';
 import { Button } from '@/components/ui/button';
 import { PlusIcon, Pencil1Icon, TrashIcon } from '@radix-ui/react-icons';
@@ -27,8 +27,24 @@ const Dashboard = () => {
 
   useEffect(() => {
     fetchBoats();
+    return boatService.subscribeToChanges({
+      onChange: applyChange,
+      onReset: fetchBoats,
+    });
   }, []);
 
+  const applyChange = (change: BoatChange) => {
+    setBoats(current => {
+      if (change.type === 'deleted' || !change.boat) {
+        return current.filter(boat => boat.id !== change.id);
+      }
+      const changed = change.boat;
+      return current.some(boat => boat.id === changed.id)
+        ? current.map(boat => (boat.id === changed.id ? changed : boat))
+        : [...current, changed];
+    });
+  };
+
   const fetchBoats = async () => {
     setLoading(true);
     setError(null);
@@ -62,7 +78,7 @@ const Dashboard = () => {
       setError(null);
       try {
         await boatService.delete(id);
-        setBoats(boats.filter(boat => boat.id !== id));
+        setBoats(current => current.filter(boat => boat.id !== id));
       } catch (err) {
         const apiError = err as ApiError;
         setError(apiError.message || 'Erreur lors de la suppression du bateau');
@@ -76,11 +92,12 @@ const Dashboard = () => {
     try {
       if ('id' in boat) {
         const updatedBoat = await boatService.update(boat.id, boat as Boat);
-        setBoats(boats.map(b => (b.id === updatedBoat.id ? updatedBoat : b)));
+        setBoats(current => current.map(b => (b.id === updatedBoat.id ? updatedBoat : b)));
         setShowForm(false);
       } else {
         const newBoat = await boatService.create(boat);
-        setBoats([...boats, newBoat]);
+        // The change feed may have delivered the new boat already
+        setBoats(current => (current.some(b => b.id === newBoat.id) ? current : [...current, newBoat]));
         setShowForm(false);
       }
     } catch (err) {
@@ -36,7 +36,7 @@ describe('authService', () => {
   describe('login', () => {
     it('should save token to localStorage on successful login', async () => {
       vi.mocked(api.post).mockResolvedValue({
-        data: { token: 'test-token' }
+        data: { token: 'test-token', refreshToken: 'test-refresh-token' }
       // eslint-disable-next-line @typescript-eslint/no-explicit-any
       } as any);
       
@@ -49,6 +49,7 @@ describe('authService', () => {
 
       expect(api.post).toHaveBeenCalledWith('/auth/login', loginData);
       expect(localStorage.setItem).toHaveBeenCalledWith('token', 'test-token');
+      expect(localStorage.setItem).toHaveBeenCalledWith('refreshToken', 'test-refresh-token');
       expect(result).toBe('test-token');
     });
 
@@ -70,6 +71,20 @@ describe('authService', () => {
       
       expect(localStorage.removeItem).toHaveBeenCalledWith('token');
     });
+
+    it('should ask the server to revoke the tokens', () => {
+      vi.mocked(localStorage.getItem).mockImplementation((key) =>
+        key === 'token' ? 'test-token' : 'test-refresh-token');
+      // eslint-disable-next-line @typescript-eslint/no-explicit-any
+      vi.mocked(api.post).mockResolvedValue({} as any);
+
+      authService.logout();
+
+      expect(api.post).toHaveBeenCalledWith('/auth/logout', { refreshToken: 'test-refresh-token' }, {
+        headers: { Authorization: 'Bearer test-token' }
+      });
+      expect(localStorage.removeItem).toHaveBeenCalledWith('refreshToken');
+    });
   });
 
   describe('isAuthenticated', () => {
@@ -8,7 +8,8 @@ vi.mock('../axiosConfig', () => ({
     post: vi.fn(),
     put: vi.fn(),
     delete: vi.fn()
-  }
+  },
+  refreshAccessToken: vi.fn()
 }));
 
 import api from '../axiosConfig';
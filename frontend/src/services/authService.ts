@@ -11,7 +11,7 @@ import { handleApiError } from './errorHandler';
 export const authService = {
   /**
    * Authenticates a user with the provided credentials.
-   * Stores the JWT token in localStorage upon successful authentication.
+   * Stores the JWT token and the refresh token in localStorage upon successful authentication.
    * 
    * @param credentials - Object containing username and password
    * @returns The JWT token received from the server
@@ -22,6 +22,7 @@ export const authService = {
       const response = await api.post<LoginResponse>('/auth/login', credentials);
       const token = response.data.token;
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       return token;
     } catch (error) {
       throw handleApiError(error);
@@ -29,10 +30,19 @@ export const authService = {
   },
   
   /**
-   * Logs out the current user by removing their authentication token from storage.
+   * Logs out the current user by removing their tokens from storage.
+   * The server is asked to revoke them in the background; the user is logged out locally either way.
    */
   logout: (): void => {
+    const token = localStorage.getItem('token');
+    const refreshToken = localStorage.getItem('refreshToken');
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    if (token || refreshToken) {
+      api.post('/auth/logout', { refreshToken }, {
+        headers: token ? { Authorization: `Bearer ${token}` } : {},
+      }).catch(() => undefined);
+    }
   },
   
   /**
@@ -1,4 +1,5 @@
-import axios from 'axios';
+import axios, { InternalAxiosRequestConfig } from 'axios';
+import { LoginResponse } from '@/types/auth';
 
 /**
  * Base API URL for all backend requests
@@ -16,6 +17,37 @@ const api = axios.create({
   },
 });
 
+/**
+ * Refresh in progress, shared by the requests failing at the same time
+ * so that the single-use refresh token is only sent once.
+ */
+let pendingRefresh: Promise<string | null> | null = null;
+
+/**
+ * Exchanges the stored refresh token for a new access token and a new refresh token.
+ * Concurrent callers share the same refresh.
+ * 
+ * @returns The new access token, or null if there is no refresh token or it was rejected
+ */
+export const refreshAccessToken = (): Promise<string | null> => {
+  if (!pendingRefresh) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    pendingRefresh = (refreshToken
+      ? axios.post<LoginResponse>(`${API_URL}/auth/refresh`, { refreshToken })
+          .then((response) => {
+            localStorage.setItem('token', response.data.token);
+            localStorage.setItem('refreshToken', response.data.refreshToken);
+            return response.data.token;
+          })
+          .catch(() => null)
+      : Promise.resolve(null)
+    ).finally(() => {
+      pendingRefresh = null;
+    });
+  }
+  return pendingRefresh;
+};
+
 /**
  * Request Interceptor
  * 
@@ -39,17 +71,29 @@ api.interceptors.request.use(
  * 
  * Handles global response processing, particularly authentication errors.
  * If a 401 (Unauthorized) or 403 (Forbidden) response is received for any
- * non-login request, the token is removed and the user is redirected to
- * the login page, effectively logging them out.
+ * non-authentication request, the access token has expired or been revoked:
+ * it is refreshed once and the request retried. If the refresh fails, the tokens
+ * are removed and the user is redirected to the login page, effectively logging them out.
  */
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response) {
+  async (error) => {
+    const config = error.config as (InternalAxiosRequestConfig & { retried?: boolean }) | undefined;
+    if (error.response && config) {
       if ((error.response.status === 401 || error.response.status === 403) && 
-          !error.config.url.includes('/login')) {
+          !config.url?.includes('/auth/')) {
+        if (!config.retried) {
+          const token = await refreshAccessToken();
+          if (token) {
+            config.retried = true;
+            config.headers.Authorization = `Bearer ${token}`;
+            return api(config);
+          }
+        }
+        
         // Clear authentication on unauthorized responses
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         
         // Redirect to login page if not already there
         if (!window.location.pathname.includes('/login')) {
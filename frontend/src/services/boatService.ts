@@ -1,7 +1,23 @@
-import { Boat } from '@/types/boat';
-import api from './axiosConfig';
+import { Boat, BoatChange } from '@/types/boat';
+import api, { refreshAccessToken } from './axiosConfig';
 import { handleApiError } from './errorHandler';
 
+/**
+ * Delay before reconnecting to the change feed after a failed connection
+ */
+const CHANGES_RETRY_DELAY_MS = 3000;
+
+/**
+ * Callbacks of a subscription to the boat change feed
+ */
+export interface BoatChangeHandlers {
+  /** Called for every change of a boat */
+  onChange: (change: BoatChange) => void;
+
+  /** Called when changes were missed and the boats must be reloaded */
+  onReset: () => void;
+}
+
 /**
  * Boat Service
  * 
@@ -85,5 +101,98 @@ export const boatService = {
     } catch (error) {
       throw handleApiError(error);
     }
+  },
+
+  /**
+   * Follows the changes of the boats through the Server-Sent Events stream of the API,
+   * so that the list stays current without being downloaded again.
+   * The stream is read with fetch rather than EventSource, which cannot send the
+   * Authorization header. The connection is resumed from the last received event
+   * whenever it ends or fails, until the returned function is called.
+   * 
+   * @param handlers - The callbacks receiving the changes and the reset requests
+   * @returns A function closing the subscription
+   */
+  subscribeToChanges: (handlers: BoatChangeHandlers): (() => void) => {
+    const controller = new AbortController();
+    let lastEventId: string | null = null;
+
+    const dispatch = (block: string) => {
+      let event = 'message';
+      const data: string[] = [];
+      for (const line of block.split('\n')) {
+        if (line === '' || line.startsWith(':')) {
+          continue;
+        }
+        const separator = line.indexOf(':');
+        const field = separator < 0 ? line : line.slice(0, separator);
+        const value = separator < 0 ? '' : line.slice(separator + 1).replace(/^ /, '');
+        if (field === 'id') {
+          lastEventId = value;
+        } else if (field === 'event') {
+          event = value;
+        } else if (field === 'data') {
+          data.push(value);
+        }
+      }
+      if (event === 'reset') {
+        handlers.onReset();
+      } else if (data.length > 0) {
+        handlers.onChange(JSON.parse(data.join('\n')) as BoatChange);
+      }
+    };
+
+    const follow = async () => {
+      let refreshed = false;
+      while (!controller.signal.aborted) {
+        let failed = false;
+        try {
+          const token = localStorage.getItem('token');
+          const response = await fetch(`${api.defaults.baseURL}/boats/changes`, {
+            headers: {
+              Accept: 'text/event-stream',
+              ...(token ? { Authorization: `Bearer ${token}` } : {}),
+              ...(lastEventId ? { 'Last-Event-ID': lastEventId } : {}),
+            },
+            signal: controller.signal,
+          });
+          if (response.status === 401 || response.status === 403) {
+            // The access token expired or was revoked: follow again with a refreshed one, if any
+            if (refreshed || !(await refreshAccessToken())) {
+              return;
+            }
+            refreshed = true;
+            continue;
+          }
+          refreshed = false;
+          failed = !response.ok || !response.body;
+          if (response.body && response.ok) {
+            const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+            let buffer = '';
+            for (;;) {
+              const { value, done } = await reader.read();
+              if (done) {
+                break;
+              }
+              buffer += value;
+              let end = buffer.indexOf('\n\n');
+              while (end >= 0) {
+                dispatch(buffer.slice(0, end));
+                buffer = buffer.slice(end + 2);
+                end = buffer.indexOf('\n\n');
+              }
+            }
+          }
+        } catch {
+          failed = true;
+        }
+        if (failed && !controller.signal.aborted) {
+          await new Promise(resolve => setTimeout(resolve, CHANGES_RETRY_DELAY_MS));
+        }
+      }
+    };
+
+    follow();
+    return () => controller.abort();
   }
-}; 
\ No newline at end of file
+};
@@ -15,8 +15,9 @@ export interface LoginRequest {
 /**
  * Login Response Interface
  * 
- * Represents the response data from a successful login.
- * Contains the JWT token needed for authenticated requests.
+ * Represents the response data from a successful login or token refresh.
+ * Contains the short-lived JWT token needed for authenticated requests,
+ * and the single-use refresh token exchanged for the next one.
  */
 export interface LoginResponse {
   /** JWT authentication token */
@@ -24,4 +25,10 @@ export interface LoginResponse {
   
   /** Token type (typically 'Bearer') */
   type: string;
+  
+  /** Single-use token exchanged at /auth/refresh for new tokens */
+  refreshToken: string;
+  
+  /** Lifetime of the JWT token, in seconds */
+  expiresIn: number;
 } 
\ No newline at end of file
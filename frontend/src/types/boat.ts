@@ -13,4 +13,24 @@ export interface Boat {
   
   /** Description or details about the boat */
   description: string;
-} 
\ No newline at end of file
+} 
+/**
+ * Boat Change Interface
+ * 
+ * Represents a change of a boat received from the change feed of the API.
+ * Within a batch the changes of a same boat are coalesced, so created and
+ * updated changes must both be applied as upserts.
+ */
+export interface BoatChange {
+  /** ID of the event, used to resume the feed after a reconnection */
+  eventId: string;
+
+  /** Kind of change */
+  type: 'created' | 'updated' | 'deleted';
+
+  /** Identifier of the changed boat */
+  id: number;
+
+  /** The boat after the change, null when it was deleted */
+  boat: Boat | null;
+}